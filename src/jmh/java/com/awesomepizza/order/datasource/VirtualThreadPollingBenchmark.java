@@ -0,0 +1,134 @@
+package com.awesomepizza.order.datasource;
+
+import com.awesomepizza.order.config.ConnectionGuardProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One round of {@code clients} concurrent status polls, served on the 200 platform threads of the default Tomcat
+ * pool or on one virtual thread per request. Every poll spends {@code ioMillis} blocked on the network; a
+ * {@code missRatio} share of them also misses the order cache and runs a {@code queryMillis} query on a connection
+ * of a 20-connection pool behind the {@link ConnectionGuard}.
+ * <p>
+ * Platform threads are bound by the request threads ({@code clients * ioMillis / 200}), virtual threads only by the
+ * connections ({@code clients * missRatio * queryMillis / 20}); with every poll hitting the database
+ * ({@code -p missRatio=1}) both are bound by the pool.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="VirtualThreadPollingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadPollingBenchmark {
+
+    private static final int REQUEST_THREADS = 200;
+    private static final int POOL_SIZE = 20;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threads;
+
+    @Param("5000")
+    public int clients;
+
+    @Param("5")
+    public int ioMillis;
+
+    @Param("2")
+    public int queryMillis;
+
+    @Param("0.1")
+    public double missRatio;
+
+    private ExecutorService executor;
+    private ConnectionGuard dataSource;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("VIRTUAL")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(REQUEST_THREADS);
+        dataSource = new ConnectionGuard(new SimulatedPool(), POOL_SIZE,
+                new ConnectionGuardProperties(true, clients, Duration.ofMinutes(1)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int pollRound() throws Exception {
+        List<Future<Boolean>> polls = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            polls.add(executor.submit(this::poll));
+        }
+        int misses = 0;
+        for (Future<Boolean> poll : polls) {
+            misses += poll.get() ? 1 : 0;
+        }
+        return misses;
+    }
+
+    private boolean poll() throws SQLException, InterruptedException {
+        boolean miss = ThreadLocalRandom.current().nextDouble() < missRatio;
+        if (miss) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(0);
+            }
+        }
+        Thread.sleep(ioMillis);
+        return miss;
+    }
+
+    /**
+     * Connections whose only statement blocks for {@code queryMillis}; the guard keeps at most
+     * {@value #POOL_SIZE} of them open.
+     */
+    private class SimulatedPool extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("isValid")) {
+                            Thread.sleep(queryMillis);
+                            return true;
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
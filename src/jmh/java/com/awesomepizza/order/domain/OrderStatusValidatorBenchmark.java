@@ -0,0 +1,61 @@
+package com.awesomepizza.order.domain;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.exception.InvalidOrderStatusException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link OrderStatusValidator#validateTransition} on an allowed transition, on an unchanged status, and on
+ * a rejected transition, which builds the error message and the exception with its stack trace.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderStatusValidatorBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderStatusValidatorBenchmark {
+
+    private final OrderStatusValidator validator = new OrderStatusValidator();
+
+    // Not constants, so that the JIT cannot fold the lookups
+    private OrderStatus pending = OrderStatus.PENDING;
+    private OrderStatus inPreparation = OrderStatus.IN_PREPARATION;
+    private OrderStatus completed = OrderStatus.COMPLETED;
+
+    @Benchmark
+    public OrderStatus validTransition() {
+        validator.validateTransition(pending, inPreparation);
+        return inPreparation;
+    }
+
+    @Benchmark
+    public OrderStatus sameStatus() {
+        validator.validateTransition(pending, pending);
+        return pending;
+    }
+
+    @Benchmark
+    public InvalidOrderStatusException invalidTransition() {
+        try {
+            validator.validateTransition(completed, pending);
+            throw new AssertionError("COMPLETED -> PENDING accepted");
+        } catch (InvalidOrderStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.awesomepizza.order.domain.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of orders with random (version 4) and time-ordered (version 7) primary keys,
+ * on copies of the {@code orders} and {@code order_items} tables with all their indexes.
+ * Each operation inserts a batch of orders with two items each, like the bulk import does.
+ * The size of every index is printed at the end of each trial, also per inserted order since the
+ * trials insert different amounts: random keys split pages all over the B-trees and leave them
+ * partly empty, while time-ordered keys fill them from left to right.
+ * <p>
+ * Needs the PostgreSQL database of {@code application.yml}; override the connection with
+ * {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderIdInsertBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class OrderIdInsertBenchmark {
+
+    public enum IdType {
+        V4(UUID::randomUUID),
+        V7(UuidV7::next);
+
+        private final Supplier<UUID> generator;
+
+        IdType(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    private static final String ORDERS = "bench_orders";
+    private static final String ORDER_ITEMS = "bench_order_items";
+    private static final int ITEMS_PER_ORDER = 2;
+
+    @Param({"V4", "V7"})
+    public IdType idType;
+
+    @Param({"100"})
+    public int batchSize;
+
+    // Orders inserted before the measurement, so that the indexes are past the size of a few pages
+    @Param({"200000"})
+    public int initialOrders;
+
+    private Connection connection;
+    private PreparedStatement insertOrder;
+    private PreparedStatement insertItem;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5433/awesomepizza_db?reWriteBatchedInserts=true"),
+                System.getProperty("benchmark.jdbc.user", "awesomepizza_user"),
+                System.getProperty("benchmark.jdbc.password", "awesomepizza_password"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + ORDER_ITEMS + ", " + ORDERS);
+            statement.execute("CREATE TABLE " + ORDERS + " (LIKE orders INCLUDING ALL)");
+            statement.execute("CREATE TABLE " + ORDER_ITEMS + " (LIKE order_items INCLUDING ALL, "
+                    + "FOREIGN KEY (order_id) REFERENCES " + ORDERS + " (id) ON DELETE CASCADE)");
+        }
+        connection.setAutoCommit(false);
+        insertOrder = connection.prepareStatement("INSERT INTO " + ORDERS
+                + " (id, order_code, status, customer_name, phone, delivery_address, created_at, version)"
+                + " VALUES (?, ?, 'PENDING', 'Mario Rossi', '+393331234567', 'Via Roma 1, Milano', ?, 0)");
+        insertItem = connection.prepareStatement("INSERT INTO " + ORDER_ITEMS
+                + " (id, order_id, pizza_name, quantity, price) VALUES (?, ?, 'Margherita', 1, ?)");
+
+        for (int inserted = 0; inserted < initialOrders; inserted += batchSize) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE " + ORDERS + ", " + ORDER_ITEMS);
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < batchSize; i++) {
+            UUID orderId = idType.generator.get();
+            insertOrder.setObject(1, orderId);
+            insertOrder.setString(2, "B-" + idType + "-" + sequence++);
+            insertOrder.setTimestamp(3, now);
+            insertOrder.addBatch();
+            for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                insertItem.setObject(1, idType.generator.get());
+                insertItem.setObject(2, orderId);
+                insertItem.setBigDecimal(3, BigDecimal.valueOf(850, 2));
+                insertItem.addBatch();
+            }
+        }
+        insertOrder.executeBatch();
+        insertItem.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet sizes = statement.executeQuery(
+                    "SELECT indexrelid::regclass AS index_name, pg_relation_size(indexrelid) AS bytes "
+                            + "FROM pg_index WHERE indrelid IN ('" + ORDERS + "'::regclass, '" + ORDER_ITEMS + "'::regclass) "
+                            + "ORDER BY 1")) {
+                System.out.printf("%nIndex sizes with %s keys after %d orders:%n", idType, sequence);
+                while (sizes.next()) {
+                    long bytes = sizes.getLong("bytes");
+                    System.out.printf("  %-45s %,12d kB %8.1f bytes/order%n",
+                            sizes.getString("index_name"), bytes / 1024, (double) bytes / sequence);
+                }
+            }
+            statement.execute("DROP TABLE " + ORDER_ITEMS + ", " + ORDERS);
+        }
+        connection.commit();
+        connection.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization of a list of {@code orders} {@link OrderResponse}s with three items each, as returned by
+ * the order lists: written to a byte array like a buffered response, and streamed to an output stream that
+ * discards it, which leaves only the cost of producing the JSON.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderResponseSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int orders;
+
+    private ObjectWriter writer;
+    private List<OrderResponse> responses;
+
+    @Setup
+    public void setUp() {
+        JsonMapper mapper = JsonMapper.builder().build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderResponse.class));
+        Instant createdAt = Instant.parse("2026-01-01T12:00:00Z");
+        responses = IntStream.range(0, orders)
+                .mapToObj(i -> new OrderResponse(UUID.randomUUID(), "ORD-" + Integer.toString(i, 32).toUpperCase(),
+                        OrderStatus.values()[i % OrderStatus.values().length], i % 2 == 0 ? "main" : null,
+                        "Mario Rossi", "+393331234567", "Via Roma " + i + ", Milano", createdAt.plusSeconds(i),
+                        3150L, 4, 0L, List.of(
+                                new OrderItemResponse(UUID.randomUUID(), "Margherita", 2, new BigDecimal("7.50")),
+                                new OrderItemResponse(UUID.randomUUID(), "Diavola", 1, new BigDecimal("9.00")),
+                                new OrderItemResponse(UUID.randomUUID(), "Marinara", 1, new BigDecimal("7.50")))))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return writer.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public OutputStream toStream() {
+        OutputStream out = OutputStream.nullOutputStream();
+        writer.writeValue(out, responses);
+        return out;
+    }
+}
@@ -0,0 +1,90 @@
+package com.awesomepizza.order.mapper;
+
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.CreateOrderRequest;
+import com.awesomepizza.order.dto.OrderItemRequest;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.UpdateOrderRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the {@link OrderMapper} conversions run by every order request: the response of an order with its items,
+ * a new order from a creation request, and an order updated with a new list of items (which also recomputes its
+ * totals). Orders have {@code items} distinct pizzas.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderMapperBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "3", "20"})
+    public int items;
+
+    private final OrderMapper mapper = new OrderMapper();
+    private CreateOrderRequest createRequest;
+    private UpdateOrderRequest updateRequest;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        createRequest = new CreateOrderRequest("Mario Rossi", "+393331234567", "Via Roma 1, Milano", itemRequests());
+        updateRequest = new UpdateOrderRequest(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.of(itemRequests()));
+        order = mapper.toEntity(createRequest);
+        order.setId(UUID.randomUUID());
+        order.setOrderCode("ORD-7K2M9XQ4TB");
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(Instant.now());
+        order.setVersion(0L);
+        order.getOrderItems().forEach(item -> item.setId(UUID.randomUUID()));
+    }
+
+    private List<OrderItemRequest> itemRequests() {
+        return IntStream.range(0, items)
+                .mapToObj(i -> new OrderItemRequest("Pizza " + i, 1 + i % 3, new BigDecimal("8.50").add(BigDecimal.valueOf(i))))
+                .toList();
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return mapper.toResponse(order);
+    }
+
+    @Benchmark
+    public Order toEntity() {
+        return mapper.toEntity(createRequest);
+    }
+
+    @Benchmark
+    public Order updateEntity() {
+        // Replaces the items of the same order every time, like a customer editing it
+        mapper.updateEntity(order, updateRequest);
+        return order;
+    }
+}
@@ -0,0 +1,66 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderCodeProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of a new order code: the former {@code "ORD-" + UUID.randomUUID()} prefix against
+ * {@link OrderCodeAllocator}, on one thread and on eight threads sharing the allocator.
+ * The block sequence is simulated in memory; with the default block size the database is asked
+ * once every 1000 codes.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderCodeBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCodeBenchmark {
+
+    private OrderCodeAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        allocator = new OrderCodeAllocator(new AtomicLong()::incrementAndGet, new OrderCodeProperties(1000, "benchmark-order-codes-key-0123456789abcdef"));
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String allocator() {
+        return allocator.nextCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidContended() {
+        return randomUuid();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String allocatorContended() {
+        return allocator.nextCode();
+    }
+}
@@ -0,0 +1,177 @@
+package com.awesomepizza.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distributions of one phase of the run, per {@link Operation}, in microseconds.
+ * <p>
+ * The response time of an operation is counted from the instant the schedule meant to start it, not from when the
+ * request was actually sent: when the application stalls, the operations that should have started meanwhile are
+ * charged the time they spent waiting, as their users would see it (coordinated omission correction). The service
+ * time, counted from the actual send, is recorded alongside to show how much of the latency is queueing.
+ * <p>
+ * Requests still unanswered when the phase is closed are charged the time from their scheduled start to the close,
+ * a lower bound of their response time, and reported as {@code unfinished}: leaving them out would hide the slowest
+ * requests from the high percentiles.
+ */
+final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, Distribution> distributions = new EnumMap<>(Operation.class);
+    // Requests sent and not answered yet; whoever removes one records it, so it is never counted twice
+    private final Set<Pending> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            distributions.put(operation, new Distribution());
+        }
+    }
+
+    /**
+     * Marks the start of a request, to be followed by {@link #record} or {@link #recordFailure}. A request started
+     * once the phase is closed is not recorded.
+     */
+    Pending start(Operation operation, long intendedStartNanos) {
+        Pending request = new Pending(operation, intendedStartNanos);
+        pending.add(request);
+        if (closed) {
+            pending.remove(request);
+        }
+        return request;
+    }
+
+    void record(Pending request, long sentNanos, long completedNanos, int status) {
+        if (!pending.remove(request)) {
+            return;
+        }
+        Distribution distribution = distributions.get(request.operation);
+        distribution.responseTime.recordValue(toMicros(completedNanos - request.intendedStartNanos));
+        distribution.serviceTime.recordValue(toMicros(completedNanos - sentNanos));
+        distribution.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    void recordFailure(Pending request) {
+        if (pending.remove(request)) {
+            distributions.get(request.operation).failures.increment();
+        }
+    }
+
+    /**
+     * Ends the phase: the requests still unanswered are recorded with the time they have waited so far, and the
+     * answers that arrive later are ignored.
+     *
+     * @return The number of unanswered requests.
+     */
+    int close(long closedNanos) {
+        closed = true;
+        int unfinished = 0;
+        for (Pending request : pending) {
+            if (pending.remove(request)) {
+                Distribution distribution = distributions.get(request.operation);
+                distribution.responseTime.recordValue(toMicros(closedNanos - request.intendedStartNanos));
+                distribution.unfinished.increment();
+                unfinished++;
+            }
+        }
+        return unfinished;
+    }
+
+    /**
+     * Prints the percentiles of every operation that ran.
+     */
+    void print(PrintStream out, double seconds) {
+        out.printf("%-56s %8s %8s %9s %9s %9s %9s %9s  %s%n", "Endpoint (response time, ms)", "count", "ops/s",
+                "p50", "p90", "p99", "p99.9", "max", "status codes");
+        distributions.forEach((operation, distribution) -> {
+            Histogram histogram = distribution.responseTime;
+            if (histogram.getTotalCount() == 0 && distribution.failures.sum() == 0) {
+                return;
+            }
+            StringBuilder row = new StringBuilder(String.format("%-56s %8d %8.1f", operation.endpoint(),
+                    histogram.getTotalCount(), histogram.getTotalCount() / seconds));
+            for (double percentile : PERCENTILES) {
+                row.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            row.append(String.format(" %9.2f  %s", histogram.getMaxValue() / 1000.0, statuses(distribution)));
+            out.println(row);
+            Histogram service = distribution.serviceTime;
+            out.printf("%-56s %8s %8s %9.2f %9.2f %9.2f %9.2f %9.2f%n", "  service time (from the actual send)", "", "",
+                    service.getValueAtPercentile(50) / 1000.0, service.getValueAtPercentile(90) / 1000.0,
+                    service.getValueAtPercentile(99) / 1000.0, service.getValueAtPercentile(99.9) / 1000.0,
+                    service.getMaxValue() / 1000.0);
+        });
+    }
+
+    /**
+     * Writes the full response time distribution of every operation that ran, in the {@code .hgrm} format read by
+     * the HdrHistogram plotter, with values in milliseconds.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Distribution> entry : distributions.entrySet()) {
+            if (entry.getValue().responseTime.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(entry.getKey().fileName() + ".hgrm")))) {
+                entry.getValue().responseTime.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static String statuses(Distribution distribution) {
+        Map<String, Long> statuses = new TreeMap<>();
+        distribution.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        long failures = distribution.failures.sum();
+        if (failures > 0) {
+            statuses.put("failed", failures);
+        }
+        long unfinished = distribution.unfinished.sum();
+        if (unfinished > 0) {
+            statuses.put("unfinished", unfinished);
+        }
+        return statuses.toString();
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static final class Distribution {
+        private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder unfinished = new LongAdder();
+    }
+
+    /**
+     * A request waiting for its answer. Compared by identity, as two requests may share an operation and a start.
+     */
+    static final class Pending {
+        private final Operation operation;
+        private final long intendedStartNanos;
+
+        private Pending(Operation operation, long intendedStartNanos) {
+            this.operation = operation;
+            this.intendedStartNanos = intendedStartNanos;
+        }
+    }
+}
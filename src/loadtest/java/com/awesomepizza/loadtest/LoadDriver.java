@@ -0,0 +1,215 @@
+package com.awesomepizza.loadtest;
+
+import com.awesomepizza.AwesomepizzaApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the response times of the order endpoints under a mixed customer and pizzaiolo load.
+ * <p>
+ * The application is started in the same JVM with the {@code loadtest} profile, on an in-memory H2 database and a
+ * random port, so a run needs neither PostgreSQL nor network access. The load is an open model: operations start at
+ * a constant rate whether the earlier ones completed or not, each on its own virtual thread, and their latency is
+ * counted from the scheduled start (see {@link LatencyStats}). Every successful take-next is followed by the READY
+ * and COMPLETED updates of the taken order, which return its kitchen slot.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="rate=300 duration=2m"
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private static final int REMEMBERED_ORDERS = 10_000;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final LoadOptions options;
+    private final PizzeriaClient client;
+    private final ExecutorService executor;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    // Codes of the latest created orders, read by the polls
+    private final AtomicReferenceArray<String> orderCodes = new AtomicReferenceArray<>(REMEMBERED_ORDERS);
+    private final AtomicLong createdOrders = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadDriver(LoadOptions options, PizzeriaClient client, ExecutorService executor) {
+        this.options = options;
+        this.client = client;
+        this.executor = executor;
+        Map<Operation, Integer> mix = options.mix();
+        this.operations = mix.keySet().stream().filter(operation -> mix.get(operation) > 0).toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        // The devtools restarter would relaunch this method in another class loader, without the arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AwesomepizzaApplication.class)
+                .profiles("loadtest")
+                .run();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Environment environment = context.getEnvironment();
+            PizzeriaClient client = new PizzeriaClient(
+                    environment.getRequiredProperty("local.server.port", Integer.class), executor);
+            client.login(environment.getRequiredProperty("app.security.pizzaiolo.username"),
+                    environment.getRequiredProperty("app.security.pizzaiolo.password"));
+
+            LoadDriver driver = new LoadDriver(options, client, executor);
+            driver.seed();
+            System.out.printf("Warming up for %s at %d operations/s%n", options.warmup(), options.rate());
+            driver.run(options.warmup());
+            System.out.printf("Measuring for %s at %d operations/s, mix %s%n", options.duration(), options.rate(),
+                    options.mix());
+            LatencyStats stats = driver.run(options.duration());
+
+            System.out.println();
+            stats.print(System.out, options.duration().toMillis() / 1000.0);
+            stats.write(options.output());
+            System.out.printf("%nFull distributions written to %s%n", options.output().toAbsolutePath());
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < options.seedOrders(); i++) {
+            client.orderCode(client.createOrder()).ifPresent(this::remember);
+        }
+    }
+
+    /**
+     * Starts operations at the configured rate for the given time, then waits for the last ones to complete. Those
+     * still running after {@link #DRAIN_TIMEOUT} are recorded with the time they had waited by then.
+     *
+     * @return The latencies of the operations started.
+     */
+    private LatencyStats run(Duration duration) throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart - end >= 0) {
+                break;
+            }
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = nextOperation();
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    perform(operation, intendedStart, stats);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(10);
+        }
+        int unfinished = stats.close(System.nanoTime());
+        if (unfinished > 0) {
+            System.out.printf("%d requests still running after %s, recorded as unfinished%n", unfinished, DRAIN_TIMEOUT);
+        }
+        return stats;
+    }
+
+    private void perform(Operation operation, long intendedStart, LatencyStats stats) {
+        switch (operation) {
+            case CREATE_ORDER -> send(stats, operation, intendedStart, client::createOrder)
+                    .flatMap(client::orderCode)
+                    .ifPresent(this::remember);
+            case GET_ORDER -> {
+                String orderCode = knownOrderCode();
+                send(stats, operation, intendedStart, () -> client.getOrder(orderCode));
+            }
+            case TAKE_NEXT -> send(stats, operation, intendedStart, client::takeNext)
+                    .flatMap(client::orderCode)
+                    .ifPresent(orderCode -> {
+                        for (String status : new String[]{"READY", "COMPLETED"}) {
+                            send(stats, Operation.UPDATE_STATUS, System.nanoTime(),
+                                    () -> client.updateStatus(orderCode, status));
+                        }
+                    });
+            case UPDATE_STATUS -> throw new IllegalStateException("Status updates only follow a take-next");
+        }
+    }
+
+    private Optional<HttpResponse<String>> send(LatencyStats stats, Operation operation, long intendedStart,
+                                                Request request) {
+        LatencyStats.Pending pending = stats.start(operation, intendedStart);
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<String> response = request.send();
+            stats.record(pending, sent, System.nanoTime(), response.statusCode());
+            return Optional.of(response);
+        } catch (IOException e) {
+            stats.recordFailure(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordFailure(pending);
+        }
+        return Optional.empty();
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + pick + " out of the mix");
+    }
+
+    private void remember(String orderCode) {
+        orderCodes.set((int) (createdOrders.getAndIncrement() % REMEMBERED_ORDERS), orderCode);
+    }
+
+    private String knownOrderCode() {
+        int known = (int) Math.min(createdOrders.get(), REMEMBERED_ORDERS);
+        if (known == 0) {
+            // Only when neither the seed nor the creations succeeded: an unknown code is a 404 lookup
+            return "ORD-UNKNOWN";
+        }
+        String orderCode = orderCodes.get(ThreadLocalRandom.current().nextInt(known));
+        return orderCode == null ? "ORD-UNKNOWN" : orderCode;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,88 @@
+package com.awesomepizza.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load run, parsed from {@code key=value} arguments.
+ *
+ * @param rate       The operations started per second, whether the previous ones completed or not. Defaults to 200.
+ * @param warmup     How long the load runs before it is measured. Defaults to 15 seconds.
+ * @param duration   How long the load is measured. Defaults to 60 seconds.
+ * @param mix        The relative weight of each operation. Defaults to {@code create:20,poll:70,take:10}.
+ * @param seedOrders The orders created before the warmup, so that the first polls have orders to read.
+ *                   Defaults to 200.
+ * @param output     The directory receiving the full latency distributions. Defaults to {@code target/loadtest}.
+ */
+record LoadOptions(int rate, Duration warmup, Duration duration, Map<Operation, Integer> mix, int seedOrders,
+                   Path output) {
+
+    static final String USAGE = """
+            Arguments (all optional):
+              rate=200                     operations started per second
+              warmup=15s                   load before the measurement
+              duration=60s                 measured load
+              mix=create:20,poll:70,take:10  relative weight of each operation
+              seed-orders=200              orders created before the warmup
+              output=target/loadtest       directory of the .hgrm latency distributions
+            """;
+
+    LoadOptions {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate must be at least 1");
+        }
+        if (warmup.isNegative() || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("warmup cannot be negative and duration must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix needs at least one operation with a positive weight");
+        }
+        if (mix.getOrDefault(Operation.GET_ORDER, 0) > 0 && mix.getOrDefault(Operation.CREATE_ORDER, 0) == 0
+                && seedOrders == 0) {
+            throw new IllegalArgumentException("poll needs orders: add create to the mix or seed some orders");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    static LoadOptions parse(String... args) {
+        int rate = 200;
+        Duration warmup = Duration.ofSeconds(15);
+        Duration duration = Duration.ofSeconds(60);
+        Map<Operation, Integer> mix = parseMix("create:20,poll:70,take:10");
+        int seedOrders = 200;
+        Path output = Path.of("target", "loadtest");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(0, separator)) {
+                case "rate" -> rate = Integer.parseInt(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = parseMix(value);
+                case "seed-orders" -> seedOrders = Integer.parseInt(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        return new LoadOptions(rate, warmup, duration, mix, seedOrders, output);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] weight = entry.trim().split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got: " + entry);
+            }
+            mix.put(Operation.fromMixName(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
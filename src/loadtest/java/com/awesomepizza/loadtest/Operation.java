@@ -0,0 +1,40 @@
+package com.awesomepizza.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests measured by the load driver. Customers create orders and poll them; pizzaioli take the next order
+ * and then move it to READY and COMPLETED, which frees the kitchen slot for the next take.
+ */
+enum Operation {
+
+    CREATE_ORDER("create", "POST /api/v1/orders"),
+    GET_ORDER("poll", "GET /api/v1/orders/{code}"),
+    TAKE_NEXT("take", "POST /api/v1/pizzaiolo/orders/take-next"),
+    // Follows every successful take-next, so it has no weight of its own in the mix
+    UPDATE_STATUS(null, "POST /api/v1/pizzaiolo/orders/{code}/status/{newStatus}");
+
+    private final String mixName;
+    private final String endpoint;
+
+    Operation(String mixName, String endpoint) {
+        this.mixName = mixName;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    String fileName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    static Operation fromMixName(String mixName) {
+        return Arrays.stream(values())
+                .filter(operation -> mixName.equals(operation.mixName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + mixName
+                        + " (expected create, poll or take)"));
+    }
+}
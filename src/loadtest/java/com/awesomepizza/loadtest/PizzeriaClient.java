@@ -0,0 +1,103 @@
+package com.awesomepizza.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP client of the application under load, authenticated as a pizzaiolo with a bearer token so that the
+ * pizzaiolo requests do not pay for a BCrypt check each.
+ */
+final class PizzeriaClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] PIZZAS = {"Margherita", "Diavola", "Marinara", "Capricciosa", "Quattro Formaggi"};
+
+    private final HttpClient http;
+    private final URI base;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private String authorization;
+
+    PizzeriaClient(int port, ExecutorService executor) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+        this.base = URI.create("http://localhost:" + port);
+    }
+
+    void login(String username, String password) throws IOException, InterruptedException {
+        String basic = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = http.send(request("/api/v1/pizzaiolo/auth/token")
+                .header("Authorization", "Basic " + basic)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Pizzaiolo login failed with status " + response.statusCode());
+        }
+        authorization = "Bearer " + jsonMapper.readTree(response.body()).path("accessToken").asString();
+    }
+
+    HttpResponse<String> createOrder() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = """
+                {"customerName":"Cliente %d","phone":"+39333%07d","deliveryAddress":"Via Roma %d, Milano",
+                 "orderItems":[{"pizzaName":"%s","quantity":%d,"price":8.50},{"pizzaName":"%s","quantity":1,"price":6.00}]}
+                """.formatted(random.nextInt(10_000), random.nextInt(10_000_000), random.nextInt(1, 200),
+                PIZZAS[random.nextInt(PIZZAS.length)], random.nextInt(1, 4), PIZZAS[random.nextInt(PIZZAS.length)]);
+        return send(request("/api/v1/orders")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    HttpResponse<String> getOrder(String orderCode) throws IOException, InterruptedException {
+        return send(request("/api/v1/orders/" + orderCode).GET().build());
+    }
+
+    HttpResponse<String> takeNext() throws IOException, InterruptedException {
+        return send(pizzaioloRequest("/api/v1/pizzaiolo/orders/take-next")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    HttpResponse<String> updateStatus(String orderCode, String newStatus) throws IOException, InterruptedException {
+        return send(pizzaioloRequest("/api/v1/pizzaiolo/orders/" + orderCode + "/status/" + newStatus)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    /**
+     * @return The code of the order returned by a successful request.
+     */
+    Optional<String> orderCode(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return Optional.empty();
+        }
+        return Optional.of(jsonMapper.readTree(response.body()).path("orderCode").asString())
+                .filter(code -> !code.isEmpty());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest.Builder pizzaioloRequest(String path) {
+        return request(path).header("Authorization", authorization);
+    }
+}
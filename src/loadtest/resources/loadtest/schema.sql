@@ -0,0 +1,2 @@
+-- Objects of initial_schema.sql that Hibernate does not create from the entities
+CREATE SEQUENCE IF NOT EXISTS order_code_block_seq;
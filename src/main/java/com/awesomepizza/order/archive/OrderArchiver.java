@@ -0,0 +1,168 @@
+package com.awesomepizza.order.archive;
+
+import com.awesomepizza.order.config.ArchiveProperties;
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.ArchiveStatsResponse;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background job moving finished orders out of the live tables into {@code orders_archive} and
+ * {@code order_items_archive}, so that the live tables and their indexes only hold the orders the
+ * kitchen still works on plus a short tail of recent ones.
+ * <p>
+ * An order is archived once it is in a final status (COMPLETED or CANCELED) and older than
+ * {@code app.archive.min-age}. Orders are moved in chunks of {@code app.archive.chunk-size}, each
+ * copied and deleted in its own transaction with set-based statements, so no chunk holds locks for
+ * long and a failed chunk only rolls back itself. Candidate rows are locked with {@code SKIP LOCKED},
+ * so several instances can run the archiver at the same time without moving the same order twice.
+ * <p>
+ * Archived orders never change again, so lookups fall back to the archive when an order is not in
+ * the live tables.
+ */
+@Slf4j
+@Component
+public class OrderArchiver {
+
+    /**
+     * Outcome of a chunk.
+     */
+    private record Chunk(int orders, int items) {
+    }
+
+    /**
+     * Outcome of the latest run.
+     */
+    private record LastRun(Instant at, long archivedOrders, long millis) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Set<OrderStatus> archivableStatuses;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder archivedOrders = new LongAdder();
+    private final LongAdder archivedItems = new LongAdder();
+    private final LongAdder failedChunks = new LongAdder();
+    private volatile LastRun lastRun;
+
+    /**
+     * Constructs a new OrderArchiver.
+     *
+     * @param orderRepository         The repository of the live orders.
+     * @param archivedOrderRepository The repository of the archived orders.
+     * @param statusValidator         The validator telling which statuses are final.
+     * @param transactionManager      The transaction manager running one transaction per chunk.
+     * @param properties              The archiving settings.
+     */
+    public OrderArchiver(
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            OrderStatusValidator statusValidator,
+            PlatformTransactionManager transactionManager,
+            ArchiveProperties properties) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.archivableStatuses = statusValidator.finalStatuses();
+    }
+
+    /**
+     * Runs the archiver every {@code app.archive.interval}, unless it is disabled.
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval:10m}", initialDelayString = "${app.archive.interval:10m}")
+    public void scheduledArchive() {
+        if (properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Moves the finished orders older than the configured age into the archive, at most
+     * {@code app.archive.max-chunks-per-run} chunks at a time. A chunk that fails is rolled back and
+     * ends the run; its orders are picked up again by the next one.
+     *
+     * @return The number of orders archived by this run.
+     */
+    public long archive() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(properties.minAge());
+        long moved = 0;
+
+        for (int i = 0; i < properties.maxChunksPerRun(); i++) {
+            Chunk chunk;
+            try {
+                chunk = transactionTemplate.execute(status -> archiveChunk(cutoff, now));
+            } catch (DataAccessException | TransactionException e) {
+                failedChunks.increment();
+                log.warn("Archiving chunk failed, it will be retried by the next run", e);
+                break;
+            }
+            archivedOrders.add(chunk.orders());
+            archivedItems.add(chunk.items());
+            moved += chunk.orders();
+            if (chunk.orders() < properties.chunkSize()) {
+                break;
+            }
+        }
+
+        runs.increment();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastRun = new LastRun(now, moved, millis);
+        if (moved > 0) {
+            log.info("Archived {} orders created before {} in {} ms", moved, cutoff, millis);
+        }
+        return moved;
+    }
+
+    /**
+     * Returns the counters of the archiver since the application started.
+     *
+     * @return The number of runs, of archived orders and items, and the outcome of the latest run.
+     */
+    public ArchiveStatsResponse stats() {
+        LastRun last = lastRun;
+        return new ArchiveStatsResponse(
+                runs.sum(),
+                archivedOrders.sum(),
+                archivedItems.sum(),
+                failedChunks.sum(),
+                last == null ? null : last.at(),
+                last == null ? 0 : last.archivedOrders(),
+                last == null ? 0 : last.millis());
+    }
+
+    private Chunk archiveChunk(Instant cutoff, Instant archivedAt) {
+        List<UUID> ids = orderRepository.findIdsForArchiving(
+                archivableStatuses, cutoff, Limit.of(properties.chunkSize()));
+        if (ids.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+        archivedOrderRepository.copyOrders(ids, archivedAt);
+        int items = archivedOrderRepository.copyOrderItems(ids);
+        orderRepository.deleteItemsByOrderIdIn(ids);
+        int orders = orderRepository.deleteByIdIn(ids);
+        return new Chunk(orders, items);
+    }
+}
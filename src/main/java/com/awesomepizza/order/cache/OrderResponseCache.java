@@ -0,0 +1,154 @@
+package com.awesomepizza.order.cache;
+
+import com.awesomepizza.order.config.OrderCacheProperties;
+import com.awesomepizza.order.dto.CacheStatsResponse;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of {@link OrderResponse}s keyed by order code, serving the public order lookup.
+ * Entries expire after a fixed time and the least used ones are evicted beyond the maximum size,
+ * so the cache never holds more than a known amount of memory.
+ * <p>
+ * Every write path evicts the order it changes twice: immediately, and again once the transaction
+ * commits. Loads for the same code are atomic, so a lookup that read the old row concurrently with
+ * the write cannot leave a stale entry behind after the commit.
+ * <p>
+ * A load runs on the calling thread, inside its transaction, but outside the locks of the cache: the entry holds
+ * the pending load, which concurrent lookups of the same code wait for, and evicting it drops the load's result.
+ * Loading while holding a lock would pin a virtual thread to its carrier for the whole query.
+ */
+@Slf4j
+@Component
+public class OrderResponseCache {
+
+    private final AsyncCache<String, OrderResponse> cache;
+
+    /**
+     * Constructs a new OrderResponseCache.
+     *
+     * @param properties The size and expiry limits of the cache.
+     */
+    public OrderResponseCache(OrderCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .buildAsync();
+        log.info("Order cache configured with maximum size {} and expiry {}",
+                properties.maximumSize(), properties.expireAfterWrite());
+    }
+
+    /**
+     * Returns the cached order, loading it on a miss. Orders that do not exist are not cached.
+     *
+     * @param orderCode The unique code of the order.
+     * @param loader    Loads the order when it is not cached.
+     * @return The order, or an empty Optional if it does not exist.
+     */
+    public Optional<OrderResponse> get(String orderCode, Supplier<Optional<OrderResponse>> loader) {
+        CompletableFuture<OrderResponse> loading = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> entry = cache.get(orderCode, (code, executor) -> loading);
+        return entry == loading ? load(loading, loader) : await(entry);
+    }
+
+    /**
+     * Loads the order bypassing the cache, and replaces the cached copy with the loaded one.
+     *
+     * @param orderCode The unique code of the order.
+     * @param loader    Loads the order.
+     * @return The order, or an empty Optional if it does not exist.
+     */
+    public Optional<OrderResponse> reload(String orderCode, Supplier<Optional<OrderResponse>> loader) {
+        CompletableFuture<OrderResponse> loading = new CompletableFuture<>();
+        cache.put(orderCode, loading);
+        return load(loading, loader);
+    }
+
+    /**
+     * Returns the cached order without loading it.
+     *
+     * @param orderCode The unique code of the order.
+     * @return The cached order, or an empty Optional if it is not cached.
+     */
+    public Optional<OrderResponse> getIfPresent(String orderCode) {
+        CompletableFuture<OrderResponse> entry = cache.getIfPresent(orderCode);
+        return entry != null && entry.isDone() && !entry.isCompletedExceptionally()
+                ? Optional.ofNullable(entry.getNow(null))
+                : Optional.empty();
+    }
+
+    /**
+     * Evicts an order now and, if a transaction is active, again after it commits.
+     *
+     * @param orderCode The unique code of the changed order.
+     */
+    public void evict(String orderCode) {
+        cache.synchronous().invalidate(orderCode);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(orderCode);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return The hit, miss and eviction counters since startup.
+     */
+    public CacheStatsResponse stats() {
+        // Apply pending maintenance (size evictions run asynchronously) so that the size is accurate
+        Cache<String, OrderResponse> entries = cache.synchronous();
+        entries.cleanUp();
+        CacheStats stats = entries.stats();
+        return new CacheStatsResponse(
+                entries.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.evictionCount());
+    }
+
+    /**
+     * Completes the entry with the loaded order; an order that does not exist or a failed load removes it.
+     */
+    private static Optional<OrderResponse> load(CompletableFuture<OrderResponse> loading,
+                                                Supplier<Optional<OrderResponse>> loader) {
+        Optional<OrderResponse> order;
+        try {
+            order = loader.get();
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(order.orElse(null));
+        return order;
+    }
+
+    private static Optional<OrderResponse> await(CompletableFuture<OrderResponse> entry) {
+        try {
+            return Optional.ofNullable(entry.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archiving of finished orders, bound from {@code app.archive}.
+ *
+ * @param enabled         Whether the archiver runs. Defaults to {@code true}.
+ * @param minAge          How old a COMPLETED or CANCELED order must be, from its creation, before it is archived.
+ *                        Defaults to 7 days.
+ * @param chunkSize       The number of orders moved per transaction. Defaults to 500.
+ * @param maxChunksPerRun The number of chunks moved by a single run at most, so that a large backlog is
+ *                        spread over several runs. Defaults to 20.
+ * @param interval        The delay between the end of a run and the start of the next one. Defaults to 10 minutes.
+ */
+@ConfigurationProperties(prefix = "app.archive")
+public record ArchiveProperties(Boolean enabled, Duration minAge, Integer chunkSize, Integer maxChunksPerRun,
+                                Duration interval) {
+
+    public ArchiveProperties {
+        enabled = enabled == null || enabled;
+        minAge = minAge == null ? Duration.ofDays(7) : minAge;
+        chunkSize = chunkSize == null ? 500 : chunkSize;
+        maxChunksPerRun = maxChunksPerRun == null ? 20 : maxChunksPerRun;
+        interval = interval == null ? Duration.ofMinutes(10) : interval;
+        if (minAge.isNegative()) {
+            throw new IllegalStateException("The archive minimum age cannot be negative");
+        }
+        if (chunkSize < 1 || maxChunksPerRun < 1) {
+            throw new IllegalStateException("The archive chunk size and chunks per run must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Bearer tokens issued to the pizzaioli, bound from {@code app.security.tokens}.
+ *
+ * @param secret The key signing the tokens, at least 32 bytes long. Every instance must share it, and changing
+ *               it invalidates the tokens already issued.
+ * @param ttl    How long a token is accepted after being issued. Defaults to 15 minutes.
+ */
+@ConfigurationProperties(prefix = "app.security.tokens")
+public record AuthTokenProperties(String secret, Duration ttl) {
+
+    public AuthTokenProperties {
+        ttl = ttl == null ? Duration.ofMinutes(15) : ttl;
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("The token secret (app.security.tokens.secret) must be at least 32 bytes long");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalStateException("The token lifetime must be positive");
+        }
+    }
+}
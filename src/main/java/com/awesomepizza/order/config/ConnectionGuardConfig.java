@@ -0,0 +1,48 @@
+package com.awesomepizza.order.config;
+
+import com.awesomepizza.order.datasource.ConnectionGuard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts a {@link ConnectionGuard} in front of the connection pool auto-configured from {@code spring.datasource},
+ * admitting as many callers as {@code spring.datasource.hikari.maximum-pool-size}. The guard is applied before the
+ * replica routing of {@link ReadReplicaConfig}, so it only limits the connections to the primary.
+ */
+@Slf4j
+@Configuration
+public class ConnectionGuardConfig {
+
+    @Bean
+    static BeanPostProcessor connectionGuardPostProcessor(ObjectProvider<ConnectionGuardProperties> properties) {
+        return new GuardingPostProcessor(properties);
+    }
+
+    private record GuardingPostProcessor(ObjectProvider<ConnectionGuardProperties> properties)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool) {
+                ConnectionGuardProperties guard = properties.getObject();
+                if (guard.enabled()) {
+                    log.info("Connection guard admitting {} callers with up to {} waiting {}",
+                            pool.getMaximumPoolSize(), guard.maxWaiters(), guard.acquireTimeout());
+                    return new ConnectionGuard(pool, pool.getMaximumPoolSize(), guard);
+                }
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Wait guard in front of the connection pool, bound from {@code app.datasource.guard}.
+ *
+ * @param enabled        Whether the guard is installed. Defaults to {@code true}.
+ * @param maxWaiters     The callers allowed to wait for a connection while the pool is exhausted; further callers are
+ *                       refused at once. Defaults to 200.
+ * @param acquireTimeout How long a caller waits for a connection before giving up. Defaults to 3 seconds.
+ */
+@ConfigurationProperties(prefix = "app.datasource.guard")
+public record ConnectionGuardProperties(Boolean enabled, Integer maxWaiters, Duration acquireTimeout) {
+
+    public ConnectionGuardProperties {
+        enabled = enabled == null || enabled;
+        maxWaiters = maxWaiters == null ? 200 : maxWaiters;
+        acquireTimeout = acquireTimeout == null ? Duration.ofSeconds(3) : acquireTimeout;
+        if (maxWaiters < 0) {
+            throw new IllegalStateException("The connection guard maximum waiters cannot be negative");
+        }
+        if (acquireTimeout.isNegative()) {
+            throw new IllegalStateException("The connection guard acquire timeout cannot be negative");
+        }
+    }
+}
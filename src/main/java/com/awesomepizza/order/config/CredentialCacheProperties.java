@@ -0,0 +1,21 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the caches of pizzaiolo accounts and of verified passwords, bound from {@code app.security.cache}.
+ *
+ * @param maximumSize      The maximum number of entries of each cache. Defaults to 1000.
+ * @param expireAfterWrite How long an account or a verified password is trusted before being checked again, and
+ *                         so how long a disabled account may keep working. Defaults to 5 minutes.
+ */
+@ConfigurationProperties(prefix = "app.security.cache")
+public record CredentialCacheProperties(Long maximumSize, Duration expireAfterWrite) {
+
+    public CredentialCacheProperties {
+        maximumSize = maximumSize == null ? 1000L : maximumSize;
+        expireAfterWrite = expireAfterWrite == null ? Duration.ofMinutes(5) : expireAfterWrite;
+    }
+}
@@ -0,0 +1,27 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kitchen layout, bound from {@code app.kitchen}.
+ * Each station (an oven, a pizzaiolo's bench, ...) is identified by name and prepares
+ * at most the configured number of orders at the same time.
+ *
+ * @param stations The preparation slots of each station, keyed by station name, in declaration order.
+ *                 Defaults to a single {@value #DEFAULT_STATION} station with one slot.
+ */
+@ConfigurationProperties(prefix = "app.kitchen")
+public record KitchenProperties(Map<String, Integer> stations) {
+
+    public static final String DEFAULT_STATION = "main";
+
+    public KitchenProperties {
+        stations = stations == null || stations.isEmpty()
+                ? Map.of(DEFAULT_STATION, 1)
+                : Collections.unmodifiableMap(new LinkedHashMap<>(stations));
+    }
+}
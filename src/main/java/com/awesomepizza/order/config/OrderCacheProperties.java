@@ -0,0 +1,20 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the order lookup cache, bound from {@code app.cache.orders}.
+ *
+ * @param maximumSize      The maximum number of cached orders. Defaults to 10000.
+ * @param expireAfterWrite How long a cached order is served before being read again. Defaults to 30 seconds.
+ */
+@ConfigurationProperties(prefix = "app.cache.orders")
+public record OrderCacheProperties(Long maximumSize, Duration expireAfterWrite) {
+
+    public OrderCacheProperties {
+        maximumSize = maximumSize == null ? 10_000L : maximumSize;
+        expireAfterWrite = expireAfterWrite == null ? Duration.ofSeconds(30) : expireAfterWrite;
+    }
+}
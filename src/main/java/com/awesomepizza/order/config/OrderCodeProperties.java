@@ -0,0 +1,31 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation of the public order codes, bound from {@code app.order-codes}.
+ *
+ * @param blockSize The number of codes reserved by an instance with each value of the block sequence.
+ *                  Defaults to 1000.
+ * @param key       The secret that shuffles the codes, so that they cannot be guessed from one another, at
+ *                  least 32 bytes long. It has no default and must be kept out of the repository: anyone
+ *                  knowing it can invert the permutation and enumerate the codes. Must never change once
+ *                  orders exist: a different key maps the same sequence values to different codes, which may
+ *                  then clash with existing ones.
+ */
+@ConfigurationProperties(prefix = "app.order-codes")
+public record OrderCodeProperties(Integer blockSize, String key) {
+
+    public OrderCodeProperties {
+        blockSize = blockSize == null ? 1000 : blockSize;
+        if (blockSize < 1) {
+            throw new IllegalStateException("The order code block size must be at least 1");
+        }
+        if (key == null || key.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException(
+                    "The order code key (app.order-codes.key, APP_ORDER_CODES_KEY) must be at least 32 bytes long");
+        }
+    }
+}
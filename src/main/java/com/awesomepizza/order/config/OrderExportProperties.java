@@ -0,0 +1,19 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Order history export, bound from {@code app.export}.
+ *
+ * @param fetchSize The number of rows fetched from the database per round trip while exporting. Defaults to 500.
+ */
+@ConfigurationProperties(prefix = "app.export")
+public record OrderExportProperties(Integer fetchSize) {
+
+    public OrderExportProperties {
+        fetchSize = fetchSize == null ? 500 : fetchSize;
+        if (fetchSize < 1) {
+            throw new IllegalStateException("The export fetch size must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk order import, bound from {@code app.import}.
+ *
+ * @param chunkSize The number of orders saved per transaction. Defaults to 1000.
+ */
+@ConfigurationProperties(prefix = "app.import")
+public record OrderImportProperties(Integer chunkSize) {
+
+    public OrderImportProperties {
+        chunkSize = chunkSize == null ? 1000 : chunkSize;
+        if (chunkSize < 1) {
+            throw new IllegalStateException("The import chunk size must be at least 1");
+        }
+    }
+}
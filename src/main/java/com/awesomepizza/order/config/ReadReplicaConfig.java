@@ -0,0 +1,34 @@
+package com.awesomepizza.order.config;
+
+import com.awesomepizza.order.datasource.ReplicaRouting;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to the replicas of {@code app.replicas}, when any is configured, by wrapping the
+ * data source auto-configured from {@code spring.datasource}. Without replicas the data source is left untouched.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    static BeanPostProcessor readReplicaDataSourcePostProcessor(ObjectProvider<ReplicaRouting> replicaRouting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    ReplicaRouting routing = replicaRouting.getObject();
+                    if (routing.isEnabled()) {
+                        return routing.route(dataSource);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas serving the read-only transactions, bound from {@code app.replicas}.
+ *
+ * @param urls     The JDBC URLs of the replicas. Defaults to none, in which case every transaction uses
+ *                 {@code spring.datasource}.
+ * @param username The user of the replicas. Defaults to the user of {@code spring.datasource}.
+ * @param password The password of the replicas. Defaults to the password of {@code spring.datasource}.
+ * @param maxLag   How far behind the primary a replica may be, for databases that cannot report their replication
+ *                 position. Defaults to 5 seconds.
+ * @param tokenSecret The key signing the consistency tokens, at least 32 bytes long when replicas are configured.
+ *                    Every instance must share it.
+ */
+@ConfigurationProperties(prefix = "app.replicas")
+public record ReplicaProperties(List<String> urls, String username, String password, Duration maxLag,
+                                String tokenSecret) {
+
+    public ReplicaProperties {
+        urls = urls == null ? List.of() : List.copyOf(urls);
+        maxLag = maxLag == null ? Duration.ofSeconds(5) : maxLag;
+        if (maxLag.isNegative()) {
+            throw new IllegalStateException("The replica maximum lag cannot be negative");
+        }
+        if (!urls.isEmpty() && (tokenSecret == null || tokenSecret.getBytes(StandardCharsets.UTF_8).length < 32)) {
+            throw new IllegalStateException(
+                    "The consistency token secret (app.replicas.token-secret) must be at least 32 bytes long");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sales statistics rollups, bound from {@code app.stats}.
+ *
+ * @param enabled           Whether the rollups are kept up to date. Defaults to {@code true}.
+ * @param flushInterval     The delay between two rewrites of the hours changed by committed orders. Defaults to 5 seconds.
+ * @param reconcileInterval The delay between two reconciliations, which rewrite every recent hour whether it
+ *                          changed or not. Defaults to 1 hour.
+ * @param reconcileWindow   How far back a reconciliation goes. Defaults to 2 days.
+ */
+@ConfigurationProperties(prefix = "app.stats")
+public record SalesStatsProperties(Boolean enabled, Duration flushInterval, Duration reconcileInterval,
+                                   Duration reconcileWindow) {
+
+    public SalesStatsProperties {
+        enabled = enabled == null || enabled;
+        flushInterval = flushInterval == null ? Duration.ofSeconds(5) : flushInterval;
+        reconcileInterval = reconcileInterval == null ? Duration.ofHours(1) : reconcileInterval;
+        reconcileWindow = reconcileWindow == null ? Duration.ofDays(2) : reconcileWindow;
+        if (reconcileWindow.isNegative()) {
+            throw new IllegalStateException("The stats reconcile window cannot be negative");
+        }
+    }
+}
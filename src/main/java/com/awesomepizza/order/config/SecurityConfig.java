@@ -1,58 +1,55 @@
 package com.awesomepizza.order.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.awesomepizza.order.security.AuthTokenService;
+import com.awesomepizza.order.security.BearerTokenFilter;
+import com.awesomepizza.order.security.CachingPasswordEncoder;
+
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${app.security.pizzaiolo.username}")
-    private String pizzaioloUsername;
-
-    @Value("${app.security.pizzaiolo.password}")
-    private String pizzaioloPassword;
-
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthTokenService tokenService,
+                                                   UserDetailsService userDetailsService) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) 
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers(HttpMethod.POST, "/api/v1/orders").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/v1/orders/{code}").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/orders/{code}", "/api/v1/orders/{code}/position", "/api/v1/orders/{code}/events").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
+                // Probes and Prometheus scrapes, only on the management port (management.server.port)
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .requestMatchers("/api/v1/pizzaiolo/**").hasRole("PIZZAIOLO")
                 .anyRequest().authenticated()
             )
+            // Tokens from POST /api/v1/pizzaiolo/auth/token, checked with an HMAC instead of BCrypt
+            .addFilterBefore(new BearerTokenFilter(tokenService, userDetailsService), BasicAuthenticationFilter.class)
             .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
 
+    /**
+     * BCrypt, with the passwords it has already verified remembered for a while: a client repeating its Basic
+     * credentials on every request pays for BCrypt once per {@code app.security.cache.expire-after-write}.
+     */
     @Bean
-    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
-        UserDetails pizzaiolo = User.builder()
-            .username(pizzaioloUsername)
-            .password(passwordEncoder.encode(pizzaioloPassword))
-            .roles("PIZZAIOLO")
-            .build();
-        return new InMemoryUserDetailsManager(pizzaiolo);
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(CredentialCacheProperties cacheProperties) {
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), cacheProperties);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Live order streams (Server-Sent Events), bound from {@code app.streams}.
+ *
+ * @param queueCapacity     The events buffered per connection before a slow client is disconnected. Defaults to 32.
+ * @param heartbeatInterval How often an idle connection receives a heartbeat comment. Defaults to 15 seconds.
+ * @param timeout           How long a connection stays open before the client has to reconnect. Defaults to 30 minutes.
+ */
+@ConfigurationProperties(prefix = "app.streams")
+public record StreamProperties(Integer queueCapacity, Duration heartbeatInterval, Duration timeout) {
+
+    public StreamProperties {
+        queueCapacity = queueCapacity == null ? 32 : queueCapacity;
+        heartbeatInterval = heartbeatInterval == null ? Duration.ofSeconds(15) : heartbeatInterval;
+        timeout = timeout == null ? Duration.ofMinutes(30) : timeout;
+    }
+}
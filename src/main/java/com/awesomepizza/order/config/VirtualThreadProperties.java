@@ -0,0 +1,23 @@
+package com.awesomepizza.order.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Diagnostics of the virtual-thread mode ({@code spring.threads.virtual.enabled}), bound from
+ * {@code app.virtual-threads}.
+ *
+ * @param pinnedThreshold How long a virtual thread has to stay pinned to its carrier thread before it is reported.
+ *                        Defaults to 20 milliseconds.
+ */
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public record VirtualThreadProperties(Duration pinnedThreshold) {
+
+    public VirtualThreadProperties {
+        pinnedThreshold = pinnedThreshold == null ? Duration.ofMillis(20) : pinnedThreshold;
+        if (pinnedThreshold.isNegative()) {
+            throw new IllegalStateException("The pinned threshold cannot be negative");
+        }
+    }
+}
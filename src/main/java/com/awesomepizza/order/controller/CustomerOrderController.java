@@ -2,8 +2,11 @@ package com.awesomepizza.order.controller;
 
 import com.awesomepizza.order.dto.CreateOrderRequest;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderRevision;
+import com.awesomepizza.order.dto.QueuePositionResponse;
 import com.awesomepizza.order.dto.UpdateOrderRequest;
 import com.awesomepizza.order.service.api.ICustomerOrderService;
+import com.awesomepizza.order.stream.OrderEventStreams;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,9 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
 
 /**
  * REST controller for customer-facing order operations.
@@ -27,14 +35,23 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerOrderController {
 
     private final ICustomerOrderService customerOrderService;
+    private final OrderHttpCaching httpCaching;
+    private final OrderEventStreams eventStreams;
 
     /**
      * Constructs a new CustomerOrderController with the necessary service dependency.
      *
      * @param customerOrderService The service handling customer-specific order logic.
+     * @param httpCaching          The HTTP caching rules for order representations.
+     * @param eventStreams         The live streams of order changes.
      */
-    public CustomerOrderController(ICustomerOrderService customerOrderService) {
+    public CustomerOrderController(
+            ICustomerOrderService customerOrderService,
+            OrderHttpCaching httpCaching,
+            OrderEventStreams eventStreams) {
         this.customerOrderService = customerOrderService;
+        this.httpCaching = httpCaching;
+        this.eventStreams = eventStreams;
     }
 
     /**
@@ -59,20 +76,85 @@ public class CustomerOrderController {
 
     /**
      * Retrieves the details of a specific order using its unique order code.
+     * The response carries an ETag derived from the order version. When the client sends it back in
+     * If-None-Match and the order has not changed, the answer is 304 (Not Modified) and the order is
+     * neither loaded with its items nor serialized.
      *
-     * @param code The unique order code of the order to retrieve.
+     * @param code        The unique order code of the order to retrieve.
+     * @param ifNoneMatch The entity tags of the copies already held by the client, if any.
      * @return A {@link ResponseEntity} containing the {@link OrderResponse} if the order is found
-     *         with HTTP status 200 (OK), or HTTP status 404 (Not Found) if no order matches the code.
+     *         with HTTP status 200 (OK), HTTP status 304 (Not Modified) if the client copy is current,
+     *         or HTTP status 404 (Not Found) if no order matches the code.
      */
-    @Operation(summary = "Get order by code", description = "Retrieves the details of a specific order using its unique code.")
+    @Operation(summary = "Get order by code", description = "Retrieves the details of a specific order using its unique code. Supports conditional requests through ETag and If-None-Match.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Order found and returned"),
+        @ApiResponse(responseCode = "304", description = "Order not modified since the version identified by If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Order not found")
     })
     @GetMapping("/{code}")
-    public ResponseEntity<OrderResponse> getOrderByCode(@PathVariable String code) {
+    public ResponseEntity<OrderResponse> getOrderByCode(
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Received request to get order by code: {}", code);
+        if (ifNoneMatch != null) {
+            Optional<OrderRevision> revision = customerOrderService.getOrderRevision(code);
+            if (revision.isPresent() && httpCaching.isNotModified(ifNoneMatch, revision.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(httpCaching.etag(code, revision.get().version()))
+                    .cacheControl(httpCaching.cacheControl(revision.get().status()))
+                    .build();
+            }
+        }
         return customerOrderService.getByOrderCode(code)
+            .map(this::withCachingHeaders)
+            .orElseGet(() -> {
+                log.warn("Order with code {} not found.", code);
+                return ResponseEntity.notFound().build();
+            });
+    }
+
+    /**
+     * Tells how many orders are ahead of a specific order in the kitchen queue.
+     *
+     * @param code The unique order code of the order.
+     * @return A {@link ResponseEntity} containing the {@link QueuePositionResponse} if the order is found
+     *         with HTTP status 200 (OK), or HTTP status 404 (Not Found) if no order matches the code.
+     */
+    @Operation(summary = "Get queue position", description = "Returns the position of an order among the pending orders and the number of orders in preparation.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Queue position returned"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping("/{code}/position")
+    public ResponseEntity<QueuePositionResponse> getQueuePosition(@PathVariable String code) {
+        log.debug("Received request to get queue position of order: {}", code);
+        return customerOrderService.getQueuePosition(code)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> {
+                log.warn("Order with code {} not found.", code);
+                return ResponseEntity.notFound().build();
+            });
+    }
+
+    /**
+     * Opens a Server-Sent Events stream on a specific order, as an alternative to polling it.
+     * The current state of the order is sent first, then every change as an {@code order} event;
+     * the stream ends once the order is completed or canceled.
+     *
+     * @param code The unique order code of the order to follow.
+     * @return A {@link ResponseEntity} containing the event stream, or HTTP status 404 (Not Found)
+     *         if no order matches the code.
+     */
+    @Operation(summary = "Follow an order", description = "Streams the state of an order as Server-Sent Events, until the order is completed or canceled.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping(value = "/{code}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderEvents(@PathVariable String code) {
+        log.debug("Received request to stream events of order: {}", code);
+        return eventStreams.subscribeToOrder(code, () -> customerOrderService.getLatestByOrderCode(code))
             .map(ResponseEntity::ok)
             .orElseGet(() -> {
                 log.warn("Order with code {} not found.", code);
@@ -99,7 +181,9 @@ public class CustomerOrderController {
     public ResponseEntity<OrderResponse> updateOrder(@PathVariable String code, @Valid @RequestBody UpdateOrderRequest request) {
         log.info("Received request to update order with code: {}", code);
         OrderResponse response = customerOrderService.updateOrder(code, request);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(httpCaching.etag(response.orderCode(), response.version()))
+            .body(response);
     }
 
     /**
@@ -121,6 +205,15 @@ public class CustomerOrderController {
     public ResponseEntity<OrderResponse> cancelOrder(@PathVariable String code) {
         log.info("Received request to cancel order with code: {}", code);
         OrderResponse response = customerOrderService.cancelOrder(code);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .eTag(httpCaching.etag(response.orderCode(), response.version()))
+            .body(response);
+    }
+
+    private ResponseEntity<OrderResponse> withCachingHeaders(OrderResponse order) {
+        return ResponseEntity.ok()
+            .eTag(httpCaching.etag(order.orderCode(), order.version()))
+            .cacheControl(httpCaching.cacheControl(order.status()))
+            .body(order);
     }
 }
\ No newline at end of file
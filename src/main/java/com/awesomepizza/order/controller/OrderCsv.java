@@ -0,0 +1,66 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.dto.OrderItemResponse;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Writes orders as CSV (RFC 4180): one line per item, with the columns of the order repeated on each, and a
+ * single line with empty item columns for an order without items.
+ */
+final class OrderCsv {
+
+    static final String HEADER = "order_code,status,station,customer_name,phone,delivery_address,created_at,"
+            + "order_total,item_count,pizza_name,quantity,price\r\n";
+
+    private OrderCsv() {
+    }
+
+    /**
+     * @param order The order to write.
+     * @return The CSV lines of the order, each ending with CRLF.
+     */
+    static String lines(OrderResponse order) {
+        String orderColumns = String.join(",",
+                field(order.orderCode()),
+                field(order.status().name()),
+                field(order.station()),
+                field(order.customerName()),
+                field(order.phone()),
+                field(order.deliveryAddress()),
+                field(order.createdAt().toString()),
+                BigDecimal.valueOf(order.totalAmount(), 2).toPlainString(),
+                Integer.toString(order.itemCount()));
+        List<OrderItemResponse> items = order.orderItems();
+        if (items.isEmpty()) {
+            return orderColumns + ",,,\r\n";
+        }
+        StringBuilder lines = new StringBuilder();
+        for (OrderItemResponse item : items) {
+            lines.append(orderColumns).append(',')
+                    .append(field(item.pizzaName())).append(',')
+                    .append(item.quantity()).append(',')
+                    .append(item.price().toPlainString()).append("\r\n");
+        }
+        return lines.toString();
+    }
+
+    /**
+     * Quotes a value when needed. Values a spreadsheet would run as a formula, such as a customer name
+     * starting with {@code =}, are prefixed with an apostrophe so that they are shown as text.
+     */
+    static String field(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,115 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderExportFilter;
+import com.awesomepizza.order.dto.OrderExportFormat;
+import com.awesomepizza.order.service.api.IOrderExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * REST controller for exporting the order history, live and archived orders alike, for accounting.
+ *
+ * All endpoints in this controller require Basic Authentication.
+ */
+@Tag(name = "Pizzaiolo Orders", description = "Operations for pizzaiolos to manage orders")
+@SecurityRequirement(name = "basicAuth")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/pizzaiolo/orders/export")
+public class OrderExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final IOrderExportService orderExportService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Constructs a new OrderExportController.
+     *
+     * @param orderExportService The service reading the orders to export.
+     * @param jsonMapper         The mapper writing the orders as JSON.
+     */
+    public OrderExportController(IOrderExportService orderExportService, JsonMapper jsonMapper) {
+        this.orderExportService = orderExportService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Exports the orders created in a period, oldest first. The response is written while the orders are
+     * read from the database, and neither side is buffered, so exports of any size take the same memory.
+     *
+     * @param format   The format of the export.
+     * @param from     Only orders created at or after this instant, if given.
+     * @param to       Only orders created before this instant, if given.
+     * @param statuses Only orders in one of these statuses, if given.
+     * @param response The response the orders are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @Operation(summary = "Export the order history", description = "Streams every order, archived ones included, as newline-delimited JSON (one order per line) or CSV (one line per item).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders exported"),
+            @ApiResponse(responseCode = "400", description = "Invalid period, status or format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping
+    public void exportOrders(
+            @Parameter(description = "NDJSON (default) or CSV") @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+            @Parameter(description = "Orders created at or after this instant (ISO-8601)") @RequestParam(required = false) Instant from,
+            @Parameter(description = "Orders created before this instant (ISO-8601)") @RequestParam(required = false) Instant to,
+            @Parameter(description = "Orders in these statuses; repeat for more than one") @RequestParam(name = "status", required = false) Set<OrderStatus> statuses,
+            HttpServletResponse response) throws IOException {
+        OrderExportFilter filter = new OrderExportFilter(from, to, statuses);
+        log.info("Received request to export orders as {} from {} to {} in {}", format, from, to, filter.statuses());
+
+        boolean csv = format == OrderExportFormat.CSV;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(csv ? CSV : NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"");
+        OutputStream output = response.getOutputStream();
+        if (csv) {
+            output.write(OrderCsv.HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            orderExportService.exportOrders(filter, order -> {
+                try {
+                    if (csv) {
+                        output.write(OrderCsv.lines(order).getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        output.write(jsonMapper.writeValueAsBytes(order));
+                        output.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        output.flush();
+    }
+}
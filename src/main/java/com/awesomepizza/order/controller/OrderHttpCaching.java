@@ -0,0 +1,65 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderRevision;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * HTTP caching rules for order representations.
+ * The entity tag of an order is derived from its code and optimistic locking version, which changes on
+ * every write, so it can be checked without loading or serializing the order.
+ */
+@Component
+class OrderHttpCaching {
+
+    // Orders in a final status never change again, so clients and proxies may keep them for good
+    private static final CacheControl FINAL_STATUS_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    // Live orders may be stored, but must be revalidated with If-None-Match on every use
+    private static final CacheControl LIVE_STATUS_CACHE_CONTROL = CacheControl.noCache();
+
+    private final OrderStatusValidator statusValidator;
+
+    OrderHttpCaching(OrderStatusValidator statusValidator) {
+        this.statusValidator = statusValidator;
+    }
+
+    /**
+     * Builds the strong entity tag of an order revision.
+     *
+     * @param orderCode The unique code of the order.
+     * @param version   The version of the order.
+     * @return The quoted entity tag.
+     */
+    String etag(String orderCode, Long version) {
+        return ETag.quoteETagIfNecessary(orderCode + "-" + version);
+    }
+
+    /**
+     * Checks whether the client already holds the given revision.
+     *
+     * @param ifNoneMatch The If-None-Match request header.
+     * @param revision    The current revision of the order.
+     * @return true if one of the tags sent by the client matches the revision.
+     */
+    boolean isNotModified(String ifNoneMatch, OrderRevision revision) {
+        ETag current = ETag.create(etag(revision.orderCode(), revision.version()));
+        // If-None-Match uses the weak comparison (RFC 9110, section 13.1.2)
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    /**
+     * @param status The status of the order.
+     * @return The Cache-Control directives for an order in that status.
+     */
+    CacheControl cacheControl(OrderStatus status) {
+        return statusValidator.isFinal(status) ? FINAL_STATUS_CACHE_CONTROL : LIVE_STATUS_CACHE_CONTROL;
+    }
+}
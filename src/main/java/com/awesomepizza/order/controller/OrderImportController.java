@@ -0,0 +1,95 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.dto.OrderImportResult;
+import com.awesomepizza.order.service.api.IOrderImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST controller for importing orders in bulk, for orders taken by phone, through partner
+ * platforms or for catering events.
+ *
+ * All endpoints in this controller require Basic Authentication.
+ */
+@Tag(name = "Pizzaiolo Orders", description = "Operations for pizzaiolos to manage orders")
+@SecurityRequirement(name = "basicAuth")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/pizzaiolo/orders/import")
+public class OrderImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final IOrderImportService orderImportService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Constructs a new OrderImportController.
+     *
+     * @param orderImportService The service importing the orders.
+     * @param jsonMapper         The mapper writing the outcome of each line.
+     */
+    public OrderImportController(IOrderImportService orderImportService, JsonMapper jsonMapper) {
+        this.orderImportService = orderImportService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Imports orders from newline-delimited JSON, one order per line in the same format as the
+     * body of the order creation. Neither the request nor the response is buffered: the outcome of
+     * each line is streamed back as soon as the chunk it belongs to has been saved.
+     *
+     * @param body     The newline-delimited JSON orders.
+     * @param response The response the outcomes are written to, one JSON object per line.
+     * @throws IOException if the request cannot be read or the response cannot be written.
+     */
+    @Operation(summary = "Import orders in bulk", description = "Creates the orders of a newline-delimited JSON body, one order per line, and streams back the outcome of every line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see the outcome of each line"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @PostMapping(consumes = NDJSON, produces = NDJSON)
+    public void importOrders(InputStream body, HttpServletResponse response) throws IOException {
+        log.info("Received request to import orders");
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream output = response.getOutputStream();
+
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            orderImportService.importOrders(lines, results -> {
+                try {
+                    for (OrderImportResult result : results) {
+                        output.write(jsonMapper.writeValueAsBytes(result));
+                        output.write('\n');
+                    }
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.dto.TokenResponse;
+import com.awesomepizza.order.security.AuthTokenService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller issuing the bearer tokens of the pizzaioli.
+ *
+ * A kitchen tablet logs in once with Basic Authentication and sends the token
+ * on the following requests, which are then checked without BCrypt.
+ */
+@Tag(name = "Pizzaiolo Authentication", description = "Login of the pizzaiolos")
+@SecurityRequirement(name = "basicAuth")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/pizzaiolo/auth")
+public class PizzaioloAuthController {
+
+    private final AuthTokenService tokenService;
+
+    /**
+     * Constructs a new PizzaioloAuthController.
+     *
+     * @param tokenService The service issuing the tokens.
+     */
+    public PizzaioloAuthController(AuthTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Issues a short-lived bearer token to the pizzaiolo authenticated with their password.
+     * A token cannot be used to obtain another one, so it stops working when it expires.
+     *
+     * @param authentication The authenticated pizzaiolo.
+     * @return A {@link ResponseEntity} containing the {@link TokenResponse}.
+     */
+    @Operation(summary = "Issue a bearer token", description = "Exchanges Basic credentials for a short-lived token to send as 'Authorization: Bearer <token>'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token issued"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - a token cannot be renewed with another token")
+    })
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+        if (authentication instanceof PreAuthenticatedAuthenticationToken) {
+            log.debug("Refused to renew the token of pizzaiolo {}", authentication.getName());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        AuthTokenService.IssuedToken issued = tokenService.issue(authentication.getName());
+        log.info("Issued token to pizzaiolo {} until {}", authentication.getName(), issued.expiresAt());
+        return ResponseEntity.ok(new TokenResponse(issued.token(), "Bearer", tokenService.ttl().toSeconds(), issued.expiresAt()));
+    }
+}
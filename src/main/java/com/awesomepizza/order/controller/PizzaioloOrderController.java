@@ -1,21 +1,34 @@
 package com.awesomepizza.order.controller;
 
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.ArchiveStatsResponse;
+import com.awesomepizza.order.dto.BulkStatusUpdateRequest;
+import com.awesomepizza.order.dto.CacheStatsResponse;
+import com.awesomepizza.order.dto.OrderPageResponse;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderSummaryPageResponse;
+import com.awesomepizza.order.dto.StatusUpdateResult;
 import com.awesomepizza.order.service.api.IPizzaioloOrderService;
+import com.awesomepizza.order.stream.OrderEventStreams;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -34,6 +47,7 @@ import java.util.List;
 public class PizzaioloOrderController {
 
     private final IPizzaioloOrderService pizzaioloOrderService;
+    private final OrderEventStreams eventStreams;
 
     /**
      * Constructs a new PizzaioloOrderController with the necessary service
@@ -41,30 +55,58 @@ public class PizzaioloOrderController {
      *
      * @param pizzaioloOrderService The service handling pizzaiolo-specific order
      *                              logic.
+     * @param eventStreams          The live streams of order changes.
      */
-    public PizzaioloOrderController(IPizzaioloOrderService pizzaioloOrderService) {
+    public PizzaioloOrderController(IPizzaioloOrderService pizzaioloOrderService, OrderEventStreams eventStreams) {
         this.pizzaioloOrderService = pizzaioloOrderService;
+        this.eventStreams = eventStreams;
     }
 
     /**
-     * Retrieves a list of all pizza orders.
-     * Orders are typically sorted by their creation date.
+     * Retrieves a page of the order history, sorted by creation date.
+     * Use the {@code nextCursor} of a page as {@code cursor} to fetch the following one.
      *
-     * @return A {@link ResponseEntity} containing a list of {@link OrderResponse}
-     *         DTOs.
+     * @param cursor The opaque cursor returned with the previous page; omit it for the first page.
+     * @param size   The maximum number of orders in the page.
+     * @return A {@link ResponseEntity} containing an {@link OrderPageResponse}.
      */
-    @Operation(summary = "Get all orders", description = "Retrieves a list of all pizza orders, ordered by creation date.")
+    @Operation(summary = "Get all orders", description = "Retrieves a page of pizza orders, ordered by creation date. Pages are linked through an opaque cursor.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of orders"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
     })
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.debug("Received request to get all orders for pizzaiolo");
-        List<OrderResponse> orders = pizzaioloOrderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<OrderPageResponse> getAllOrders(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        log.debug("Received request to get a page of orders for pizzaiolo");
+        OrderPageResponse page = pizzaioloOrderService.getAllOrders(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Retrieves a page of the order history without the order items, with the total and the number
+     * of pizzas of each order. Uses the same cursors as {@link #getAllOrders(String, int)}.
+     *
+     * @param cursor The opaque cursor returned with the previous page; omit it for the first page.
+     * @param size   The maximum number of orders in the page.
+     * @return A {@link ResponseEntity} containing an {@link OrderSummaryPageResponse}.
+     */
+    @Operation(summary = "Get order summaries", description = "Retrieves a page of pizza orders with their totals but without their items, ordered by creation date. Pages are linked through an opaque cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of order summaries"),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<OrderSummaryPageResponse> getOrderSummaries(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int size) {
+        log.debug("Received request to get a page of order summaries for pizzaiolo");
+        OrderSummaryPageResponse page = pizzaioloOrderService.getOrderSummaries(cursor, size);
+        return ResponseEntity.ok(page);
     }
-    
 
     /**
      * Retrieves a list of all pending pizza orders.
@@ -86,26 +128,78 @@ public class PizzaioloOrderController {
         return ResponseEntity.ok(pendingOrders);
     }
 
+    /**
+     * Opens the kitchen-wide Server-Sent Events stream, with an {@code order-changed} event for
+     * every new order and every change of an existing one.
+     * Open the stream before loading the pending orders, so that no change is missed in between.
+     *
+     * @return The event stream.
+     */
+    @Operation(summary = "Follow the kitchen", description = "Streams every order change as Server-Sent Events, as an alternative to polling the pending orders.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenEvents() {
+        log.debug("Received request to stream kitchen events");
+        return eventStreams.subscribeToKitchen();
+    }
+
+    /**
+     * Retrieves the statistics of the cache serving the public order lookup.
+     *
+     * @return A {@link ResponseEntity} containing the {@link CacheStatsResponse}.
+     */
+    @Operation(summary = "Get order cache statistics", description = "Returns size, hit, miss and eviction counters of the order lookup cache.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsResponse> getOrderCacheStats() {
+        return ResponseEntity.ok(pizzaioloOrderService.getOrderCacheStats());
+    }
+
+    /**
+     * Retrieves the statistics of the archiver moving finished orders out of the live tables.
+     *
+     * @return A {@link ResponseEntity} containing the {@link ArchiveStatsResponse}.
+     */
+    @Operation(summary = "Get order archive statistics", description = "Returns the number of archiver runs, of orders and items moved to the archive, and the outcome of the latest run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved archive statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping("/archive-stats")
+    public ResponseEntity<ArchiveStatsResponse> getArchiveStats() {
+        return ResponseEntity.ok(pizzaioloOrderService.getArchiveStats());
+    }
+
     /**
      * Allows a pizzaiolo to take a specific order for preparation.
      * The order's status will be changed from PENDING to IN_PREPARATION.
-     * This operation is typically restricted to one order in preparation at a time.
+     * The order is taken only if the kitchen station has a free preparation slot.
      *
-     * @param code The unique order code of the order to be taken.
+     * @param code    The unique order code of the order to be taken.
+     * @param station The kitchen station taking the order, or {@code null} for any station with a free slot.
      * @return A {@link ResponseEntity} containing the {@link OrderResponse} of the
      *         taken order.
      */
-    @Operation(summary = "Take a specific order", description = "Changes the status of a PENDING order to IN_PREPARATION. Only one order can be in preparation at a time.")
+    @Operation(summary = "Take a specific order", description = "Changes the status of a PENDING order to IN_PREPARATION. Each kitchen station prepares a limited number of orders at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order successfully taken and status updated to IN_PREPARATION"),
-            @ApiResponse(responseCode = "400", description = "Invalid request (e.g., another order is in preparation, or order status is not PENDING)"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (e.g., no free slot at the station, unknown station, or order status is not PENDING)"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
     })
     @PostMapping("/{code}/take")
-    public ResponseEntity<OrderResponse> takeOrder(@PathVariable String code) {
-        log.info("Received request to take order with code: {}", code);
-        OrderResponse response = pizzaioloOrderService.takeOrder(code);
+    public ResponseEntity<OrderResponse> takeOrder(
+            @PathVariable String code,
+            @Parameter(description = "Kitchen station taking the order. Any station with a free slot if omitted.")
+            @RequestParam(required = false) String station) {
+        log.info("Received request to take order with code: {} at station {}", code, station);
+        OrderResponse response = pizzaioloOrderService.takeOrder(code, station);
         return ResponseEntity.ok(response);
     }
 
@@ -113,22 +207,25 @@ public class PizzaioloOrderController {
      * Allows a pizzaiolo to take the next available pending order.
      * The "next" order is the oldest order (by creation date) that is in 'PENDING'
      * status.
-     * This operation is typically restricted to one order in preparation at a time.
+     * The order is taken only if the kitchen station has a free preparation slot.
      *
+     * @param station The kitchen station taking the order, or {@code null} for any station with a free slot.
      * @return A {@link ResponseEntity} containing the {@link OrderResponse} of the
      *         taken order.
      */
-    @Operation(summary = "Take the next pending order", description = "Finds the oldest PENDING order and changes its status to IN_PREPARATION. Only one order can be in preparation at a time.")
+    @Operation(summary = "Take the next pending order", description = "Finds the oldest PENDING order and changes its status to IN_PREPARATION. Each kitchen station prepares a limited number of orders at a time.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Next pending order successfully taken and status updated to IN_PREPARATION"),
-            @ApiResponse(responseCode = "400", description = "Invalid request (e.g., another order is in preparation)"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (e.g., no free slot at the station, or unknown station)"),
             @ApiResponse(responseCode = "404", description = "No pending orders found to be taken"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
     })
     @PostMapping("/take-next")
-    public ResponseEntity<OrderResponse> takeNextOrder() {
-        log.info("Received request to take the next pending order");
-        OrderResponse response = pizzaioloOrderService.takeNextOrder();
+    public ResponseEntity<OrderResponse> takeNextOrder(
+            @Parameter(description = "Kitchen station taking the order. Any station with a free slot if omitted.")
+            @RequestParam(required = false) String station) {
+        log.info("Received request to take the next pending order at station {}", station);
+        OrderResponse response = pizzaioloOrderService.takeNextOrder(station);
         return ResponseEntity.ok(response);
     }
 
@@ -156,4 +253,25 @@ public class PizzaioloOrderController {
         OrderResponse response = pizzaioloOrderService.updateOrderStatus(code, status);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Updates the status of many orders in a single request.
+     * Every change is validated on its own: one that cannot be applied is reported in its
+     * result without affecting the others.
+     *
+     * @param request The orders to update, each with its new status.
+     * @return A {@link ResponseEntity} containing the outcome of every change, in the order of the request.
+     */
+    @Operation(summary = "Update the status of many orders", description = "Changes the status of up to 200 orders at once and reports the outcome of each change.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes processed; see the outcome of each one"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (e.g., empty list, too many changes, or invalid status value)"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @PostMapping("/status")
+    public ResponseEntity<List<StatusUpdateResult>> updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        log.info("Received request to update the status of {} orders", request.updates().size());
+        List<StatusUpdateResult> results = pizzaioloOrderService.updateOrderStatuses(request.updates());
+        return ResponseEntity.ok(results);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.dto.SalesGranularity;
+import com.awesomepizza.order.dto.SalesStatsResponse;
+import com.awesomepizza.order.dto.StatusDurationStatsResponse;
+import com.awesomepizza.order.service.api.ISalesStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * REST controller for the sales statistics: revenue, order counts and pizza mix per hour or per day.
+ *
+ * All endpoints in this controller require Basic Authentication.
+ */
+@Tag(name = "Pizzaiolo Stats", description = "Sales statistics for pizzaiolos")
+@SecurityRequirement(name = "basicAuth")
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/pizzaiolo/stats")
+public class SalesStatsController {
+
+    private final ISalesStatsService salesStatsService;
+
+    /**
+     * Constructs a new SalesStatsController.
+     *
+     * @param salesStatsService The service reading the sales rollups.
+     */
+    public SalesStatsController(ISalesStatsService salesStatsService) {
+        this.salesStatsService = salesStatsService;
+    }
+
+    /**
+     * Retrieves the sales of a time range, per bucket and order status, with the pizza mix of each.
+     *
+     * @param granularity The size of the buckets.
+     * @param from        The start of the range; defaults to one day (hourly) or 30 days (daily) before {@code to}.
+     * @param to          The end of the range, exclusive; defaults to the end of the current bucket.
+     * @return A {@link ResponseEntity} containing the {@link SalesStatsResponse}.
+     */
+    @Operation(summary = "Get sales statistics", description = "Returns order counts, pizzas sold, revenue (in cents) and pizza mix per hour or per day (UTC) and order status, from pre-aggregated rollups refreshed every few seconds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved sales statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping
+    public ResponseEntity<SalesStatsResponse> getSales(
+            @Parameter(description = "HOUR (default, at most 31 days) or DAY (at most 366 days)") @RequestParam(defaultValue = "HOUR") SalesGranularity granularity,
+            @Parameter(description = "Start of the range (ISO-8601)") @RequestParam(required = false) Instant from,
+            @Parameter(description = "End of the range, exclusive (ISO-8601)") @RequestParam(required = false) Instant to) {
+        log.debug("Received request to get {} sales from {} to {}", granularity, from, to);
+        return ResponseEntity.ok(salesStatsService.getSales(granularity, from, to));
+    }
+
+    /**
+     * Retrieves how long the orders stayed in each status, for the stays that started within a time range.
+     *
+     * @param from The start of the range; defaults to one day before {@code to}.
+     * @param to   The end of the range, exclusive; defaults to now.
+     * @return A {@link ResponseEntity} containing the {@link StatusDurationStatsResponse}.
+     */
+    @Operation(summary = "Get status durations", description = "Returns the median, 90th and 99th percentile and maximum time (in milliseconds) spent in PENDING, IN_PREPARATION and READY by the orders that entered the status within the range and have left it since, from the order status history.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved status durations"),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Basic authentication required")
+    })
+    @GetMapping("/status-durations")
+    public ResponseEntity<StatusDurationStatsResponse> getStatusDurations(
+            @Parameter(description = "Start of the range (ISO-8601), at most 31 days before its end") @RequestParam(required = false) Instant from,
+            @Parameter(description = "End of the range, exclusive (ISO-8601)") @RequestParam(required = false) Instant to) {
+        log.debug("Received request to get status durations from {} to {}", from, to);
+        return ResponseEntity.ok(salesStatsService.getStatusDurations(from, to));
+    }
+}
@@ -0,0 +1,156 @@
+package com.awesomepizza.order.datasource;
+
+import com.awesomepizza.order.config.ConnectionGuardProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits at most as many callers to the connection pool as it has connections, and bounds how many wait.
+ * <p>
+ * With requests served on virtual threads there is no thread pool left to cap the concurrency, so the connection
+ * pool becomes the only limiter: thousands of callers could queue inside it, each holding its request until the
+ * pool timeout. The guard hands out one permit per pooled connection, in arrival order. Callers that find every
+ * permit taken wait at most {@code acquire-timeout}, and once {@code max-waiters} are already waiting further
+ * callers are refused at once. Waiting on the semaphore parks a virtual thread without pinning its carrier.
+ * <p>
+ * Permits are returned when the connection is closed, that is when it goes back to the pool.
+ */
+@Slf4j
+public class ConnectionGuard extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final int maxWaiters;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * Constructs a new ConnectionGuard.
+     *
+     * @param pool           The connection pool.
+     * @param maxConnections The maximum size of the pool.
+     * @param properties     The waiter limit and timeout.
+     */
+    public ConnectionGuard(DataSource pool, int maxConnections, ConnectionGuardProperties properties) {
+        super(pool);
+        if (maxConnections < 1) {
+            throw new IllegalStateException("The connection guard needs at least one connection");
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.maxWaiters = properties.maxWaiters();
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * The pool itself, so that it can be configured and monitored through the guard.
+     */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        DataSource pool = obtainTargetDataSource();
+        return iface.isInstance(pool) ? iface.cast(pool) : pool.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        DataSource pool = obtainTargetDataSource();
+        return iface.isInstance(pool) || pool.isWrapperFor(iface);
+    }
+
+    /**
+     * @return The connections that can be taken right now.
+     */
+    public int availableConnections() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * @return The callers waiting for a connection.
+     */
+    public int waitingCallers() {
+        return waiters.get();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiters.incrementAndGet() > maxWaiters) {
+            waiters.decrementAndGet();
+            log.debug("Connection refused: {} callers already waiting", maxWaiters);
+            throw new SQLTransientConnectionException(
+                    "Connection pool exhausted: " + maxWaiters + " callers already waiting for one of "
+                            + maxConnections + " connections");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Connection not available within "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private Connection guarded(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionGuard.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        // Release once even if close() fails or is called again
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,332 @@
+package com.awesomepizza.order.datasource;
+
+import com.awesomepizza.order.config.ReplicaProperties;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends read-only transactions to the replicas configured in {@code app.replicas} and everything else to the
+ * primary {@code spring.datasource}.
+ * <p>
+ * The primary is wrapped in a {@link LazyConnectionDataSourceProxy}, which picks the physical connection only
+ * when the first statement runs, once the transaction has marked the connection read-only. Read-only
+ * connections are taken from the replicas in turn; a replica that cannot be reached is skipped, and the
+ * primary serves the transaction when no replica can.
+ * <p>
+ * Reads follow the writes of the same client: after every committed write, the position of the primary is
+ * returned to the client in the {@value #TOKEN_HEADER} header, and a request carrying that token is only
+ * served by a replica that has replayed at least up to it, or by the primary. Later reads of the same request
+ * follow its own writes without the header.
+ * <p>
+ * The token is {@code <position>.<signature>}: the hexadecimal position and the Base64url HMAC-SHA256 of it
+ * under {@code app.replicas.token-secret}. Tokens with a wrong signature are ignored, so a client cannot make
+ * up a position no replica will ever reach and push all of its reads to the primary.
+ */
+@Slf4j
+@Component
+public class ReplicaRouting implements TransactionExecutionListener, DisposableBean {
+
+    /**
+     * Header returning the position of a client's latest write, to be sent back on its following reads.
+     */
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final String WRITE_POSITION_ATTRIBUTE = ReplicaRouting.class.getName() + ".WRITE_POSITION";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ReplicaProperties properties;
+    // Null when no replica is configured, as no token is issued or read then
+    private final Mac prototype;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final List<Closeable> pools = new ArrayList<>();
+
+    private volatile DataSource primary;
+    // The proxy handed out by route(), which transactions bind their connection to
+    private volatile DataSource routed;
+    private volatile List<DataSource> replicas = List.of();
+    // Highest position each replica is known to have replayed; positions only grow
+    private volatile AtomicLongArray replayedPositions = new AtomicLongArray(0);
+    private volatile ReplicationClock clock;
+
+    /**
+     * Constructs a new ReplicaRouting.
+     *
+     * @param properties The replicas and their settings.
+     */
+    public ReplicaRouting(ReplicaProperties properties) {
+        this.properties = properties;
+        if (properties.tokenSecret() == null) {
+            this.prototype = null;
+            return;
+        }
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(properties.tokenSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * @return Whether any replica is configured.
+     */
+    public boolean isEnabled() {
+        return !properties.urls().isEmpty();
+    }
+
+    /**
+     * Opens a pool for every configured replica, with the settings of the primary unless overridden, and
+     * returns the data source routing between the primary and the replicas.
+     *
+     * @param primary The primary data source.
+     * @return The routing data source, to be used in place of the primary.
+     */
+    public DataSource route(DataSource primary) {
+        List<DataSource> replicaPools = new ArrayList<>();
+        for (String url : properties.urls()) {
+            DataSourceBuilder<?> builder = DataSourceBuilder.derivedFrom(primary).url(url);
+            if (properties.username() != null) {
+                builder.username(properties.username()).password(properties.password());
+            }
+            DataSource replica = builder.build();
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.setPoolName("replica-" + (replicaPools.size() + 1));
+                hikari.setReadOnly(true);
+            }
+            if (replica instanceof Closeable pool) {
+                pools.add(pool);
+            }
+            replicaPools.add(replica);
+        }
+        log.info("Read-only transactions routed to {} replicas", replicaPools.size());
+        return route(primary, replicaPools, clockFor(primary));
+    }
+
+    DataSource route(DataSource primary, List<DataSource> replicas, ReplicationClock clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replayedPositions = new AtomicLongArray(replicas.size());
+        this.clock = clock;
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReadOnlyDataSource());
+        this.routed = proxy;
+        return proxy;
+    }
+
+    /**
+     * Tells whether the current request has to read its own writes, which the replicas may not have replayed
+     * yet. Such reads must not be answered from a cache that may have been filled from a lagging replica.
+     *
+     * @return {@code true} if the request carries a write position that no replica is known to have reached.
+     */
+    public boolean isReadingOwnWrites() {
+        if (primary == null) {
+            return false;
+        }
+        long required = requiredPosition();
+        if (required <= 0) {
+            return false;
+        }
+        for (int i = 0; i < replayedPositions.length(); i++) {
+            if (replayedPositions.get(i) >= required) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the position of the primary after every committed write made while serving a request, and
+     * returns it to the client. The position is read on the connection of the transaction, which is only
+     * released after this call: taking another one from the pool would wait behind the
+     * {@link ConnectionGuard} while holding a permit. A transaction that never reached the database has no
+     * connection and wrote nothing.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || primary == null || transaction.isReadOnly() || !transaction.isNewTransaction()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || !(TransactionSynchronizationManager.getResource(routed) instanceof ConnectionHolder holder)) {
+            return;
+        }
+        try {
+            long position = clock.writePosition(holder.getConnection());
+            attributes.setAttribute(WRITE_POSITION_ATTRIBUTE, position, RequestAttributes.SCOPE_REQUEST);
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(TOKEN_HEADER, token(position));
+            }
+        } catch (SQLException e) {
+            log.warn("Cannot read the write position of the primary", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (Closeable pool : pools) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Takes a read-only connection from the next replica that has replayed the writes the request depends on,
+     * falling back to the primary.
+     */
+    private Connection readOnlyConnection() throws SQLException {
+        long required = requiredPosition();
+        int count = replicas.size();
+        int first = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % count;
+            Connection connection;
+            try {
+                connection = replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica {} unavailable: {}", index + 1, e.getMessage());
+                continue;
+            }
+            if (required <= 0 || hasReplayed(index, connection, required)) {
+                return connection;
+            }
+            connection.close();
+        }
+        log.debug("No replica has replayed position {}, reading from the primary", required);
+        return primary.getConnection();
+    }
+
+    private boolean hasReplayed(int index, Connection connection, long required) {
+        if (replayedPositions.get(index) >= required) {
+            return true;
+        }
+        try {
+            return replayedPositions.accumulateAndGet(index, clock.replayedPosition(connection), Math::max) >= required;
+        } catch (SQLException e) {
+            log.warn("Cannot read the replayed position of replica {}: {}", index + 1, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return The position the current request must read from: the token it carries or its own latest write,
+     *         whichever is higher; 0 outside of a request or when neither is present.
+     */
+    private long requiredPosition() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return 0;
+        }
+        long required = attributes.getAttribute(WRITE_POSITION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof Long position ? position : 0;
+        HttpServletRequest request = attributes.getRequest();
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token != null) {
+            required = Math.max(required, tokenPosition(token));
+        }
+        return required;
+    }
+
+    /**
+     * @param position A write position of the primary.
+     * @return The signed consistency token carrying the position.
+     */
+    String token(long position) {
+        String payload = Long.toHexString(position);
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * @param token The consistency token sent by the client.
+     * @return The position carried by the token, or 0 if the token is malformed or its signature is wrong.
+     */
+    private long tokenPosition(String token) {
+        int signatureStart = token.indexOf('.');
+        if (signatureStart < 0) {
+            log.debug("Ignoring unsigned consistency token {}", token);
+            return 0;
+        }
+        String payload = token.substring(0, signatureStart);
+        try {
+            if (!MessageDigest.isEqual(DECODER.decode(token.substring(signatureStart + 1)), sign(payload))) {
+                log.debug("Ignoring consistency token {} with a wrong signature", token);
+                return 0;
+            }
+            return Long.parseUnsignedLong(payload, 16);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed consistency token {}", token);
+            return 0;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+        }
+    }
+
+    private ReplicationClock clockFor(DataSource primary) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(primary, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equals(product)) {
+                return new ReplicationClock.WalClock();
+            }
+        } catch (MetaDataAccessException e) {
+            log.warn("Cannot detect the primary database, assuming a replica lag of at most {}", properties.maxLag(), e);
+        }
+        return new ReplicationClock.LagClock(properties.maxLag());
+    }
+
+    /**
+     * The target of the read-only connections of the {@link LazyConnectionDataSourceProxy}.
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Replica connections use the configured credentials");
+        }
+    }
+}
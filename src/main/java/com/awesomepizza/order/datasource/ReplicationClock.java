@@ -0,0 +1,82 @@
+package com.awesomepizza.order.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Tells how far the primary has written and how far a replica has replayed, as positions that can be compared:
+ * a replica has seen a write once its replayed position reaches the write position.
+ */
+interface ReplicationClock {
+
+    /**
+     * @param primary The connection to the primary that has just committed a write, still held by its transaction.
+     * @return The position of the latest write committed on the primary.
+     */
+    long writePosition(Connection primary) throws SQLException;
+
+    /**
+     * @param replica An open connection to a replica.
+     * @return The position up to which the replica has replayed the writes of the primary.
+     */
+    long replayedPosition(Connection replica) throws SQLException;
+
+    /**
+     * PostgreSQL write-ahead log positions (LSN).
+     */
+    final class WalClock implements ReplicationClock {
+
+        @Override
+        public long writePosition(Connection primary) throws SQLException {
+            return query(primary, "SELECT pg_current_wal_lsn()::text");
+        }
+
+        @Override
+        public long replayedPosition(Connection replica) throws SQLException {
+            // NULL on a database that is not a standby: it already has every write it will ever see
+            long position = query(replica, "SELECT pg_last_wal_replay_lsn()::text");
+            return position < 0 ? Long.MAX_VALUE : position;
+        }
+
+        private static long query(Connection connection, String sql) throws SQLException {
+            try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+                result.next();
+                String lsn = result.getString(1);
+                return lsn == null ? -1 : parseLsn(lsn);
+            }
+        }
+
+        /**
+         * Parses the textual form of a log sequence number, two hexadecimal 32-bit halves such as {@code 16/B374D848}.
+         */
+        static long parseLsn(String lsn) {
+            int slash = lsn.indexOf('/');
+            return Long.parseLong(lsn, 0, slash, 16) << 32 | Long.parseLong(lsn, slash + 1, lsn.length(), 16);
+        }
+    }
+
+    /**
+     * Wall-clock time of the writes, in milliseconds, for databases without replication positions.
+     */
+    final class LagClock implements ReplicationClock {
+
+        private final long maxLagMillis;
+
+        LagClock(Duration maxLag) {
+            this.maxLagMillis = maxLag.toMillis();
+        }
+
+        @Override
+        public long writePosition(Connection primary) {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long replayedPosition(Connection replica) {
+            return System.currentTimeMillis() - maxLagMillis;
+        }
+    }
+}
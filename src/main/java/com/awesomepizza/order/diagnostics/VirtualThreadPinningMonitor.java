@@ -0,0 +1,120 @@
+package com.awesomepizza.order.diagnostics;
+
+import com.awesomepizza.order.config.VirtualThreadProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread, which happens when a virtual thread blocks inside a
+ * {@code synchronized} section or a native frame. A pinned virtual thread holds one of the few carrier threads for
+ * the whole wait, so a JDBC call made under a monitor lock stalls every other virtual thread scheduled on it.
+ * <p>
+ * Pinnings longer than {@code app.virtual-threads.pinned-threshold} are read from the JFR
+ * {@code jdk.VirtualThreadPinned} event. The first pinning at each site is logged with its stack trace, the
+ * following ones are only counted, in the {@code jvm.threads.virtual.pinned{site}} counter scraped by Prometheus.
+ * Active only when {@code spring.threads.virtual.enabled} is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METRIC = "jvm.threads.virtual.pinned";
+
+    private static final String APPLICATION_PACKAGE = "com.awesomepizza.";
+    private static final int LOGGED_FRAMES = 24;
+
+    private final MeterRegistry registry;
+    private final RecordingStream stream;
+    private final ConcurrentMap<String, LongAdder> pinnings = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new VirtualThreadPinningMonitor and starts listening to the pinning events.
+     *
+     * @param properties The shortest pinning reported.
+     * @param registry   The registry the pinning counters are published to.
+     */
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.pinnedThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}", properties.pinnedThreshold());
+    }
+
+    /**
+     * @return The pinnings counted so far, by site: the innermost application frame, or the innermost frame when
+     *         no application code is involved.
+     */
+    public Map<String, Long> pinnings() {
+        return pinnings.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+        LongAdder count = new LongAdder();
+        LongAdder existing = pinnings.putIfAbsent(site, count);
+        (existing == null ? count : existing).increment();
+        if (existing == null) {
+            FunctionCounter.builder(PINNED_METRIC, count, LongAdder::sum)
+                    .description("Virtual threads pinned to their carrier for longer than the threshold")
+                    .tag("site", site)
+                    .register(registry);
+            log.warn("Virtual thread {} pinned to its carrier for {} ms at {}:{}",
+                    event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                    event.getDuration().toMillis(), site, format(frames));
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> System.lineSeparator() + "\tat " + describe(frame))
+                .collect(Collectors.joining());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
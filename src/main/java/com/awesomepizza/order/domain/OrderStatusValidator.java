@@ -1,13 +1,19 @@
 package com.awesomepizza.order.domain;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.enums.TransitionRejection;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Validator for order status transitions.
@@ -33,6 +39,48 @@ public class OrderStatusValidator {
         OrderStatus.CANCELED, EnumSet.noneOf(OrderStatus.class)
     );
 
+    // Inverse of VALID_TRANSITIONS: target status -> statuses it can be reached from
+    private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED_PREDECESSORS = invert(VALID_TRANSITIONS);
+
+    private static Map<OrderStatus, Set<OrderStatus>> invert(Map<OrderStatus, Set<OrderStatus>> transitions) {
+        Map<OrderStatus, Set<OrderStatus>> predecessors = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            predecessors.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        transitions.forEach((from, targets) -> targets.forEach(to -> predecessors.get(to).add(from)));
+        predecessors.replaceAll((to, from) -> Collections.unmodifiableSet(from));
+        return Collections.unmodifiableMap(predecessors);
+    }
+
+    private final ObjectProvider<TransitionRejectionListener> rejectionListeners;
+
+    /**
+     * Constructs a validator that reports its rejections to nobody.
+     */
+    public OrderStatusValidator() {
+        this.rejectionListeners = null;
+    }
+
+    /**
+     * Constructs a validator that reports every rejected transition to the listeners in the context.
+     *
+     * @param rejectionListeners The listeners, looked up on each rejection so that they may depend on this validator.
+     */
+    @Autowired
+    public OrderStatusValidator(ObjectProvider<TransitionRejectionListener> rejectionListeners) {
+        this.rejectionListeners = rejectionListeners;
+    }
+
+    /**
+     * Checks whether an order in the given status can never change status again.
+     *
+     * @param status the status to check.
+     * @return true if no transition leaves the status, false otherwise.
+     */
+    public boolean isFinal(OrderStatus status) {
+        return status != null && VALID_TRANSITIONS.get(status).isEmpty();
+    }
+
     /**
      * Validates if a status transition is permitted.
      * 
@@ -42,6 +90,7 @@ public class OrderStatusValidator {
      */
     public void validateTransition(OrderStatus currentStatus, OrderStatus newStatus) {
         if (currentStatus == null || newStatus == null) {
+            rejected(currentStatus, newStatus, TransitionRejection.MISSING_STATUS);
             throw new InvalidOrderStatusException("Current status and new status cannot be null");
         }
 
@@ -52,6 +101,8 @@ public class OrderStatusValidator {
         Set<OrderStatus> allowedTransitions = VALID_TRANSITIONS.get(currentStatus);
         
         if (allowedTransitions == null || !allowedTransitions.contains(newStatus)) {
+            rejected(currentStatus, newStatus,
+                isFinal(currentStatus) ? TransitionRejection.FINAL_STATUS : TransitionRejection.NOT_ALLOWED);
             throw new InvalidOrderStatusException(
                 String.format("Invalid status transition from %s to %s. Allowed transitions: %s",
                     currentStatus,
@@ -81,4 +132,60 @@ public class OrderStatusValidator {
     public boolean canBeTakenByPizzaiolo(OrderStatus currentStatus) {
         return currentStatus == OrderStatus.PENDING;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the statuses from which the given status can be reached, according to the
+     * transition table. Used to express a transition as a single conditional update.
+     *
+     * @param newStatus the desired new status.
+     * @return the allowed current statuses, empty if the status cannot be reached at all.
+     * @throws InvalidOrderStatusException if the new status is null.
+     */
+    public Set<OrderStatus> allowedPredecessors(OrderStatus newStatus) {
+        if (newStatus == null) {
+            throw new InvalidOrderStatusException("New status cannot be null");
+        }
+        return ALLOWED_PREDECESSORS.get(newStatus);
+    }
+
+    /**
+     * Returns the statuses from which a pizzaiolo can take an order in charge.
+     *
+     * @return the statuses that allow the transition to IN_PREPARATION and are accepted by
+     *         {@link #canBeTakenByPizzaiolo(OrderStatus)}.
+     */
+    public Set<OrderStatus> takeableStatuses() {
+        return filter(allowedPredecessors(OrderStatus.IN_PREPARATION), this::canBeTakenByPizzaiolo);
+    }
+
+    /**
+     * Returns the statuses from which a customer can cancel an order.
+     *
+     * @return the statuses that allow the transition to CANCELED and are accepted by
+     *         {@link #canBeModifiedByCustomer(OrderStatus)}.
+     */
+    public Set<OrderStatus> cancelableByCustomerStatuses() {
+        return filter(allowedPredecessors(OrderStatus.CANCELED), this::canBeModifiedByCustomer);
+    }
+
+    /**
+     * Returns the statuses an order never leaves.
+     *
+     * @return the statuses accepted by {@link #isFinal(OrderStatus)}.
+     */
+    public Set<OrderStatus> finalStatuses() {
+        return filter(EnumSet.allOf(OrderStatus.class), this::isFinal);
+    }
+
+    private void rejected(OrderStatus currentStatus, OrderStatus newStatus, TransitionRejection reason) {
+        if (rejectionListeners != null) {
+            rejectionListeners.forEach(listener -> listener.transitionRejected(currentStatus, newStatus, reason));
+        }
+    }
+
+    private static Set<OrderStatus> filter(Set<OrderStatus> statuses, Predicate<OrderStatus> predicate) {
+        Set<OrderStatus> result = EnumSet.noneOf(OrderStatus.class);
+        statuses.stream().filter(predicate).forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.awesomepizza.order.domain;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.enums.TransitionRejection;
+
+/**
+ * Notified by {@link OrderStatusValidator} of every transition it rejects, just before the rejection is thrown.
+ * Called on the request thread, so implementations must be cheap and must not throw.
+ */
+@FunctionalInterface
+public interface TransitionRejectionListener {
+
+    /**
+     * @param currentStatus The current status of the order, or {@code null} if it was missing.
+     * @param newStatus     The requested status, or {@code null} if it was missing.
+     * @param reason        Why the transition was rejected.
+     */
+    void transitionRejected(OrderStatus currentStatus, OrderStatus newStatus, TransitionRejection reason);
+}
@@ -0,0 +1,63 @@
+package com.awesomepizza.order.domain.entity;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A COMPLETED or CANCELED order moved out of the live {@code orders} table by the archiver.
+ * Rows are only ever written by the archiving statements, so the entity has no setters.
+ */
+@Entity
+@Table(name = "orders_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedOrder {
+
+    @Id
+    private UUID id;
+
+    @Column(unique = true, nullable = false, length = 20)
+    private String orderCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(length = 50)
+    private String station;
+
+    @Column(nullable = false, length = 100)
+    private String customerName;
+
+    @Column(nullable = false, length = 20)
+    private String phone;
+
+    @Column(nullable = false, length = 200)
+    private String deliveryAddress;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private long totalAmount;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> orderItems = new ArrayList<>();
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,19 @@
+package com.awesomepizza.order.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales of the orders created within a day (UTC), per status and pizza; the sum of the day's {@link HourlySales}.
+ */
+@Entity
+@Table(name = "sales_daily")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySales extends SalesRollup {
+
+    public DailySales(SalesRollupId id, long orders, long pizzas, long revenue) {
+        super(id, orders, pizzas, revenue);
+    }
+}
@@ -0,0 +1,19 @@
+package com.awesomepizza.order.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales of the orders created within an hour (UTC), per status and pizza.
+ */
+@Entity
+@Table(name = "sales_hourly")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HourlySales extends SalesRollup {
+
+    public HourlySales(SalesRollupId id, long orders, long pizzas, long revenue) {
+        super(id, orders, pizzas, revenue);
+    }
+}
@@ -1,6 +1,7 @@
 package com.awesomepizza.order.domain.entity;
 
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.id.TimeOrderedUuid;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -20,7 +21,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(unique = true, nullable = false, length = 20)
@@ -30,6 +31,10 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.PENDING;
 
+    // Kitchen station that took the order; null until the order is taken
+    @Column(length = 50)
+    private String station;
+
     @Column(nullable = false, length = 100)
     private String customerName;
 
@@ -42,6 +47,14 @@ public class Order {
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
+    // Sum of price * quantity over the items, in cents; kept in step with the items by OrderMapper
+    @Column(nullable = false)
+    private long totalAmount;
+
+    // Sum of the quantities over the items, i.e. the number of pizzas
+    @Column(nullable = false)
+    private int itemCount;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -0,0 +1,54 @@
+package com.awesomepizza.order.domain.entity;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The moment an order entered a status. Rows are only ever inserted: the time an order spent in a status
+ * runs from its row to the next row of the same order. Orders are referenced by id without a foreign key,
+ * so the history outlives the archiving of the order.
+ */
+@Entity
+@Immutable
+@Table(name = "order_status_history")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderStatusHistory {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private Instant enteredAt;
+
+    public OrderStatusHistory(UUID orderId, OrderStatus status, Instant enteredAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.enteredAt = enteredAt;
+    }
+
+    /**
+     * @param order     The order, already saved, in the status it just entered.
+     * @param enteredAt When the order entered the status.
+     * @return The history row of the current status of the order.
+     */
+    public static OrderStatusHistory entered(Order order, Instant enteredAt) {
+        return new OrderStatusHistory(order.getId(), order.getStatus(), enteredAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.awesomepizza.order.domain.entity;
+
+import com.awesomepizza.order.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A pizzaiolo allowed to use the kitchen endpoints, with the BCrypt hash of their password.
+ */
+@Entity
+@Table(name = "pizzaiolo_users")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PizzaioloUser {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(unique = true, nullable = false, length = 50)
+    private String username;
+
+    @Column(nullable = false, length = 100)
+    private String passwordHash;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+}
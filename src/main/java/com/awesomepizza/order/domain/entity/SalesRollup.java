@@ -0,0 +1,33 @@
+package com.awesomepizza.order.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A pre-aggregated row of the sales statistics. Rows are only ever rewritten as a whole by the
+ * {@link com.awesomepizza.order.stats.SalesRollupUpdater}, so the entity has no setters.
+ */
+@MappedSuperclass
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    // Orders of the bucket; for a pizza row, the orders containing that pizza
+    @Column(nullable = false)
+    private long orders;
+
+    // Pizzas sold, i.e. the sum of the item quantities
+    @Column(nullable = false)
+    private long pizzas;
+
+    // Revenue in cents
+    @Column(nullable = false)
+    private long revenue;
+}
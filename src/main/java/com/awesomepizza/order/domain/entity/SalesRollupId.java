@@ -0,0 +1,37 @@
+package com.awesomepizza.order.domain.entity;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Key of a {@link SalesRollup} row: the orders created in a time bucket that are now in a given status,
+ * either as a whole or restricted to one pizza.
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SalesRollupId implements Serializable {
+
+    // Pizza name of the row counting whole orders; real pizza names have at least two characters
+    public static final String ALL_PIZZAS = "*";
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false, length = 100)
+    private String pizzaName;
+}
@@ -0,0 +1,13 @@
+package com.awesomepizza.order.domain.enums;
+
+/**
+ * Why {@link com.awesomepizza.order.domain.OrderStatusValidator} rejected a status transition.
+ */
+public enum TransitionRejection {
+    /** The current or the new status was missing. */
+    MISSING_STATUS,
+    /** The order is in a final status, which no transition leaves. */
+    FINAL_STATUS,
+    /** The transition table does not lead from the current status to the new one. */
+    NOT_ALLOWED
+}
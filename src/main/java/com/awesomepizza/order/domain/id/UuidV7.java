@@ -0,0 +1,69 @@
+package com.awesomepizza.order.domain.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDs, version 7 as defined by RFC 9562.
+ * The 48 most significant bits hold the Unix time in milliseconds and the 12 bits after the version
+ * are a counter, so values generated by this process are strictly increasing, even within the same
+ * millisecond and if the system clock goes back. The remaining 62 bits are random.
+ * <p>
+ * Used as primary key, new values always land on the right-most pages of the index instead of
+ * being scattered across it like random (version 4) UUIDs.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    // A new millisecond starts the counter in its lower half, leaving room for the values that follow
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Unix milliseconds followed by the counter, as found in the 60 non-version bits of the last value
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * @return A new UUID, greater than any other returned before by this process.
+     */
+    public static UUID next() {
+        long millis = System.currentTimeMillis();
+        long state = LAST_STATE.updateAndGet(last -> nextState(last, millis));
+        return of(state, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Advances the state: a later millisecond restarts the counter, otherwise the counter is
+     * incremented, carrying over into the timestamp when it overflows.
+     */
+    static long nextState(long lastState, long millis) {
+        long fresh = millis << COUNTER_BITS;
+        if (fresh > lastState) {
+            return fresh | ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND);
+        }
+        return lastState + 1;
+    }
+
+    static UUID of(long state, long random) {
+        long timestamp = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (random & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the creation time of a version 7 UUID.
+     *
+     * @param uuid A version 7 UUID.
+     * @return The Unix time in milliseconds stored in the UUID.
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,13 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+
+public record ArchiveStatsResponse(
+    long runs,
+    long archivedOrders,
+    long archivedItems,
+    long failedChunks,
+    Instant lastRunAt,
+    long lastRunArchivedOrders,
+    long lastRunMillis
+) {}
@@ -0,0 +1,14 @@
+package com.awesomepizza.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusUpdateRequest(
+    @NotEmpty(message = "Indicare almeno un aggiornamento")
+    @Size(max = 200, message = "Massimo 200 aggiornamenti per richiesta")
+    List<@NotNull(message = "Gli aggiornamenti non possono essere null") @Valid StatusUpdateRequest> updates
+) {}
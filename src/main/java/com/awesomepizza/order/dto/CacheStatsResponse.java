@@ -0,0 +1,10 @@
+package com.awesomepizza.order.dto;
+
+public record CacheStatsResponse(
+    long size,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long loadCount,
+    long evictionCount
+) {}
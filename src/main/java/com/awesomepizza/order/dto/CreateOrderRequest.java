@@ -22,5 +22,6 @@ public record CreateOrderRequest(
     String deliveryAddress,
 
     @NotEmpty(message = "L'ordine deve contenere almeno un articolo")
+    @Size(max = 50, message = "L'ordine può contenere al massimo 50 articoli")
     List<@Valid OrderItemRequest> orderItems
 ) {}
\ No newline at end of file
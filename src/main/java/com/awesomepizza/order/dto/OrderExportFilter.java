@@ -0,0 +1,28 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.exception.InvalidExportFilterException;
+
+/**
+ * Selects the orders of an export; null or empty fields do not filter.
+ *
+ * @param from     Orders created at or after this instant.
+ * @param to       Orders created before this instant.
+ * @param statuses Orders in one of these statuses.
+ * @throws InvalidExportFilterException if the filter ends before it starts.
+ */
+public record OrderExportFilter(
+    Instant from,
+    Instant to,
+    Set<OrderStatus> statuses
+) {
+    public OrderExportFilter {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidExportFilterException("The export period cannot end before it starts.");
+        }
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+}
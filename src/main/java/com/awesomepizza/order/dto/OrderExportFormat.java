@@ -0,0 +1,8 @@
+package com.awesomepizza.order.dto;
+
+public enum OrderExportFormat {
+    /** One {@link OrderResponse} per line, as newline-delimited JSON. */
+    NDJSON,
+    /** One line per order item, with the order columns repeated; orders without items get one line. */
+    CSV
+}
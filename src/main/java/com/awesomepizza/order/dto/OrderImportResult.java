@@ -0,0 +1,40 @@
+package com.awesomepizza.order.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one line of a bulk order import.
+ *
+ * @param line      The 1-based line number in the imported document.
+ * @param outcome   What happened to the line.
+ * @param orderCode The code of the created order, or {@code null} if no order was created.
+ * @param errors    Why the line was rejected; empty if the order was created.
+ */
+public record OrderImportResult(
+    long line,
+    Outcome outcome,
+    String orderCode,
+    List<String> errors
+) {
+
+    public enum Outcome {
+        // The order was saved
+        CREATED,
+        // The line is not a valid order and was skipped
+        INVALID,
+        // The order was valid but could not be saved
+        FAILED
+    }
+
+    public static OrderImportResult created(long line, String orderCode) {
+        return new OrderImportResult(line, Outcome.CREATED, orderCode, List.of());
+    }
+
+    public static OrderImportResult invalid(long line, List<String> errors) {
+        return new OrderImportResult(line, Outcome.INVALID, null, errors);
+    }
+
+    public static OrderImportResult failed(long line, String error) {
+        return new OrderImportResult(line, Outcome.FAILED, null, List.of(error));
+    }
+}
@@ -1,6 +1,8 @@
 package com.awesomepizza.order.dto;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,9 +17,12 @@ public record OrderItemRequest(
 
     @NotNull(message = "La quantità è obbligatoria")
     @Min(value = 1, message = "La quantità deve essere almeno 1")
+    @Max(value = 100, message = "La quantità non può superare 100")
     int quantity,
 
     @NotNull(message = "Il prezzo è obbligatorio")
     @DecimalMin(value = "0.01", message = "Il prezzo deve essere maggiore di 0")
+    // Largest value of the DECIMAL(10,2) price column
+    @DecimalMax(value = "99999999.99", message = "Il prezzo non può superare 99999999.99")
     BigDecimal price
 ) {}
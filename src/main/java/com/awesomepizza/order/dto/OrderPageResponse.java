@@ -0,0 +1,15 @@
+package com.awesomepizza.order.dto;
+
+import java.util.List;
+
+/**
+ * A page of orders sorted by creation date.
+ *
+ * @param orders     The orders of the current page.
+ * @param nextCursor Opaque token to pass as {@code cursor} to fetch the next page,
+ *                   or {@code null} when this is the last page.
+ */
+public record OrderPageResponse(
+    List<OrderResponse> orders,
+    String nextCursor
+) {}
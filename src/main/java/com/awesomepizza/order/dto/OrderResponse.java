@@ -10,9 +10,13 @@ public record OrderResponse(
     UUID id,
     String orderCode,
     OrderStatus status,
+    String station,
     String customerName,
     String phone,
     String deliveryAddress,
     Instant createdAt,
+    long totalAmount,
+    int itemCount,
+    Long version,
     List<OrderItemResponse> orderItems
 ) {} 
\ No newline at end of file
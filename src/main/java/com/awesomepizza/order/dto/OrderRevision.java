@@ -0,0 +1,16 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * Identifies a given state of an order without carrying its content.
+ *
+ * @param orderCode The unique code of the order.
+ * @param status    The status of the order.
+ * @param version   The optimistic locking version, incremented on every change.
+ */
+public record OrderRevision(
+    String orderCode,
+    OrderStatus status,
+    Long version
+) {}
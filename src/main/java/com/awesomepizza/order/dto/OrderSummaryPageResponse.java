@@ -0,0 +1,15 @@
+package com.awesomepizza.order.dto;
+
+import java.util.List;
+
+/**
+ * A page of order summaries sorted by creation date; same paging as {@link OrderPageResponse}.
+ *
+ * @param orders     The orders of the current page.
+ * @param nextCursor Opaque token to pass as {@code cursor} to fetch the next page,
+ *                   or {@code null} when this is the last page.
+ */
+public record OrderSummaryPageResponse(
+    List<OrderSummaryResponse> orders,
+    String nextCursor
+) {}
@@ -0,0 +1,24 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * An order without its items, read from the {@code orders} table alone.
+ *
+ * @param totalAmount The total of the order, in cents.
+ * @param itemCount   The number of pizzas in the order.
+ */
+public record OrderSummaryResponse(
+    UUID id,
+    String orderCode,
+    OrderStatus status,
+    String station,
+    String customerName,
+    Instant createdAt,
+    long totalAmount,
+    int itemCount,
+    Long version
+) {}
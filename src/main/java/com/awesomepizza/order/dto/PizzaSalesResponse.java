@@ -0,0 +1,16 @@
+package com.awesomepizza.order.dto;
+
+/**
+ * Sales of one pizza within a {@link SalesBucketResponse}.
+ *
+ * @param pizzaName The name of the pizza.
+ * @param orders    The orders containing the pizza.
+ * @param quantity  The number of pizzas sold.
+ * @param revenue   The revenue of the pizza, in cents.
+ */
+public record PizzaSalesResponse(
+    String pizzaName,
+    long orders,
+    long quantity,
+    long revenue
+) {}
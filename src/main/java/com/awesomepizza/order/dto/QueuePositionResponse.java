@@ -0,0 +1,20 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * Where an order stands in the kitchen queue.
+ *
+ * @param orderCode     The unique code of the order.
+ * @param status        The status of the order.
+ * @param position      The 1-based position among the PENDING orders, or {@code null} if the order is not PENDING.
+ * @param ordersAhead   The number of PENDING orders that will be taken before this one.
+ * @param inPreparation The number of orders currently IN_PREPARATION.
+ */
+public record QueuePositionResponse(
+    String orderCode,
+    OrderStatus status,
+    Integer position,
+    int ordersAhead,
+    int inPreparation
+) {}
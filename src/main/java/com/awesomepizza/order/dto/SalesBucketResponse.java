@@ -0,0 +1,25 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * Sales of the orders created within a bucket that are now in a given status.
+ *
+ * @param bucketStart The start of the bucket (UTC).
+ * @param status      The current status of the orders.
+ * @param orders      The number of orders.
+ * @param pizzas      The number of pizzas in those orders.
+ * @param revenue     The total of those orders, in cents.
+ * @param pizzaMix    The same figures per pizza, by pizza name.
+ */
+public record SalesBucketResponse(
+    Instant bucketStart,
+    OrderStatus status,
+    long orders,
+    long pizzas,
+    long revenue,
+    List<PizzaSalesResponse> pizzaMix
+) {}
@@ -0,0 +1,35 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Duration;
+
+public enum SalesGranularity {
+    /** One bucket per hour (UTC), from {@code sales_hourly}. */
+    HOUR(Duration.ofHours(1), Duration.ofDays(1), 24 * 31),
+    /** One bucket per day (UTC), from {@code sales_daily}. */
+    DAY(Duration.ofDays(1), Duration.ofDays(30), 366);
+
+    private final Duration bucketSize;
+    private final Duration defaultRange;
+    private final int maxBuckets;
+
+    SalesGranularity(Duration bucketSize, Duration defaultRange, int maxBuckets) {
+        this.bucketSize = bucketSize;
+        this.defaultRange = defaultRange;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /** @return The length of a bucket. */
+    public Duration bucketSize() {
+        return bucketSize;
+    }
+
+    /** @return The range returned when the request does not give one. */
+    public Duration defaultRange() {
+        return defaultRange;
+    }
+
+    /** @return The number of buckets a single request may cover at most. */
+    public int maxBuckets() {
+        return maxBuckets;
+    }
+}
@@ -0,0 +1,19 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sales statistics of a time range, read from the pre-aggregated rollups.
+ *
+ * @param granularity The size of the buckets.
+ * @param from        The start of the first bucket, inclusive.
+ * @param to          The end of the last bucket, exclusive.
+ * @param buckets     The non-empty buckets, sorted by start and status.
+ */
+public record SalesStatsResponse(
+    SalesGranularity granularity,
+    Instant from,
+    Instant to,
+    List<SalesBucketResponse> buckets
+) {}
@@ -0,0 +1,22 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * How long the orders that entered a status stayed in it, in milliseconds.
+ *
+ * @param status The status.
+ * @param orders The number of orders that entered the status and have left it since.
+ * @param p50    The median time in the status.
+ * @param p90    The 90th percentile of the time in the status.
+ * @param p99    The 99th percentile of the time in the status.
+ * @param max    The longest time in the status.
+ */
+public record StatusDurationResponse(
+    OrderStatus status,
+    long orders,
+    long p50,
+    long p90,
+    long p99,
+    long max
+) {}
@@ -0,0 +1,18 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Time spent by the orders in each status, for the stays that started within a time range.
+ * Orders still in a status are not counted until they leave it.
+ *
+ * @param from      The start of the range, inclusive.
+ * @param to        The end of the range, exclusive.
+ * @param durations The durations of every status left by at least one order, in lifecycle order.
+ */
+public record StatusDurationStatsResponse(
+    Instant from,
+    Instant to,
+    List<StatusDurationResponse> durations
+) {}
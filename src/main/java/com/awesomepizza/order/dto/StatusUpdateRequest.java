@@ -0,0 +1,14 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record StatusUpdateRequest(
+    @NotBlank(message = "Il codice ordine è obbligatorio")
+    String orderCode,
+
+    @NotNull(message = "Il nuovo stato è obbligatorio")
+    OrderStatus status
+) {}
@@ -0,0 +1,48 @@
+package com.awesomepizza.order.dto;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * Outcome of one status change of a bulk status update.
+ *
+ * @param orderCode The code of the order.
+ * @param status    The requested status.
+ * @param outcome   What happened to the order.
+ * @param order     The order after the update, or {@code null} if it was not found or rejected.
+ * @param error     Why the change was not applied; {@code null} if the order is in the requested status.
+ */
+public record StatusUpdateResult(
+    String orderCode,
+    OrderStatus status,
+    Outcome outcome,
+    OrderResponse order,
+    String error
+) {
+
+    public enum Outcome {
+        // The order moved to the requested status
+        UPDATED,
+        // The order was already in the requested status
+        UNCHANGED,
+        // No order with the given code exists
+        NOT_FOUND,
+        // The transition is not allowed, or the kitchen has no free slot
+        REJECTED
+    }
+
+    public static StatusUpdateResult updated(OrderStatus status, OrderResponse order) {
+        return new StatusUpdateResult(order.orderCode(), status, Outcome.UPDATED, order, null);
+    }
+
+    public static StatusUpdateResult unchanged(OrderStatus status, OrderResponse order) {
+        return new StatusUpdateResult(order.orderCode(), status, Outcome.UNCHANGED, order, null);
+    }
+
+    public static StatusUpdateResult notFound(String orderCode, OrderStatus status) {
+        return new StatusUpdateResult(orderCode, status, Outcome.NOT_FOUND, null, "Order with code " + orderCode + " not found.");
+    }
+
+    public static StatusUpdateResult rejected(String orderCode, OrderStatus status, String error) {
+        return new StatusUpdateResult(orderCode, status, Outcome.REJECTED, null, error);
+    }
+}
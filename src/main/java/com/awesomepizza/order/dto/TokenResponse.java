@@ -0,0 +1,10 @@
+package com.awesomepizza.order.dto;
+
+import java.time.Instant;
+
+public record TokenResponse(
+    String accessToken,
+    String tokenType,
+    long expiresIn,
+    Instant expiresAt
+) {}
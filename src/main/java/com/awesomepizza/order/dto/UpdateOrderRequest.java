@@ -11,5 +11,5 @@ public record UpdateOrderRequest(
     Optional<@Size(min = 2, max = 100) String> customerName,
     Optional<@Pattern(regexp = "^\\+?\\d{9,15}$", message = "Formato telefono non valido") String> phone,
     Optional<@Size(max = 200) String> deliveryAddress,
-    Optional<@Valid List<OrderItemRequest>> orderItems
+    Optional<@Valid @Size(max = 50, message = "L'ordine può contenere al massimo 50 articoli") List<OrderItemRequest>> orderItems
 ) {}
@@ -0,0 +1,24 @@
+package com.awesomepizza.order.event;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderResponse;
+
+/**
+ * Published by the order services whenever an order is created or changed.
+ * Listeners that react to committed state must use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}, so that nothing is
+ * observed from a transaction that eventually rolls back.
+ *
+ * @param order          The order as it is after the change.
+ * @param previousStatus The status before the change, or {@code null} for a new order.
+ *                       Equal to the current status when only the order details changed.
+ */
+public record OrderChangedEvent(OrderResponse order, OrderStatus previousStatus) {
+
+    /**
+     * @return true if the change moved the order to a different status.
+     */
+    public boolean isStatusChange() {
+        return previousStatus != order.status();
+    }
+}
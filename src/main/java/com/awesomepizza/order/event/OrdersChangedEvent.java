@@ -0,0 +1,12 @@
+package com.awesomepizza.order.event;
+
+import java.util.List;
+
+/**
+ * Published instead of one {@link OrderChangedEvent} per order when a single transaction creates
+ * or changes many orders at once, so that listeners can apply the whole batch in one go.
+ *
+ * @param changes The changes, in the order they were made.
+ */
+public record OrdersChangedEvent(List<OrderChangedEvent> changes) {
+}
@@ -0,0 +1,11 @@
+package com.awesomepizza.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidExportFilterException extends RuntimeException {
+    public InvalidExportFilterException(String message) {
+        super(message);
+    }
+}
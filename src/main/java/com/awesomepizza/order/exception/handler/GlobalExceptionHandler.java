@@ -8,9 +8,13 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import com.awesomepizza.order.exception.InvalidCursorException;
+import com.awesomepizza.order.exception.InvalidExportFilterException;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
+import com.awesomepizza.order.exception.InvalidStatsRangeException;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.exception.UnknownKitchenStationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -58,6 +62,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionDetails> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        ExceptionDetails details = new ExceptionDetails(
+            LocalDateTime.now(),
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidExportFilterException.class)
+    public ResponseEntity<ExceptionDetails> handleInvalidExportFilterException(InvalidExportFilterException ex, WebRequest request) {
+        ExceptionDetails details = new ExceptionDetails(
+            LocalDateTime.now(),
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidStatsRangeException.class)
+    public ResponseEntity<ExceptionDetails> handleInvalidStatsRangeException(InvalidStatsRangeException ex, WebRequest request) {
+        ExceptionDetails details = new ExceptionDetails(
+            LocalDateTime.now(),
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnknownKitchenStationException.class)
+    public ResponseEntity<ExceptionDetails> handleUnknownKitchenStationException(UnknownKitchenStationException ex, WebRequest request) {
+        ExceptionDetails details = new ExceptionDetails(
+            LocalDateTime.now(),
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(OptimisticLockException.class)
     public ResponseEntity<ExceptionDetails> handleOptimisticLockException(OptimisticLockException ex, WebRequest request) {
         ExceptionDetails details = new ExceptionDetails(
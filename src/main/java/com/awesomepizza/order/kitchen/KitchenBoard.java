@@ -0,0 +1,302 @@
+package com.awesomepizza.order.kitchen;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.QueuePositionResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the orders on the kitchen board: the PENDING orders and the orders
+ * IN_PREPARATION, each sorted by creation date.
+ * The view is loaded from the database when the application starts and then kept up to date
+ * from the {@link OrderChangedEvent}s of committed changes, so refreshing a kitchen screen costs
+ * no query.
+ * <p>
+ * Readers get an immutable snapshot and never wait: every change builds a new snapshot and
+ * publishes it with a single volatile write. Since the PENDING orders are kept sorted, the rank of
+ * an order in the queue is a binary search away. Changes of the same order may be delivered out of
+ * order by concurrent commits, so an older version never overwrites a newer one, and the version
+ * an order had when it left the board is remembered for a while to ignore late events about it.
+ * <p>
+ * The database stays the arbiter: an order picked from the board is still claimed with a
+ * conditional update.
+ */
+@Slf4j
+@Component
+public class KitchenBoard implements SmartInitializingSingleton {
+
+    // Changes of the same order are delivered within milliseconds of each other; this is plenty
+    private static final Duration DEPARTED_RETENTION = Duration.ofMinutes(10);
+    private static final long DEPARTED_MAXIMUM_SIZE = 10_000;
+
+    static final Comparator<OrderResponse> BOARD_ORDER =
+            Comparator.comparing(OrderResponse::createdAt).thenComparing(OrderResponse::id);
+
+    /**
+     * Immutable state of the board.
+     *
+     * @param pending       The PENDING orders, oldest first.
+     * @param inPreparation The orders IN_PREPARATION, oldest first.
+     * @param byCode        Every order of the board, by order code.
+     */
+    record Snapshot(List<OrderResponse> pending, List<OrderResponse> inPreparation, Map<String, OrderResponse> byCode) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), List.of(), Map.of());
+
+        static Snapshot of(List<OrderResponse> pending, List<OrderResponse> inPreparation) {
+            Map<String, OrderResponse> byCode = new HashMap<>(pending.size() + inPreparation.size());
+            pending.forEach(order -> byCode.put(order.orderCode(), order));
+            inPreparation.forEach(order -> byCode.put(order.orderCode(), order));
+            return new Snapshot(pending, inPreparation, Collections.unmodifiableMap(byCode));
+        }
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final Object writeLock = new Object();
+    // Version of the orders that left the board, to ignore late events about them
+    private final Cache<String, Long> departed = Caffeine.newBuilder()
+            .maximumSize(DEPARTED_MAXIMUM_SIZE)
+            .expireAfterWrite(DEPARTED_RETENTION)
+            .build();
+    // PENDING orders handed out as take candidates whose claiming transaction has not completed yet
+    private final Set<String> reserved = ConcurrentHashMap.newKeySet();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Constructs a new KitchenBoard.
+     *
+     * @param orderRepository The repository used to load the board at startup.
+     * @param orderMapper     The mapper for converting Order entities to OrderResponse DTOs.
+     */
+    public KitchenBoard(OrderRepository orderRepository, OrderMapper orderMapper) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the board from the PENDING and IN_PREPARATION orders in the database.
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            List<OrderResponse> pending = load(OrderStatus.PENDING);
+            List<OrderResponse> inPreparation = load(OrderStatus.IN_PREPARATION);
+            snapshot = Snapshot.of(pending, inPreparation);
+            log.info("Kitchen board loaded with {} pending and {} in preparation orders",
+                    pending.size(), inPreparation.size());
+        }
+    }
+
+    /**
+     * @return The PENDING orders, oldest first.
+     */
+    public List<OrderResponse> pendingOrders() {
+        return snapshot.pending();
+    }
+
+    /**
+     * @return The orders IN_PREPARATION, oldest first.
+     */
+    public List<OrderResponse> inPreparationOrders() {
+        return snapshot.inPreparation();
+    }
+
+    /**
+     * Tells where an order of the board stands in the kitchen queue, in logarithmic time.
+     *
+     * @param orderCode The unique code of the order.
+     * @return The position of the order, or an empty Optional if the order is not on the board
+     *         (it does not exist, or it has left the kitchen).
+     */
+    public Optional<QueuePositionResponse> queuePosition(String orderCode) {
+        Snapshot current = snapshot;
+        OrderResponse order = current.byCode().get(orderCode);
+        if (order == null) {
+            return Optional.empty();
+        }
+        int inPreparation = current.inPreparation().size();
+        if (order.status() != OrderStatus.PENDING) {
+            return Optional.of(new QueuePositionResponse(orderCode, order.status(), null, 0, inPreparation));
+        }
+        int ahead = Collections.binarySearch(current.pending(), order, BOARD_ORDER);
+        return Optional.of(new QueuePositionResponse(orderCode, order.status(), ahead + 1, ahead, inPreparation));
+    }
+
+    /**
+     * Hands out the oldest PENDING order that no other transaction is currently trying to claim.
+     * The order stays reserved until the current transaction completes, so concurrent takers get
+     * different candidates instead of contending on the same row. Without a transaction, the
+     * reservation lasts until the next change of the order.
+     *
+     * @return The code of the candidate, or an empty Optional if the board has none.
+     */
+    public Optional<String> reserveNextPending() {
+        for (OrderResponse order : snapshot.pending()) {
+            String orderCode = order.orderCode();
+            if (reserved.add(orderCode)) {
+                releaseReservationAfterCompletion(orderCode);
+                return Optional.of(orderCode);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Drops an order that the board believed PENDING but that could not be claimed, because it
+     * was changed somewhere this board does not hear about.
+     *
+     * @param orderCode The code of the order.
+     */
+    public void discardPending(String orderCode) {
+        synchronized (writeLock) {
+            OrderResponse existing = snapshot.byCode().get(orderCode);
+            if (existing != null && existing.status() == OrderStatus.PENDING) {
+                Changes changes = new Changes(snapshot);
+                changes.remove(existing);
+                snapshot = changes.toSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Applies a committed order change to the board.
+     *
+     * @param event The committed change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        apply(List.of(event));
+    }
+
+    /**
+     * Applies a batch of committed order changes to the board, publishing a single new snapshot.
+     *
+     * @param event The committed changes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        apply(event.changes());
+    }
+
+    private void apply(List<OrderChangedEvent> events) {
+        synchronized (writeLock) {
+            Changes changes = new Changes(snapshot);
+            for (OrderChangedEvent event : events) {
+                OrderResponse order = event.order();
+                String orderCode = order.orderCode();
+                long version = order.version() == null ? 0 : order.version();
+
+                Long departedVersion = departed.getIfPresent(orderCode);
+                if (departedVersion != null && departedVersion >= version) {
+                    continue;
+                }
+                OrderResponse existing = changes.byCode.get(orderCode);
+                if (existing != null && existing.version() != null && existing.version() > version) {
+                    continue;
+                }
+
+                if (existing != null) {
+                    changes.remove(existing);
+                }
+                if (order.status() == OrderStatus.PENDING || order.status() == OrderStatus.IN_PREPARATION) {
+                    changes.add(order);
+                } else {
+                    departed.put(orderCode, version);
+                }
+            }
+            snapshot = changes.toSnapshot();
+        }
+        events.forEach(event -> reserved.remove(event.order().orderCode()));
+    }
+
+    private List<OrderResponse> load(OrderStatus status) {
+        return orderRepository.findWithItemsByStatusOrderByCreatedAtAsc(status).stream()
+                .map(orderMapper::toResponse)
+                .sorted(BOARD_ORDER)
+                .toList();
+    }
+
+    private void releaseReservationAfterCompletion(String orderCode) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reserved.remove(orderCode);
+                }
+            });
+        }
+    }
+
+    /**
+     * Working copy of a snapshot, copied once per batch of changes. Entries are located by binary
+     * search, since every order of the board sits at its sorted position.
+     */
+    private static final class Changes {
+
+        private final List<OrderResponse> pending;
+        private final List<OrderResponse> inPreparation;
+        private final Map<String, OrderResponse> byCode;
+
+        Changes(Snapshot snapshot) {
+            this.pending = new ArrayList<>(snapshot.pending());
+            this.inPreparation = new ArrayList<>(snapshot.inPreparation());
+            this.byCode = new HashMap<>(snapshot.byCode());
+        }
+
+        void add(OrderResponse order) {
+            List<OrderResponse> orders = listOf(order);
+            int index = Collections.binarySearch(orders, order, BOARD_ORDER);
+            orders.add(index < 0 ? -index - 1 : index, order);
+            byCode.put(order.orderCode(), order);
+        }
+
+        void remove(OrderResponse order) {
+            List<OrderResponse> orders = listOf(order);
+            int index = Collections.binarySearch(orders, order, BOARD_ORDER);
+            if (index >= 0) {
+                orders.remove(index);
+            }
+            byCode.remove(order.orderCode());
+        }
+
+        Snapshot toSnapshot() {
+            return new Snapshot(
+                    Collections.unmodifiableList(pending),
+                    Collections.unmodifiableList(inPreparation),
+                    Collections.unmodifiableMap(byCode));
+        }
+
+        private List<OrderResponse> listOf(OrderResponse order) {
+            return order.status() == OrderStatus.PENDING ? pending : inPreparation;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.awesomepizza.order.kitchen;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A kitchen station with a fixed number of preparation slots.
+ * Slots are tracked with a single atomic counter, so acquiring and releasing
+ * never block and never touch the database.
+ */
+public final class KitchenStation {
+
+    private final String name;
+    private final int capacity;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    KitchenStation(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * Takes a preparation slot if one is free.
+     *
+     * @return {@code true} if a slot was taken, {@code false} if the station is full.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inUse.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (inUse.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a preparation slot. Never goes below zero, so a release that has no
+     * matching acquisition (e.g. for an order taken before the last restart) is harmless.
+     */
+    void release() {
+        inUse.getAndUpdate(current -> Math.max(current - 1, 0));
+    }
+
+    /**
+     * Overwrites the number of slots in use, e.g. with the count of orders found in preparation at startup.
+     * The value may exceed the capacity if the station was shrunk: no slot is handed out until it drains.
+     *
+     * @param ordersInPreparation The number of orders currently in preparation at this station.
+     */
+    void reset(int ordersInPreparation) {
+        inUse.set(Math.max(ordersInPreparation, 0));
+    }
+}
@@ -0,0 +1,192 @@
+package com.awesomepizza.order.kitchen;
+
+import com.awesomepizza.order.config.KitchenProperties;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
+import com.awesomepizza.order.exception.UnknownKitchenStationException;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the free preparation slots of every kitchen station.
+ * Slot accounting lives in memory, so checking and taking a slot costs no database query;
+ * the counters are rebuilt from the orders found IN_PREPARATION when the application starts.
+ * <p>
+ * Slot changes follow the transaction that claims or releases the order: a slot taken by a
+ * transaction that rolls back is given back, and a slot is only released once the order has
+ * left IN_PREPARATION for good.
+ */
+@Slf4j
+@Component
+public class KitchenStationRegistry implements SmartInitializingSingleton {
+
+    // Must match the length of the orders.station column
+    static final int MAX_STATION_NAME_LENGTH = 50;
+
+    private final OrderRepository orderRepository;
+    private final Map<String, KitchenStation> stations;
+    private final List<KitchenStation> stationList;
+    // Rotating start point when no station is requested, so claims spread across stations
+    private final AtomicInteger nextStation = new AtomicInteger();
+
+    /**
+     * Constructs a new KitchenStationRegistry.
+     *
+     * @param properties      The configured kitchen stations.
+     * @param orderRepository The repository used to reconcile the slot counters at startup.
+     * @throws IllegalStateException if a station has an invalid name or capacity.
+     */
+    public KitchenStationRegistry(KitchenProperties properties, OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        Map<String, KitchenStation> configured = new LinkedHashMap<>();
+        properties.stations().forEach((name, capacity) -> {
+            if (name == null || name.isBlank() || name.length() > MAX_STATION_NAME_LENGTH) {
+                throw new IllegalStateException("Invalid kitchen station name: '" + name + "'");
+            }
+            if (capacity == null || capacity < 1) {
+                throw new IllegalStateException("Kitchen station " + name + " must have at least one slot");
+            }
+            configured.put(name, new KitchenStation(name, capacity));
+        });
+        this.stations = Collections.unmodifiableMap(configured);
+        this.stationList = List.copyOf(configured.values());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    /**
+     * Rebuilds the slot counters from the orders currently IN_PREPARATION.
+     * Orders claimed before stations existed count against the first configured station;
+     * orders of a station that is no longer configured are ignored.
+     */
+    public void reconcile() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        stations.keySet().forEach(name -> counts.put(name, 0));
+        String fallback = stationList.getFirst().getName();
+
+        for (OrderRepository.StationLoad load : orderRepository.countByStationAndStatus(OrderStatus.IN_PREPARATION)) {
+            String name = load.getStation() == null ? fallback : load.getStation();
+            if (counts.containsKey(name)) {
+                counts.merge(name, load.getOrders().intValue(), Integer::sum);
+            } else {
+                log.warn("{} orders are IN_PREPARATION at unknown kitchen station {}", load.getOrders(), name);
+            }
+        }
+
+        counts.forEach((name, count) -> stations.get(name).reset(count));
+        log.info("Kitchen stations reconciled: {}", describe());
+    }
+
+    /**
+     * Takes a preparation slot for the current transaction.
+     * If no station is requested, the first station with a free slot is used, starting from a
+     * rotating position so that concurrent claims do not all compete for the same counter.
+     *
+     * @param stationName The requested station, or {@code null} for any station.
+     * @return The station that granted the slot.
+     * @throws UnknownKitchenStationException       if the requested station is not configured.
+     * @throws OrderModificationNotAllowedException if no slot is free.
+     */
+    public KitchenStation acquire(String stationName) {
+        KitchenStation station = stationName == null || stationName.isBlank()
+                ? acquireAny()
+                : acquireAt(stationName);
+        releaseOnRollback(station);
+        return station;
+    }
+
+    /**
+     * Releases the slot held by an order that left IN_PREPARATION, once the current transaction commits
+     * (immediately if no transaction is active).
+     * Orders claimed before stations existed give their slot back to the first configured station,
+     * which {@link #reconcile()} counted them against.
+     *
+     * @param stationName The station that prepared the order, or {@code null} if the order has none.
+     */
+    public void releaseAfterCommit(String stationName) {
+        KitchenStation station = stationName == null ? stationList.getFirst() : stations.get(stationName);
+        if (station == null) {
+            log.debug("No slot to release for kitchen station {}", stationName);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            station.release();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                station.release();
+            }
+        });
+    }
+
+    /**
+     * @return The configured stations, in declaration order.
+     */
+    public List<KitchenStation> getStations() {
+        return stationList;
+    }
+
+    private KitchenStation acquireAt(String stationName) {
+        KitchenStation station = stations.get(stationName);
+        if (station == null) {
+            throw new UnknownKitchenStationException("Unknown kitchen station: " + stationName);
+        }
+        if (!station.tryAcquire()) {
+            log.warn("Kitchen station {} has no free preparation slot", stationName);
+            throw new OrderModificationNotAllowedException(
+                    "Cannot take a new order because kitchen station " + stationName + " has no free preparation slot.");
+        }
+        return station;
+    }
+
+    private KitchenStation acquireAny() {
+        int size = stationList.size();
+        int start = Math.floorMod(nextStation.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            KitchenStation station = stationList.get((start + i) % size);
+            if (station.tryAcquire()) {
+                return station;
+            }
+        }
+        log.warn("No kitchen station has a free preparation slot");
+        throw new OrderModificationNotAllowedException(
+                "Cannot take a new order because every kitchen station is busy.");
+    }
+
+    private void releaseOnRollback(KitchenStation station) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    station.release();
+                }
+            }
+        });
+    }
+
+    private String describe() {
+        List<String> parts = new ArrayList<>();
+        stationList.forEach(s -> parts.add(s.getName() + "=" + s.getInUse() + "/" + s.getCapacity()));
+        return String.join(", ", parts);
+    }
+}
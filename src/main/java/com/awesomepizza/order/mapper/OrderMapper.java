@@ -1,5 +1,6 @@
 package com.awesomepizza.order.mapper;
 
+import com.awesomepizza.order.domain.entity.ArchivedOrder;
 import com.awesomepizza.order.domain.entity.Order;
 import com.awesomepizza.order.domain.entity.OrderItem;
 import com.awesomepizza.order.dto.CreateOrderRequest;
@@ -10,6 +11,7 @@ import com.awesomepizza.order.dto.UpdateOrderRequest;
 
 import org.springframework.stereotype.Component;
 
+import java.math.RoundingMode;
 import java.util.List;
 
 /**
@@ -36,10 +38,42 @@ public class OrderMapper {
                 order.getId(),
                 order.getOrderCode(),
                 order.getStatus(),
+                order.getStation(),
                 order.getCustomerName(),
                 order.getPhone(),
                 order.getDeliveryAddress(),
                 order.getCreatedAt(),
+                order.getTotalAmount(),
+                order.getItemCount(),
+                order.getVersion(),
+                items
+        );
+    }
+
+    /**
+     * Converts an {@link ArchivedOrder} entity into an {@link OrderResponse} DTO, exactly as the order
+     * was returned before it was archived.
+     *
+     * @param order The {@link ArchivedOrder} entity to convert.
+     * @return An {@link OrderResponse} DTO representing the order.
+     */
+    public OrderResponse toArchivedOrderResponse(ArchivedOrder order) {
+        List<OrderItemResponse> items = order.getOrderItems().stream()
+                .map(item -> new OrderItemResponse(item.getId(), item.getPizzaName(), item.getQuantity(), item.getPrice()))
+                .toList();
+
+        return new OrderResponse(
+                order.getId(),
+                order.getOrderCode(),
+                order.getStatus(),
+                order.getStation(),
+                order.getCustomerName(),
+                order.getPhone(),
+                order.getDeliveryAddress(),
+                order.getCreatedAt(),
+                order.getTotalAmount(),
+                order.getItemCount(),
+                order.getVersion(),
                 items
         );
     }
@@ -74,13 +108,15 @@ public class OrderMapper {
         order.setPhone(request.phone());
         order.setDeliveryAddress(request.deliveryAddress());
         request.orderItems().forEach(item -> order.addOrderItem(toEntity(item)));
+        updateTotals(order);
         return order;
     }
 
     /**
      * Updates an existing {@link Order} entity based on the provided {@link UpdateOrderRequest} DTO.
      * This method applies partial updates, only setting fields present in the request (using Optional).
-     * It also handles updating the list of order items by clearing existing ones and adding new ones.
+     * It also handles updating the list of order items by clearing existing ones and adding new ones,
+     * together with the total and the item count of the order.
      *
      * @param order   The {@link Order} entity to be updated.
      * @param request The {@link UpdateOrderRequest} DTO containing the new data.
@@ -92,9 +128,28 @@ public class OrderMapper {
         request.orderItems().ifPresent(items -> {
             order.getOrderItems().clear(); 
             items.forEach(item -> order.addOrderItem(toEntity(item))); 
+            updateTotals(order);
         });
     }
 
+    /**
+     * Recomputes the total and the item count of an {@link Order} from its items, so that lists and reports
+     * can read them from the order alone. Prices are rounded to cents as the {@code price} column stores them.
+     *
+     * @param order The {@link Order} entity whose items just changed.
+     */
+    private void updateTotals(Order order) {
+        long totalAmount = 0;
+        int itemCount = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            long unitPrice = item.getPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            totalAmount = Math.addExact(totalAmount, Math.multiplyExact(unitPrice, item.getQuantity()));
+            itemCount = Math.addExact(itemCount, item.getQuantity());
+        }
+        order.setTotalAmount(totalAmount);
+        order.setItemCount(itemCount);
+    }
+
     /**
      * Converts an {@link OrderItemRequest} DTO into an {@link OrderItem} entity.
      * This is a private helper method used when creating or updating {@link Order} entities.
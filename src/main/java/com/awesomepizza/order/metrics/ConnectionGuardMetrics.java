@@ -0,0 +1,65 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.datasource.ConnectionGuard;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Gauges of the {@link ConnectionGuard} in front of the primary pool, scraped by Prometheus on
+ * {@code /actuator/prometheus}.
+ * <ul>
+ *   <li>{@code db.connections.guard.available}: the connections that can be taken right now.</li>
+ *   <li>{@code db.connections.guard.waiting}: the callers queued for a connection.</li>
+ * </ul>
+ * The guard is found behind the replica routing proxy, if any; nothing is registered when the guard is disabled.
+ */
+@Component
+public class ConnectionGuardMetrics implements MeterBinder {
+
+    static final String AVAILABLE = "db.connections.guard.available";
+    static final String WAITING = "db.connections.guard.waiting";
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    /**
+     * Constructs a new ConnectionGuardMetrics.
+     *
+     * @param dataSources The data sources searched for a guard when the gauges are bound.
+     */
+    public ConnectionGuardMetrics(ObjectProvider<DataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dataSources.orderedStream().forEach(dataSource -> {
+            ConnectionGuard guard = findGuard(dataSource);
+            if (guard != null) {
+                Gauge.builder(AVAILABLE, guard, ConnectionGuard::availableConnections)
+                        .description("Primary connections that can be taken without waiting")
+                        .register(registry);
+                Gauge.builder(WAITING, guard, ConnectionGuard::waitingCallers)
+                        .description("Callers waiting for a primary connection")
+                        .register(registry);
+            }
+        });
+    }
+
+    private static ConnectionGuard findGuard(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource delegating) {
+            if (delegating instanceof ConnectionGuard guard) {
+                return guard;
+            }
+            current = delegating.getTargetDataSource();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,117 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.controller.CustomerOrderController;
+import com.awesomepizza.order.controller.PizzaioloOrderController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every handler method of {@link CustomerOrderController} and {@link PizzaioloOrderController} as
+ * {@code orders.http.requests{controller,method,outcome}}.
+ * <p>
+ * The timers of a method are found through a map built at startup from the controller classes, and those of
+ * each outcome are registered on first use, so timing a request only reads {@link System#nanoTime()} and
+ * does not allocate. Requests that start an asynchronous response, such as the event streams, are not timed:
+ * the handler returns long before the response ends. Requests refused by Spring Security never reach a
+ * handler, and are not timed either.
+ */
+@Component
+public class ControllerTimingFilter implements Filter {
+
+    static final String REQUESTS = "orders.http.requests";
+    static final List<Class<?>> CONTROLLERS = List.of(CustomerOrderController.class, PizzaioloOrderController.class);
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final Map<Method, MethodTimers> timers = new HashMap<>();
+
+    /**
+     * Constructs a new ControllerTimingFilter.
+     *
+     * @param registry The registry the timers are published to.
+     */
+    public ControllerTimingFilter(MeterRegistry registry) {
+        this.registry = registry;
+        for (Class<?> controller : CONTROLLERS) {
+            for (Method method : controller.getDeclaredMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                    timers.put(method, new MethodTimers(controller.getSimpleName(), method.getName()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!request.isAsyncStarted()
+                    && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                MethodTimers methodTimers = timers.get(handler.getMethod());
+                if (methodTimers != null) {
+                    Outcome outcome = failed
+                            ? Outcome.SERVER_ERROR
+                            : Outcome.forStatus(((HttpServletResponse) response).getStatus());
+                    methodTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * The timers of one handler method, one per outcome.
+     */
+    private final class MethodTimers {
+
+        private final String controller;
+        private final String method;
+        private final AtomicReferenceArray<Timer> byOutcome = new AtomicReferenceArray<>(OUTCOMES.length);
+
+        private MethodTimers(String controller, String method) {
+            this.controller = controller;
+            this.method = method;
+        }
+
+        private Timer get(Outcome outcome) {
+            Timer timer = byOutcome.get(outcome.ordinal());
+            if (timer == null) {
+                timer = Timer.builder(REQUESTS)
+                        .description("Time spent serving the order endpoints, per controller method")
+                        .tag("controller", controller)
+                        .tag("method", method)
+                        .tag("outcome", outcome.name())
+                        .publishPercentileHistogram()
+                        .register(registry);
+                byOutcome.set(outcome.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+}
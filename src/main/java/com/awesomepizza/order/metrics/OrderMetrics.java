@@ -0,0 +1,193 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.TransitionRejectionListener;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.enums.TransitionRejection;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.kitchen.KitchenBoard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Order lifecycle metrics, scraped by Prometheus on {@code /actuator/prometheus}.
+ * <ul>
+ *   <li>{@code orders.status.transitions{from,to}}: committed status changes, {@code from="none"} for new orders.</li>
+ *   <li>{@code orders.status.rejections{from,to,reason}}: transitions refused by the
+ *       {@link OrderStatusValidator}.</li>
+ *   <li>{@code orders.active{status}}: the PENDING queue and the orders IN_PREPARATION, read from the
+ *       {@link KitchenBoard}.</li>
+ *   <li>{@code orders.status.duration{status}}: how long orders stayed in a status before leaving it.</li>
+ * </ul>
+ * Counters are registered on their first use and then read from arrays indexed by status ordinal, so counting
+ * a change does not allocate. The time in PENDING is measured from the creation date of the order; the entry
+ * into the later statuses is remembered in memory, so a status entered on another instance or before a
+ * restart is not timed.
+ */
+@Component
+public class OrderMetrics implements TransitionRejectionListener {
+
+    static final String TRANSITIONS = "orders.status.transitions";
+    static final String REJECTIONS = "orders.status.rejections";
+    static final String ACTIVE = "orders.active";
+    static final String DURATION = "orders.status.duration";
+
+    private static final String NONE = "none";
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final TransitionRejection[] REASONS = TransitionRejection.values();
+    // Orders followed at once in IN_PREPARATION and READY; past it the oldest entries lose their timing
+    private static final long TRACKED_ORDERS = 100_000;
+    private static final Duration TRACKING_TIMEOUT = Duration.ofDays(1);
+
+    private final MeterRegistry registry;
+    private final OrderStatusValidator statusValidator;
+    // Slot 0 of the "from" dimension stands for a missing status
+    private final AtomicReferenceArray<Counter> transitions =
+            new AtomicReferenceArray<>((STATUSES.length + 1) * STATUSES.length);
+    private final AtomicReferenceArray<Counter> rejections =
+            new AtomicReferenceArray<>((STATUSES.length + 1) * (STATUSES.length + 1) * REASONS.length);
+    // Null for the final statuses, which orders never leave
+    private final Timer[] durations = new Timer[STATUSES.length];
+    // Order code -> wall time in milliseconds when the order entered its current status, after PENDING
+    private final Cache<String, Long> enteredAt = Caffeine.newBuilder()
+            .maximumSize(TRACKED_ORDERS)
+            .expireAfterWrite(TRACKING_TIMEOUT)
+            .build();
+
+    /**
+     * Constructs a new OrderMetrics and registers its gauges and timers.
+     *
+     * @param registry        The registry the metrics are published to.
+     * @param kitchenBoard    The board read by the queue gauges.
+     * @param statusValidator The state machine telling which statuses are final, and so never timed.
+     */
+    public OrderMetrics(MeterRegistry registry, KitchenBoard kitchenBoard, OrderStatusValidator statusValidator) {
+        this.registry = registry;
+        this.statusValidator = statusValidator;
+        Gauge.builder(ACTIVE, kitchenBoard, board -> board.pendingOrders().size())
+                .description("Orders waiting for a pizzaiolo")
+                .tag("status", OrderStatus.PENDING.name())
+                .register(registry);
+        Gauge.builder(ACTIVE, kitchenBoard, board -> board.inPreparationOrders().size())
+                .description("Orders being prepared")
+                .tag("status", OrderStatus.IN_PREPARATION.name())
+                .register(registry);
+        for (OrderStatus status : STATUSES) {
+            if (statusValidator.isFinal(status)) {
+                continue;
+            }
+            durations[status.ordinal()] = Timer.builder(DURATION)
+                    .description("Time orders spent in a status before leaving it")
+                    .tag("status", status.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofHours(2))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Counts and times a committed status change.
+     *
+     * @param event The committed change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        record(event);
+    }
+
+    /**
+     * Counts and times a batch of committed status changes.
+     *
+     * @param event The committed changes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        event.changes().forEach(this::record);
+    }
+
+    @Override
+    public void transitionRejected(OrderStatus currentStatus, OrderStatus newStatus, TransitionRejection reason) {
+        int index = (slot(currentStatus) * (STATUSES.length + 1) + slot(newStatus)) * REASONS.length
+                + reason.ordinal();
+        Counter counter = rejections.get(index);
+        if (counter == null) {
+            counter = Counter.builder(REJECTIONS)
+                    .description("Status transitions refused by the state machine")
+                    .tag("from", name(currentStatus))
+                    .tag("to", name(newStatus))
+                    .tag("reason", reason.name())
+                    .register(registry);
+            rejections.set(index, counter);
+        }
+        counter.increment();
+    }
+
+    private void record(OrderChangedEvent event) {
+        if (!event.isStatusChange()) {
+            return;
+        }
+        OrderResponse order = event.order();
+        OrderStatus previous = event.previousStatus();
+        OrderStatus current = order.status();
+        transitionCounter(previous, current).increment();
+
+        long now = registry.config().clock().wallTime();
+        if (previous == OrderStatus.PENDING) {
+            recordDuration(previous, now - order.createdAt().toEpochMilli());
+        } else if (previous != null) {
+            Long since = enteredAt.getIfPresent(order.orderCode());
+            if (since != null) {
+                recordDuration(previous, now - since);
+            }
+        }
+        if (current == OrderStatus.PENDING || statusValidator.isFinal(current)) {
+            enteredAt.invalidate(order.orderCode());
+        } else {
+            enteredAt.put(order.orderCode(), now);
+        }
+    }
+
+    private Counter transitionCounter(OrderStatus from, OrderStatus to) {
+        int index = slot(from) * STATUSES.length + to.ordinal();
+        Counter counter = transitions.get(index);
+        if (counter == null) {
+            counter = Counter.builder(TRANSITIONS)
+                    .description("Committed order status changes")
+                    .tag("from", name(from))
+                    .tag("to", to.name())
+                    .register(registry);
+            transitions.set(index, counter);
+        }
+        return counter;
+    }
+
+    private void recordDuration(OrderStatus status, long millis) {
+        Timer timer = durations[status.ordinal()];
+        if (timer != null) {
+            timer.record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static int slot(OrderStatus status) {
+        return status == null ? 0 : status.ordinal() + 1;
+    }
+
+    private static String name(OrderStatus status) {
+        return status == null ? NONE : status.name();
+    }
+}
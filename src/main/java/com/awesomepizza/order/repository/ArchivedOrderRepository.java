@@ -0,0 +1,89 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.ArchivedOrder;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderRevision;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository of the archived orders, the cold counterpart of {@link OrderRepository}. Like it, queries run in
+ * read-only transactions unless they join a writing one.
+ */
+@Transactional(readOnly = true)
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, UUID> {
+
+    /**
+     * Loads an archived order together with its items in a single statement.
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<ArchivedOrder> findWithItemsByOrderCode(String orderCode);
+
+    /**
+     * Returns only the status and version of an archived order, without loading the entity or its items.
+     */
+    @Query("SELECT new com.awesomepizza.order.dto.OrderRevision(o.orderCode, o.status, o.version) "
+            + "FROM ArchivedOrder o WHERE o.orderCode = :orderCode")
+    Optional<OrderRevision> findRevisionByOrderCode(@Param("orderCode") String orderCode);
+
+    /**
+     * Returns only the status of an archived order, without loading the entity.
+     */
+    @Query("SELECT o.status FROM ArchivedOrder o WHERE o.orderCode = :orderCode")
+    Optional<OrderStatus> findStatusByOrderCode(@Param("orderCode") String orderCode);
+
+    /**
+     * Same as {@link OrderRepository#tallyPizzasCreatedBetween(Instant, Instant)}, for the archived orders.
+     * Backed by the {@code idx_orders_archive_created_at} index.
+     */
+    @Query("SELECT o.status AS status, i.pizzaName AS pizzaName, COUNT(DISTINCT o.id) AS orders, "
+            + "SUM(i.quantity) AS pizzas, SUM(i.price * i.quantity * 100) AS revenue "
+            + "FROM ArchivedOrderItem i JOIN i.order o WHERE o.createdAt >= :from AND o.createdAt < :to "
+            + "GROUP BY o.status, i.pizzaName")
+    List<SalesTally> tallyPizzasCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Same as {@link OrderRepository#tallyOrdersCreatedBetween(Instant, Instant)}, for the archived orders.
+     */
+    @Query("SELECT o.status AS status, '" + SalesRollupId.ALL_PIZZAS + "' AS pizzaName, COUNT(o) AS orders, "
+            + "SUM(o.itemCount) AS pizzas, SUM(o.totalAmount) AS revenue "
+            + "FROM ArchivedOrder o WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.status")
+    List<SalesTally> tallyOrdersCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Copies the given live orders into the archive with a single statement, without loading them.
+     *
+     * @return The number of orders copied.
+     */
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (id, orderCode, status, station, customerName, phone, deliveryAddress, "
+            + "createdAt, totalAmount, itemCount, version, archivedAt) "
+            + "SELECT o.id, o.orderCode, o.status, o.station, o.customerName, o.phone, o.deliveryAddress, "
+            + "o.createdAt, o.totalAmount, o.itemCount, o.version, :archivedAt FROM Order o WHERE o.id IN :ids")
+    int copyOrders(@Param("ids") Collection<UUID> ids, @Param("archivedAt") Instant archivedAt);
+
+    /**
+     * Copies the items of the given live orders into the archive with a single statement. The orders
+     * themselves must be copied first, as the archived items reference them.
+     *
+     * @return The number of items copied.
+     */
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO ArchivedOrderItem (id, order.id, pizzaName, quantity, price) "
+            + "SELECT i.id, i.order.id, i.pizzaName, i.quantity, i.price FROM OrderItem i WHERE i.order.id IN :ids")
+    int copyOrderItems(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,9 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.DailySales;
+
+/**
+ * Repository of the daily sales rollups.
+ */
+public interface DailySalesRepository extends SalesRollupRepository<DailySales> {
+}
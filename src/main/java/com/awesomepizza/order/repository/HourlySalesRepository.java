@@ -0,0 +1,24 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.HourlySales;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository of the hourly sales rollups.
+ */
+public interface HourlySalesRepository extends SalesRollupRepository<HourlySales> {
+
+    /**
+     * Sums the hourly rows of {@code [from, to)} by status and pizza, to build a daily bucket without
+     * reading the orders again.
+     */
+    @Query("SELECT s.id.status AS status, s.id.pizzaName AS pizzaName, SUM(s.orders) AS orders, "
+            + "SUM(s.pizzas) AS pizzas, SUM(s.revenue) AS revenue FROM HourlySales s "
+            + "WHERE s.id.bucketStart >= :from AND s.id.bucketStart < :to GROUP BY s.id.status, s.id.pizzaName")
+    List<SalesTally> tallyBetween(@Param("from") Instant from, @Param("to") Instant to);
+}
@@ -1,18 +1,279 @@
 package com.awesomepizza.order.repository;
 
 import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderRevision;
+import com.awesomepizza.order.dto.OrderSummaryResponse;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.Timeouts;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    Optional<Order> findByOrderCode(String orderCode);
+/**
+ * Repository of the live orders. Queries run in read-only transactions unless they join a writing one, so that
+ * they can be served by a replica; statements that write are marked transactional on their own.
+ */
+@Transactional(readOnly = true)
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderRepositoryCustom {
 
-    Optional<Order> findFirstByStatusOrderByCreatedAtAsc(OrderStatus status);
+    /**
+     * Number of orders in a given status at a kitchen station.
+     */
+    interface StationLoad {
+        String getStation();
 
-    boolean existsByStatus(OrderStatus status);
+        Long getOrders();
+    }
+
+    Optional<Order> findByOrderCode(String orderCode);
 
     List<Order> findByStatus(OrderStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #findByOrderCode(String)}, but loads the order items in the same statement.
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findWithItemsByOrderCode(String orderCode);
+
+    /**
+     * Same as {@link #findByOrderCode(String)}, for an order about to be modified: the version is
+     * incremented when the transaction flushes even if only the order items change, since the items
+     * collection is not owned by the order and would not bump it on its own.
+     * The row is locked and the version incremented as soon as the order is read, so the version of the
+     * returned entity already matches the one that gets committed. The items are not fetched in the same
+     * statement, as the lock mode would apply to them too.
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT o FROM Order o WHERE o.orderCode = :orderCode")
+    Optional<Order> findForUpdateByOrderCode(@Param("orderCode") String orderCode);
+
+    /**
+     * Loads and locks the given orders for a bulk change, so that their statuses cannot change until the
+     * transaction ends. Rows are locked in id order, so concurrent bulk changes cannot deadlock; the items
+     * are not fetched, as the lock mode would apply to them too.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderCode IN :orderCodes ORDER BY o.id")
+    List<Order> findAllForUpdateByOrderCodeIn(@Param("orderCodes") Collection<String> orderCodes);
+
+    /**
+     * Loads the given orders together with their items in a single statement.
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findWithItemsByOrderCodeIn(Collection<String> orderCodes);
+
+    /**
+     * Same as {@link #findByStatus(OrderStatus)}, but sorted by creation date and with the order items
+     * loaded in the same statement.
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findWithItemsByStatusOrderByCreatedAtAsc(OrderStatus status);
+
+    /**
+     * Returns the ids of the first page of the order history, sorted by {@code (createdAt, id)}.
+     * Backed by the {@code idx_orders_created_at_id} index.
+     */
+    @Query("SELECT o.id FROM Order o ORDER BY o.createdAt ASC, o.id ASC")
+    List<UUID> findFirstPageIds(Limit limit);
+
+    /**
+     * Returns the ids of the page that follows the given keyset position, sorted by {@code (createdAt, id)}.
+     * The row-value comparison lets the database seek straight into the index instead of skipping an offset.
+     */
+    @Query("SELECT o.id FROM Order o WHERE (o.createdAt, o.id) > (:createdAt, :id) ORDER BY o.createdAt ASC, o.id ASC")
+    List<UUID> findPageIdsAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Loads the given orders together with their items, sorted by {@code (createdAt, id)}.
+     * Second phase of a paged read: the limit is applied to the ids, so the join never gets truncated.
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids ORDER BY o.createdAt ASC, o.id ASC")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns the first page of the order history as summaries, sorted by {@code (createdAt, id)}.
+     * Reads the {@code orders} table only: the totals are stored on the order, so the items are never joined.
+     */
+    @Query("SELECT new com.awesomepizza.order.dto.OrderSummaryResponse(o.id, o.orderCode, o.status, o.station, "
+            + "o.customerName, o.createdAt, o.totalAmount, o.itemCount, o.version) "
+            + "FROM Order o ORDER BY o.createdAt ASC, o.id ASC")
+    List<OrderSummaryResponse> findFirstSummaryPage(Limit limit);
+
+    /**
+     * Same as {@link #findFirstSummaryPage(Limit)}, for the page that follows the given keyset position.
+     */
+    @Query("SELECT new com.awesomepizza.order.dto.OrderSummaryResponse(o.id, o.orderCode, o.status, o.station, "
+            + "o.customerName, o.createdAt, o.totalAmount, o.itemCount, o.version) "
+            + "FROM Order o WHERE (o.createdAt, o.id) > (:createdAt, :id) ORDER BY o.createdAt ASC, o.id ASC")
+    List<OrderSummaryResponse> findSummaryPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Returns only the status and version of an order, without loading the entity or its items.
+     */
+    @Query("SELECT new com.awesomepizza.order.dto.OrderRevision(o.orderCode, o.status, o.version) "
+            + "FROM Order o WHERE o.orderCode = :orderCode")
+    Optional<OrderRevision> findRevisionByOrderCode(@Param("orderCode") String orderCode);
+
+    /**
+     * Returns only the status of an order, without loading the entity.
+     */
+    @Query("SELECT o.status FROM Order o WHERE o.orderCode = :orderCode")
+    Optional<OrderStatus> findStatusByOrderCode(@Param("orderCode") String orderCode);
+
+    /**
+     * Moves an order to a new status in a single conditional statement, only if its current status is one of
+     * the allowed ones. Bumps the version like a regular optimistic-locked update would.
+     *
+     * @return 1 if the transition was applied, 0 if the order does not exist or is in a different status.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1 "
+            + "WHERE o.orderCode = :orderCode AND o.status IN :allowedStatuses")
+    int transitionStatus(@Param("orderCode") String orderCode,
+                         @Param("newStatus") OrderStatus newStatus,
+                         @Param("allowedStatuses") Collection<OrderStatus> allowedStatuses);
+
+    /**
+     * Same as {@link #transitionStatus(String, OrderStatus, Collection)}, also recording the kitchen station
+     * that takes the order.
+     *
+     * @return 1 if the transition was applied, 0 if the order does not exist or is in a different status.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.station = :station, o.version = o.version + 1 "
+            + "WHERE o.orderCode = :orderCode AND o.status IN :allowedStatuses")
+    int transitionStatusAtStation(@Param("orderCode") String orderCode,
+                                  @Param("newStatus") OrderStatus newStatus,
+                                  @Param("station") String station,
+                                  @Param("allowedStatuses") Collection<OrderStatus> allowedStatuses);
+
+    /**
+     * Bulk form of {@link #transitionStatus(String, OrderStatus, Collection)}: moves every given order whose
+     * current status is one of the allowed ones in a single statement. The persistence context is cleared
+     * afterwards, since managed orders would otherwise keep their old status.
+     *
+     * @return The number of orders moved to the new status.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1 "
+            + "WHERE o.orderCode IN :orderCodes AND o.status IN :allowedStatuses")
+    int transitionStatuses(@Param("orderCodes") Collection<String> orderCodes,
+                           @Param("newStatus") OrderStatus newStatus,
+                           @Param("allowedStatuses") Collection<OrderStatus> allowedStatuses);
+
+    /**
+     * Same as {@link #transitionStatuses(Collection, OrderStatus, Collection)}, also recording the kitchen
+     * station that takes the orders.
+     *
+     * @return The number of orders moved to the new status.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.station = :station, o.version = o.version + 1 "
+            + "WHERE o.orderCode IN :orderCodes AND o.status IN :allowedStatuses")
+    int transitionStatusesAtStation(@Param("orderCodes") Collection<String> orderCodes,
+                                    @Param("newStatus") OrderStatus newStatus,
+                                    @Param("station") String station,
+                                    @Param("allowedStatuses") Collection<OrderStatus> allowedStatuses);
+
+    /**
+     * Tallies the items of the orders created in {@code [from, to)} by order status and pizza, for the sales
+     * rollups. Backed by the {@code idx_orders_created_at_id} index.
+     */
+    @Query("SELECT o.status AS status, i.pizzaName AS pizzaName, COUNT(DISTINCT o.id) AS orders, "
+            + "SUM(i.quantity) AS pizzas, SUM(i.price * i.quantity * 100) AS revenue "
+            + "FROM OrderItem i JOIN i.order o WHERE o.createdAt >= :from AND o.createdAt < :to "
+            + "GROUP BY o.status, i.pizzaName")
+    List<SalesTally> tallyPizzasCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Tallies the orders created in {@code [from, to)} by status from their stored totals, without reading
+     * the items. The rows are reported under {@link SalesRollupId#ALL_PIZZAS}.
+     */
+    @Query("SELECT o.status AS status, '" + SalesRollupId.ALL_PIZZAS + "' AS pizzaName, COUNT(o) AS orders, "
+            + "SUM(o.itemCount) AS pizzas, SUM(o.totalAmount) AS revenue "
+            + "FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to GROUP BY o.status")
+    List<SalesTally> tallyOrdersCreatedBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Returns the ids of up to {@code limit} orders in one of the given statuses created before the cutoff,
+     * locking them for the archiver. Rows already locked by another archiver are skipped, so concurrent runs
+     * move different orders. Backed by the {@code idx_orders_status_created_at} index.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + Timeouts.SKIP_LOCKED_MILLI))
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdAt < :createdBefore")
+    List<UUID> findIdsForArchiving(@Param("statuses") Collection<OrderStatus> statuses,
+                                   @Param("createdBefore") Instant createdBefore,
+                                   Limit limit);
+
+    /**
+     * Deletes the items of the given orders with a single statement, without loading them.
+     *
+     * @return The number of items deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Deletes the given orders with a single statement, without loading them. Their items must be deleted first.
+     *
+     * @return The number of orders deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Reserves the next block of order codes. Sequence values are never given back, not even on
+     * rollback, so a block is never reserved twice. Not read-only, since PostgreSQL refuses
+     * {@code nextval} in a read-only transaction.
+     */
+    @Transactional
+    @Query(value = "SELECT nextval('order_code_block_seq')", nativeQuery = true)
+    long nextOrderCodeBlock();
+
+    /**
+     * Counts the orders in the given status, grouped by kitchen station. Orders without a station are
+     * reported with a {@code null} station.
+     */
+    @Query("SELECT o.station AS station, COUNT(o) AS orders FROM Order o WHERE o.status = :status GROUP BY o.station")
+    List<StationLoad> countByStationAndStatus(@Param("status") OrderStatus status);
+
+    /**
+     * Counts the orders in the given status. Served by the idx_orders_status_created_at index.
+     */
+    long countByStatus(OrderStatus status);
+
+    /**
+     * Counts the orders in the given status that come before the given one in kitchen order, oldest first with
+     * the id breaking ties. Served by the idx_orders_status_created_at index.
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status AND (o.createdAt, o.id) < (:createdAt, :id)")
+    long countByStatusBefore(@Param("status") OrderStatus status,
+                             @Param("createdAt") Instant createdAt,
+                             @Param("id") UUID id);
+}
@@ -0,0 +1,65 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderExportFilter;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Custom {@link OrderRepository} operations that cannot be expressed as derived or annotated queries.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Atomically claims the oldest PENDING order and moves it to IN_PREPARATION.
+     * Rows already locked by concurrent claims are skipped, so parallel callers
+     * receive different orders instead of contending for the same one.
+     *
+     * @param station The kitchen station taking the order, recorded on the order.
+     * @return The claimed order, or an empty Optional if no PENDING order is available.
+     */
+    Optional<Order> claimNextPending(String station);
+
+    /**
+     * Claims the given order and moves it to IN_PREPARATION, if it is in one of the takeable statuses.
+     * An order locked by a concurrent change is skipped instead of waited for, so instances claiming the same
+     * candidate do not queue up on its row lock.
+     *
+     * @param orderCode        The code of the order to claim.
+     * @param station          The kitchen station taking the order, recorded on the order.
+     * @param takeableStatuses The statuses the order may be taken from.
+     * @return The claimed order, or an empty Optional if the order is locked, missing or no longer takeable.
+     */
+    Optional<Order> claimPending(String orderCode, String station, Collection<OrderStatus> takeableStatuses);
+
+    /**
+     * Same as {@link OrderRepository#transitionStatus(String, OrderStatus, Collection)}, also telling which of
+     * the allowed statuses the order left, so that a status with several predecessors is still changed in a
+     * single conditional statement.
+     *
+     * @param orderCode       The code of the order.
+     * @param newStatus       The status to move the order to.
+     * @param allowedStatuses The statuses the order may currently be in.
+     * @return The status the order was in, or an empty Optional if the order does not exist or is in a
+     *         different status.
+     */
+    Optional<OrderStatus> transitionStatusReturningPrevious(String orderCode, OrderStatus newStatus,
+                                                            Collection<OrderStatus> allowedStatuses);
+
+    /**
+     * Reads the live and the archived orders matching the filter, oldest first, and hands them over one at a
+     * time. Rows are read through a forward-only cursor, {@code fetchSize} at a time, as plain values that are
+     * never attached to the persistence context, so memory use does not depend on the number of orders.
+     * Must run within a transaction, which keeps the cursor open on PostgreSQL.
+     *
+     * @param filter    The orders to read.
+     * @param fetchSize The number of rows fetched per round trip.
+     * @param orders    Receives each order with its items.
+     * @return The number of orders read.
+     */
+    long streamHistory(OrderExportFilter filter, int fetchSize, Consumer<OrderResponse> orders);
+}
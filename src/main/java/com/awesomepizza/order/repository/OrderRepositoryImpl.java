@@ -0,0 +1,287 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderExportFilter;
+import com.awesomepizza.order.dto.OrderItemResponse;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Timeouts;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.SelectionQuery;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link OrderRepositoryCustom}, picked up by Spring Data through the {@code Impl} suffix.
+ */
+class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    // Single round trip on PostgreSQL: lock the oldest free PENDING row, flip it and return it.
+    // Backed by the idx_orders_status_created_at index.
+    private static final String CLAIM_NEXT_PENDING_SQL = """
+            UPDATE orders SET status = :claimedStatus, station = :station, version = version + 1
+            WHERE id = (
+                SELECT id FROM orders
+                WHERE status = :pendingStatus
+                ORDER BY created_at, id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """;
+
+    // Same as above for a given order, taken from the kitchen board.
+    private static final String CLAIM_PENDING_SQL = """
+            UPDATE orders SET status = :claimedStatus, station = :station, version = version + 1
+            WHERE id = (
+                SELECT id FROM orders
+                WHERE order_code = :orderCode AND status IN (:takeableStatuses)
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """;
+
+    // Single round trip on PostgreSQL: lock the row if its status is allowed, flip it and return the old status,
+    // which RETURNING only sees through the locked sub-select.
+    private static final String TRANSITION_STATUS_SQL = """
+            UPDATE orders SET status = :newStatus, version = orders.version + 1
+            FROM (
+                SELECT id, status FROM orders
+                WHERE order_code = :orderCode AND status IN (:allowedStatuses)
+                FOR UPDATE) previous
+            WHERE orders.id = previous.id
+            RETURNING previous.status
+            """;
+
+    // One row per item (or per order without items), live and archived orders in a single statement so that
+    // orders archived while the export runs are neither lost nor repeated. %1$s is replaced by the filter.
+    private static final String HISTORY_HQL = """
+            SELECT h.orderId, h.orderCode, h.status, h.station, h.customerName, h.phone, h.deliveryAddress,
+                   h.createdAt, h.totalAmount, h.itemCount, h.version, h.itemId, h.pizzaName, h.quantity, h.price
+            FROM (
+                SELECT o.id AS orderId, o.orderCode AS orderCode, o.status AS status, o.station AS station,
+                       o.customerName AS customerName, o.phone AS phone, o.deliveryAddress AS deliveryAddress,
+                       o.createdAt AS createdAt, o.totalAmount AS totalAmount, o.itemCount AS itemCount,
+                       o.version AS version,
+                       i.id AS itemId, i.pizzaName AS pizzaName, i.quantity AS quantity, i.price AS price
+                FROM Order o LEFT JOIN o.orderItems i WHERE 1 = 1 %1$s
+                UNION ALL
+                SELECT o.id, o.orderCode, o.status, o.station, o.customerName, o.phone, o.deliveryAddress,
+                       o.createdAt, o.totalAmount, o.itemCount, o.version, i.id, i.pizzaName, i.quantity, i.price
+                FROM ArchivedOrder o LEFT JOIN o.orderItems i WHERE 1 = 1 %1$s
+            ) h
+            ORDER BY h.createdAt, h.orderId, h.itemId
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean updateReturningSupported;
+
+    @Override
+    public Optional<Order> claimNextPending(String station) {
+        return supportsUpdateReturning() ? claimWithUpdateReturning(station) : claimWithLockedSelect(station);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Order> claimWithUpdateReturning(String station) {
+        List<Order> claimed = entityManager.createNativeQuery(CLAIM_NEXT_PENDING_SQL, Order.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Order.class)
+                .setParameter("claimedStatus", OrderStatus.IN_PREPARATION.name())
+                .setParameter("pendingStatus", OrderStatus.PENDING.name())
+                .setParameter("station", station)
+                .getResultList();
+        return claimed.stream().findFirst();
+    }
+
+    // Portable fallback (e.g. H2): lock the oldest PENDING row, skipping locked ones where the dialect
+    // supports it, then let dirty checking flip the status and bump the version.
+    private Optional<Order> claimWithLockedSelect(String station) {
+        Optional<Order> candidate = entityManager.createQuery(
+                        "SELECT o FROM Order o WHERE o.status = :status ORDER BY o.createdAt ASC, o.id ASC", Order.class)
+                .setParameter("status", OrderStatus.PENDING)
+                .setMaxResults(1)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, Timeouts.SKIP_LOCKED_MILLI)
+                .getResultStream()
+                .findFirst();
+        candidate.ifPresent(order -> {
+            order.setStatus(OrderStatus.IN_PREPARATION);
+            order.setStation(station);
+            entityManager.flush();
+        });
+        return candidate;
+    }
+
+    @Override
+    public Optional<Order> claimPending(String orderCode, String station, Collection<OrderStatus> takeableStatuses) {
+        if (takeableStatuses.isEmpty()) {
+            return Optional.empty();
+        }
+        return supportsUpdateReturning()
+                ? claimPendingWithUpdateReturning(orderCode, station, takeableStatuses)
+                : claimPendingWithLockedSelect(orderCode, station, takeableStatuses);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<Order> claimPendingWithUpdateReturning(String orderCode, String station,
+                                                            Collection<OrderStatus> takeableStatuses) {
+        List<Order> claimed = entityManager.createNativeQuery(CLAIM_PENDING_SQL, Order.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Order.class)
+                .setParameter("claimedStatus", OrderStatus.IN_PREPARATION.name())
+                .setParameter("station", station)
+                .setParameter("orderCode", orderCode)
+                .setParameterList("takeableStatuses", takeableStatuses.stream().map(OrderStatus::name).toList())
+                .getResultList();
+        return claimed.stream().findFirst();
+    }
+
+    // Portable fallback (e.g. H2), like the one of claimNextPending.
+    private Optional<Order> claimPendingWithLockedSelect(String orderCode, String station,
+                                                         Collection<OrderStatus> takeableStatuses) {
+        Optional<Order> candidate = entityManager.createQuery(
+                        "SELECT o FROM Order o WHERE o.orderCode = :orderCode AND o.status IN :takeableStatuses", Order.class)
+                .setParameter("orderCode", orderCode)
+                .setParameter("takeableStatuses", takeableStatuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, Timeouts.SKIP_LOCKED_MILLI)
+                .getResultStream()
+                .findFirst();
+        candidate.ifPresent(order -> {
+            order.setStatus(OrderStatus.IN_PREPARATION);
+            order.setStation(station);
+            entityManager.flush();
+        });
+        return candidate;
+    }
+
+    @Override
+    public Optional<OrderStatus> transitionStatusReturningPrevious(String orderCode, OrderStatus newStatus,
+                                                                   Collection<OrderStatus> allowedStatuses) {
+        if (allowedStatuses.isEmpty()) {
+            return Optional.empty();
+        }
+        return supportsUpdateReturning()
+                ? transitionWithUpdateReturning(orderCode, newStatus, allowedStatuses)
+                : transitionWithLockedSelect(orderCode, newStatus, allowedStatuses);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<OrderStatus> transitionWithUpdateReturning(String orderCode, OrderStatus newStatus,
+                                                                Collection<OrderStatus> allowedStatuses) {
+        List<String> previous = entityManager.createNativeQuery(TRANSITION_STATUS_SQL, String.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Order.class)
+                .setParameter("newStatus", newStatus.name())
+                .setParameter("orderCode", orderCode)
+                .setParameterList("allowedStatuses", allowedStatuses.stream().map(OrderStatus::name).toList())
+                .getResultList();
+        return previous.stream().findFirst().map(OrderStatus::valueOf);
+    }
+
+    // Portable fallback (e.g. H2): lock the row if its status is allowed, then let dirty checking flip the
+    // status and bump the version.
+    private Optional<OrderStatus> transitionWithLockedSelect(String orderCode, OrderStatus newStatus,
+                                                             Collection<OrderStatus> allowedStatuses) {
+        Optional<Order> order = entityManager.createQuery(
+                        "SELECT o FROM Order o WHERE o.orderCode = :orderCode AND o.status IN :allowedStatuses", Order.class)
+                .setParameter("orderCode", orderCode)
+                .setParameter("allowedStatuses", allowedStatuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst();
+        return order.map(locked -> {
+            OrderStatus previous = locked.getStatus();
+            locked.setStatus(newStatus);
+            entityManager.flush();
+            return previous;
+        });
+    }
+
+    private boolean supportsUpdateReturning() {
+        Boolean supported = updateReturningSupported;
+        if (supported == null) {
+            supported = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+            updateReturningSupported = supported;
+        }
+        return supported;
+    }
+
+    @Override
+    public long streamHistory(OrderExportFilter filter, int fetchSize, Consumer<OrderResponse> orders) {
+        StringBuilder conditions = new StringBuilder();
+        if (filter.from() != null) {
+            conditions.append(" AND o.createdAt >= :from");
+        }
+        if (filter.to() != null) {
+            conditions.append(" AND o.createdAt < :to");
+        }
+        boolean byStatus = !filter.statuses().isEmpty();
+        if (byStatus) {
+            conditions.append(" AND o.status IN :statuses");
+        }
+        SelectionQuery<Object[]> query = entityManager.unwrap(Session.class)
+                .createSelectionQuery(HISTORY_HQL.formatted(conditions), Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (byStatus) {
+            query.setParameterList("statuses", filter.statuses());
+        }
+
+        long count = 0;
+        Object[] order = null;
+        List<OrderItemResponse> items = new ArrayList<>();
+        try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                if (order == null || !order[0].equals(row[0])) {
+                    if (order != null) {
+                        orders.accept(toResponse(order, items));
+                        count++;
+                    }
+                    order = row;
+                    items = new ArrayList<>();
+                }
+                if (row[11] != null) {
+                    items.add(new OrderItemResponse((UUID) row[11], (String) row[12], (Integer) row[13], (BigDecimal) row[14]));
+                }
+            }
+        }
+        if (order != null) {
+            orders.accept(toResponse(order, items));
+            count++;
+        }
+        return count;
+    }
+
+    private static OrderResponse toResponse(Object[] row, List<OrderItemResponse> items) {
+        return new OrderResponse((UUID) row[0], (String) row[1], (OrderStatus) row[2], (String) row[3],
+                (String) row[4], (String) row[5], (String) row[6], (Instant) row[7], (Long) row[8], (Integer) row[9], (Long) row[10], items);
+    }
+}
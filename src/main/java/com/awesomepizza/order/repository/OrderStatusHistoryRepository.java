@@ -0,0 +1,51 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.OrderStatusHistory;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository of the append-only status history of the orders. Rows are saved in the transaction of the
+ * change they record, and flushed as JDBC batches with it; reads run in read-only transactions, so that they
+ * can be served by a replica.
+ */
+@Transactional(readOnly = true)
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, UUID> {
+
+    /**
+     * Computes, per status, the percentiles of the time spent in it by the orders that entered it in
+     * {@code [from, to)} and have left it since. The entries are found through
+     * {@code idx_order_status_history_status_entered_at}, one range per status, and the following entry of
+     * each order through {@code idx_order_status_history_order_id}. PostgreSQL only.
+     *
+     * @param statuses The statuses to measure; a final status has no duration.
+     * @return One row per status with at least one finished stay.
+     */
+    @Query(value = """
+            SELECT h.status AS status, COUNT(*) AS orders,
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY n.millis) AS p50,
+                   percentile_cont(0.9) WITHIN GROUP (ORDER BY n.millis) AS p90,
+                   percentile_cont(0.99) WITHIN GROUP (ORDER BY n.millis) AS p99,
+                   MAX(n.millis) AS maximum
+            FROM order_status_history h
+            CROSS JOIN LATERAL (
+                SELECT EXTRACT(EPOCH FROM (next.entered_at - h.entered_at)) * 1000 AS millis
+                FROM order_status_history next
+                WHERE next.order_id = h.order_id AND (next.entered_at, next.id) > (h.entered_at, h.id)
+                ORDER BY next.entered_at, next.id
+                LIMIT 1) n
+            WHERE h.status IN (:statuses) AND h.entered_at >= :from AND h.entered_at < :to
+            GROUP BY h.status
+            ORDER BY h.status
+            """, nativeQuery = true)
+    List<StatusDurationTally> durationsBetween(@Param("statuses") Collection<String> statuses,
+                                               @Param("from") Instant from, @Param("to") Instant to);
+}
@@ -0,0 +1,21 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.PizzaioloUser;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository of the pizzaioli allowed to use the kitchen endpoints. Like the order repositories, queries run in
+ * read-only transactions unless they join a writing one.
+ */
+@Transactional(readOnly = true)
+public interface PizzaioloUserRepository extends JpaRepository<PizzaioloUser, UUID> {
+
+    Optional<PizzaioloUser> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+}
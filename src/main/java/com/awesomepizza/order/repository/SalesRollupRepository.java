@@ -0,0 +1,42 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.entity.SalesRollup;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Operations shared by the hourly and the daily sales rollups.
+ *
+ * @param <T> The rollup entity.
+ */
+@NoRepositoryBean
+@Transactional(readOnly = true)
+public interface SalesRollupRepository<T extends SalesRollup> extends JpaRepository<T, SalesRollupId> {
+
+    /**
+     * Returns the rows of the buckets starting in {@code [from, to)}, sorted by bucket, status and pizza.
+     * Served by the primary key, which starts with the bucket.
+     */
+    @Query("SELECT s FROM #{#entityName} s WHERE s.id.bucketStart >= :from AND s.id.bucketStart < :to "
+            + "ORDER BY s.id.bucketStart ASC, s.id.status ASC, s.id.pizzaName ASC")
+    List<T> findBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Deletes every row of a bucket with a single statement, before it is written again.
+     *
+     * @return The number of rows deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM #{#entityName} s WHERE s.id.bucketStart = :bucketStart")
+    int deleteBucket(@Param("bucketStart") Instant bucketStart);
+}
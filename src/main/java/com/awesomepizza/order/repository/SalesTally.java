@@ -0,0 +1,21 @@
+package com.awesomepizza.order.repository;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+
+/**
+ * Sales aggregated by status and pizza, as returned by the tally queries feeding the sales rollups.
+ */
+public interface SalesTally {
+    OrderStatus getStatus();
+
+    String getPizzaName();
+
+    Long getOrders();
+
+    Long getPizzas();
+
+    /**
+     * The revenue in cents, as a whole number or as a decimal with a zero fraction when computed from item prices.
+     */
+    Number getRevenue();
+}
@@ -0,0 +1,22 @@
+package com.awesomepizza.order.repository;
+
+/**
+ * Time spent in a status by the orders that entered it within a window, as returned by
+ * {@link OrderStatusHistoryRepository#durationsBetween}. Durations are in milliseconds.
+ */
+public interface StatusDurationTally {
+    String getStatus();
+
+    Long getOrders();
+
+    Double getP50();
+
+    Double getP90();
+
+    Double getP99();
+
+    /**
+     * The longest time, a decimal on PostgreSQL 14 and later.
+     */
+    Number getMaximum();
+}
@@ -0,0 +1,121 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.AuthTokenProperties;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and checks the short-lived bearer tokens of the pizzaioli.
+ * <p>
+ * A token is {@code <username>.<expiry>.<signature>}: the Base64url username, the expiry in epoch seconds and
+ * the Base64url HMAC-SHA256 of both under {@code app.security.tokens.secret}. Checking one takes a single HMAC,
+ * instead of the password hash of HTTP Basic; the token cannot be revoked, so its lifetime is kept short.
+ */
+@Component
+public class AuthTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * A token and the moment it stops being accepted.
+     */
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private final Mac prototype;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Constructs a new AuthTokenService.
+     *
+     * @param properties The signing secret and lifetime of the tokens.
+     */
+    @Autowired
+    public AuthTokenService(AuthTokenProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    AuthTokenService(AuthTokenProperties properties, Clock clock) {
+        this.ttl = properties.ttl();
+        this.clock = clock;
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(properties.secret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * @return The lifetime of the issued tokens.
+     */
+    public Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * Issues a token for an authenticated pizzaiolo.
+     *
+     * @param username The username of the pizzaiolo.
+     * @return The token and its expiry.
+     */
+    public IssuedToken issue(String username) {
+        Instant expiresAt = clock.instant().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        String payload = ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8)) + "." + expiresAt.getEpochSecond();
+        return new IssuedToken(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * Checks the signature and expiry of a token.
+     *
+     * @param token The token sent by the client.
+     * @return The username the token was issued to, or an empty Optional if the token is malformed, forged or
+     *         expired.
+     */
+    public Optional<String> verify(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = signatureStart < 0 ? -1 : token.lastIndexOf('.', signatureStart - 1);
+        if (expiryStart < 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        try {
+            byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+            long expiry = Long.parseLong(token.substring(expiryStart + 1, signatureStart));
+            if (clock.instant().getEpochSecond() >= expiry) {
+                return Optional.empty();
+            }
+            return Optional.of(new String(DECODER.decode(token.substring(0, expiryStart)), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+        }
+    }
+}
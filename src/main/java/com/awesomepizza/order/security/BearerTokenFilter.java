@@ -0,0 +1,74 @@
+package com.awesomepizza.order.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates the requests carrying an {@code Authorization: Bearer} token issued by {@link AuthTokenService}.
+ * The account is read through the cached {@link UserDetailsService}, so a disabled or removed pizzaiolo is
+ * refused even with a valid token. Requests without a bearer token go on to HTTP Basic.
+ */
+@Slf4j
+public class BearerTokenFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "Bearer ";
+
+    private final AuthTokenService tokenService;
+    private final UserDetailsService userDetailsService;
+
+    /**
+     * Constructs a new BearerTokenFilter.
+     *
+     * @param tokenService       Checks the tokens.
+     * @param userDetailsService Loads the account a token was issued to.
+     */
+    public BearerTokenFilter(AuthTokenService tokenService, UserDetailsService userDetailsService) {
+        this.tokenService = tokenService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<UserDetails> user = tokenService.verify(header.substring(PREFIX.length()).trim())
+                .flatMap(this::activeUser);
+        if (user.isEmpty()) {
+            log.debug("Rejected bearer token for {} {}", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new PreAuthenticatedAuthenticationToken(user.get(), null, user.get().getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+
+    private Optional<UserDetails> activeUser(String username) {
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(username);
+            return user.isEnabled() ? Optional.of(user) : Optional.empty();
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+}
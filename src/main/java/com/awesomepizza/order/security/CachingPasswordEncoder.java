@@ -0,0 +1,91 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.CredentialCacheProperties;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Remembers the passwords that matched their hash, so that a client sending the same credentials on every
+ * request pays for the slow hash function once per expiry period instead of on every request.
+ * <p>
+ * Only successful matches are cached, so wrong passwords are always checked by the delegate. Entries are keyed
+ * by an HMAC of the stored hash and the raw password under a key generated at startup: the cache never holds a
+ * password, and changing the stored hash makes the old entries useless.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final Cache<String, Boolean> verified;
+    private final Mac prototype;
+
+    /**
+     * Constructs a new CachingPasswordEncoder.
+     *
+     * @param delegate   The encoder that hashes and checks the passwords.
+     * @param properties The size and expiry limits of the cache of verified passwords.
+     */
+    public CachingPasswordEncoder(PasswordEncoder delegate, CredentialCacheProperties properties) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(key, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String key = key(rawPassword, encodedPassword);
+        if (verified.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String key(CharSequence rawPassword, String encodedPassword) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+        }
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.domain.entity.PizzaioloUser;
+import com.awesomepizza.order.repository.PizzaioloUserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the pizzaiolo configured in {@code app.security.pizzaiolo} on startup when no account has that
+ * username yet, so that a new installation can be used right away. An existing account is never changed.
+ */
+@Slf4j
+@Component
+public class PizzaioloUserBootstrap implements ApplicationRunner {
+
+    private final PizzaioloUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String password;
+
+    /**
+     * Constructs a new PizzaioloUserBootstrap.
+     *
+     * @param userRepository  The repository of the pizzaioli.
+     * @param passwordEncoder Hashes the configured password.
+     * @param username        The username of the initial pizzaiolo.
+     * @param password        The password of the initial pizzaiolo.
+     */
+    public PizzaioloUserBootstrap(PizzaioloUserRepository userRepository, PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.pizzaiolo.username}") String username,
+                                  @Value("${app.security.pizzaiolo.password}") String password) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.existsByUsername(username)) {
+            return;
+        }
+        PizzaioloUser user = new PizzaioloUser();
+        user.setUsername(username);
+        user.setPasswordHash(passwordEncoder.encode(password));
+        try {
+            userRepository.save(user);
+            log.info("Created pizzaiolo account {}", username);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it at the same time
+            log.debug("Pizzaiolo account {} already created", username);
+        }
+    }
+}
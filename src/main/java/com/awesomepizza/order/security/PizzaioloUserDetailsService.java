@@ -0,0 +1,70 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.CredentialCacheProperties;
+import com.awesomepizza.order.repository.PizzaioloUserRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the pizzaioli from the {@code pizzaiolo_users} table, keeping the accounts found in a bounded cache so
+ * that authenticated requests do not query the database every time. Unknown usernames are not cached.
+ */
+@Component
+public class PizzaioloUserDetailsService implements UserDetailsService {
+
+    static final String ROLE = "PIZZAIOLO";
+
+    /**
+     * The cached part of an account. {@link UserDetails} are built anew for every caller, since Spring Security
+     * erases the password of the instance it authenticates.
+     */
+    private record Account(String username, String passwordHash, boolean enabled) {
+    }
+
+    private final PizzaioloUserRepository userRepository;
+    private final Cache<String, Account> accounts;
+
+    /**
+     * Constructs a new PizzaioloUserDetailsService.
+     *
+     * @param userRepository The repository of the pizzaioli.
+     * @param properties     The size and expiry limits of the account cache.
+     */
+    public PizzaioloUserDetailsService(PizzaioloUserRepository userRepository, CredentialCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Account account = accounts.get(username, name -> userRepository.findByUsername(name)
+                .map(user -> new Account(user.getUsername(), user.getPasswordHash(), user.isEnabled()))
+                .orElse(null));
+        if (account == null) {
+            throw new UsernameNotFoundException("Unknown pizzaiolo: " + username);
+        }
+        return User.withUsername(account.username())
+                .password(account.passwordHash())
+                .disabled(!account.enabled())
+                .roles(ROLE)
+                .build();
+    }
+
+    /**
+     * Drops the cached account, so that a change to it applies from the next request.
+     *
+     * @param username The username of the changed account.
+     */
+    public void evict(String username) {
+        accounts.invalidate(username);
+    }
+}
@@ -1,23 +1,34 @@
 package com.awesomepizza.order.service;
 
+import com.awesomepizza.order.cache.OrderResponseCache;
+import com.awesomepizza.order.datasource.ReplicaRouting;
 import com.awesomepizza.order.dto.CreateOrderRequest;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderRevision;
+import com.awesomepizza.order.dto.QueuePositionResponse;
 import com.awesomepizza.order.dto.UpdateOrderRequest;
+import com.awesomepizza.order.event.OrderChangedEvent;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.kitchen.KitchenBoard;
 import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
 import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
 import com.awesomepizza.order.service.api.ICustomerOrderService;
 import com.awesomepizza.order.domain.OrderStatusValidator;
 import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.entity.OrderStatusHistory;
 import com.awesomepizza.order.domain.enums.OrderStatus;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Service implementation for managing pizza orders from a customer's perspective.
@@ -29,23 +40,51 @@ import java.util.UUID;
 public class CustomerOrderServiceImpl implements ICustomerOrderService {
 
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
     private final OrderMapper orderMapper;
     private final OrderStatusValidator statusValidator;
+    private final OrderCodeAllocator codeAllocator;
+    private final OrderResponseCache orderCache;
+    private final KitchenBoard kitchenBoard;
+    private final ReplicaRouting replicaRouting;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new CustomerOrderServiceImpl.
      *
-     * @param orderRepository   The repository for accessing order data.
-     * @param orderMapper       The mapper for converting Order entities to OrderResponse DTOs and vice versa.
-     * @param statusValidator   The validator for checking order status transitions and modification rules.
+     * @param orderRepository         The repository for accessing order data.
+     * @param archivedOrderRepository The repository of the archived orders, searched when an order is not live.
+     * @param statusHistoryRepository The append-only history of the statuses entered by the orders.
+     * @param orderMapper             The mapper for converting Order entities to OrderResponse DTOs and vice versa.
+     * @param statusValidator         The validator for checking order status transitions and modification rules.
+     * @param codeAllocator           The allocator of the codes of new orders.
+     * @param orderCache              The cache serving order lookups by code.
+     * @param kitchenBoard            The in-memory view of the pending and in-preparation orders.
+     * @param replicaRouting          The routing of reads to the replicas, telling when a read must see the client's own writes.
+     * @param eventPublisher          The publisher of order changes, delivered to listeners after commit.
      */
     public CustomerOrderServiceImpl(
             OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            OrderStatusHistoryRepository statusHistoryRepository,
             OrderMapper orderMapper,
-            OrderStatusValidator statusValidator) {
+            OrderStatusValidator statusValidator,
+            OrderCodeAllocator codeAllocator,
+            OrderResponseCache orderCache,
+            KitchenBoard kitchenBoard,
+            ReplicaRouting replicaRouting,
+            ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
         this.orderMapper = orderMapper;
         this.statusValidator = statusValidator;
+        this.codeAllocator = codeAllocator;
+        this.orderCache = orderCache;
+        this.kitchenBoard = kitchenBoard;
+        this.replicaRouting = replicaRouting;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -61,28 +100,90 @@ public class CustomerOrderServiceImpl implements ICustomerOrderService {
         log.info("Creating new order for customer: {}", request.customerName());
 
         Order order = orderMapper.toEntity(request);
-        order.setOrderCode("ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        order.setOrderCode(codeAllocator.nextCode());
         order.setStatus(OrderStatus.PENDING);
 
         Order saved = orderRepository.save(order);
+        statusHistoryRepository.save(OrderStatusHistory.entered(saved, saved.getCreatedAt()));
         log.info("Order {} created successfully", saved.getOrderCode());
 
-        return orderMapper.toResponse(saved);
+        OrderResponse response = orderMapper.toResponse(saved);
+        eventPublisher.publishEvent(new OrderChangedEvent(response, null));
+        return response;
     }
 
     /**
      * Retrieves an order by its unique order code.
+     * Served from the order cache when possible; no transaction is opened here, so a cache hit
+     * does not touch the database at all. Orders that are no longer in the live tables are read from the
+     * archive. A request that must see its own writes bypasses the cache, which may have been filled from a
+     * lagging replica, and refreshes it.
      *
      * @param orderCode The unique code of the order to retrieve.
      * @return An {@link Optional} containing the {@link OrderResponse} if found,
      *         or an empty Optional if no order matches the code.
      */
     @Override
-    @Transactional(readOnly = true)
     public Optional<OrderResponse> getByOrderCode(String orderCode) {
         log.debug("Fetching order by code: {}", orderCode);
-        return orderRepository.findByOrderCode(orderCode)
-                .map(orderMapper::toResponse);
+        Supplier<Optional<OrderResponse>> loader = () -> loadOrder(orderCode);
+        return replicaRouting.isReadingOwnWrites()
+                ? orderCache.reload(orderCode, loader)
+                : orderCache.get(orderCode, loader);
+    }
+
+    /**
+     * Retrieves the latest committed state of an order, for a caller that must not see anything older than the
+     * changes already committed. Neither the order cache nor the replicas are used: the read-write
+     * transaction reads from the primary.
+     *
+     * @param orderCode The unique code of the order to retrieve.
+     * @return An {@link Optional} containing the {@link OrderResponse} if found,
+     *         or an empty Optional if no order matches the code.
+     */
+    @Override
+    @Transactional
+    public Optional<OrderResponse> getLatestByOrderCode(String orderCode) {
+        log.debug("Fetching latest state of order: {}", orderCode);
+        return loadOrder(orderCode);
+    }
+
+    /**
+     * Retrieves the current status and version of an order, to validate a client's cached copy.
+     * Taken from the order cache when the order is there, otherwise read with a projection that
+     * neither loads the items nor maps the order, falling back to the archive. The cache is skipped when the
+     * request must see its own writes.
+     *
+     * @param orderCode The unique code of the order.
+     * @return An {@link Optional} containing the {@link OrderRevision} if found,
+     *         or an empty Optional if no order matches the code.
+     */
+    @Override
+    public Optional<OrderRevision> getOrderRevision(String orderCode) {
+        Optional<OrderResponse> cached = replicaRouting.isReadingOwnWrites()
+                ? Optional.empty()
+                : orderCache.getIfPresent(orderCode);
+        return cached
+                .map(order -> new OrderRevision(order.orderCode(), order.status(), order.version()))
+                .or(() -> orderRepository.findRevisionByOrderCode(orderCode))
+                .or(() -> archivedOrderRepository.findRevisionByOrderCode(orderCode));
+    }
+
+    /**
+     * Tells how many orders are ahead of the given one in the kitchen queue.
+     * Orders on the kitchen board are answered without querying the database; the others are looked up like
+     * {@link #getByOrderCode(String)}, to tell a finished order from an unknown one. A PENDING order missing
+     * from the board, such as one created on another instance whose event has not arrived yet, gets its
+     * position counted in the database.
+     *
+     * @param orderCode The unique code of the order.
+     * @return An {@link Optional} containing the {@link QueuePositionResponse} if found,
+     *         or an empty Optional if no order matches the code.
+     */
+    @Override
+    public Optional<QueuePositionResponse> getQueuePosition(String orderCode) {
+        return kitchenBoard.queuePosition(orderCode)
+                .or(() -> getByOrderCode(orderCode).map(this::queuePositionFromDatabase));
     }
 
     /**
@@ -101,8 +202,9 @@ public class CustomerOrderServiceImpl implements ICustomerOrderService {
     public OrderResponse updateOrder(String orderCode, UpdateOrderRequest request) {
         log.info("Updating order: {}", orderCode);
 
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+        // Locks the order and bumps its version, so that the response carries the committed version
+        Order order = orderRepository.findForUpdateByOrderCode(orderCode)
+                .orElseThrow(() -> archivedOrderNotModifiable(orderCode, "updated"));
 
         if (!statusValidator.canBeModifiedByCustomer(order.getStatus())) {
             log.warn("Attempt to modify order {} with status {}", orderCode, order.getStatus());
@@ -111,16 +213,19 @@ public class CustomerOrderServiceImpl implements ICustomerOrderService {
         }
 
         orderMapper.updateEntity(order, request);
-        Order updatedOrder = orderRepository.save(order);
+        Order updatedOrder = orderRepository.saveAndFlush(order);
+        orderCache.evict(orderCode);
         log.info("Order {} updated successfully", orderCode);
 
-        return orderMapper.toResponse(updatedOrder);
+        OrderResponse response = orderMapper.toResponse(updatedOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(response, response.status()));
+        return response;
     }
 
     /**
      * Cancels an existing order specified by its order code.
      * An order can only be canceled if its current status allows customer modifications.
-     * The order's status will be set to 'CANCELED'.
+     * The order's status will be set to 'CANCELED' with a single conditional update.
      *
      * @param orderCode The unique code of the order to cancel.
      * @return An {@link OrderResponse} representing the canceled order.
@@ -133,21 +238,74 @@ public class CustomerOrderServiceImpl implements ICustomerOrderService {
     public OrderResponse cancelOrder(String orderCode) {
         log.info("Canceling order: {}", orderCode);
 
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
-
-        if (!statusValidator.canBeModifiedByCustomer(order.getStatus())) {
-            log.warn("Attempt to cancel order {} with status {}", orderCode, order.getStatus());
+        // Compare-and-set: the update only applies if the order is still cancelable by the customer
+        int updated = orderRepository.transitionStatus(
+                orderCode, OrderStatus.CANCELED, statusValidator.cancelableByCustomerStatuses());
+        if (updated == 0) {
+            OrderStatus currentStatus = orderRepository.findStatusByOrderCode(orderCode)
+                    .orElseThrow(() -> archivedOrderNotModifiable(orderCode, "canceled"));
+            log.warn("Attempt to cancel order {} with status {}", orderCode, currentStatus);
             throw new OrderModificationNotAllowedException(
-                    "Order cannot be canceled as its status is " + order.getStatus());
+                    "Order cannot be canceled as its status is " + currentStatus);
         }
+        orderCache.evict(orderCode);
 
-        statusValidator.validateTransition(order.getStatus(), OrderStatus.CANCELED);
-        order.setStatus(OrderStatus.CANCELED);
-
-        Order canceledOrder = orderRepository.save(order);
+        Order canceledOrder = orderRepository.findWithItemsByOrderCode(orderCode)
+                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+        statusHistoryRepository.save(OrderStatusHistory.entered(canceledOrder, Instant.now()));
         log.info("Order {} canceled successfully", orderCode);
 
-        return orderMapper.toResponse(canceledOrder);
+        OrderResponse response = orderMapper.toResponse(canceledOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(response, OrderStatus.PENDING));
+        return response;
+    }
+
+    /**
+     * Builds the error for a change of an order that is not in the live tables: archived orders are
+     * finished and can no longer be modified, any other code is unknown.
+     *
+     * @param orderCode The code of the order.
+     * @param action    The attempted change, for the error message.
+     * @return The exception to throw.
+     */
+    private RuntimeException archivedOrderNotModifiable(String orderCode, String action) {
+        return archivedOrderRepository.findStatusByOrderCode(orderCode)
+                .<RuntimeException>map(status -> new OrderModificationNotAllowedException(
+                        "Order cannot be " + action + " as its status is " + status))
+                .orElseGet(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+    }
+
+    /**
+     * Reads an order from the live tables, then from the archive.
+     *
+     * @param orderCode The code of the order.
+     * @return The order, or an empty Optional if no order matches the code.
+     */
+    private Optional<OrderResponse> loadOrder(String orderCode) {
+        return orderRepository.findWithItemsByOrderCode(orderCode)
+                .map(orderMapper::toResponse)
+                .or(() -> archivedOrderRepository.findWithItemsByOrderCode(orderCode)
+                        .map(orderMapper::toArchivedOrderResponse));
+    }
+
+    /**
+     * Builds the queue position of an order that is not on the kitchen board. The board is behind if the order
+     * is still in the kitchen, so the queue is then counted in the database.
+     *
+     * @param order The order.
+     * @return Its position; no position and no order ahead once it has left the kitchen.
+     */
+    private QueuePositionResponse queuePositionFromDatabase(OrderResponse order) {
+        if (order.status() != OrderStatus.PENDING && order.status() != OrderStatus.IN_PREPARATION) {
+            return new QueuePositionResponse(order.orderCode(), order.status(), null, 0,
+                    kitchenBoard.inPreparationOrders().size());
+        }
+        int inPreparation = Math.toIntExact(orderRepository.countByStatus(OrderStatus.IN_PREPARATION));
+        if (order.status() == OrderStatus.IN_PREPARATION) {
+            return new QueuePositionResponse(order.orderCode(), order.status(), null, 0, inPreparation);
+        }
+        int ahead = Math.toIntExact(
+                orderRepository.countByStatusBefore(OrderStatus.PENDING, order.createdAt(), order.id()));
+        return new QueuePositionResponse(order.orderCode(), order.status(), ahead + 1, ahead, inPreparation);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderCodeProperties;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out the public codes of new orders, such as {@code ORD-7K2M9XQ4TB}.
+ * <p>
+ * Codes are never drawn at random, so they cannot collide: each one encodes a number reserved from
+ * the database. An instance reserves a whole block of numbers with one call to the
+ * {@code order_code_block_seq} sequence, then hands them out with an atomic increment, without
+ * locks or queries; only the thread that finds the block exhausted goes back to the database.
+ * <p>
+ * The number is shuffled by a keyed permutation of its 50 bits (a four-round Feistel network)
+ * before being written as ten Crockford base-32 characters, so consecutive orders get unrelated
+ * codes and a code tells nothing about the others. Being a permutation, distinct numbers always
+ * give distinct codes.
+ */
+@Slf4j
+@Component
+public class OrderCodeAllocator {
+
+    static final String PREFIX = "ORD-";
+    static final int CODE_LENGTH = 10;
+
+    private static final int HALF_BITS = 25;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    // Numbers that fit in the ten characters of a code
+    static final long CAPACITY = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 4;
+    // Crockford's alphabet: no I, L, O or U, which are easily mistaken when read out
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * Numbers reserved by this instance, from the cursor up to {@code end} excluded.
+     */
+    private record Block(AtomicLong cursor, long end) {
+        static final Block EMPTY = new Block(new AtomicLong(), 0);
+    }
+
+    private final LongSupplier blockSequence;
+    private final long blockSize;
+    private final long[] roundKeys;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block block = Block.EMPTY;
+
+    /**
+     * Constructs a new OrderCodeAllocator.
+     *
+     * @param orderRepository The repository giving access to the block sequence.
+     * @param properties      The block size and the key of the permutation.
+     */
+    @Autowired
+    public OrderCodeAllocator(OrderRepository orderRepository, OrderCodeProperties properties) {
+        this(orderRepository::nextOrderCodeBlock, properties);
+    }
+
+    OrderCodeAllocator(LongSupplier blockSequence, OrderCodeProperties properties) {
+        this.blockSequence = blockSequence;
+        this.blockSize = properties.blockSize();
+        this.roundKeys = roundKeys(properties.key());
+    }
+
+    /**
+     * @return A new order code, different from every code handed out before by any instance.
+     * @throws IllegalStateException if every code has been handed out.
+     */
+    public String nextCode() {
+        return encode(permute(nextNumber()));
+    }
+
+    /**
+     * Allocates the codes of a batch of new orders at once.
+     *
+     * @param count The number of codes.
+     * @return The new order codes.
+     */
+    public List<String> nextCodes(int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(nextCode());
+        }
+        return codes;
+    }
+
+    long nextNumber() {
+        while (true) {
+            Block current = block;
+            long number = current.cursor().getAndIncrement();
+            if (number < current.end()) {
+                return number;
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * Replaces the exhausted block, unless another thread already did.
+     */
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {
+                return;
+            }
+            long start = Math.multiplyExact(blockSequence.getAsLong(), blockSize);
+            if (start + blockSize > CAPACITY) {
+                throw new IllegalStateException("Every order code has been allocated");
+            }
+            log.debug("Reserved order codes {} to {}", start, start + blockSize - 1);
+            block = new Block(new AtomicLong(start), start + blockSize);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    long permute(long number) {
+        long left = number >>> HALF_BITS;
+        long right = number & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long mixed = left ^ round(right, roundKey);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    static String encode(long number) {
+        char[] code = new char[PREFIX.length() + CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        for (int i = code.length - 1; i >= PREFIX.length(); i--) {
+            code[i] = ALPHABET[(int) (number & 31)];
+            number >>>= 5;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Round function of the Feistel network: any function works, a good mix makes the output
+     * look unrelated to the input.
+     */
+    private static long round(long half, long roundKey) {
+        long mixed = (half ^ roundKey) * 0x9E3779B97F4A7C15L;
+        mixed ^= mixed >>> 32;
+        mixed *= 0xD6E8FEB86659FD93L;
+        mixed ^= mixed >>> 32;
+        return mixed & HALF_MASK;
+    }
+
+    private static long[] roundKeys(String key) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+            long[] roundKeys = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                roundKeys[i] = digest.getLong();
+            }
+            return roundKeys;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the order history, identified by the {@code (createdAt, id)} pair
+ * of the last order returned to the client.
+ * Clients only ever see the opaque, URL-safe encoded form.
+ *
+ * @param createdAt The creation date of the last order of the previous page.
+ * @param id        The id of the last order of the previous page, used as tie-breaker.
+ */
+public record OrderCursor(Instant createdAt, UUID id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Builds the cursor pointing right after the given order.
+     *
+     * @param order The last order of the current page.
+     * @return The cursor for the next page.
+     */
+    public static OrderCursor after(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + SEPARATOR + createdAt.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The opaque token received from the client.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid pagination cursor.");
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Invalid pagination cursor.");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderExportProperties;
+import com.awesomepizza.order.dto.OrderExportFilter;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.service.api.IOrderExportService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+/**
+ * Service implementation for exporting the order history, live and archived orders alike.
+ * Orders are read through a database cursor and handed over one at a time, so the export
+ * holds a single order in memory however many it returns.
+ */
+@Slf4j
+@Service
+public class OrderExportServiceImpl implements IOrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final int fetchSize;
+
+    /**
+     * Constructs a new OrderExportServiceImpl.
+     *
+     * @param orderRepository The repository reading the order history.
+     * @param properties      The export settings.
+     */
+    public OrderExportServiceImpl(OrderRepository orderRepository, OrderExportProperties properties) {
+        this.orderRepository = orderRepository;
+        this.fetchSize = properties.fetchSize();
+    }
+
+    /**
+     * Hands over every order matching the filter, oldest first, within a single read-only transaction:
+     * the export is a consistent snapshot, and may be served by a replica.
+     *
+     * @param filter The orders to export.
+     * @param orders Receives each order with its items.
+     * @return The number of orders exported.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderExportFilter filter, Consumer<OrderResponse> orders) {
+        long start = System.nanoTime();
+        long count = orderRepository.streamHistory(filter, fetchSize, orders);
+        log.info("Exported {} orders in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+}
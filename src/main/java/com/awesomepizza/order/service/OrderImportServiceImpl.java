@@ -0,0 +1,226 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderImportProperties;
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.entity.OrderStatusHistory;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.CreateOrderRequest;
+import com.awesomepizza.order.dto.OrderImportResult;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
+import com.awesomepizza.order.service.api.IOrderImportService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation for importing orders in bulk from newline-delimited JSON, one
+ * {@link CreateOrderRequest} per line.
+ * The input is read line by line and never held in memory as a whole. Lines are processed in
+ * chunks: the valid orders of a chunk are saved in a single transaction with JDBC batching, and
+ * the outcome of every line of the chunk is handed back as soon as the chunk is done.
+ * Invalid lines and chunks that cannot be saved are reported without stopping the import.
+ */
+@Slf4j
+@Service
+public class OrderImportServiceImpl implements IOrderImportService {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
+    private final OrderMapper orderMapper;
+    private final OrderCodeAllocator codeAllocator;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    /**
+     * A valid line waiting to be saved with its chunk.
+     */
+    private record ParsedLine(long line, int slot, CreateOrderRequest request) {
+    }
+
+    /**
+     * Constructs a new OrderImportServiceImpl.
+     *
+     * @param orderRepository         The repository for accessing order data.
+     * @param statusHistoryRepository The append-only history of the statuses entered by the orders.
+     * @param orderMapper             The mapper for converting requests to Order entities.
+     * @param codeAllocator           The allocator of the codes of new orders.
+     * @param validator               The validator applying the constraints of {@link CreateOrderRequest}.
+     * @param jsonMapper              The mapper parsing each line.
+     * @param transactionManager      The transaction manager running one transaction per chunk.
+     * @param eventPublisher          The publisher of order changes, delivered to listeners after commit.
+     * @param properties              The import settings.
+     */
+    public OrderImportServiceImpl(
+            OrderRepository orderRepository,
+            OrderStatusHistoryRepository statusHistoryRepository,
+            OrderMapper orderMapper,
+            OrderCodeAllocator codeAllocator,
+            Validator validator,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            OrderImportProperties properties) {
+        this.orderRepository = orderRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.orderMapper = orderMapper;
+        this.codeAllocator = codeAllocator;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = properties.chunkSize();
+    }
+
+    /**
+     * Imports the orders read from the given lines. Blank lines are ignored.
+     *
+     * @param lines        The newline-delimited JSON input.
+     * @param chunkResults Receives the outcome of every non-blank line, chunk by chunk, in line order.
+     * @throws IOException if the input cannot be read.
+     */
+    @Override
+    public void importOrders(BufferedReader lines, Consumer<List<OrderImportResult>> chunkResults) throws IOException {
+        long lineNumber = 0;
+        long processed = 0;
+        long created = 0;
+        List<OrderImportResult> results = new ArrayList<>(chunkSize);
+        List<ParsedLine> valid = new ArrayList<>(chunkSize);
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            processed++;
+            List<String> errors = new ArrayList<>();
+            CreateOrderRequest request = parse(line, errors);
+            if (request == null) {
+                results.add(OrderImportResult.invalid(lineNumber, errors));
+            } else {
+                // Placeholder, replaced once the chunk is saved
+                valid.add(new ParsedLine(lineNumber, results.size(), request));
+                results.add(null);
+            }
+
+            if (results.size() >= chunkSize) {
+                created += saveChunk(valid, results);
+                chunkResults.accept(List.copyOf(results));
+                results.clear();
+                valid.clear();
+            }
+        }
+        if (!results.isEmpty()) {
+            created += saveChunk(valid, results);
+            chunkResults.accept(List.copyOf(results));
+        }
+        log.info("Order import done: {} orders created, {} lines rejected", created, processed - created);
+    }
+
+    /**
+     * Parses and validates a line.
+     *
+     * @param line   The JSON line.
+     * @param errors Receives the reasons the line is not a valid order.
+     * @return The order request, or {@code null} if the line is not a valid order.
+     */
+    private CreateOrderRequest parse(String line, List<String> errors) {
+        CreateOrderRequest request;
+        try {
+            request = jsonMapper.readValue(line, CreateOrderRequest.class);
+        } catch (JacksonException e) {
+            errors.add("Malformed order: " + e.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            errors.add("Malformed order: null");
+            return null;
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .forEach(errors::add);
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * Saves the valid orders of a chunk in one transaction and fills in their outcome.
+     * Any failure marks the whole chunk as failed.
+     *
+     * @return The number of orders created.
+     */
+    private int saveChunk(List<ParsedLine> valid, List<OrderImportResult> results) {
+        if (valid.isEmpty()) {
+            return 0;
+        }
+        List<String> codes;
+        try {
+            codes = save(valid);
+        } catch (RuntimeException e) {
+            // Not only database errors: anything escaping here would cut the streamed response short
+            return fail(valid, results, e);
+        }
+
+        for (int i = 0; i < valid.size(); i++) {
+            ParsedLine parsed = valid.get(i);
+            results.set(parsed.slot(), OrderImportResult.created(parsed.line(), codes.get(i)));
+        }
+        return valid.size();
+    }
+
+    private List<String> save(List<ParsedLine> valid) {
+        List<String> codes = codeAllocator.nextCodes(valid.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Order> orders = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                Order order = orderMapper.toEntity(valid.get(i).request());
+                order.setOrderCode(codes.get(i));
+                order.setStatus(OrderStatus.PENDING);
+                orders.add(order);
+            }
+            // Flushed as JDBC batches: one statement per batch of orders, of items and of history rows
+            orderRepository.saveAll(orders);
+            statusHistoryRepository.saveAll(orders.stream()
+                    .map(order -> OrderStatusHistory.entered(order, order.getCreatedAt()))
+                    .toList());
+            orderRepository.flush();
+            eventPublisher.publishEvent(new OrdersChangedEvent(orders.stream()
+                    .map(order -> new OrderChangedEvent(orderMapper.toResponse(order), null))
+                    .toList()));
+        });
+        return codes;
+    }
+
+    private int fail(List<ParsedLine> valid, List<OrderImportResult> results, RuntimeException cause) {
+        log.error("Could not save a chunk of {} imported orders", valid.size(), cause);
+        for (ParsedLine parsed : valid) {
+            results.set(parsed.slot(), OrderImportResult.failed(parsed.line(), "The order could not be saved"));
+        }
+        return 0;
+    }
+}
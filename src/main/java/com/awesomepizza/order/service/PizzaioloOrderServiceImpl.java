@@ -1,23 +1,52 @@
 package com.awesomepizza.order.service;
 
+import com.awesomepizza.order.archive.OrderArchiver;
+import com.awesomepizza.order.cache.OrderResponseCache;
+import com.awesomepizza.order.dto.ArchiveStatsResponse;
+import com.awesomepizza.order.dto.CacheStatsResponse;
+import com.awesomepizza.order.dto.OrderPageResponse;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderSummaryPageResponse;
+import com.awesomepizza.order.dto.OrderSummaryResponse;
+import com.awesomepizza.order.dto.StatusUpdateRequest;
+import com.awesomepizza.order.dto.StatusUpdateResult;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.exception.InvalidCursorException;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.exception.UnknownKitchenStationException;
+import com.awesomepizza.order.kitchen.KitchenBoard;
+import com.awesomepizza.order.kitchen.KitchenStation;
+import com.awesomepizza.order.kitchen.KitchenStationRegistry;
 import com.awesomepizza.order.mapper.OrderMapper;
 import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
 import com.awesomepizza.order.service.api.IPizzaioloOrderService;
 import com.awesomepizza.order.domain.OrderStatusValidator;
 import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.entity.OrderStatusHistory;
 import com.awesomepizza.order.domain.enums.OrderStatus;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Service implementation for managing pizza orders specifically from the
@@ -30,148 +59,244 @@ import java.util.stream.Collectors;
 @Service
 public class PizzaioloOrderServiceImpl implements IPizzaioloOrderService {
 
+    // Upper bound for a single page of the order history, whatever the client asks for
+    static final int MAX_PAGE_SIZE = 200;
+    // Board candidates tried by take-next before asking the database for the next pending order
+    static final int MAX_BOARD_CANDIDATES = 5;
+
+    /**
+     * Orders of a bulk status update that are applied by the same statement.
+     *
+     * @param status  The target status.
+     * @param station The kitchen station taking the orders, or {@code null} if the status does not need one.
+     */
+    private record StatusBatch(OrderStatus status, String station) {
+    }
+
     private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
     private final OrderMapper orderMapper;
     private final OrderStatusValidator statusValidator;
+    private final KitchenStationRegistry kitchenStations;
+    private final KitchenBoard kitchenBoard;
+    private final OrderResponseCache orderCache;
+    private final OrderArchiver orderArchiver;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new PizzaioloOrderServiceImpl.
      *
-     * @param orderRepository The repository for accessing order data.
-     * @param orderMapper     The mapper for converting Order entities to
-     *                        OrderResponse DTOs.
-     * @param statusValidator The validator for checking order status transitions.
+     * @param orderRepository         The repository for accessing order data.
+     * @param statusHistoryRepository The append-only history of the statuses entered by the orders.
+     * @param orderMapper             The mapper for converting Order entities to
+     *                                OrderResponse DTOs.
+     * @param statusValidator         The validator for checking order status transitions.
+     * @param kitchenStations         The registry of kitchen stations and their preparation slots.
+     * @param kitchenBoard            The in-memory view of the pending and in-preparation orders.
+     * @param orderCache              The cache serving order lookups by code, evicted on every change.
+     * @param orderArchiver           The background job moving finished orders to the archive.
+     * @param eventPublisher          The publisher of order changes, delivered to listeners after commit.
      */
     public PizzaioloOrderServiceImpl(
             OrderRepository orderRepository,
+            OrderStatusHistoryRepository statusHistoryRepository,
             OrderMapper orderMapper,
-            OrderStatusValidator statusValidator) {
+            OrderStatusValidator statusValidator,
+            KitchenStationRegistry kitchenStations,
+            KitchenBoard kitchenBoard,
+            OrderResponseCache orderCache,
+            OrderArchiver orderArchiver,
+            ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
         this.orderMapper = orderMapper;
         this.statusValidator = statusValidator;
+        this.kitchenStations = kitchenStations;
+        this.kitchenBoard = kitchenBoard;
+        this.orderCache = orderCache;
+        this.orderArchiver = orderArchiver;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Retrieves all orders, sorted by their creation date in ascending order.
+     * Retrieves a page of the order history, sorted by creation date in ascending order.
+     * Pagination is keyset-based on {@code (createdAt, id)}, so the cost of a page does not
+     * depend on how many orders precede it, and always takes two statements: one for the ids
+     * of the page and one for the orders with their items.
      *
-     * @return A list of {@link OrderResponse} representing all orders.
+     * @param cursor The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size, clamped between 1 and {@value #MAX_PAGE_SIZE}.
+     * @return An {@link OrderPageResponse} with the orders of the page and the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is malformed.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrders() {
-        log.debug("Fetching all orders for pizzaiolo, ordered by creation date");
-        return orderRepository.findAll().stream()
-                .sorted(Comparator.comparing(Order::getCreatedAt))
-                .map(orderMapper::toResponse)
-                .collect(Collectors.toList());
+    public OrderPageResponse getAllOrders(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        log.debug("Fetching page of {} orders for pizzaiolo, ordered by creation date", pageSize);
+
+        // Phase 1: page over the ids only. One extra row tells whether a next page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.findFirstPageIds(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            ids = orderRepository.findPageIdsAfter(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        List<UUID> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderPageResponse(List.of(), null);
+        }
+
+        // Phase 2: load the page with all its items in a single statement
+        List<Order> page = orderRepository.findAllWithItemsByIdIn(pageIds);
+        String nextCursor = hasNext && !page.isEmpty() ? OrderCursor.after(page.getLast()).encode() : null;
+
+        return new OrderPageResponse(
+                page.stream().map(orderMapper::toResponse).toList(),
+                nextCursor);
+    }
+
+    /**
+     * Retrieves a page of the order history as summaries, with the total and item count of each
+     * order but without its items. Same keyset paging and cursors as {@link #getAllOrders(String, int)},
+     * in a single statement on the {@code orders} table.
+     *
+     * @param cursor The opaque cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The requested page size, clamped between 1 and {@value #MAX_PAGE_SIZE}.
+     * @return An {@link OrderSummaryPageResponse} with the orders of the page and the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSummaryPageResponse getOrderSummaries(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        log.debug("Fetching page of {} order summaries for pizzaiolo, ordered by creation date", pageSize);
+
+        // One extra row tells whether a next page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<OrderSummaryResponse> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstSummaryPage(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findSummaryPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        if (orders.size() <= pageSize) {
+            return new OrderSummaryPageResponse(orders, null);
+        }
+        List<OrderSummaryResponse> page = orders.subList(0, pageSize);
+        OrderSummaryResponse last = page.getLast();
+        return new OrderSummaryPageResponse(List.copyOf(page), new OrderCursor(last.createdAt(), last.id()).encode());
     }
 
     /**
      * Retrieves all orders with PENDING status, sorted by their creation date in
      * ascending order.
+     * Served from the kitchen board kept in memory, without querying the database.
      *
      * @return A list of {@link OrderResponse} representing all pending orders.
      */
     @Override
-    @Transactional(readOnly = true)
     public List<OrderResponse> getAllPendingOrders() {
         log.debug("Fetching all pending orders for pizzaiolo, ordered by creation date");
-        return orderRepository.findByStatus(OrderStatus.PENDING).stream()
-                .sorted(Comparator.comparing(Order::getCreatedAt))
-                .map(orderMapper::toResponse)
-                .collect(Collectors.toList());
+        return kitchenBoard.pendingOrders();
     }
 
     /**
      * Allows a pizzaiolo to take a specific order for preparation.
-     * An order can only be taken if no other order is currently in 'IN_PREPARATION'
-     * status
-     * and the order itself is in 'PENDING' status.
+     * The order must be in 'PENDING' status and the kitchen station must have a free
+     * preparation slot. The slot check costs no query, and the status check and the update
+     * are a single conditional statement that also records the station on the order.
      *
      * @param orderCode The unique code of the order to be taken.
+     * @param station   The kitchen station taking the order, or {@code null} for any station with a free slot.
      * @return An {@link OrderResponse} representing the updated order.
      * @throws OrderNotFoundException               if no order with the given code
      *                                              is found.
-     * @throws OrderModificationNotAllowedException if another order is already in
-     *                                              preparation
+     * @throws OrderModificationNotAllowedException if the station has no free slot
      *                                              or the target order is not in
      *                                              PENDING status.
-     * @throws InvalidOrderStatusException          if the status transition is
-     *                                              invalid.
+     * @throws UnknownKitchenStationException       if the station is not configured.
      */
     @Override
     @Transactional
-    public OrderResponse takeOrder(String orderCode) {
-        log.info("Pizzaiolo attempting to take order: {}", orderCode);
+    public OrderResponse takeOrder(String orderCode, String station) {
+        log.info("Pizzaiolo attempting to take order {} at station {}", orderCode, station);
 
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+        // The slot is given back automatically if the transaction rolls back
+        KitchenStation kitchenStation = kitchenStations.acquire(station);
 
-        if (orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)) {
-            log.warn("Cannot take order {}: another order is currently IN_PREPARATION.", orderCode);
+        // Compare-and-set: the update only applies if the order is still in a takeable status
+        int updated = orderRepository.transitionStatusAtStation(
+                orderCode, OrderStatus.IN_PREPARATION, kitchenStation.getName(), statusValidator.takeableStatuses());
+        if (updated == 0) {
+            OrderStatus currentStatus = orderRepository.findStatusByOrderCode(orderCode)
+                    .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+            log.warn("Attempt to take order {} with status {}", orderCode, currentStatus);
             throw new OrderModificationNotAllowedException(
-                    "Cannot take a new order because another order is currently IN_PREPARATION.");
+                    "Order can only be taken if status is PENDING. Current status: " + currentStatus);
         }
+        orderCache.evict(orderCode);
 
-        if (!statusValidator.canBeTakenByPizzaiolo(order.getStatus())) {
-            log.warn("Attempt to take order {} with status {}", orderCode, order.getStatus());
-            throw new OrderModificationNotAllowedException(
-                    "Order can only be taken if status is PENDING. Current status: " + order.getStatus());
-        }
-
-        statusValidator.validateTransition(order.getStatus(), OrderStatus.IN_PREPARATION);
-
-        order.setStatus(OrderStatus.IN_PREPARATION);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Order {} taken successfully, status changed to IN_PREPARATION", orderCode);
+        Order updatedOrder = findOrderWithItems(orderCode);
+        log.info("Order {} taken successfully at station {}, status changed to IN_PREPARATION",
+                orderCode, kitchenStation.getName());
 
-        return orderMapper.toResponse(updatedOrder);
+        return publishChange(updatedOrder, OrderStatus.PENDING);
     }
 
     /**
      * Allows a pizzaiolo to take the next available pending order.
      * The "next" order is defined as the oldest order (by creation date) that is in
-     * 'PENDING' status.
-     * An order can only be taken if no other order is currently in 'IN_PREPARATION'
-     * status.
+     * 'PENDING' status and not being claimed by a concurrent request.
+     * An order can only be taken if the kitchen station has a free preparation slot.
      *
+     * @param station The kitchen station taking the order, or {@code null} for any station with a free slot.
      * @return An {@link OrderResponse} representing the updated order.
      * @throws OrderNotFoundException               if no pending orders are found
      *                                              to be taken.
-     * @throws OrderModificationNotAllowedException if another order is already in
-     *                                              preparation.
+     * @throws OrderModificationNotAllowedException if the station has no free slot.
+     * @throws UnknownKitchenStationException       if the station is not configured.
      * @throws InvalidOrderStatusException          if the status transition is
      *                                              invalid.
      */
     @Override
     @Transactional
-    public OrderResponse takeNextOrder() {
-        log.info("Pizzaiolo attempting to take the next pending order.");
+    public OrderResponse takeNextOrder(String station) {
+        log.info("Pizzaiolo attempting to take the next pending order at station {}", station);
 
-        if (orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)) {
-            log.warn("Cannot take the next order: another order is currently IN_PREPARATION.");
-            throw new OrderModificationNotAllowedException(
-                    "Cannot take a new order because another order is currently IN_PREPARATION.");
-        }
+        statusValidator.validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
 
-        Order nextPendingOrder = orderRepository.findFirstByStatusOrderByCreatedAtAsc(OrderStatus.PENDING)
+        KitchenStation kitchenStation = kitchenStations.acquire(station);
+
+        // Try the oldest orders of the kitchen board first; if none of them can be claimed, lock, flip
+        // and return the oldest free PENDING order in one step, so concurrent callers get different
+        // orders instead of failing on the same row
+        Order updatedOrder = claimFromBoard(kitchenStation.getName())
+                .or(() -> orderRepository.claimNextPending(kitchenStation.getName()))
                 .orElseThrow(() -> {
                     log.info("No pending orders available to be taken.");
                     return new OrderNotFoundException("No pending orders found to be taken.");
                 });
+        orderCache.evict(updatedOrder.getOrderCode());
+        log.info("Next pending order {} taken successfully at station {}, status changed to IN_PREPARATION",
+                updatedOrder.getOrderCode(), kitchenStation.getName());
 
-        statusValidator.validateTransition(nextPendingOrder.getStatus(), OrderStatus.IN_PREPARATION);
-
-        nextPendingOrder.setStatus(OrderStatus.IN_PREPARATION);
-        Order updatedOrder = orderRepository.save(nextPendingOrder);
-        log.info("Next pending order {} taken successfully, status changed to IN_PREPARATION",
-                updatedOrder.getOrderCode());
-
-        return orderMapper.toResponse(updatedOrder);
+        return publishChange(updatedOrder, OrderStatus.PENDING);
     }
 
     /**
      * Updates the status of an existing order.
+     * The transition is applied with a single conditional update from any status it is allowed from, which
+     * also returns the status the order left; the order is only read again to build the response, or to
+     * report why no update applied.
+     * Moving an order to IN_PREPARATION takes a kitchen slot like {@link #takeOrder(String, String)},
+     * and moving it out of IN_PREPARATION gives the slot back once the transaction commits.
      *
      * @param orderCode The unique code of the order to be updated.
      * @param newStatus The new status to set for the order.
@@ -185,19 +310,198 @@ public class PizzaioloOrderServiceImpl implements IPizzaioloOrderService {
     public OrderResponse updateOrderStatus(String orderCode, OrderStatus newStatus) {
         log.info("Updating order {} status to {}", orderCode, newStatus);
 
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
-
         if (newStatus == null) {
             throw new InvalidOrderStatusException("New order status cannot be null.");
         }
+        if (newStatus == OrderStatus.IN_PREPARATION) {
+            return takeOrder(orderCode, null);
+        }
 
-        statusValidator.validateTransition(order.getStatus(), newStatus);
+        // Compare-and-set against every predecessor allowed by the state machine at once
+        Set<OrderStatus> predecessors = statusValidator.allowedPredecessors(newStatus);
+        OrderStatus previousStatus = predecessors.isEmpty() ? null
+                : orderRepository.transitionStatusReturningPrevious(orderCode, newStatus, predecessors).orElse(null);
+        if (previousStatus == null) {
+            // Nothing changed: either the order does not exist, it is already in the requested status,
+            // or the transition is not allowed (the validator raises the detailed error)
+            OrderStatus currentStatus = orderRepository.findStatusByOrderCode(orderCode)
+                    .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
+            statusValidator.validateTransition(currentStatus, newStatus);
+            return orderMapper.toResponse(findOrderWithItems(orderCode));
+        }
+        orderCache.evict(orderCode);
 
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
+        Order updatedOrder = findOrderWithItems(orderCode);
+        if (previousStatus == OrderStatus.IN_PREPARATION) {
+            kitchenStations.releaseAfterCommit(updatedOrder.getStation());
+        }
         log.info("Order {} status updated successfully to {}", orderCode, newStatus);
 
-        return orderMapper.toResponse(updatedOrder);
+        return publishChange(updatedOrder, previousStatus);
+    }
+
+    /**
+     * Applies many status changes at once, in a single transaction.
+     * The orders are locked and validated in one pass, then the accepted changes are applied with
+     * one conditional update per target status (and per kitchen station, for orders taken into
+     * preparation). A change that cannot be applied is reported in its result and does not stop
+     * the others.
+     *
+     * @param updates The requested changes; an order should appear only once.
+     * @return The outcome of every change, in the order of the request.
+     */
+    @Override
+    @Transactional
+    public List<StatusUpdateResult> updateOrderStatuses(List<StatusUpdateRequest> updates) {
+        log.info("Updating the status of {} orders", updates.size());
+
+        Set<String> orderCodes = new LinkedHashSet<>();
+        updates.forEach(update -> orderCodes.add(update.orderCode()));
+        Map<String, Order> lockedOrders = new HashMap<>();
+        orderRepository.findAllForUpdateByOrderCodeIn(orderCodes)
+                .forEach(order -> lockedOrders.put(order.getOrderCode(), order));
+
+        // Validation pass: statuses cannot change under us, since the orders are locked
+        StatusUpdateResult[] results = new StatusUpdateResult[updates.size()];
+        Map<String, OrderStatus> previousStatuses = new HashMap<>();
+        Map<String, String> previousStations = new HashMap<>();
+        Map<StatusBatch, List<String>> batches = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            String orderCode = updates.get(i).orderCode();
+            OrderStatus newStatus = updates.get(i).status();
+            Order order = lockedOrders.get(orderCode);
+            if (!seen.add(orderCode)) {
+                results[i] = StatusUpdateResult.rejected(orderCode, newStatus, "Order " + orderCode + " appears more than once.");
+            } else if (order == null) {
+                results[i] = StatusUpdateResult.notFound(orderCode, newStatus);
+            } else if (order.getStatus() != newStatus) {
+                try {
+                    statusValidator.validateTransition(order.getStatus(), newStatus);
+                    String station = newStatus == OrderStatus.IN_PREPARATION ? kitchenStations.acquire(null).getName() : null;
+                    batches.computeIfAbsent(new StatusBatch(newStatus, station), batch -> new ArrayList<>()).add(orderCode);
+                    previousStatuses.put(orderCode, order.getStatus());
+                    previousStations.put(orderCode, order.getStation());
+                } catch (InvalidOrderStatusException | OrderModificationNotAllowedException e) {
+                    results[i] = StatusUpdateResult.rejected(orderCode, newStatus, e.getMessage());
+                }
+            }
+        }
+
+        batches.forEach((batch, batchCodes) -> {
+            Set<OrderStatus> allowedStatuses = statusValidator.allowedPredecessors(batch.status());
+            int updated = batch.station() == null
+                    ? orderRepository.transitionStatuses(batchCodes, batch.status(), allowedStatuses)
+                    : orderRepository.transitionStatusesAtStation(batchCodes, batch.status(), batch.station(), allowedStatuses);
+            log.debug("Moved {} of {} orders to {}", updated, batchCodes.size(), batch.status());
+        });
+
+        // Build the results from the updated orders, with a single event for the whole batch
+        Map<String, OrderResponse> responses = new HashMap<>();
+        orderRepository.findWithItemsByOrderCodeIn(lockedOrders.keySet())
+                .forEach(order -> responses.put(order.getOrderCode(), orderMapper.toResponse(order)));
+        List<OrderChangedEvent> changes = new ArrayList<>();
+        List<OrderStatusHistory> history = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < updates.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            OrderStatus newStatus = updates.get(i).status();
+            OrderResponse response = responses.get(updates.get(i).orderCode());
+            OrderStatus previousStatus = previousStatuses.get(response.orderCode());
+            if (previousStatus == null) {
+                results[i] = StatusUpdateResult.unchanged(newStatus, response);
+                continue;
+            }
+            orderCache.evict(response.orderCode());
+            if (previousStatus == OrderStatus.IN_PREPARATION) {
+                kitchenStations.releaseAfterCommit(previousStations.get(response.orderCode()));
+            }
+            changes.add(new OrderChangedEvent(response, previousStatus));
+            history.add(new OrderStatusHistory(response.id(), newStatus, now));
+            results[i] = StatusUpdateResult.updated(newStatus, response);
+        }
+        if (!changes.isEmpty()) {
+            // Inserted as JDBC batches when the transaction flushes
+            statusHistoryRepository.saveAll(history);
+            eventPublisher.publishEvent(new OrdersChangedEvent(changes));
+        }
+        log.info("Status of {} of {} orders updated", changes.size(), updates.size());
+
+        return List.of(results);
+    }
+
+    /**
+     * Returns the statistics of the order lookup cache.
+     *
+     * @return The hit, miss and eviction counters of the cache.
+     */
+    @Override
+    public CacheStatsResponse getOrderCacheStats() {
+        return orderCache.stats();
+    }
+
+    /**
+     * Returns the statistics of the archiver.
+     *
+     * @return The number of runs and of orders and items moved to the archive.
+     */
+    @Override
+    public ArchiveStatsResponse getArchiveStats() {
+        return orderArchiver.stats();
+    }
+
+    /**
+     * Claims the oldest order of the kitchen board that can still be taken. Candidates are reserved
+     * on the board, so concurrent callers try different orders; the claim itself is a conditional
+     * update that skips a locked row, so an order the board wrongly believes PENDING, or one another
+     * instance is taking right now, is simply skipped and dropped. If that other claim rolls back, the
+     * order is still found by {@link OrderRepository#claimNextPending(String)}.
+     *
+     * @param station The kitchen station taking the order.
+     * @return The claimed order, or an empty Optional if no board candidate could be claimed.
+     */
+    private Optional<Order> claimFromBoard(String station) {
+        for (int attempt = 0; attempt < MAX_BOARD_CANDIDATES; attempt++) {
+            Optional<String> candidate = kitchenBoard.reserveNextPending();
+            if (candidate.isEmpty()) {
+                return Optional.empty();
+            }
+            String orderCode = candidate.get();
+            if (orderRepository.claimPending(orderCode, station, statusValidator.takeableStatuses()).isPresent()) {
+                return Optional.of(findOrderWithItems(orderCode));
+            }
+            log.debug("Kitchen board candidate {} is no longer pending or is being taken elsewhere", orderCode);
+            kitchenBoard.discardPending(orderCode);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records the new status of an order that just changed status in its history, maps it and
+     * announces the change to the listeners, which only receive it once the transaction commits.
+     *
+     * @param order          The order in its new status.
+     * @param previousStatus The status the order had before the change.
+     * @return The response for the changed order.
+     */
+    private OrderResponse publishChange(Order order, OrderStatus previousStatus) {
+        statusHistoryRepository.save(OrderStatusHistory.entered(order, Instant.now()));
+        OrderResponse response = orderMapper.toResponse(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(response, previousStatus));
+        return response;
+    }
+
+    /**
+     * Loads an order with its items, to build the response after a status transition.
+     *
+     * @param orderCode The unique code of the order.
+     * @return The order.
+     * @throws OrderNotFoundException if no order with the given code is found.
+     */
+    private Order findOrderWithItems(String orderCode) {
+        return orderRepository.findWithItemsByOrderCode(orderCode)
+                .orElseThrow(() -> new OrderNotFoundException("Order with code " + orderCode + " not found."));
     }
-}
\ No newline at end of file
+}
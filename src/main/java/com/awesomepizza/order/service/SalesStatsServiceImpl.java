@@ -0,0 +1,189 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.entity.SalesRollup;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.PizzaSalesResponse;
+import com.awesomepizza.order.dto.SalesBucketResponse;
+import com.awesomepizza.order.dto.SalesGranularity;
+import com.awesomepizza.order.dto.SalesStatsResponse;
+import com.awesomepizza.order.dto.StatusDurationResponse;
+import com.awesomepizza.order.dto.StatusDurationStatsResponse;
+import com.awesomepizza.order.exception.InvalidStatsRangeException;
+import com.awesomepizza.order.repository.DailySalesRepository;
+import com.awesomepizza.order.repository.HourlySalesRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
+import com.awesomepizza.order.repository.StatusDurationTally;
+import com.awesomepizza.order.service.api.ISalesStatsService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Service implementation for the sales statistics, served from the hourly and daily rollups kept by
+ * {@link com.awesomepizza.order.stats.SalesRollupUpdater}: a request reads at most a few rows per bucket,
+ * status and pizza, however many orders the range holds. The time spent by the orders in each status is
+ * computed from the order status history.
+ */
+@Slf4j
+@Service
+public class SalesStatsServiceImpl implements ISalesStatsService {
+
+    // Range of the status durations when none is given, and the longest range accepted
+    static final Duration DEFAULT_DURATION_RANGE = Duration.ofDays(1);
+    static final Duration MAX_DURATION_RANGE = Duration.ofDays(31);
+
+    /**
+     * Totals and pizza mix of a bucket and status being assembled.
+     */
+    private static final class Bucket {
+        private final Instant bucketStart;
+        private final OrderStatus status;
+        private SalesRollup totals;
+        private final List<PizzaSalesResponse> pizzaMix = new ArrayList<>();
+
+        private Bucket(Instant bucketStart, OrderStatus status) {
+            this.bucketStart = bucketStart;
+            this.status = status;
+        }
+
+        private SalesBucketResponse toResponse() {
+            return new SalesBucketResponse(bucketStart, status,
+                    totals == null ? 0 : totals.getOrders(),
+                    totals == null ? 0 : totals.getPizzas(),
+                    totals == null ? 0 : totals.getRevenue(),
+                    List.copyOf(pizzaMix));
+        }
+    }
+
+    private final HourlySalesRepository hourlySalesRepository;
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderStatusHistoryRepository statusHistoryRepository;
+    private final OrderStatusValidator statusValidator;
+
+    /**
+     * Constructs a new SalesStatsServiceImpl.
+     *
+     * @param hourlySalesRepository   The repository of the hourly rollups.
+     * @param dailySalesRepository    The repository of the daily rollups.
+     * @param statusHistoryRepository The append-only history of the statuses entered by the orders.
+     * @param statusValidator         The state machine telling which statuses are final, and so have no duration.
+     */
+    public SalesStatsServiceImpl(HourlySalesRepository hourlySalesRepository, DailySalesRepository dailySalesRepository,
+                                 OrderStatusHistoryRepository statusHistoryRepository, OrderStatusValidator statusValidator) {
+        this.hourlySalesRepository = hourlySalesRepository;
+        this.dailySalesRepository = dailySalesRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.statusValidator = statusValidator;
+    }
+
+    /**
+     * Returns the sales of a time range, bucket by bucket. The range is widened to whole buckets (UTC);
+     * when it is not given, it ends with the current bucket and spans the default range of the granularity.
+     * The latest changes show up once the rollups are flushed, within {@code app.stats.flush-interval}.
+     *
+     * @param granularity The size of the buckets.
+     * @param from        The start of the range, or {@code null}.
+     * @param to          The end of the range, exclusive, or {@code null}.
+     * @return The sales of every bucket and status with orders, with their pizza mix.
+     * @throws InvalidStatsRangeException if the range ends before it starts or spans too many buckets.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SalesStatsResponse getSales(SalesGranularity granularity, Instant from, Instant to) {
+        long bucketMillis = granularity.bucketSize().toMillis();
+        Instant end = to != null ? ceil(to, bucketMillis) : floor(Instant.now(), bucketMillis).plus(granularity.bucketSize());
+        Instant start = from != null ? floor(from, bucketMillis) : end.minus(granularity.defaultRange());
+        if (end.isBefore(start)) {
+            throw new InvalidStatsRangeException("The stats range cannot end before it starts.");
+        }
+        if ((end.toEpochMilli() - start.toEpochMilli()) / bucketMillis > granularity.maxBuckets()) {
+            throw new InvalidStatsRangeException(
+                    "The stats range cannot span more than " + granularity.maxBuckets() + " buckets of " + granularity + ".");
+        }
+        log.debug("Fetching {} sales from {} to {}", granularity, start, end);
+
+        List<? extends SalesRollup> rows = granularity == SalesGranularity.HOUR
+                ? hourlySalesRepository.findBetween(start, end)
+                : dailySalesRepository.findBetween(start, end);
+
+        // Rows come sorted by bucket, status and pizza name, so each bucket and status is contiguous
+        List<SalesBucketResponse> buckets = new ArrayList<>();
+        Bucket current = null;
+        for (SalesRollup row : rows) {
+            SalesRollupId id = row.getId();
+            if (current == null || !current.bucketStart.equals(id.getBucketStart()) || current.status != id.getStatus()) {
+                if (current != null) {
+                    buckets.add(current.toResponse());
+                }
+                current = new Bucket(id.getBucketStart(), id.getStatus());
+            }
+            if (SalesRollupId.ALL_PIZZAS.equals(id.getPizzaName())) {
+                current.totals = row;
+            } else {
+                current.pizzaMix.add(new PizzaSalesResponse(id.getPizzaName(), row.getOrders(), row.getPizzas(), row.getRevenue()));
+            }
+        }
+        if (current != null) {
+            buckets.add(current.toResponse());
+        }
+        return new SalesStatsResponse(granularity, start, end, buckets);
+    }
+
+    /**
+     * Returns the percentiles of the time spent in each status by the orders that entered it within a time
+     * range and have left it since, so that the slow step of the kitchen can be told apart: waiting to be taken
+     * (PENDING), preparation (IN_PREPARATION) or delivery (READY).
+     *
+     * @param from The start of the range, or {@code null} for {@link #DEFAULT_DURATION_RANGE} before its end.
+     * @param to   The end of the range, exclusive, or {@code null} for now.
+     * @return The durations of every status left by at least one order, in lifecycle order.
+     * @throws InvalidStatsRangeException if the range ends before it starts or is longer than {@link #MAX_DURATION_RANGE}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StatusDurationStatsResponse getStatusDurations(Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_DURATION_RANGE);
+        if (end.isBefore(start)) {
+            throw new InvalidStatsRangeException("The stats range cannot end before it starts.");
+        }
+        if (Duration.between(start, end).compareTo(MAX_DURATION_RANGE) > 0) {
+            throw new InvalidStatsRangeException(
+                    "The stats range cannot span more than " + MAX_DURATION_RANGE.toDays() + " days of status durations.");
+        }
+
+        EnumSet<OrderStatus> statuses = EnumSet.allOf(OrderStatus.class);
+        statuses.removeAll(statusValidator.finalStatuses());
+        log.debug("Fetching the durations of {} from {} to {}", statuses, start, end);
+        List<StatusDurationResponse> durations = statusHistoryRepository
+                .durationsBetween(statuses.stream().map(OrderStatus::name).toList(), start, end).stream()
+                .map(SalesStatsServiceImpl::toResponse)
+                .sorted(Comparator.comparing(StatusDurationResponse::status))
+                .toList();
+        return new StatusDurationStatsResponse(start, end, durations);
+    }
+
+    private static StatusDurationResponse toResponse(StatusDurationTally tally) {
+        return new StatusDurationResponse(OrderStatus.valueOf(tally.getStatus()), tally.getOrders(),
+                Math.round(tally.getP50()), Math.round(tally.getP90()), Math.round(tally.getP99()),
+                Math.round(tally.getMaximum().doubleValue()));
+    }
+
+    private static Instant floor(Instant instant, long bucketMillis) {
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), bucketMillis) * bucketMillis);
+    }
+
+    private static Instant ceil(Instant instant, long bucketMillis) {
+        return Instant.ofEpochMilli(-Math.floorDiv(-instant.toEpochMilli(), bucketMillis) * bucketMillis);
+    }
+}
@@ -4,11 +4,16 @@ import java.util.Optional;
 
 import com.awesomepizza.order.dto.CreateOrderRequest;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderRevision;
+import com.awesomepizza.order.dto.QueuePositionResponse;
 import com.awesomepizza.order.dto.UpdateOrderRequest;
 
 public interface ICustomerOrderService {
     OrderResponse createOrder(CreateOrderRequest request);
     Optional<OrderResponse> getByOrderCode(String orderCode);
+    Optional<OrderResponse> getLatestByOrderCode(String orderCode);
+    Optional<OrderRevision> getOrderRevision(String orderCode);
+    Optional<QueuePositionResponse> getQueuePosition(String orderCode);
     OrderResponse updateOrder(String orderCode, UpdateOrderRequest request);
     OrderResponse cancelOrder(String orderCode);
 }
@@ -0,0 +1,10 @@
+package com.awesomepizza.order.service.api;
+
+import java.util.function.Consumer;
+
+import com.awesomepizza.order.dto.OrderExportFilter;
+import com.awesomepizza.order.dto.OrderResponse;
+
+public interface IOrderExportService {
+    long exportOrders(OrderExportFilter filter, Consumer<OrderResponse> orders);
+}
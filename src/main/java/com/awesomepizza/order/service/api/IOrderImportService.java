@@ -0,0 +1,12 @@
+package com.awesomepizza.order.service.api;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.awesomepizza.order.dto.OrderImportResult;
+
+public interface IOrderImportService {
+    void importOrders(BufferedReader lines, Consumer<List<OrderImportResult>> chunkResults) throws IOException;
+}
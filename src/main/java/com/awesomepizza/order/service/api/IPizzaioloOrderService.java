@@ -1,14 +1,24 @@
 package com.awesomepizza.order.service.api;
 
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.ArchiveStatsResponse;
+import com.awesomepizza.order.dto.CacheStatsResponse;
+import com.awesomepizza.order.dto.OrderPageResponse;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderSummaryPageResponse;
+import com.awesomepizza.order.dto.StatusUpdateRequest;
+import com.awesomepizza.order.dto.StatusUpdateResult;
 
 import java.util.List;
 
 public interface IPizzaioloOrderService {
-    List<OrderResponse> getAllOrders();
+    OrderPageResponse getAllOrders(String cursor, int size);
+    OrderSummaryPageResponse getOrderSummaries(String cursor, int size);
     List<OrderResponse> getAllPendingOrders();
-    OrderResponse takeOrder(String orderCode);
+    OrderResponse takeOrder(String orderCode, String station);
     OrderResponse updateOrderStatus(String orderCode, OrderStatus newStatus);
-    OrderResponse takeNextOrder();
+    List<StatusUpdateResult> updateOrderStatuses(List<StatusUpdateRequest> updates);
+    OrderResponse takeNextOrder(String station);
+    CacheStatsResponse getOrderCacheStats();
+    ArchiveStatsResponse getArchiveStats();
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.awesomepizza.order.service.api;
+
+import java.time.Instant;
+
+import com.awesomepizza.order.dto.SalesGranularity;
+import com.awesomepizza.order.dto.SalesStatsResponse;
+import com.awesomepizza.order.dto.StatusDurationStatsResponse;
+
+public interface ISalesStatsService {
+    SalesStatsResponse getSales(SalesGranularity granularity, Instant from, Instant to);
+
+    StatusDurationStatsResponse getStatusDurations(Instant from, Instant to);
+}
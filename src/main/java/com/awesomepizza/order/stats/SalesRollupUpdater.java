@@ -0,0 +1,256 @@
+package com.awesomepizza.order.stats;
+
+import com.awesomepizza.order.config.SalesStatsProperties;
+import com.awesomepizza.order.domain.entity.DailySales;
+import com.awesomepizza.order.domain.entity.HourlySales;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
+import com.awesomepizza.order.repository.DailySalesRepository;
+import com.awesomepizza.order.repository.HourlySalesRepository;
+import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.SalesTally;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the hourly and daily sales rollups ({@code sales_hourly}, {@code sales_daily}) in step with the orders.
+ * <p>
+ * An order counts towards the hour (and the day, both UTC) it was created in, under its current status. After
+ * every commit that creates or changes orders, the hours of those orders are marked dirty; every
+ * {@code app.stats.flush-interval} the dirty hours are rewritten from the live and archived orders, one
+ * transaction per hour, and their days are rewritten by summing their hourly rows. The commit itself only
+ * pays for adding to a set, a change never makes concurrent orders contend on the same rollup rows, and a
+ * rewrite is always exact: customer edits, whose previous items the events do not carry, need no delta.
+ * <p>
+ * Every {@code app.stats.reconcile-interval} the hours of the last {@code app.stats.reconcile-window} are all
+ * rewritten, which repairs the changes whose flush was lost, for instance when an instance stopped before
+ * flushing or another instance failed to.
+ */
+@Slf4j
+@Component
+public class SalesRollupUpdater {
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final HourlySalesRepository hourlySalesRepository;
+    private final DailySalesRepository dailySalesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SalesStatsProperties properties;
+
+    private final Set<Instant> dirtyHours = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new SalesRollupUpdater.
+     *
+     * @param orderRepository         The repository of the live orders.
+     * @param archivedOrderRepository The repository of the archived orders.
+     * @param hourlySalesRepository   The repository of the hourly rollups.
+     * @param dailySalesRepository    The repository of the daily rollups.
+     * @param transactionManager      The transaction manager running one transaction per rewritten bucket.
+     * @param properties              The rollup settings.
+     */
+    public SalesRollupUpdater(
+            OrderRepository orderRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            HourlySalesRepository hourlySalesRepository,
+            DailySalesRepository dailySalesRepository,
+            PlatformTransactionManager transactionManager,
+            SalesStatsProperties properties) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.hourlySalesRepository = hourlySalesRepository;
+        this.dailySalesRepository = dailySalesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Marks the hour of a committed order change as dirty.
+     *
+     * @param event The committed change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        markDirty(event.order().createdAt());
+    }
+
+    /**
+     * Marks the hours of a batch of committed order changes as dirty.
+     *
+     * @param event The committed changes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        event.changes().forEach(change -> markDirty(change.order().createdAt()));
+    }
+
+    /**
+     * Rewrites the dirty hours every {@code app.stats.flush-interval}, unless the rollups are disabled.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval:5s}")
+    public void scheduledFlush() {
+        if (properties.enabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * Reconciles the recent rollups every {@code app.stats.reconcile-interval}, starting shortly after
+     * startup so that the changes left unflushed by a previous run are repaired, unless the rollups are disabled.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:1h}", initialDelayString = "${app.stats.flush-interval:5s}")
+    public void scheduledReconcile() {
+        if (properties.enabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Rewrites every hour of the last {@code app.stats.reconcile-window}, and their days.
+     *
+     * @return The number of hours rewritten.
+     */
+    public int reconcile() {
+        Instant now = Instant.now();
+        Instant hour = now.minus(properties.reconcileWindow()).truncatedTo(ChronoUnit.HOURS);
+        while (!hour.isAfter(now)) {
+            dirtyHours.add(hour);
+            hour = hour.plus(Duration.ofHours(1));
+        }
+        return flush();
+    }
+
+    /**
+     * Rewrites the dirty hours and their days. An hour that cannot be rewritten stays dirty and is
+     * retried by the next flush; its day is left as it is until then.
+     *
+     * @return The number of hours rewritten.
+     */
+    public int flush() {
+        if (dirtyHours.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Set<Instant> hours = new TreeSet<>();
+        for (Instant hour : List.copyOf(dirtyHours)) {
+            dirtyHours.remove(hour);
+            hours.add(hour);
+        }
+
+        int rewritten = 0;
+        Set<Instant> days = new TreeSet<>();
+        for (Instant hour : hours) {
+            if (rewrite(hour, () -> rewriteHour(hour))) {
+                rewritten++;
+                days.add(hour.truncatedTo(ChronoUnit.DAYS));
+            } else {
+                dirtyHours.add(hour);
+            }
+        }
+        for (Instant day : days) {
+            if (!rewrite(day, () -> rewriteDay(day))) {
+                // Rewriting any of its hours again rewrites the day too
+                dirtyHours.add(day);
+            }
+        }
+        log.debug("Rewrote {} hourly and {} daily sales rollups in {} ms",
+                rewritten, days.size(), (System.nanoTime() - start) / 1_000_000);
+        return rewritten;
+    }
+
+    private void markDirty(Instant createdAt) {
+        if (createdAt != null) {
+            dirtyHours.add(createdAt.truncatedTo(ChronoUnit.HOURS));
+        }
+    }
+
+    private boolean rewrite(Instant bucketStart, Runnable rewrite) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rewrite.run());
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Rewriting the sales rollup of {} failed, it will be retried by the next flush", bucketStart, e);
+            return false;
+        }
+    }
+
+    private void rewriteHour(Instant hour) {
+        Instant end = hour.plus(Duration.ofHours(1));
+        List<SalesTally> tallies = Stream.of(
+                        orderRepository.tallyOrdersCreatedBetween(hour, end),
+                        orderRepository.tallyPizzasCreatedBetween(hour, end),
+                        archivedOrderRepository.tallyOrdersCreatedBetween(hour, end),
+                        archivedOrderRepository.tallyPizzasCreatedBetween(hour, end))
+                .flatMap(List::stream)
+                .toList();
+        List<HourlySales> rows = merge(hour, tallies).entrySet().stream()
+                .map(row -> new HourlySales(row.getKey(), row.getValue()[0], row.getValue()[1], row.getValue()[2]))
+                .toList();
+        hourlySalesRepository.deleteBucket(hour);
+        hourlySalesRepository.saveAll(rows);
+    }
+
+    private void rewriteDay(Instant day) {
+        List<SalesTally> tallies = hourlySalesRepository.tallyBetween(day, day.plus(Duration.ofDays(1)));
+        List<DailySales> rows = merge(day, tallies).entrySet().stream()
+                .map(row -> new DailySales(row.getKey(), row.getValue()[0], row.getValue()[1], row.getValue()[2]))
+                .toList();
+        dailySalesRepository.deleteBucket(day);
+        dailySalesRepository.saveAll(rows);
+    }
+
+    /**
+     * Adds up the tallies of the same status and pizza, such as those of the live and of the archived orders.
+     *
+     * @return The orders, pizzas and revenue of each row of the bucket.
+     */
+    static Map<SalesRollupId, long[]> merge(Instant bucketStart, List<SalesTally> tallies) {
+        Map<SalesRollupId, long[]> rows = new LinkedHashMap<>();
+        for (SalesTally tally : tallies) {
+            long[] row = rows.computeIfAbsent(
+                    new SalesRollupId(bucketStart, tally.getStatus(), tally.getPizzaName()), id -> new long[3]);
+            row[0] += tally.getOrders();
+            row[1] += tally.getPizzas();
+            row[2] += cents(tally.getRevenue());
+        }
+        return rows;
+    }
+
+    private static long cents(Number revenue) {
+        if (revenue instanceof BigDecimal decimal) {
+            return decimal.setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return revenue.longValue();
+    }
+
+    /**
+     * @return The hours waiting to be rewritten, oldest first.
+     */
+    List<Instant> dirtyHours() {
+        return new ArrayList<>(new TreeSet<>(dirtyHours));
+    }
+}
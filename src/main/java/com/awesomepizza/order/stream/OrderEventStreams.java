@@ -0,0 +1,246 @@
+package com.awesomepizza.order.stream;
+
+import com.awesomepizza.order.config.StreamProperties;
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Live order streams over Server-Sent Events: one stream per order for customers, and one
+ * kitchen-wide stream for pizzaioli.
+ * Streams are fed by {@link OrderChangedEvent}s after the changing transaction commits. Every
+ * connection has its own bounded queue drained on virtual threads, so a slow client never delays
+ * the commit nor the other clients. Idle connections receive periodic heartbeats to keep proxies
+ * from closing them.
+ */
+@Slf4j
+@Component
+public class OrderEventStreams implements DisposableBean {
+
+    static final String ORDER_EVENT = "order";
+    static final String KITCHEN_EVENT = "order-changed";
+    static final String KITCHEN_BATCH_EVENT = "orders-changed";
+
+    private final StreamProperties properties;
+    private final OrderStatusValidator statusValidator;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, Set<OrderSubscription>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Set<SseSubscriber> kitchenSubscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new OrderEventStreams.
+     *
+     * @param properties      The queue, heartbeat and timeout settings of the streams.
+     * @param statusValidator The validator telling when an order can no longer change.
+     */
+    @Autowired
+    public OrderEventStreams(StreamProperties properties, OrderStatusValidator statusValidator) {
+        this(properties, statusValidator, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    OrderEventStreams(StreamProperties properties, OrderStatusValidator statusValidator, ExecutorService executor) {
+        this.properties = properties;
+        this.statusValidator = statusValidator;
+        this.executor = executor;
+    }
+
+    /**
+     * Opens a stream on a single order. The stream is registered before the current state is read, so that
+     * a change committed in between is not missed: changes received meanwhile are held back until the current
+     * state has been sent, then the ones it already includes are dropped. The stream ends once the order
+     * reaches a final status, at once if it is already there.
+     *
+     * @param orderCode The code of the order to follow.
+     * @param current   Reads the current state of the order, from the primary so that it is not older than
+     *                  the changes already committed.
+     * @return The emitter to return from the controller, or an empty Optional if no order matches the code.
+     */
+    public Optional<SseEmitter> subscribeToOrder(String orderCode, Supplier<Optional<OrderResponse>> current) {
+        OrderSubscription subscription = new OrderSubscription(newSubscriber());
+        orderSubscribers.computeIfAbsent(orderCode, code -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscription.subscriber.onClose(() -> orderSubscribers.computeIfPresent(orderCode, (code, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        }));
+
+        Optional<OrderResponse> snapshot;
+        try {
+            snapshot = current.get();
+        } catch (RuntimeException e) {
+            subscription.subscriber.close();
+            throw e;
+        }
+        if (snapshot.isEmpty()) {
+            subscription.subscriber.close();
+            return Optional.empty();
+        }
+        subscription.start(snapshot.get());
+        return Optional.of(subscription.subscriber.getEmitter());
+    }
+
+    /**
+     * Opens the kitchen-wide stream, receiving every change of every order.
+     * Clients should subscribe before loading the pending orders, so that no change is missed.
+     *
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribeToKitchen() {
+        SseSubscriber subscriber = newSubscriber();
+        kitchenSubscribers.add(subscriber);
+        subscriber.onClose(() -> kitchenSubscribers.remove(subscriber));
+        return subscriber.getEmitter();
+    }
+
+    /**
+     * Fans a committed order change out to the interested streams. Only enqueues, never blocks.
+     *
+     * @param event The committed change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderChanged(OrderChangedEvent event) {
+        notifyOrderSubscribers(event.order());
+
+        for (SseSubscriber subscriber : kitchenSubscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .id(eventId(event.order()))
+                    .name(KITCHEN_EVENT)
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Fans a committed batch of changes out to the interested streams. The kitchen streams receive
+     * the whole batch as a single event, so that a bulk operation does not overflow their queues.
+     *
+     * @param event The committed changes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        if (!orderSubscribers.isEmpty()) {
+            event.changes().forEach(change -> notifyOrderSubscribers(change.order()));
+        }
+
+        for (SseSubscriber subscriber : kitchenSubscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name(KITCHEN_BATCH_EVENT)
+                    .data(event.changes(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment on every idle connection.
+     */
+    @Scheduled(fixedRateString = "${app.streams.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        orderSubscribers.values().forEach(subscriptions -> subscriptions.forEach(
+                subscription -> heartbeat(subscription.subscriber)));
+        kitchenSubscribers.forEach(this::heartbeat);
+    }
+
+    /**
+     * @return The number of open connections, across all streams.
+     */
+    public int getConnectionCount() {
+        return kitchenSubscribers.size() + orderSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void destroy() {
+        kitchenSubscribers.forEach(SseSubscriber::close);
+        orderSubscribers.values().forEach(subscriptions -> subscriptions.forEach(
+                subscription -> subscription.subscriber.close()));
+        executor.shutdown();
+    }
+
+    private void notifyOrderSubscribers(OrderResponse order) {
+        Set<OrderSubscription> subscriptions = orderSubscribers.get(order.orderCode());
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> subscription.changed(order));
+        }
+    }
+
+    private SseSubscriber newSubscriber() {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        return new SseSubscriber(emitter, properties.queueCapacity(), executor);
+    }
+
+    private void heartbeat(SseSubscriber subscriber) {
+        subscriber.offerIfIdle(SseEmitter.event().comment("heartbeat"));
+    }
+
+    private static SseEmitter.SseEventBuilder orderEvent(OrderResponse order) {
+        return SseEmitter.event()
+                .id(eventId(order))
+                .name(ORDER_EVENT)
+                .data(order, MediaType.APPLICATION_JSON);
+    }
+
+    // Same shape as the ETag of the order, so clients can tell which revision they already have
+    private static String eventId(OrderResponse order) {
+        return order.orderCode() + "-" + order.version();
+    }
+
+    /**
+     * The stream of one order, which sends every revision at most once and in increasing version order.
+     */
+    private final class OrderSubscription {
+
+        private final SseSubscriber subscriber;
+        // Changes received before the current state was sent; null once it has been
+        private List<OrderResponse> heldBack = new ArrayList<>();
+        private long sentVersion = -1;
+
+        OrderSubscription(SseSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        synchronized void start(OrderResponse current) {
+            List<OrderResponse> received = heldBack;
+            heldBack = null;
+            send(current);
+            received.forEach(this::send);
+        }
+
+        synchronized void changed(OrderResponse order) {
+            if (heldBack != null) {
+                heldBack.add(order);
+            } else {
+                send(order);
+            }
+        }
+
+        private void send(OrderResponse order) {
+            if (order.version() != null) {
+                if (order.version() <= sentVersion) {
+                    return;
+                }
+                sentVersion = order.version();
+            }
+            subscriber.offer(orderEvent(order));
+            if (statusValidator.isFinal(order.status())) {
+                subscriber.completeAfterPending();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.awesomepizza.order.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection with its own bounded event queue.
+ * Publishers only enqueue, which never blocks; a single drain task at a time writes the queue to
+ * the client on the stream executor. A client that falls so far behind that its queue is full is
+ * disconnected instead of slowing down the publishers or buffering without bound.
+ */
+@Slf4j
+final class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEventBuilder> queue;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean completeWhenDrained;
+    private volatile Runnable onClose = () -> { };
+
+    SseSubscriber(SseEmitter emitter, int queueCapacity, Executor executor) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = executor;
+        emitter.onCompletion(this::markClosed);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    void onClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Queues an event for this client.
+     *
+     * @param event The event to send.
+     * @return false if the client is gone or too slow; a slow client is disconnected.
+     */
+    boolean offer(SseEventBuilder event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            log.warn("SSE client is not keeping up, closing the connection");
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Queues an event only if there is room for it, without penalizing the client otherwise.
+     * Used for heartbeats, which are pointless on a connection that already has events pending.
+     */
+    void offerIfIdle(SseEventBuilder event) {
+        if (!closed.get() && queue.isEmpty() && queue.offer(event)) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Ends the stream once the events already queued have been sent.
+     */
+    void completeAfterPending() {
+        completeWhenDrained = true;
+        scheduleDrain();
+    }
+
+    void close() {
+        if (markClosed()) {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("SSE connection already completed", e);
+            }
+        }
+    }
+
+    private boolean markClosed() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            onClose.run();
+            return true;
+        }
+        return false;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEventBuilder event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                emitter.send(event);
+            }
+            if (completeWhenDrained && queue.isEmpty()) {
+                close();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE client disconnected: {}", e.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // An event may have been queued after the loop ended but before the flag was reset
+        if (!closed.get() && (!queue.isEmpty() || completeWhenDrained)) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Migration 002: indice per la paginazione keyset dello storico ordini su (created_at, id)
+
+DROP INDEX IF EXISTS idx_orders_created_at;
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders(created_at, id);
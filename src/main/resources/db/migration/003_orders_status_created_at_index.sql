@@ -0,0 +1,5 @@
+-- Migration 003: indice composito per la presa in carico atomica del prossimo ordine PENDING
+-- (SELECT ... WHERE status = ? ORDER BY created_at, id FOR UPDATE SKIP LOCKED LIMIT 1)
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at ON orders(status, created_at, id);
+DROP INDEX IF EXISTS idx_orders_status;
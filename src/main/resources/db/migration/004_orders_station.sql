@@ -0,0 +1,5 @@
+-- Migration 004: postazione della cucina che prende in carico l'ordine
+-- Gli ordini già IN_PREPARATION senza postazione vengono conteggiati sulla prima postazione configurata all'avvio.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS station VARCHAR(50);
+COMMENT ON COLUMN orders.station IS 'Postazione della cucina che ha preso in carico l''ordine (NULL finché è PENDING)';
@@ -0,0 +1,5 @@
+-- Migration 005: sequenza dei blocchi di codici ordine
+-- Ogni istanza dell'applicazione riserva un blocco di app.order-codes.block-size codici per ogni valore della sequenza.
+
+CREATE SEQUENCE IF NOT EXISTS order_code_block_seq;
+COMMENT ON SEQUENCE order_code_block_seq IS 'Blocchi di codici ordine riservati dalle istanze dell''applicazione';
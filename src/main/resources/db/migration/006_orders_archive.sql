@@ -0,0 +1,31 @@
+-- Migration 006: archivio degli ordini conclusi
+-- Gli ordini COMPLETED e CANCELED più vecchi di app.archive.min-age vengono spostati qui dall'applicazione,
+-- così le tabelle orders e order_items (e i loro indici) contengono solo gli ordini ancora di interesse per la cucina.
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id UUID PRIMARY KEY,
+    order_code VARCHAR(20) UNIQUE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    station VARCHAR(50),
+    customer_name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    delivery_address VARCHAR(200) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_items_archive_order_id ON order_items_archive(order_id);
+
+COMMENT ON TABLE orders_archive IS 'Ordini conclusi (COMPLETED, CANCELED) spostati fuori dalla tabella orders';
+COMMENT ON TABLE order_items_archive IS 'Articoli degli ordini archiviati';
+COMMENT ON COLUMN orders_archive.archived_at IS 'Momento in cui l''ordine è stato archiviato';
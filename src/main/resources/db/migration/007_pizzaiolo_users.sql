@@ -0,0 +1,14 @@
+-- Migration 007: account dei pizzaioli
+-- Sostituisce l'unico utente in memoria: le password sono salvate come hash BCrypt.
+-- Al primo avvio l'applicazione crea l'account configurato in app.security.pizzaiolo, se manca.
+
+CREATE TABLE IF NOT EXISTS pizzaiolo_users (
+    id UUID PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password_hash VARCHAR(100) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE pizzaiolo_users IS 'Pizzaioli abilitati agli endpoint della cucina';
+COMMENT ON COLUMN pizzaiolo_users.password_hash IS 'Hash BCrypt della password';
@@ -0,0 +1,31 @@
+-- Migration 008: totale e numero di pizze salvati sull'ordine
+-- Calcolati dall'applicazione a ogni modifica degli articoli, così liste e report non devono leggere order_items.
+-- Gli ordini esistenti, attivi e archiviati, vengono ricalcolati dai loro articoli.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS total_amount BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS item_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE orders_archive ADD COLUMN IF NOT EXISTS total_amount BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders_archive ADD COLUMN IF NOT EXISTS item_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE orders o
+SET total_amount = t.total_amount, item_count = t.item_count
+FROM (
+    SELECT order_id, SUM(ROUND(price * 100) * quantity)::BIGINT AS total_amount, SUM(quantity)::INTEGER AS item_count
+    FROM order_items
+    GROUP BY order_id
+) t
+WHERE o.id = t.order_id;
+
+UPDATE orders_archive o
+SET total_amount = t.total_amount, item_count = t.item_count
+FROM (
+    SELECT order_id, SUM(ROUND(price * 100) * quantity)::BIGINT AS total_amount, SUM(quantity)::INTEGER AS item_count
+    FROM order_items_archive
+    GROUP BY order_id
+) t
+WHERE o.id = t.order_id;
+
+COMMENT ON COLUMN orders.total_amount IS 'Totale dell''ordine in centesimi (somma di prezzo * quantità degli articoli)';
+COMMENT ON COLUMN orders.item_count IS 'Numero di pizze dell''ordine (somma delle quantità degli articoli)';
+COMMENT ON COLUMN orders_archive.total_amount IS 'Totale dell''ordine in centesimi';
+COMMENT ON COLUMN orders_archive.item_count IS 'Numero di pizze dell''ordine';
@@ -0,0 +1,62 @@
+-- Migration 009: statistiche di vendita pre-aggregate per ora e per giorno (UTC)
+-- Ogni riga conta gli ordini creati nell'intervallo che si trovano ora in un certo stato: per una pizza
+-- (pizza_name) oppure per l'ordine intero (pizza_name = '*'). L'applicazione riscrive le ore toccate dagli
+-- ordini pochi secondi dopo ogni commit; qui vengono calcolate per lo storico esistente, attivo e archiviato.
+
+CREATE TABLE IF NOT EXISTS sales_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    orders BIGINT NOT NULL,
+    pizzas BIGINT NOT NULL,
+    revenue BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, status, pizza_name)
+);
+
+CREATE TABLE IF NOT EXISTS sales_daily (
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    orders BIGINT NOT NULL,
+    pizzas BIGINT NOT NULL,
+    revenue BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, status, pizza_name)
+);
+
+-- Le ore degli ordini archiviati vengono ricalcolate dalla riconciliazione
+CREATE INDEX IF NOT EXISTS idx_orders_archive_created_at ON orders_archive(created_at);
+
+INSERT INTO sales_hourly (bucket_start, status, pizza_name, orders, pizzas, revenue)
+SELECT bucket_start, status, pizza_name, SUM(orders), SUM(pizzas), SUM(revenue)
+FROM (
+    SELECT date_trunc('hour', o.created_at) AS bucket_start, o.status, i.pizza_name, COUNT(DISTINCT o.id) AS orders,
+           SUM(i.quantity) AS pizzas, SUM(ROUND(i.price * 100) * i.quantity) AS revenue
+    FROM orders o JOIN order_items i ON i.order_id = o.id
+    GROUP BY 1, 2, 3
+    UNION ALL
+    SELECT date_trunc('hour', o.created_at), o.status, i.pizza_name, COUNT(DISTINCT o.id),
+           SUM(i.quantity), SUM(ROUND(i.price * 100) * i.quantity)
+    FROM orders_archive o JOIN order_items_archive i ON i.order_id = o.id
+    GROUP BY 1, 2, 3
+    UNION ALL
+    SELECT date_trunc('hour', created_at), status, '*', COUNT(*), SUM(item_count), SUM(total_amount)
+    FROM orders
+    GROUP BY 1, 2
+    UNION ALL
+    SELECT date_trunc('hour', created_at), status, '*', COUNT(*), SUM(item_count), SUM(total_amount)
+    FROM orders_archive
+    GROUP BY 1, 2
+) t
+GROUP BY bucket_start, status, pizza_name
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sales_daily (bucket_start, status, pizza_name, orders, pizzas, revenue)
+SELECT date_trunc('day', bucket_start), status, pizza_name, SUM(orders), SUM(pizzas), SUM(revenue)
+FROM sales_hourly
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+COMMENT ON TABLE sales_hourly IS 'Vendite per ora di creazione degli ordini, stato attuale e pizza (''*'' per gli ordini interi)';
+COMMENT ON TABLE sales_daily IS 'Vendite per giorno di creazione degli ordini, stato attuale e pizza (somma delle ore del giorno)';
+COMMENT ON COLUMN sales_hourly.revenue IS 'Incasso in centesimi';
+COMMENT ON COLUMN sales_daily.revenue IS 'Incasso in centesimi';
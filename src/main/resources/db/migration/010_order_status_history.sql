@@ -0,0 +1,24 @@
+-- Migration 010: storico degli stati degli ordini
+-- Una riga per ogni stato in cui entra un ordine, scritta dall'applicazione nella stessa transazione del cambio
+-- di stato; le righe non vengono mai modificate. Il tempo passato in uno stato va dalla sua riga alla riga
+-- successiva dello stesso ordine. Senza chiave esterna, così lo storico resta anche dopo l'archiviazione.
+
+CREATE TABLE IF NOT EXISTS order_status_history (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    entered_at TIMESTAMP NOT NULL
+);
+
+-- Ingressi in uno stato in un intervallo di tempo, per le statistiche sulle durate
+CREATE INDEX IF NOT EXISTS idx_order_status_history_status_entered_at ON order_status_history(status, entered_at);
+-- Ingresso successivo dello stesso ordine
+CREATE INDEX IF NOT EXISTS idx_order_status_history_order_id ON order_status_history(order_id, entered_at, id);
+
+-- Gli ordini ancora in attesa entrano nello storico dalla creazione; per gli altri l'ingresso nello stato attuale
+-- non è noto, quindi le loro durate non vengono ricostruite
+INSERT INTO order_status_history (id, order_id, status, entered_at)
+SELECT gen_random_uuid(), id, status, created_at FROM orders WHERE status = 'PENDING';
+
+COMMENT ON TABLE order_status_history IS 'Ingressi degli ordini in ogni stato, in sola aggiunta';
+COMMENT ON COLUMN order_status_history.entered_at IS 'Momento in cui l''ordine è entrato nello stato';
@@ -4,10 +4,13 @@ CREATE TABLE orders (
     id UUID PRIMARY KEY,
     order_code VARCHAR(20) UNIQUE NOT NULL,
     status VARCHAR(20) NOT NULL,
+    station VARCHAR(50),
     customer_name VARCHAR(100) NOT NULL,
     phone VARCHAR(20) NOT NULL,
     delivery_address VARCHAR(200) NOT NULL,
     created_at TIMESTAMP NOT NULL,
+    total_amount BIGINT NOT NULL DEFAULT 0,
+    item_count INTEGER NOT NULL DEFAULT 0,
     version BIGINT NOT NULL DEFAULT 0
 );
 
@@ -20,13 +23,96 @@ CREATE TABLE order_items (
     CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
 
+-- Archivio degli ordini conclusi, popolato dall'applicazione
+CREATE TABLE orders_archive (
+    id UUID PRIMARY KEY,
+    order_code VARCHAR(20) UNIQUE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    station VARCHAR(50),
+    customer_name VARCHAR(100) NOT NULL,
+    phone VARCHAR(20) NOT NULL,
+    delivery_address VARCHAR(200) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    total_amount BIGINT NOT NULL DEFAULT 0,
+    item_count INTEGER NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE order_items_archive (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    quantity INTEGER NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive(id) ON DELETE CASCADE
+);
+
+-- Account dei pizzaioli, con la password salvata come hash BCrypt
+CREATE TABLE pizzaiolo_users (
+    id UUID PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password_hash VARCHAR(100) NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Vendite pre-aggregate per ora e per giorno (UTC), per stato attuale e pizza ('*' per gli ordini interi)
+CREATE TABLE sales_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    orders BIGINT NOT NULL,
+    pizzas BIGINT NOT NULL,
+    revenue BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, status, pizza_name)
+);
+
+CREATE TABLE sales_daily (
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    pizza_name VARCHAR(100) NOT NULL,
+    orders BIGINT NOT NULL,
+    pizzas BIGINT NOT NULL,
+    revenue BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, status, pizza_name)
+);
+
+-- Ingressi degli ordini in ogni stato, in sola aggiunta e senza chiave esterna (sopravvive all'archiviazione)
+CREATE TABLE order_status_history (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    entered_at TIMESTAMP NOT NULL
+);
+
+-- Blocchi di codici ordine riservati dalle istanze dell'applicazione
+CREATE SEQUENCE order_code_block_seq;
+
 -- Indici per migliorare le performance
 CREATE INDEX idx_orders_order_code ON orders(order_code);
-CREATE INDEX idx_orders_status ON orders(status);
-CREATE INDEX idx_orders_created_at ON orders(created_at DESC);
+CREATE INDEX idx_orders_status_created_at ON orders(status, created_at, id);
+CREATE INDEX idx_orders_created_at_id ON orders(created_at, id);
 CREATE INDEX idx_order_items_order_id ON order_items(order_id);
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive(order_id);
+CREATE INDEX idx_orders_archive_created_at ON orders_archive(created_at);
+CREATE INDEX idx_order_status_history_status_entered_at ON order_status_history(status, entered_at);
+CREATE INDEX idx_order_status_history_order_id ON order_status_history(order_id, entered_at, id);
 
 -- Commenti per documentazione
 COMMENT ON TABLE orders IS 'Tabella principale degli ordini della pizzeria';
 COMMENT ON TABLE order_items IS 'Articoli (pizze) di ogni ordine';
-COMMENT ON COLUMN orders.version IS 'Campo per optimistic locking - previene conflitti di concorrenza';
\ No newline at end of file
+COMMENT ON TABLE orders_archive IS 'Ordini conclusi (COMPLETED, CANCELED) spostati fuori dalla tabella orders';
+COMMENT ON TABLE order_items_archive IS 'Articoli degli ordini archiviati';
+COMMENT ON COLUMN orders_archive.archived_at IS 'Momento in cui l''ordine è stato archiviato';
+COMMENT ON COLUMN orders.station IS 'Postazione della cucina che ha preso in carico l''ordine (NULL finché è PENDING)';
+COMMENT ON COLUMN orders.total_amount IS 'Totale dell''ordine in centesimi (somma di prezzo * quantità degli articoli)';
+COMMENT ON COLUMN orders.item_count IS 'Numero di pizze dell''ordine (somma delle quantità degli articoli)';
+COMMENT ON COLUMN orders.version IS 'Campo per optimistic locking - previene conflitti di concorrenza';
+COMMENT ON TABLE pizzaiolo_users IS 'Pizzaioli abilitati agli endpoint della cucina';
+COMMENT ON COLUMN pizzaiolo_users.password_hash IS 'Hash BCrypt della password';
+COMMENT ON TABLE sales_hourly IS 'Vendite per ora di creazione degli ordini, stato attuale e pizza (''*'' per gli ordini interi)';
+COMMENT ON TABLE sales_daily IS 'Vendite per giorno di creazione degli ordini, stato attuale e pizza (somma delle ore del giorno)';
+COMMENT ON TABLE order_status_history IS 'Ingressi degli ordini in ogni stato, in sola aggiunta';
+COMMENT ON COLUMN order_status_history.entered_at IS 'Momento in cui l''ordine è entrato nello stato';
+COMMENT ON SEQUENCE order_code_block_seq IS 'Blocchi di codici ordine riservati dalle istanze dell''applicazione';
@@ -0,0 +1,142 @@
+package com.awesomepizza.order.archive;
+
+import com.awesomepizza.order.config.ArchiveProperties;
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.ArchiveStatsResponse;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrderArchiver Unit Tests")
+class OrderArchiverTest {
+
+    private OrderRepository orderRepository;
+    private ArchivedOrderRepository archivedOrderRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        archivedOrderRepository = mock(ArchivedOrderRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+    }
+
+    private OrderArchiver archiver(int chunkSize, int maxChunksPerRun) {
+        return new OrderArchiver(orderRepository, archivedOrderRepository, new OrderStatusValidator(), transactionManager,
+            new ArchiveProperties(true, Duration.ofDays(7), chunkSize, maxChunksPerRun, Duration.ofMinutes(10)));
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+
+    @Test
+    @DisplayName("Should move finished orders chunk by chunk until a chunk comes back short")
+    void shouldMoveChunksUntilShortChunk() {
+        // Given
+        List<UUID> firstChunk = ids(3);
+        List<UUID> secondChunk = ids(1);
+        when(orderRepository.findIdsForArchiving(any(), any(), eq(Limit.of(3))))
+            .thenReturn(firstChunk)
+            .thenReturn(secondChunk);
+        when(archivedOrderRepository.copyOrderItems(firstChunk)).thenReturn(5);
+        when(archivedOrderRepository.copyOrderItems(secondChunk)).thenReturn(2);
+        when(orderRepository.deleteByIdIn(firstChunk)).thenReturn(3);
+        when(orderRepository.deleteByIdIn(secondChunk)).thenReturn(1);
+        Instant before = Instant.now();
+
+        // When
+        long moved = archiver(3, 10).archive();
+
+        // Then: items are copied after their orders, and deleted before them
+        assertThat(moved).isEqualTo(4);
+        verify(orderRepository, times(2)).findIdsForArchiving(
+            eq(EnumSet.of(OrderStatus.COMPLETED, OrderStatus.CANCELED)),
+            argThat(cutoff -> !cutoff.isAfter(before.minus(Duration.ofDays(7)).plusSeconds(1))),
+            eq(Limit.of(3)));
+        var inOrder = inOrder(archivedOrderRepository, orderRepository);
+        inOrder.verify(archivedOrderRepository).copyOrders(eq(firstChunk), any());
+        inOrder.verify(archivedOrderRepository).copyOrderItems(firstChunk);
+        inOrder.verify(orderRepository).deleteItemsByOrderIdIn(firstChunk);
+        inOrder.verify(orderRepository).deleteByIdIn(firstChunk);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should stop after the configured number of chunks and count the rows moved")
+    void shouldStopAfterMaxChunksPerRun() {
+        // Given
+        when(orderRepository.findIdsForArchiving(any(), any(), any())).thenAnswer(invocation -> ids(2));
+        when(archivedOrderRepository.copyOrderItems(anyCollection())).thenReturn(4);
+        when(orderRepository.deleteByIdIn(anyCollection())).thenReturn(2);
+        OrderArchiver archiver = archiver(2, 3);
+
+        // When
+        long moved = archiver.archive();
+
+        // Then
+        assertThat(moved).isEqualTo(6);
+        verify(orderRepository, times(3)).deleteByIdIn(anyCollection());
+        ArchiveStatsResponse stats = archiver.stats();
+        assertThat(stats.runs()).isEqualTo(1);
+        assertThat(stats.archivedOrders()).isEqualTo(6);
+        assertThat(stats.archivedItems()).isEqualTo(12);
+        assertThat(stats.lastRunArchivedOrders()).isEqualTo(6);
+        assertThat(stats.lastRunAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not touch the archive when no order is old enough")
+    void shouldDoNothingWhenNoOrderIsArchivable() {
+        // Given
+        when(orderRepository.findIdsForArchiving(any(), any(), any())).thenReturn(List.of());
+
+        // When
+        long moved = archiver(500, 20).archive();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(archivedOrderRepository);
+        verify(orderRepository, never()).deleteByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should roll back a failed chunk, count it and end the run")
+    void shouldRollBackFailedChunkAndEndRun() {
+        // Given
+        when(orderRepository.findIdsForArchiving(any(), any(), any())).thenAnswer(invocation -> ids(2));
+        when(archivedOrderRepository.copyOrders(anyCollection(), any()))
+            .thenThrow(new CannotAcquireLockException("lock timeout"));
+        OrderArchiver archiver = archiver(2, 20);
+
+        // When
+        long moved = archiver.archive();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(transactionManager, times(1)).rollback(any());
+        verify(orderRepository, never()).deleteByIdIn(anyCollection());
+        assertThat(archiver.stats().failedChunks()).isEqualTo(1);
+        assertThat(archiver.stats().runs()).isEqualTo(1);
+    }
+}
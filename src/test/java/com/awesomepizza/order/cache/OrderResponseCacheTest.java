@@ -0,0 +1,228 @@
+package com.awesomepizza.order.cache;
+
+import com.awesomepizza.order.config.OrderCacheProperties;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.CacheStatsResponse;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderResponseCache Unit Tests")
+class OrderResponseCacheTest {
+
+    private OrderResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OrderResponseCache(new OrderCacheProperties(100L, Duration.ofMinutes(1)));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load an order once and serve it from the cache afterwards")
+    void shouldLoadOnceAndServeFromCache() {
+        // When
+        Optional<OrderResponse> first = cache.get("ORD-1", () -> load("ORD-1"));
+        Optional<OrderResponse> second = cache.get("ORD-1", () -> load("ORD-1"));
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        assertThat(loads).hasValue(1);
+
+        CacheStatsResponse stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache orders that do not exist")
+    void shouldNotCacheMissingOrders() {
+        // When
+        Optional<OrderResponse> first = cache.get("ORD-NOTEXIST", this::missing);
+        Optional<OrderResponse> second = cache.get("ORD-NOTEXIST", this::missing);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reload an order bypassing the cache and replace the cached copy")
+    void shouldReloadAndReplaceCachedCopy() {
+        // Given
+        Optional<OrderResponse> cached = cache.get("ORD-1", () -> load("ORD-1"));
+
+        // When
+        Optional<OrderResponse> reloaded = cache.reload("ORD-1", () -> load("ORD-1"));
+        Optional<OrderResponse> afterwards = cache.get("ORD-1", () -> load("ORD-1"));
+
+        // Then
+        assertThat(reloaded).isPresent();
+        assertThat(reloaded.get()).isNotSameAs(cached.get());
+        assertThat(afterwards).containsSame(reloaded.get());
+        assertThat(loads).hasValue(2);
+
+        // And a reload of an order that no longer exists drops it
+        assertThat(cache.reload("ORD-1", this::missing)).isEmpty();
+        assertThat(cache.getIfPresent("ORD-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict immediately when no transaction is active")
+    void shouldEvictImmediatelyWithoutTransaction() {
+        // Given
+        cache.get("ORD-1", () -> load("ORD-1"));
+
+        // When
+        cache.evict("ORD-1");
+        cache.get("ORD-1", () -> load("ORD-1"));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit an entry reloaded during the transaction")
+    void shouldEvictAgainAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cache.get("ORD-1", () -> load("ORD-1"));
+        cache.evict("ORD-1");
+        // A concurrent reader reloads the old state before the writer commits
+        cache.get("ORD-1", () -> load("ORD-1"));
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get("ORD-1", () -> load("ORD-1"));
+
+        // Then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should let concurrent lookups wait for the load in flight instead of loading again")
+    void shouldShareLoadInFlight() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Optional<OrderResponse>> first = executor.submit(() -> cache.get("ORD-1", () -> {
+            loading.countDown();
+            await(release);
+            return load("ORD-1");
+        }));
+        loading.await();
+
+        // When
+        Future<Optional<OrderResponse>> second = executor.submit(() -> cache.get("ORD-1", () -> load("ORD-1")));
+        release.countDown();
+
+        // Then
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsSame(first.get(5, TimeUnit.SECONDS).get());
+        assertThat(loads).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should drop the result of a load in flight when the order is evicted")
+    void shouldDropLoadInFlightOnEvict() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Optional<OrderResponse>> stale = executor.submit(() -> cache.get("ORD-1", () -> {
+            loading.countDown();
+            await(release);
+            return load("ORD-1");
+        }));
+        loading.await();
+
+        // When
+        cache.evict("ORD-1");
+        release.countDown();
+
+        // Then
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(cache.getIfPresent("ORD-1")).isEmpty();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed load and not cache it")
+    void shouldPropagateFailedLoad() {
+        // When / Then
+        assertThatThrownBy(() -> cache.get("ORD-1", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+        assertThat(cache.get("ORD-1", () -> load("ORD-1"))).isPresent();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should evict least used entries beyond the maximum size")
+    void shouldEvictBeyondMaximumSize() {
+        // Given
+        OrderResponseCache small = new OrderResponseCache(new OrderCacheProperties(2L, Duration.ofMinutes(1)));
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            String code = "ORD-" + i;
+            small.get(code, () -> load(code));
+        }
+
+        // Then
+        CacheStatsResponse stats = small.stats();
+        assertThat(stats.loadCount()).isEqualTo(50);
+        assertThat(stats.size()).isLessThanOrEqualTo(2);
+        assertThat(stats.evictionCount()).isGreaterThanOrEqualTo(48);
+    }
+
+    private Optional<OrderResponse> load(String orderCode) {
+        loads.incrementAndGet();
+        return Optional.of(new OrderResponse(UUID.randomUUID(), orderCode, OrderStatus.PENDING, null,
+                "Mario Rossi", "+393331234567", "Via Roma 1, Milano", Instant.now(), 0L, 0, 0L, List.of()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<OrderResponse> missing() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,56 @@
+package com.awesomepizza.order.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Starts the application on random ports, with the actuator on its own management port as in production.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "management.server.port=0",
+    "management.endpoints.web.exposure.include=health,prometheus",
+    // Metrics export is turned off in tests by default
+    "management.prometheus.metrics.export.enabled=true"})
+@DisplayName("Management port security Tests")
+class ManagementPortSecurityTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should serve the health and Prometheus endpoints without credentials on the management port only")
+    void shouldServeActuatorOnManagementPortOnly() throws IOException, InterruptedException {
+        // When
+        HttpResponse<String> prometheus = get(managementPort, "/actuator/prometheus");
+        HttpResponse<String> health = get(managementPort, "/actuator/health");
+        HttpResponse<String> publicPrometheus = get(serverPort, "/actuator/prometheus");
+
+        // Then
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        assertThat(prometheus.statusCode()).isEqualTo(200);
+        assertThat(prometheus.body()).contains("orders_active", "db_connections_guard_available");
+        assertThat(health.statusCode()).isEqualTo(200);
+        assertThat(publicPrometheus.statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderItemResponse;
+import com.awesomepizza.order.dto.OrderResponse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderCsv Unit Tests")
+class OrderCsvTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-02T10:00:00Z");
+
+    @Test
+    @DisplayName("Should write one line per item with the order columns repeated")
+    void shouldWriteOneLinePerItem() {
+        // Given
+        OrderResponse order = order("Mario Rossi", List.of(
+            new OrderItemResponse(UUID.randomUUID(), "Margherita", 2, new BigDecimal("8.50")),
+            new OrderItemResponse(UUID.randomUUID(), "Diavola", 1, new BigDecimal("9.00"))));
+
+        // When
+        String lines = OrderCsv.lines(order);
+
+        // Then
+        assertThat(lines).isEqualTo(
+            "ORD-TEST123,PENDING,,Mario Rossi,3331234567,Via Roma 1,2026-01-02T10:00:00Z,26.00,3,Margherita,2,8.50\r\n"
+                + "ORD-TEST123,PENDING,,Mario Rossi,3331234567,Via Roma 1,2026-01-02T10:00:00Z,26.00,3,Diavola,1,9.00\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write a single line with empty item columns for an order without items")
+    void shouldWriteOrderWithoutItems() {
+        // When & Then
+        assertThat(OrderCsv.lines(order("Mario Rossi", List.of())))
+            .isEqualTo("ORD-TEST123,PENDING,,Mario Rossi,3331234567,Via Roma 1,2026-01-02T10:00:00Z,26.00,3,,,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should quote separators and neutralize formulas")
+    void shouldEscapeFields() {
+        // When & Then
+        assertThat(OrderCsv.field("Rossi, Mario")).isEqualTo("\"Rossi, Mario\"");
+        assertThat(OrderCsv.field("The \"Boss\"")).isEqualTo("\"The \"\"Boss\"\"\"");
+        assertThat(OrderCsv.field("=SUM(A1:A9)")).isEqualTo("'=SUM(A1:A9)");
+        assertThat(OrderCsv.field(null)).isEmpty();
+    }
+
+    private static OrderResponse order(String customerName, List<OrderItemResponse> items) {
+        return new OrderResponse(UUID.randomUUID(), "ORD-TEST123", OrderStatus.PENDING, null, customerName,
+            "3331234567", "Via Roma 1", CREATED_AT, 2600L, 3, 0L, items);
+    }
+}
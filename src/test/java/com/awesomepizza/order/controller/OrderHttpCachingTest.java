@@ -0,0 +1,60 @@
+package com.awesomepizza.order.controller;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderRevision;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderHttpCaching Unit Tests")
+class OrderHttpCachingTest {
+
+    private OrderHttpCaching httpCaching;
+    private OrderRevision revision;
+
+    @BeforeEach
+    void setUp() {
+        httpCaching = new OrderHttpCaching(new OrderStatusValidator());
+        revision = new OrderRevision("ORD-TEST123", OrderStatus.PENDING, 3L);
+    }
+
+    @Test
+    @DisplayName("Should derive a strong entity tag from order code and version")
+    void shouldDeriveStrongEntityTag() {
+        // When & Then
+        assertThat(httpCaching.etag("ORD-TEST123", 3L)).isEqualTo("\"ORD-TEST123-3\"");
+    }
+
+    @Test
+    @DisplayName("Should report not modified when the client holds the current revision")
+    void shouldReportNotModifiedForCurrentRevision() {
+        // When & Then
+        assertThat(httpCaching.isNotModified("\"ORD-TEST123-3\"", revision)).isTrue();
+        assertThat(httpCaching.isNotModified("\"ORD-TEST123-1\", W/\"ORD-TEST123-3\"", revision)).isTrue();
+        assertThat(httpCaching.isNotModified("*", revision)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report modified when the client holds an older revision")
+    void shouldReportModifiedForOlderRevision() {
+        // When & Then
+        assertThat(httpCaching.isNotModified("\"ORD-TEST123-2\"", revision)).isFalse();
+        assertThat(httpCaching.isNotModified("\"ORD-OTHER-3\"", revision)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let final orders be cached for long and live orders only with revalidation")
+    void shouldChooseCacheControlByStatus() {
+        // When & Then
+        assertThat(httpCaching.cacheControl(OrderStatus.COMPLETED).getHeaderValue())
+            .contains("max-age=31536000", "public", "immutable");
+        assertThat(httpCaching.cacheControl(OrderStatus.CANCELED).getHeaderValue())
+            .contains("immutable");
+        assertThat(httpCaching.cacheControl(OrderStatus.READY).getHeaderValue())
+            .isEqualTo("no-cache");
+    }
+}
@@ -0,0 +1,127 @@
+package com.awesomepizza.order.datasource;
+
+import com.awesomepizza.order.config.ConnectionGuardProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConnectionGuard Unit Tests")
+class ConnectionGuardTest {
+
+    private DataSource pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    private ConnectionGuard guard(int maxConnections, int maxWaiters, Duration acquireTimeout) {
+        return new ConnectionGuard(pool, maxConnections, new ConnectionGuardProperties(true, maxWaiters, acquireTimeout));
+    }
+
+    @Test
+    @DisplayName("Should hand out one connection per permit and take the permit back on close")
+    void shouldReleasePermitOnClose() throws SQLException {
+        // Given
+        ConnectionGuard guard = guard(2, 0, Duration.ZERO);
+
+        // When
+        Connection first = guard.getConnection();
+        Connection second = guard.getConnection();
+
+        // Then
+        assertThat(guard.availableConnections()).isZero();
+        first.close();
+        first.close();
+        assertThat(guard.availableConnections()).isEqualTo(1);
+        second.close();
+        assertThat(guard.availableConnections()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refuse callers at once when too many are already waiting")
+    void shouldRefuseBeyondMaxWaiters() throws SQLException {
+        // Given
+        ConnectionGuard guard = guard(1, 0, Duration.ofMinutes(1));
+        guard.getConnection();
+
+        // When / Then
+        assertThatThrownBy(guard::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("0 callers already waiting");
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should give up waiting after the acquire timeout")
+    void shouldTimeOutWaiting() throws SQLException {
+        // Given
+        ConnectionGuard guard = guard(1, 10, Duration.ofMillis(50));
+        guard.getConnection();
+
+        // When / Then
+        assertThatThrownBy(guard::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("not available within 50 ms");
+        assertThat(guard.waitingCallers()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand a returned connection to a waiting caller")
+    void shouldServeWaitingCaller() throws Exception {
+        // Given
+        ConnectionGuard guard = guard(1, 10, Duration.ofSeconds(10));
+        Connection held = guard.getConnection();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Connection> waiting = executor.submit(() -> guard.getConnection());
+        while (guard.waitingCallers() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        held.close();
+
+        // Then
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(guard.waitingCallers()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should take the permit back when the pool fails to open a connection")
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        // Given
+        ConnectionGuard guard = guard(1, 0, Duration.ZERO);
+        when(pool.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // When / Then
+        assertThatThrownBy(guard::getConnection).hasMessage("connection refused");
+        assertThat(guard.availableConnections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should unwrap to the pool")
+    void shouldUnwrapToPool() throws SQLException {
+        // Given
+        ConnectionGuard guard = guard(1, 0, Duration.ZERO);
+
+        // When / Then
+        assertThat(guard.isWrapperFor(DataSource.class)).isTrue();
+        assertThat(guard.unwrap(DataSource.class)).isSameAs(pool);
+    }
+}
@@ -0,0 +1,228 @@
+package com.awesomepizza.order.datasource;
+
+import com.awesomepizza.order.config.ReplicaProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs against two in-memory H2 databases standing in for the primary and a replica. They do not replicate, so the
+ * rows a query returns tell which of the two served it.
+ */
+@DisplayName("ReplicaRouting Unit Tests")
+class ReplicaRoutingTest {
+
+    private ReplicaRouting routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    private static DataSource database(String name, String origin) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origin (name VARCHAR(20))");
+        jdbc.update("INSERT INTO origin VALUES (?)", origin);
+        return dataSource;
+    }
+
+    private void setUp(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        setUp(primary, replicas, maxLag, new ReplicationClock.LagClock(maxLag));
+    }
+
+    private void setUp(DataSource primary, List<DataSource> replicas, Duration maxLag, ReplicationClock clock) {
+        routing = new ReplicaRouting(new ReplicaProperties(List.of("unused"), null, null, maxLag,
+            "replica-routing-test-token-secret-0123456789"));
+        DataSource routed = routing.route(primary, replicas, clock);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routed);
+        transactionManager.addListener(routing);
+        jdbc = new JdbcTemplate(routed);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @BeforeEach
+    void createDatabases() {
+        setUp(database("primary", "primary"), List.of(database("replica", "replica")), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void dropDatabases() {
+        RequestContextHolder.resetRequestAttributes();
+        for (String name : List.of("primary", "replica")) {
+            new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name, "sa", "")).execute("SHUTDOWN");
+        }
+    }
+
+    private String origin(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private MockHttpServletResponse startRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (token != null) {
+            request.addHeader(ReplicaRouting.TOKEN_HEADER, token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the others to the primary")
+    void shouldRouteByTransactionKind() {
+        // When & Then
+        assertThat(origin(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(origin(writeTransaction)).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM origin", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should return a consistency token after a write and read the request's own writes from the primary")
+    void shouldReadOwnWritesWithinRequest() {
+        // Given
+        MockHttpServletResponse response = startRequest(null);
+
+        // When
+        writeTransaction.executeWithoutResult(status -> jdbc.update("UPDATE origin SET name = 'written'"));
+
+        // Then
+        assertThat(response.getHeader(ReplicaRouting.TOKEN_HEADER)).isNotBlank();
+        assertThat(routing.isReadingOwnWrites()).isTrue();
+        assertThat(origin(readOnlyTransaction)).isEqualTo("written");
+    }
+
+    @Test
+    @DisplayName("Should serve a request carrying a recent token from the primary until the replica catches up")
+    void shouldHonourTokenOfPreviousRequest() {
+        // Given
+        MockHttpServletResponse writeResponse = startRequest(null);
+        writeTransaction.executeWithoutResult(status -> jdbc.update("UPDATE origin SET name = 'written'"));
+        String token = writeResponse.getHeader(ReplicaRouting.TOKEN_HEADER);
+
+        // When
+        startRequest(token);
+        String withToken = origin(readOnlyTransaction);
+        startRequest(null);
+        String withoutToken = origin(readOnlyTransaction);
+        startRequest(routing.token(System.currentTimeMillis() - Duration.ofHours(1).toMillis()));
+        String withOldToken = origin(readOnlyTransaction);
+
+        // Then
+        assertThat(withToken).isEqualTo("written");
+        assertThat(withoutToken).isEqualTo("replica");
+        assertThat(withOldToken).isEqualTo("replica");
+        assertThat(routing.isReadingOwnWrites()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore a malformed token")
+    void shouldIgnoreMalformedToken() {
+        // Given
+        startRequest("not-a-token");
+
+        // When & Then
+        assertThat(origin(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(routing.isReadingOwnWrites()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore a token that is unsigned or carries a wrong signature")
+    void shouldIgnoreForgedToken() {
+        // Given
+        ReplicaRouting otherKey = new ReplicaRouting(new ReplicaProperties(List.of("unused"), null, null, null,
+            "another-replica-routing-test-token-secret"));
+        String forged = otherKey.token(Long.MAX_VALUE);
+
+        // When & Then
+        startRequest(Long.toHexString(Long.MAX_VALUE));
+        assertThat(origin(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(routing.isReadingOwnWrites()).isFalse();
+        startRequest(forged);
+        assertThat(origin(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(routing.isReadingOwnWrites()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read the write position on the connection of the committed transaction")
+    void shouldReadWritePositionOnTransactionConnection() {
+        // Given: a clock reading the row count, as a position only visible once the write has committed
+        AtomicInteger connections = new AtomicInteger();
+        DataSource primary = new DelegatingDataSource(new DriverManagerDataSource("jdbc:h2:mem:primary", "sa", "")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connections.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        ReplicationClock clock = new ReplicationClock() {
+            @Override
+            public long writePosition(Connection connection) throws SQLException {
+                try (Statement statement = connection.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM origin")) {
+                    result.next();
+                    return result.getLong(1);
+                }
+            }
+
+            @Override
+            public long replayedPosition(Connection replica) {
+                return 0;
+            }
+        };
+        setUp(primary, List.of(new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", "")), Duration.ofMinutes(1), clock);
+        // The proxy reads the connection defaults once, on first use
+        origin(writeTransaction);
+        connections.set(0);
+        MockHttpServletResponse response = startRequest(null);
+
+        // When
+        writeTransaction.executeWithoutResult(status -> jdbc.update("INSERT INTO origin VALUES ('written')"));
+
+        // Then: no second connection was taken from the primary
+        assertThat(response.getHeader(ReplicaRouting.TOKEN_HEADER)).isEqualTo(routing.token(2));
+        assertThat(connections).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when no replica can be reached")
+    void shouldFallBackToPrimaryWhenReplicaUnavailable() {
+        // Given
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        setUp(new DriverManagerDataSource("jdbc:h2:mem:primary", "sa", ""), List.of(unreachable), Duration.ofMinutes(1));
+
+        // When & Then
+        assertThat(origin(readOnlyTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should parse PostgreSQL log sequence numbers into comparable positions")
+    void shouldParseLogSequenceNumbers() {
+        // When & Then
+        assertThat(ReplicationClock.WalClock.parseLsn("0/16B3748")).isEqualTo(0x16B3748L);
+        assertThat(ReplicationClock.WalClock.parseLsn("16/B374D848")).isEqualTo(0x16_B374D848L);
+        assertThat(ReplicationClock.WalClock.parseLsn("1/0")).isGreaterThan(ReplicationClock.WalClock.parseLsn("0/FFFFFFFF"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.awesomepizza.order.diagnostics;
+
+import com.awesomepizza.order.config.VirtualThreadProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a virtual thread blocking inside a synchronized section at its application frame and publish the count")
+    void shouldReportPinnedVirtualThread() throws InterruptedException {
+        // Given
+        monitor = new VirtualThreadPinningMonitor(new VirtualThreadProperties(Duration.ofMillis(5)), registry);
+
+        // When
+        Thread.ofVirtual().start(this::sleepWhileLocked).join();
+
+        // Then: events are delivered when the recording is flushed, about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (monitor.pinnings().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        Map<String, Long> pinnings = monitor.pinnings();
+        assertThat(pinnings).hasSize(1);
+        Map.Entry<String, Long> pinning = pinnings.entrySet().iterator().next();
+        assertThat(pinning.getKey()).startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileLocked:");
+        assertThat(pinning.getValue()).isEqualTo(1);
+        assertThat(registry.get(VirtualThreadPinningMonitor.PINNED_METRIC).tag("site", pinning.getKey())
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    private void sleepWhileLocked() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.awesomepizza.order.domain;
 import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.enums.TransitionRejection;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -8,7 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -130,6 +135,88 @@ class OrderStatusValidatorTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    @DisplayName("Should list the statuses an order can reach the target status from")
+    void shouldListAllowedPredecessors() {
+        // When & Then
+        assertThat(validator.allowedPredecessors(OrderStatus.IN_PREPARATION)).containsExactly(OrderStatus.PENDING);
+        assertThat(validator.allowedPredecessors(OrderStatus.READY)).containsExactly(OrderStatus.IN_PREPARATION);
+        assertThat(validator.allowedPredecessors(OrderStatus.COMPLETED)).containsExactly(OrderStatus.READY);
+        assertThat(validator.allowedPredecessors(OrderStatus.CANCELED))
+            .containsExactlyInAnyOrder(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+        assertThat(validator.allowedPredecessors(OrderStatus.PENDING)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw exception when target status of predecessors lookup is null")
+    void shouldThrowExceptionWhenPredecessorsTargetIsNull() {
+        // When & Then
+        assertThatThrownBy(() -> validator.allowedPredecessors(null))
+            .isInstanceOf(InvalidOrderStatusException.class)
+            .hasMessageContaining("cannot be null");
+    }
+
+    @Test
+    @DisplayName("Should expose takeable and customer-cancelable statuses consistently with the single-status checks")
+    void shouldExposeTakeableAndCancelableStatuses() {
+        // When & Then
+        assertThat(validator.takeableStatuses()).containsExactly(OrderStatus.PENDING);
+        assertThat(validator.cancelableByCustomerStatuses()).containsExactly(OrderStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should expose the final statuses consistently with isFinal")
+    void shouldExposeFinalStatuses() {
+        // When & Then
+        assertThat(validator.finalStatuses()).containsExactlyInAnyOrder(OrderStatus.COMPLETED, OrderStatus.CANCELED);
+    }
+
+    @Test
+    @DisplayName("Should report each rejected transition with its reason before throwing")
+    void shouldReportRejectedTransitions() {
+        // Given
+        List<String> rejections = new ArrayList<>();
+        TransitionRejectionListener listener = (from, to, reason) -> rejections.add(from + "->" + to + ":" + reason);
+        validator = new OrderStatusValidator(
+            new StaticListableBeanFactory(Map.of("listener", listener)).getBeanProvider(TransitionRejectionListener.class));
+
+        // When
+        validator.validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
+        Stream.of(
+            new OrderStatus[]{OrderStatus.PENDING, null},
+            new OrderStatus[]{OrderStatus.COMPLETED, OrderStatus.PENDING},
+            new OrderStatus[]{OrderStatus.PENDING, OrderStatus.READY}
+        ).forEach(transition -> assertThatThrownBy(() -> validator.validateTransition(transition[0], transition[1]))
+            .isInstanceOf(InvalidOrderStatusException.class));
+
+        // Then
+        assertThat(rejections).containsExactly(
+            "PENDING->null:" + TransitionRejection.MISSING_STATUS,
+            "COMPLETED->PENDING:" + TransitionRejection.FINAL_STATUS,
+            "PENDING->READY:" + TransitionRejection.NOT_ALLOWED);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideFinalStatuses")
+    @DisplayName("Should correctly identify final statuses")
+    void shouldCorrectlyIdentifyFinalStatuses(OrderStatus status, boolean expected) {
+        // When
+        boolean result = validator.isFinal(status);
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> provideFinalStatuses() {
+        return Stream.of(
+            Arguments.of(OrderStatus.PENDING, false),
+            Arguments.of(OrderStatus.IN_PREPARATION, false),
+            Arguments.of(OrderStatus.READY, false),
+            Arguments.of(OrderStatus.COMPLETED, true),
+            Arguments.of(OrderStatus.CANCELED, true)
+        );
+    }
+
     private static Stream<Arguments> provideStatusesForCustomerModification() {
         return Stream.of(
             Arguments.of(OrderStatus.PENDING, true),
@@ -0,0 +1,86 @@
+package com.awesomepizza.order.domain.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UuidV7 Unit Tests")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs carrying the current time")
+    void shouldGenerateVersion7UuidsWithCurrentTime() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing UUIDs, also in their byte order")
+    void shouldGenerateStrictlyIncreasingUuids() {
+        // When
+        List<UUID> uuids = IntStream.range(0, 100_000).mapToObj(i -> UuidV7.next()).toList();
+
+        // Then: the database compares UUIDs as unsigned bytes, which is what the string form shows
+        List<String> strings = uuids.stream().map(UUID::toString).toList();
+        assertThat(strings).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should generate distinct UUIDs from concurrent threads")
+    void shouldGenerateDistinctUuidsConcurrently() throws InterruptedException {
+        // Given
+        ConcurrentLinkedQueue<UUID> uuids = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    uuids.add(UuidV7.next());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(uuids).hasSize(80_000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should keep increasing when the clock goes back or the counter overflows")
+    void shouldKeepIncreasingWhenClockGoesBack() {
+        // Given
+        long millis = 1_700_000_000_000L;
+        long state = UuidV7.nextState(0, millis);
+
+        // When: the clock goes back one second, then the counter runs through more than a millisecond
+        List<String> uuids = new ArrayList<>();
+        long next = UuidV7.nextState(state, millis - 1_000);
+        for (int i = 0; i < 5_000; i++) {
+            uuids.add(UuidV7.of(next, 0).toString());
+            next = UuidV7.nextState(next, millis);
+        }
+
+        // Then
+        assertThat(next).isGreaterThan(state);
+        assertThat(uuids).isSorted();
+        assertThat(UuidV7.timestamp(UuidV7.of(next, 0))).isGreaterThan(millis);
+    }
+}
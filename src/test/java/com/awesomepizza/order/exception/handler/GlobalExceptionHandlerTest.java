@@ -1,8 +1,12 @@
 package com.awesomepizza.order.exception.handler;
 
+import com.awesomepizza.order.exception.InvalidCursorException;
+import com.awesomepizza.order.exception.InvalidExportFilterException;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
+import com.awesomepizza.order.exception.InvalidStatsRangeException;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.exception.UnknownKitchenStationException;
 
 import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +82,62 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should handle InvalidCursorException and return 400")
+    void shouldHandleInvalidCursorException() {
+        // Given
+        InvalidCursorException exception = new InvalidCursorException("Invalid pagination cursor.");
+
+        // When
+        ResponseEntity<?> response = exceptionHandler.handleInvalidCursorException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should handle InvalidExportFilterException and return 400")
+    void shouldHandleInvalidExportFilterException() {
+        // Given
+        InvalidExportFilterException exception = new InvalidExportFilterException("The export period cannot end before it starts.");
+
+        // When
+        ResponseEntity<?> response = exceptionHandler.handleInvalidExportFilterException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should handle InvalidStatsRangeException and return 400")
+    void shouldHandleInvalidStatsRangeException() {
+        // Given
+        InvalidStatsRangeException exception = new InvalidStatsRangeException("The stats range cannot end before it starts.");
+
+        // When
+        ResponseEntity<?> response = exceptionHandler.handleInvalidStatsRangeException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should handle UnknownKitchenStationException and return 400")
+    void shouldHandleUnknownKitchenStationException() {
+        // Given
+        UnknownKitchenStationException exception = new UnknownKitchenStationException("Unknown kitchen station: oven-9");
+
+        // When
+        ResponseEntity<?> response = exceptionHandler.handleUnknownKitchenStationException(exception, webRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+    }
+
     @Test
     @DisplayName("Should handle OptimisticLockException and return 409 CONFLICT")
     void shouldHandleOptimisticLockException() {
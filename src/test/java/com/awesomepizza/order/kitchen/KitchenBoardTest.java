@@ -0,0 +1,222 @@
+package com.awesomepizza.order.kitchen;
+
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.QueuePositionResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitchenBoard Unit Tests")
+class KitchenBoardTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private OrderRepository orderRepository;
+    private OrderMapper orderMapper;
+    private KitchenBoard board;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderMapper = mock(OrderMapper.class);
+        board = new KitchenBoard(orderRepository, orderMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load pending and in-preparation orders from the database at startup")
+    void shouldLoadBoardFromDatabase() {
+        // Given
+        Order pendingEntity = new Order();
+        Order preparingEntity = new Order();
+        OrderResponse pending = order("ORD-1", OrderStatus.PENDING, 0, 1L);
+        OrderResponse preparing = order("ORD-2", OrderStatus.IN_PREPARATION, 0, 1L);
+        when(orderRepository.findWithItemsByStatusOrderByCreatedAtAsc(OrderStatus.PENDING)).thenReturn(List.of(pendingEntity));
+        when(orderRepository.findWithItemsByStatusOrderByCreatedAtAsc(OrderStatus.IN_PREPARATION)).thenReturn(List.of(preparingEntity));
+        when(orderMapper.toResponse(pendingEntity)).thenReturn(pending);
+        when(orderMapper.toResponse(preparingEntity)).thenReturn(preparing);
+
+        // When
+        board.afterSingletonsInstantiated();
+
+        // Then
+        assertThat(board.pendingOrders()).containsExactly(pending);
+        assertThat(board.inPreparationOrders()).containsExactly(preparing);
+    }
+
+    @Test
+    @DisplayName("Should keep pending orders sorted by creation date whatever the order of the events")
+    void shouldKeepPendingOrdersSortedByCreationDate() {
+        // Given
+        OrderResponse newest = order("ORD-3", OrderStatus.PENDING, 30, 0L);
+        OrderResponse oldest = order("ORD-1", OrderStatus.PENDING, 10, 0L);
+        OrderResponse middle = order("ORD-2", OrderStatus.PENDING, 20, 0L);
+
+        // When
+        board.onOrderChanged(new OrderChangedEvent(newest, null));
+        board.onOrderChanged(new OrderChangedEvent(oldest, null));
+        board.onOrderChanged(new OrderChangedEvent(middle, null));
+
+        // Then
+        assertThat(board.pendingOrders()).containsExactly(oldest, middle, newest);
+    }
+
+    @Test
+    @DisplayName("Should move orders across the board as their status changes, and drop them once done")
+    void shouldMoveOrdersAcrossTheBoard() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+        List<OrderResponse> before = board.pendingOrders();
+
+        // When
+        OrderResponse taken = order("ORD-1", OrderStatus.IN_PREPARATION, 10, 1L);
+        board.onOrderChanged(new OrderChangedEvent(taken, OrderStatus.PENDING));
+
+        // Then
+        assertThat(board.pendingOrders()).isEmpty();
+        assertThat(board.inPreparationOrders()).containsExactly(taken);
+        assertThat(before).hasSize(1);
+
+        // When
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.READY, 10, 2L), OrderStatus.IN_PREPARATION));
+
+        // Then
+        assertThat(board.inPreparationOrders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore events older than what the board already knows")
+    void shouldIgnoreLateEvents() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.READY, 10, 2L), OrderStatus.IN_PREPARATION));
+
+        // When: the take committed before the READY update, but its event arrives after it
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.IN_PREPARATION, 10, 1L), OrderStatus.PENDING));
+
+        // Then
+        assertThat(board.pendingOrders()).isEmpty();
+        assertThat(board.inPreparationOrders()).isEmpty();
+
+        // When: an update of the details arrives after a later take
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-2", OrderStatus.IN_PREPARATION, 20, 3L), OrderStatus.PENDING));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-2", OrderStatus.PENDING, 20, 2L), OrderStatus.PENDING));
+
+        // Then
+        assertThat(board.pendingOrders()).isEmpty();
+        assertThat(board.inPreparationOrders()).extracting(OrderResponse::orderCode).containsExactly("ORD-2");
+    }
+
+    @Test
+    @DisplayName("Should hand out different candidates to concurrent takers until their transactions complete")
+    void shouldReserveCandidatesUntilTransactionCompletes() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-2", OrderStatus.PENDING, 20, 0L), null));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        String first = board.reserveNextPending().orElseThrow();
+        String second = board.reserveNextPending().orElseThrow();
+
+        // Then
+        assertThat(first).isEqualTo("ORD-1");
+        assertThat(second).isEqualTo("ORD-2");
+        assertThat(board.reserveNextPending()).isEmpty();
+
+        // When: the transactions roll back without changing the orders
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(board.reserveNextPending()).contains("ORD-1");
+    }
+
+    @Test
+    @DisplayName("Should rank pending orders by creation date and count the orders in preparation")
+    void shouldComputeQueuePosition() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-3", OrderStatus.PENDING, 30, 0L), null));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-2", OrderStatus.PENDING, 20, 0L), null));
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-0", OrderStatus.IN_PREPARATION, 0, 1L), OrderStatus.PENDING));
+
+        // When & Then
+        assertThat(board.queuePosition("ORD-3"))
+            .contains(new QueuePositionResponse("ORD-3", OrderStatus.PENDING, 3, 2, 1));
+        assertThat(board.queuePosition("ORD-1"))
+            .contains(new QueuePositionResponse("ORD-1", OrderStatus.PENDING, 1, 0, 1));
+        assertThat(board.queuePosition("ORD-0"))
+            .contains(new QueuePositionResponse("ORD-0", OrderStatus.IN_PREPARATION, null, 0, 1));
+        assertThat(board.queuePosition("ORD-UNKNOWN")).isEmpty();
+
+        // When
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.CANCELED, 10, 1L), OrderStatus.PENDING));
+
+        // Then
+        assertThat(board.queuePosition("ORD-3"))
+            .contains(new QueuePositionResponse("ORD-3", OrderStatus.PENDING, 2, 1, 1));
+        assertThat(board.queuePosition("ORD-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop a pending order that could not be claimed")
+    void shouldDiscardStalePendingOrder() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+
+        // When
+        board.discardPending("ORD-1");
+
+        // Then
+        assertThat(board.pendingOrders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply a batch of changes in one go, keeping the queue sorted")
+    void shouldApplyBatchOfChanges() {
+        // Given
+        board.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 10, 0L), null));
+
+        // When
+        board.onOrdersChanged(new OrdersChangedEvent(List.of(
+            new OrderChangedEvent(order("ORD-4", OrderStatus.PENDING, 40, 0L), null),
+            new OrderChangedEvent(order("ORD-1", OrderStatus.IN_PREPARATION, 10, 1L), OrderStatus.PENDING),
+            new OrderChangedEvent(order("ORD-2", OrderStatus.PENDING, 20, 0L), null))));
+
+        // Then
+        assertThat(board.pendingOrders()).extracting(OrderResponse::orderCode).containsExactly("ORD-2", "ORD-4");
+        assertThat(board.inPreparationOrders()).extracting(OrderResponse::orderCode).containsExactly("ORD-1");
+        assertThat(board.queuePosition("ORD-4"))
+            .contains(new QueuePositionResponse("ORD-4", OrderStatus.PENDING, 2, 1, 1));
+    }
+
+    private static OrderResponse order(String code, OrderStatus status, int secondsAfterNow, Long version) {
+        UUID id = UUID.nameUUIDFromBytes(code.getBytes());
+        return new OrderResponse(id, code, status, null, "Mario Rossi", "+393331234567",
+            "Via Roma 1, Milano", NOW.plusSeconds(secondsAfterNow), 0L, 0, version, List.of());
+    }
+}
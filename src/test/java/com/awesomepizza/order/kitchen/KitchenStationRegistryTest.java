@@ -0,0 +1,227 @@
+package com.awesomepizza.order.kitchen;
+
+import com.awesomepizza.order.config.KitchenProperties;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
+import com.awesomepizza.order.exception.UnknownKitchenStationException;
+import com.awesomepizza.order.repository.OrderRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitchenStationRegistry Unit Tests")
+class KitchenStationRegistryTest {
+
+    private OrderRepository orderRepository;
+    private KitchenStationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        Map<String, Integer> stations = new LinkedHashMap<>();
+        stations.put("oven-1", 2);
+        stations.put("oven-2", 1);
+        registry = new KitchenStationRegistry(new KitchenProperties(stations), orderRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should default to a single station with one slot")
+    void shouldDefaultToSingleStationWithOneSlot() {
+        // When
+        KitchenStationRegistry defaultRegistry = new KitchenStationRegistry(new KitchenProperties(null), orderRepository);
+
+        // Then
+        assertThat(defaultRegistry.getStations()).singleElement()
+            .satisfies(station -> {
+                assertThat(station.getName()).isEqualTo(KitchenProperties.DEFAULT_STATION);
+                assertThat(station.getCapacity()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    @DisplayName("Should reject stations without slots")
+    void shouldRejectStationsWithoutSlots() {
+        // When & Then
+        assertThatThrownBy(() -> new KitchenStationRegistry(new KitchenProperties(Map.of("oven-1", 0)), orderRepository))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("at least one slot");
+    }
+
+    @Test
+    @DisplayName("Should hand out slots of the requested station up to its capacity")
+    void shouldHandOutSlotsOfRequestedStationUpToCapacity() {
+        // When
+        registry.acquire("oven-1");
+        registry.acquire("oven-1");
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isEqualTo(2);
+        assertThatThrownBy(() -> registry.acquire("oven-1"))
+            .isInstanceOf(OrderModificationNotAllowedException.class)
+            .hasMessageContaining("oven-1 has no free preparation slot");
+        assertThat(station("oven-1").getInUse()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the requested station is not configured")
+    void shouldThrowExceptionWhenStationIsUnknown() {
+        // When & Then
+        assertThatThrownBy(() -> registry.acquire("oven-9"))
+            .isInstanceOf(UnknownKitchenStationException.class)
+            .hasMessageContaining("oven-9");
+    }
+
+    @Test
+    @DisplayName("Should use any station with a free slot when none is requested")
+    void shouldUseAnyStationWithFreeSlotWhenNoneIsRequested() {
+        // When
+        registry.acquire(null);
+        registry.acquire(null);
+        registry.acquire(null);
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isEqualTo(2);
+        assertThat(station("oven-2").getInUse()).isEqualTo(1);
+        assertThatThrownBy(() -> registry.acquire(null))
+            .isInstanceOf(OrderModificationNotAllowedException.class)
+            .hasMessageContaining("every kitchen station is busy");
+    }
+
+    @Test
+    @DisplayName("Should give the slot back when the claiming transaction rolls back")
+    void shouldGiveSlotBackWhenTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        registry.acquire("oven-2");
+        assertThat(station("oven-2").getInUse()).isEqualTo(1);
+
+        // When
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertThat(station("oven-2").getInUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the slot when the claiming transaction commits")
+    void shouldKeepSlotWhenTransactionCommits() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        registry.acquire("oven-2");
+
+        // When
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertThat(station("oven-2").getInUse()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the slot only after the transaction commits")
+    void shouldReleaseSlotOnlyAfterCommit() {
+        // Given
+        registry.acquire("oven-1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        registry.releaseAfterCommit("oven-1");
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isEqualTo(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(station("oven-1").getInUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore releases without a matching slot")
+    void shouldIgnoreReleasesWithoutMatchingSlot() {
+        // When
+        registry.releaseAfterCommit("oven-1");
+        registry.releaseAfterCommit("oven-9");
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give the slot of an order without station back to the station it was counted against")
+    void shouldReleaseSlotOfOrderWithoutStationToFallbackStation() {
+        // Given
+        when(orderRepository.countByStationAndStatus(OrderStatus.IN_PREPARATION)).thenReturn(List.of(
+            load(null, 2L)));
+        registry.reconcile();
+
+        // When
+        registry.releaseAfterCommit(null);
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isEqualTo(1);
+        assertThat(station("oven-2").getInUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the slot counters from the orders in preparation")
+    void shouldRebuildSlotCountersFromOrdersInPreparation() {
+        // Given
+        when(orderRepository.countByStationAndStatus(OrderStatus.IN_PREPARATION)).thenReturn(List.of(
+            load("oven-2", 1L),
+            load(null, 1L),
+            load("oven-9", 3L)));
+
+        // When
+        registry.reconcile();
+
+        // Then
+        assertThat(station("oven-1").getInUse()).isEqualTo(1);
+        assertThat(station("oven-2").getInUse()).isEqualTo(1);
+        assertThatThrownBy(() -> registry.acquire("oven-2"))
+            .isInstanceOf(OrderModificationNotAllowedException.class);
+    }
+
+    private KitchenStation station(String name) {
+        return registry.getStations().stream()
+            .filter(station -> station.getName().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static OrderRepository.StationLoad load(String station, Long orders) {
+        return new OrderRepository.StationLoad() {
+            @Override
+            public String getStation() {
+                return station;
+            }
+
+            @Override
+            public Long getOrders() {
+                return orders;
+            }
+        };
+    }
+}
@@ -42,6 +42,9 @@ class OrderMapperTest {
         order.setPhone("+393331234567");
         order.setDeliveryAddress("Via Roma 1, Milano");
         order.setCreatedAt(Instant.now());
+        order.setTotalAmount(2600L);
+        order.setItemCount(3);
+        order.setVersion(3L);
 
         OrderItem item1 = new OrderItem();
         item1.setId(UUID.randomUUID());
@@ -69,6 +72,9 @@ class OrderMapperTest {
         assertThat(response.phone()).isEqualTo("+393331234567");
         assertThat(response.deliveryAddress()).isEqualTo("Via Roma 1, Milano");
         assertThat(response.createdAt()).isEqualTo(order.getCreatedAt());
+        assertThat(response.totalAmount()).isEqualTo(2600L);
+        assertThat(response.itemCount()).isEqualTo(3);
+        assertThat(response.version()).isEqualTo(3L);
         
         assertThat(response.orderItems()).hasSize(2);
         assertThat(response.orderItems().get(0).pizzaName()).isEqualTo("Margherita");
@@ -142,6 +148,9 @@ class OrderMapperTest {
         assertThat(order.getOrderItems().get(1).getQuantity()).isEqualTo(1);
         assertThat(order.getOrderItems().get(1).getPrice()).isEqualByComparingTo(new BigDecimal("10.00"));
         assertThat(order.getOrderItems().get(1).getOrder()).isEqualTo(order); // Verifica bidirectional relationship
+
+        assertThat(order.getTotalAmount()).isEqualTo(2700L);
+        assertThat(order.getItemCount()).isEqualTo(3);
     }
 
     @Test
@@ -182,6 +191,8 @@ class OrderMapperTest {
         assertThat(order.getOrderItems().get(0).getPizzaName()).isEqualTo("New Pizza");
         assertThat(order.getOrderItems().get(0).getQuantity()).isEqualTo(3);
         assertThat(order.getOrderItems().get(0).getPrice()).isEqualByComparingTo(new BigDecimal("12.00"));
+        assertThat(order.getTotalAmount()).isEqualTo(3600L);
+        assertThat(order.getItemCount()).isEqualTo(3);
     }
 
     @Test
@@ -277,4 +288,23 @@ class OrderMapperTest {
         assertThat(order.getOrderItems().get(0).getQuantity()).isEqualTo(1);
         assertThat(order.getOrderItems().get(0).getPrice()).isEqualByComparingTo(new BigDecimal("15.00"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should round item prices to cents when computing the order total")
+    void shouldRoundPricesToCentsInTotal() {
+        // Given
+        CreateOrderRequest request = new CreateOrderRequest(
+            "Luigi Verdi",
+            "+393339876543",
+            "Corso Venezia 15, Milano",
+            List.of(new OrderItemRequest("Margherita", 3, new BigDecimal("8.555")))
+        );
+
+        // When
+        Order order = orderMapper.toEntity(request);
+
+        // Then
+        assertThat(order.getTotalAmount()).isEqualTo(2568L);
+        assertThat(order.getItemCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,63 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.config.ConnectionGuardProperties;
+import com.awesomepizza.order.datasource.ConnectionGuard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConnectionGuardMetrics Unit Tests")
+class ConnectionGuardMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<DataSource> provider(DataSource dataSource) {
+        ObjectProvider<DataSource> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenReturn(Stream.of(dataSource));
+        return provider;
+    }
+
+    @Test
+    @DisplayName("Should publish the free connections of a guard found behind the routing proxy")
+    void shouldPublishGuardBehindProxy() throws SQLException {
+        // Given
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionGuard guard = new ConnectionGuard(pool, 3,
+                new ConnectionGuardProperties(true, 10, Duration.ofSeconds(1)));
+        new ConnectionGuardMetrics(provider(new LazyConnectionDataSourceProxy(guard))).bindTo(registry);
+
+        // When
+        Connection connection = guard.getConnection();
+
+        // Then
+        assertThat(registry.get(ConnectionGuardMetrics.AVAILABLE).gauge().value()).isEqualTo(2);
+        assertThat(registry.get(ConnectionGuardMetrics.WAITING).gauge().value()).isZero();
+        connection.close();
+        assertThat(registry.get(ConnectionGuardMetrics.AVAILABLE).gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should register nothing when the pool is not guarded")
+    void shouldSkipUnguardedPool() {
+        // When
+        new ConnectionGuardMetrics(provider(mock(DataSource.class))).bindTo(registry);
+
+        // Then
+        assertThat(registry.find(ConnectionGuardMetrics.AVAILABLE).gauge()).isNull();
+        assertThat(registry.find(ConnectionGuardMetrics.WAITING).gauge()).isNull();
+    }
+}
@@ -0,0 +1,108 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.controller.CustomerOrderController;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ControllerTimingFilter Unit Tests")
+class ControllerTimingFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private ControllerTimingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod getOrderByCode;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        registry = new SimpleMeterRegistry();
+        filter = new ControllerTimingFilter(registry);
+        request = new MockHttpServletRequest("GET", "/api/v1/orders/ORD-1");
+        response = new MockHttpServletResponse();
+        Method method = CustomerOrderController.class.getMethod("getOrderByCode", String.class, String.class);
+        getOrderByCode = new HandlerMethod(mock(CustomerOrderController.class), method);
+    }
+
+    private FilterChain handledBy(Object handler, int status) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            ((MockHttpServletResponse) res).setStatus(status);
+        };
+    }
+
+    @Test
+    @DisplayName("Should time a controller method by outcome")
+    void shouldTimeControllerMethodByOutcome() throws Exception {
+        // When
+        filter.doFilter(request, response, handledBy(getOrderByCode, 200));
+        filter.doFilter(request, new MockHttpServletResponse(), handledBy(getOrderByCode, 200));
+        filter.doFilter(request, new MockHttpServletResponse(), handledBy(getOrderByCode, 404));
+
+        // Then
+        assertThat(registry.get(ControllerTimingFilter.REQUESTS)
+            .tags("controller", "CustomerOrderController", "method", "getOrderByCode", "outcome", "SUCCESS")
+            .timer().count()).isEqualTo(2);
+        assertThat(registry.get(ControllerTimingFilter.REQUESTS)
+            .tags("method", "getOrderByCode", "outcome", "CLIENT_ERROR").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time a request that threw as a server error and rethrow")
+    void shouldTimeFailureAsServerError() {
+        // Given
+        FilterChain failing = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, getOrderByCode);
+            throw new ServletException("boom");
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> filter.doFilter(request, response, failing)).isInstanceOf(ServletException.class);
+        assertThat(registry.get(ControllerTimingFilter.REQUESTS).tag("outcome", "SERVER_ERROR").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not time requests of other handlers, or without a handler")
+    void shouldIgnoreOtherHandlers() throws Exception {
+        // Given
+        HandlerMethod other = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+        // When
+        filter.doFilter(request, response, handledBy(other, 200));
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        // Then
+        assertThat(registry.find(ControllerTimingFilter.REQUESTS).timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not time a request that started an asynchronous response")
+    void shouldIgnoreAsyncRequests() throws Exception {
+        // Given
+        request.setAsyncSupported(true);
+        FilterChain streaming = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, getOrderByCode);
+            req.startAsync();
+        };
+
+        // When
+        filter.doFilter(request, response, streaming);
+
+        // Then
+        assertThat(registry.find(ControllerTimingFilter.REQUESTS).timers()).isEmpty();
+    }
+}
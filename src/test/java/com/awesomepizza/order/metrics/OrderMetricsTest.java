@@ -0,0 +1,142 @@
+package com.awesomepizza.order.metrics;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.domain.enums.TransitionRejection;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.kitchen.KitchenBoard;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrderMetrics Unit Tests")
+class OrderMetricsTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry registry;
+    private KitchenBoard kitchenBoard;
+    private OrderMetrics metrics;
+    private long startMillis;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        startMillis = clock.wallTime();
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        kitchenBoard = mock(KitchenBoard.class);
+        metrics = new OrderMetrics(registry, kitchenBoard, new OrderStatusValidator());
+    }
+
+    private OrderChangedEvent change(String orderCode, OrderStatus previous, OrderStatus current) {
+        // Created when the test starts
+        Instant createdAt = Instant.ofEpochMilli(startMillis);
+        return new OrderChangedEvent(new OrderResponse(UUID.randomUUID(), orderCode, current, "main", "Mario Rossi",
+            "+393331234567", "Via Roma 1, Milano", createdAt, 2600L, 3, 2L, List.of()), previous);
+    }
+
+    private Timer duration(OrderStatus status) {
+        return registry.get(OrderMetrics.DURATION).tag("status", status.name()).timer();
+    }
+
+    @Test
+    @DisplayName("Should count status changes by from and to, new orders coming from none")
+    void shouldCountStatusChanges() {
+        // When
+        metrics.onOrderChanged(change("ORD-1", null, OrderStatus.PENDING));
+        metrics.onOrdersChanged(new OrdersChangedEvent(List.of(
+            change("ORD-1", OrderStatus.PENDING, OrderStatus.IN_PREPARATION),
+            change("ORD-2", OrderStatus.PENDING, OrderStatus.IN_PREPARATION))));
+
+        // Then
+        assertThat(registry.get(OrderMetrics.TRANSITIONS).tags("from", "none", "to", "PENDING").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get(OrderMetrics.TRANSITIONS).tags("from", "PENDING", "to", "IN_PREPARATION").counter()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not count changes that kept the status")
+    void shouldIgnoreDetailChanges() {
+        // When
+        metrics.onOrderChanged(change("ORD-1", OrderStatus.PENDING, OrderStatus.PENDING));
+
+        // Then
+        assertThat(registry.find(OrderMetrics.TRANSITIONS).counters()).isEmpty();
+        assertThat(duration(OrderStatus.PENDING).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should time PENDING from the creation date and the later statuses from their entry")
+    void shouldTimeEachStatus() {
+        // Given
+        clock.add(Duration.ofMinutes(5));
+        metrics.onOrderChanged(change("ORD-1", OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        clock.add(Duration.ofMinutes(12));
+        metrics.onOrderChanged(change("ORD-1", OrderStatus.IN_PREPARATION, OrderStatus.READY));
+        clock.add(Duration.ofMinutes(3));
+
+        // When
+        metrics.onOrderChanged(change("ORD-1", OrderStatus.READY, OrderStatus.COMPLETED));
+
+        // Then
+        assertThat(duration(OrderStatus.PENDING).totalTime(TimeUnit.MINUTES)).isEqualTo(5);
+        assertThat(duration(OrderStatus.IN_PREPARATION).totalTime(TimeUnit.MINUTES)).isEqualTo(12);
+        assertThat(duration(OrderStatus.READY).totalTime(TimeUnit.MINUTES)).isEqualTo(3);
+        assertThat(registry.find(OrderMetrics.DURATION).tag("status", "COMPLETED").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not time a status whose entry was not seen by this instance")
+    void shouldSkipUnknownEntry() {
+        // When
+        metrics.onOrderChanged(change("ORD-1", OrderStatus.IN_PREPARATION, OrderStatus.READY));
+
+        // Then
+        assertThat(duration(OrderStatus.IN_PREPARATION).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count rejected transitions by reason")
+    void shouldCountRejections() {
+        // When
+        metrics.transitionRejected(OrderStatus.COMPLETED, OrderStatus.PENDING, TransitionRejection.FINAL_STATUS);
+        metrics.transitionRejected(OrderStatus.COMPLETED, OrderStatus.PENDING, TransitionRejection.FINAL_STATUS);
+        metrics.transitionRejected(OrderStatus.PENDING, null, TransitionRejection.MISSING_STATUS);
+
+        // Then
+        assertThat(registry.get(OrderMetrics.REJECTIONS)
+            .tags("from", "COMPLETED", "to", "PENDING", "reason", "FINAL_STATUS").counter().count()).isEqualTo(2);
+        assertThat(registry.get(OrderMetrics.REJECTIONS)
+            .tags("from", "PENDING", "to", "none", "reason", "MISSING_STATUS").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read the queue gauges from the kitchen board")
+    void shouldReadQueueGauges() {
+        // Given
+        OrderResponse order = change("ORD-1", null, OrderStatus.PENDING).order();
+        when(kitchenBoard.pendingOrders()).thenReturn(List.of(order, order, order));
+        when(kitchenBoard.inPreparationOrders()).thenReturn(Collections.emptyList());
+
+        // Then
+        assertThat(registry.get(OrderMetrics.ACTIVE).tag("status", "PENDING").gauge().value()).isEqualTo(3);
+        assertThat(registry.get(OrderMetrics.ACTIVE).tag("status", "IN_PREPARATION").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.AuthTokenProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AuthTokenService Unit Tests")
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "test-token-secret-at-least-32-bytes";
+    private static final Instant NOW = Instant.parse("2026-01-10T18:00:00Z");
+
+    private static AuthTokenService service(String secret, Instant now) {
+        return new AuthTokenService(new AuthTokenProperties(secret, Duration.ofMinutes(15)), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should accept its own tokens until they expire")
+    void shouldAcceptTokenUntilExpiry() {
+        // Given
+        AuthTokenService.IssuedToken issued = service(SECRET, NOW).issue("pizzaiolo.mario");
+
+        // When & Then
+        assertThat(issued.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(15)));
+        assertThat(service(SECRET, NOW.plusSeconds(899)).verify(issued.token())).contains("pizzaiolo.mario");
+        assertThat(service(SECRET, NOW.plusSeconds(900)).verify(issued.token())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse tokens that were altered or signed with another secret")
+    void shouldRefuseForgedTokens() {
+        // Given
+        AuthTokenService tokenService = service(SECRET, NOW);
+        String token = tokenService.issue("pizzaiolo").token();
+        String[] parts = token.split("\\.");
+        String extended = parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2];
+        String otherSecret = service("another-secret-also-32-bytes-long!", NOW).issue("pizzaiolo").token();
+
+        // When & Then
+        assertThat(tokenService.verify(extended)).isEmpty();
+        assertThat(tokenService.verify(otherSecret)).isEmpty();
+        assertThat(tokenService.verify("garbage")).isEmpty();
+        assertThat(tokenService.verify("a.b.c")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a secret shorter than 32 bytes")
+    void shouldRefuseShortSecret() {
+        // When & Then
+        assertThatThrownBy(() -> new AuthTokenProperties("short", null))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
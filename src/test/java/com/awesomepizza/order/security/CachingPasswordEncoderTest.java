@@ -0,0 +1,79 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.CredentialCacheProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingPasswordEncoder Unit Tests")
+class CachingPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new CachingPasswordEncoder(delegate, new CredentialCacheProperties(100L, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Should check a matching password once and answer from the cache afterwards")
+    void shouldCacheSuccessfulMatches() {
+        // Given
+        when(delegate.matches("password", "$2a$hash")).thenReturn(true);
+
+        // When
+        boolean first = encoder.matches("password", "$2a$hash");
+        boolean second = encoder.matches("password", "$2a$hash");
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(delegate, times(1)).matches("password", "$2a$hash");
+    }
+
+    @Test
+    @DisplayName("Should always check wrong passwords")
+    void shouldNotCacheFailedMatches() {
+        // Given
+        when(delegate.matches("wrong", "$2a$hash")).thenReturn(false);
+
+        // When
+        boolean first = encoder.matches("wrong", "$2a$hash");
+        boolean second = encoder.matches("wrong", "$2a$hash");
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(delegate, times(2)).matches("wrong", "$2a$hash");
+    }
+
+    @Test
+    @DisplayName("Should check the password again once the stored hash changes")
+    void shouldCheckAgainAfterHashChange() {
+        // Given
+        when(delegate.matches("password", "$2a$old")).thenReturn(true);
+        when(delegate.matches("password", "$2a$new")).thenReturn(false);
+        encoder.matches("password", "$2a$old");
+
+        // When
+        boolean matches = encoder.matches("password", "$2a$new");
+
+        // Then
+        assertThat(matches).isFalse();
+        verify(delegate).matches("password", "$2a$new");
+    }
+}
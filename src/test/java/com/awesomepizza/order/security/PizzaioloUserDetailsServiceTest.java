@@ -0,0 +1,90 @@
+package com.awesomepizza.order.security;
+
+import com.awesomepizza.order.config.CredentialCacheProperties;
+import com.awesomepizza.order.domain.entity.PizzaioloUser;
+import com.awesomepizza.order.repository.PizzaioloUserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PizzaioloUserDetailsService Unit Tests")
+class PizzaioloUserDetailsServiceTest {
+
+    @Mock
+    private PizzaioloUserRepository userRepository;
+
+    private PizzaioloUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PizzaioloUserDetailsService(userRepository, new CredentialCacheProperties(100L, Duration.ofMinutes(1)));
+    }
+
+    private static PizzaioloUser user(String username, boolean enabled) {
+        PizzaioloUser user = new PizzaioloUser();
+        user.setUsername(username);
+        user.setPasswordHash("$2a$hash");
+        user.setEnabled(enabled);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should load an account once and keep serving it after its credentials were erased")
+    void shouldCacheAccounts() {
+        // Given
+        when(userRepository.findByUsername("pizzaiolo")).thenReturn(Optional.of(user("pizzaiolo", true)));
+
+        // When
+        UserDetails first = service.loadUserByUsername("pizzaiolo");
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = service.loadUserByUsername("pizzaiolo");
+
+        // Then
+        assertThat(second.getPassword()).isEqualTo("$2a$hash");
+        assertThat(second.isEnabled()).isTrue();
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_PIZZAIOLO");
+        verify(userRepository, times(1)).findByUsername("pizzaiolo");
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted account and report it disabled")
+    void shouldReloadEvictedAccount() {
+        // Given
+        when(userRepository.findByUsername("pizzaiolo"))
+            .thenReturn(Optional.of(user("pizzaiolo", true)), Optional.of(user("pizzaiolo", false)));
+        service.loadUserByUsername("pizzaiolo");
+
+        // When
+        service.evict("pizzaiolo");
+        UserDetails reloaded = service.loadUserByUsername("pizzaiolo");
+
+        // Then
+        assertThat(reloaded.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown usernames")
+    void shouldNotCacheUnknownUsers() {
+        // Given
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+}
@@ -1,14 +1,25 @@
 package com.awesomepizza.order.service;
 
+import com.awesomepizza.order.cache.OrderResponseCache;
+import com.awesomepizza.order.config.OrderCacheProperties;
+import com.awesomepizza.order.config.OrderCodeProperties;
+import com.awesomepizza.order.datasource.ReplicaRouting;
 import com.awesomepizza.order.dto.CreateOrderRequest;
 import com.awesomepizza.order.dto.OrderItemRequest;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderRevision;
+import com.awesomepizza.order.dto.QueuePositionResponse;
 import com.awesomepizza.order.dto.UpdateOrderRequest;
+import com.awesomepizza.order.event.OrderChangedEvent;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.kitchen.KitchenBoard;
 import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
 import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
 import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.entity.ArchivedOrder;
 import com.awesomepizza.order.domain.entity.Order;
 import com.awesomepizza.order.domain.enums.OrderStatus;
 
@@ -18,11 +29,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,12 +53,33 @@ class CustomerOrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
     @Mock
     private OrderMapper orderMapper;
 
     @Mock
     private OrderStatusValidator statusValidator;
 
+    @Spy
+    private OrderCodeAllocator codeAllocator = new OrderCodeAllocator(() -> 1, new OrderCodeProperties(1000, "test-order-codes-key-0123456789abcdef"));
+
+    @Spy
+    private OrderResponseCache orderCache = new OrderResponseCache(new OrderCacheProperties(100L, Duration.ofMinutes(1)));
+
+    @Mock
+    private KitchenBoard kitchenBoard;
+
+    @Mock
+    private ReplicaRouting replicaRouting;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderStatusHistoryRepository statusHistoryRepository;
+
     @InjectMocks
     private CustomerOrderServiceImpl customerOrderService;
 
@@ -65,10 +101,14 @@ class CustomerOrderServiceImplTest {
                 testOrder.getId(),
                 testOrder.getOrderCode(),
                 testOrder.getStatus(),
+                testOrder.getStation(),
                 testOrder.getCustomerName(),
                 testOrder.getPhone(),
                 testOrder.getDeliveryAddress(),
                 testOrder.getCreatedAt(),
+                testOrder.getTotalAmount(),
+                testOrder.getItemCount(),
+                testOrder.getVersion(),
                 new ArrayList<>());
     }
 
@@ -100,6 +140,10 @@ class CustomerOrderServiceImplTest {
         assertThat(result.status()).isEqualTo(OrderStatus.PENDING);
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(orderMapper, times(1)).toResponse(any(Order.class));
+        assertThat(testOrder.getOrderCode()).matches("ORD-[0-9A-Z]{10}");
+        verify(statusHistoryRepository, times(1)).save(argThat(entry -> entry.getStatus() == OrderStatus.PENDING
+            && entry.getEnteredAt().equals(testOrder.getCreatedAt())));
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, null));
     }
 
     @Test
@@ -107,7 +151,7 @@ class CustomerOrderServiceImplTest {
     void shouldGetOrderByCodeSuccessfully() {
         // Given
         String orderCode = "ORD-TEST123";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
         // When
@@ -116,7 +160,7 @@ class CustomerOrderServiceImplTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().orderCode()).isEqualTo(orderCode);
-        verify(orderRepository, times(1)).findByOrderCode(orderCode);
+        verify(orderRepository, times(1)).findWithItemsByOrderCode(orderCode);
     }
 
     @Test
@@ -124,17 +168,222 @@ class CustomerOrderServiceImplTest {
     void shouldReturnEmptyWhenOrderNotFound() {
         // Given
         String orderCode = "ORD-NOTEXIST";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.empty());
 
         // When
         Optional<OrderResponse> result = customerOrderService.getByOrderCode(orderCode);
 
         // Then
         assertThat(result).isEmpty();
-        verify(orderRepository, times(1)).findByOrderCode(orderCode);
+        verify(orderRepository, times(1)).findWithItemsByOrderCode(orderCode);
+        verify(orderMapper, never()).toResponse(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the archive when the order is no longer in the live tables")
+    void shouldFallBackToArchiveWhenOrderIsNotLive() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        ArchivedOrder archivedOrder = mock(ArchivedOrder.class);
+        OrderResponse archivedResponse = new OrderResponse(
+                testOrder.getId(), orderCode, OrderStatus.COMPLETED, "main", null, null, null,
+                testOrder.getCreatedAt(), 0L, 0, 3L, List.of());
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(archivedOrder));
+        when(orderMapper.toArchivedOrderResponse(archivedOrder)).thenReturn(archivedResponse);
+
+        // When
+        Optional<OrderResponse> first = customerOrderService.getByOrderCode(orderCode);
+        Optional<OrderResponse> second = customerOrderService.getByOrderCode(orderCode);
+
+        // Then: archived orders never change, so the cached copy serves the second lookup
+        assertThat(first).contains(archivedResponse);
+        assertThat(second).contains(archivedResponse);
+        verify(archivedOrderRepository, times(1)).findWithItemsByOrderCode(orderCode);
+    }
+
+    @Test
+    @DisplayName("Should bypass and refresh the cache when the request must read its own writes")
+    void shouldBypassCacheWhenReadingOwnWrites() {
+        // Given: a copy cached before the client's latest write reached the replicas
+        String orderCode = "ORD-TEST123";
+        OrderResponse stale = new OrderResponse(
+                testOrder.getId(), orderCode, OrderStatus.PENDING, null, null, null, null,
+                testOrder.getCreatedAt(), 0L, 0, 0L, List.of());
+        orderCache.get(orderCode, () -> Optional.of(stale));
+        when(replicaRouting.isReadingOwnWrites()).thenReturn(true, false);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        // When
+        Optional<OrderResponse> fresh = customerOrderService.getByOrderCode(orderCode);
+        Optional<OrderResponse> cached = customerOrderService.getByOrderCode(orderCode);
+
+        // Then
+        assertThat(fresh).contains(testOrderResponse);
+        assertThat(cached).contains(testOrderResponse);
+        verify(orderRepository, times(1)).findWithItemsByOrderCode(orderCode);
+    }
+
+    @Test
+    @DisplayName("Should read the latest state of an order from the database even when it is cached")
+    void shouldReadLatestStateBypassingCache() {
+        // Given: a copy cached before the order moved on
+        String orderCode = "ORD-TEST123";
+        OrderResponse stale = new OrderResponse(
+                testOrder.getId(), orderCode, OrderStatus.PENDING, null, null, null, null,
+                testOrder.getCreatedAt(), 0L, 0, 0L, List.of());
+        orderCache.get(orderCode, () -> Optional.of(stale));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        // When
+        Optional<OrderResponse> latest = customerOrderService.getLatestByOrderCode(orderCode);
+
+        // Then
+        assertThat(latest).contains(testOrderResponse);
+        verify(orderRepository, times(1)).findWithItemsByOrderCode(orderCode);
+    }
+
+    @Test
+    @DisplayName("Should read the order revision with a projection when the order is not cached")
+    void shouldReadOrderRevisionWithProjectionWhenNotCached() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        OrderRevision revision = new OrderRevision(orderCode, OrderStatus.PENDING, 2L);
+        when(orderRepository.findRevisionByOrderCode(orderCode)).thenReturn(Optional.of(revision));
+
+        // When
+        Optional<OrderRevision> result = customerOrderService.getOrderRevision(orderCode);
+
+        // Then
+        assertThat(result).contains(revision);
+        verify(orderRepository, never()).findWithItemsByOrderCode(any());
         verify(orderMapper, never()).toResponse(any());
     }
 
+    @Test
+    @DisplayName("Should take the order revision from the cache without querying the database")
+    void shouldTakeOrderRevisionFromCache() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        testOrder.setVersion(4L);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(new OrderResponse(
+                testOrder.getId(), orderCode, OrderStatus.PENDING, null, null, null, null,
+                testOrder.getCreatedAt(), 0L, 0, 4L, List.of()));
+        customerOrderService.getByOrderCode(orderCode);
+
+        // When
+        Optional<OrderRevision> result = customerOrderService.getOrderRevision(orderCode);
+
+        // Then
+        assertThat(result).contains(new OrderRevision(orderCode, OrderStatus.PENDING, 4L));
+        verify(orderRepository, never()).findRevisionByOrderCode(any());
+    }
+
+    @Test
+    @DisplayName("Should answer the queue position of an order in the kitchen from the board only")
+    void shouldAnswerQueuePositionFromKitchenBoard() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        QueuePositionResponse position = new QueuePositionResponse(orderCode, OrderStatus.PENDING, 3, 2, 1);
+        when(kitchenBoard.queuePosition(orderCode)).thenReturn(Optional.of(position));
+
+        // When
+        Optional<QueuePositionResponse> result = customerOrderService.getQueuePosition(orderCode);
+
+        // Then
+        assertThat(result).contains(position);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should look up orders that are no longer in the kitchen to report their status")
+    void shouldLookUpOrdersNoLongerInKitchenForQueuePosition() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.COMPLETED);
+        OrderResponse completed = new OrderResponse(testOrder.getId(), orderCode, OrderStatus.COMPLETED, "main",
+                null, null, null, testOrder.getCreatedAt(), 0L, 0, 3L, List.of());
+        when(kitchenBoard.queuePosition(orderCode)).thenReturn(Optional.empty());
+        when(kitchenBoard.inPreparationOrders()).thenReturn(List.of(testOrderResponse));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(completed);
+
+        // When
+        Optional<QueuePositionResponse> result = customerOrderService.getQueuePosition(orderCode);
+
+        // Then
+        assertThat(result).contains(new QueuePositionResponse(orderCode, OrderStatus.COMPLETED, null, 0, 1));
+        assertThat(customerOrderService.getQueuePosition("ORD-NOTEXIST")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count the queue in the database for a pending order missing from the kitchen board")
+    void shouldCountQueueInDatabaseForPendingOrderMissingFromBoard() {
+        // Given: an order created on another instance whose event has not reached this board yet
+        String orderCode = "ORD-TEST123";
+        OrderResponse pending = new OrderResponse(testOrder.getId(), orderCode, OrderStatus.PENDING, null,
+                null, null, null, testOrder.getCreatedAt(), 0L, 0, 0L, List.of());
+        when(kitchenBoard.queuePosition(orderCode)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(pending);
+        when(orderRepository.countByStatus(OrderStatus.IN_PREPARATION)).thenReturn(2L);
+        when(orderRepository.countByStatusBefore(OrderStatus.PENDING, testOrder.getCreatedAt(), testOrder.getId()))
+                .thenReturn(4L);
+
+        // When
+        Optional<QueuePositionResponse> result = customerOrderService.getQueuePosition(orderCode);
+
+        // Then
+        assertThat(result).contains(new QueuePositionResponse(orderCode, OrderStatus.PENDING, 5, 4, 2));
+        verify(kitchenBoard, never()).inPreparationOrders();
+    }
+
+    @Test
+    @DisplayName("Should count the orders in preparation in the database for a taken order missing from the kitchen board")
+    void shouldCountInPreparationInDatabaseForTakenOrderMissingFromBoard() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        OrderResponse taken = new OrderResponse(testOrder.getId(), orderCode, OrderStatus.IN_PREPARATION, "main",
+                null, null, null, testOrder.getCreatedAt(), 0L, 0, 1L, List.of());
+        when(kitchenBoard.queuePosition(orderCode)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(taken);
+        when(orderRepository.countByStatus(OrderStatus.IN_PREPARATION)).thenReturn(3L);
+
+        // When
+        Optional<QueuePositionResponse> result = customerOrderService.getQueuePosition(orderCode);
+
+        // Then
+        assertThat(result).contains(new QueuePositionResponse(orderCode, OrderStatus.IN_PREPARATION, null, 0, 3));
+        verify(orderRepository, never()).countByStatusBefore(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache until the order changes")
+    void shouldServeRepeatedLookupsFromCacheUntilOrderChanges() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+        when(statusValidator.cancelableByCustomerStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING)))
+                .thenReturn(1);
+
+        // When
+        customerOrderService.getByOrderCode(orderCode);
+        customerOrderService.getByOrderCode(orderCode);
+        customerOrderService.cancelOrder(orderCode);
+        customerOrderService.getByOrderCode(orderCode);
+
+        // Then: one load for the first two lookups, one for the cancel response, one after the eviction
+        verify(orderRepository, times(3)).findWithItemsByOrderCode(orderCode);
+        verify(orderCache, times(1)).evict(orderCode);
+        assertThat(orderCache.stats().hitCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Should update order when status is PENDING")
     void shouldUpdateOrderWhenStatusIsPending() {
@@ -145,7 +394,7 @@ class CustomerOrderServiceImplTest {
                 Optional.of("Via Nuova 10, Milano"),
                 Optional.empty());
 
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findForUpdateByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(statusValidator.canBeModifiedByCustomer(OrderStatus.PENDING)).thenReturn(true);
         doAnswer(invocation -> {
             Order orderArg = invocation.getArgument(0);
@@ -156,7 +405,7 @@ class CustomerOrderServiceImplTest {
             return null;
         }).when(orderMapper).updateEntity(any(Order.class), any(UpdateOrderRequest.class));
 
-        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(testOrder)).thenReturn(testOrder);
         when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
         OrderResponse result = customerOrderService.updateOrder(orderCode, updateRequest);
@@ -166,7 +415,9 @@ class CustomerOrderServiceImplTest {
         assertThat(testOrder.getPhone()).isEqualTo("+393337654321");
         assertThat(testOrder.getDeliveryAddress()).isEqualTo("Via Nuova 10, Milano");
 
-        verify(orderRepository, times(1)).save(testOrder);
+        verify(orderRepository, times(1)).saveAndFlush(testOrder);
+        verify(orderCache, times(1)).evict(orderCode);
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.PENDING));
     }
 
     @Test
@@ -181,7 +432,7 @@ class CustomerOrderServiceImplTest {
                 Optional.empty(),
                 Optional.empty());
 
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findForUpdateByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(statusValidator.canBeModifiedByCustomer(OrderStatus.IN_PREPARATION)).thenReturn(false);
 
         // When & Then
@@ -189,7 +440,7 @@ class CustomerOrderServiceImplTest {
                 .isInstanceOf(OrderModificationNotAllowedException.class)
                 .hasMessageContaining("cannot be updated");
 
-        verify(orderRepository, never()).save(any());
+        verify(orderRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -197,10 +448,11 @@ class CustomerOrderServiceImplTest {
     void shouldCancelOrderWhenStatusIsPending() {
         // Given
         String orderCode = "ORD-TEST123";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
-        when(statusValidator.canBeModifiedByCustomer(OrderStatus.PENDING)).thenReturn(true);
-        doNothing().when(statusValidator).validateTransition(OrderStatus.PENDING, OrderStatus.CANCELED);
-        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+        when(statusValidator.cancelableByCustomerStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING)))
+                .thenReturn(1);
+        testOrder.setStatus(OrderStatus.CANCELED);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
         // When
@@ -208,9 +460,49 @@ class CustomerOrderServiceImplTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.CANCELED);
-        verify(statusValidator, times(1)).validateTransition(OrderStatus.PENDING, OrderStatus.CANCELED);
-        verify(orderRepository, times(1)).save(testOrder);
+        verify(orderRepository, times(1)).transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING));
+        verify(orderRepository, never()).findStatusByOrderCode(any());
+        verify(orderRepository, never()).save(any());
+        verify(statusHistoryRepository, times(1)).save(argThat(entry -> entry.getStatus() == OrderStatus.CANCELED));
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should refuse to cancel an archived order instead of reporting it as missing")
+    void shouldRefuseToCancelArchivedOrder() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        when(statusValidator.cancelableByCustomerStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING)))
+                .thenReturn(0);
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.COMPLETED));
+
+        // When & Then
+        assertThatThrownBy(() -> customerOrderService.cancelOrder(orderCode))
+                .isInstanceOf(OrderModificationNotAllowedException.class)
+                .hasMessageContaining("COMPLETED");
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when canceling non-PENDING order")
+    void shouldThrowExceptionWhenCancelingNonPendingOrder() {
+        // Given
+        String orderCode = "ORD-TEST123";
+        when(statusValidator.cancelableByCustomerStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING)))
+                .thenReturn(0);
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+
+        // When & Then
+        assertThatThrownBy(() -> customerOrderService.cancelOrder(orderCode))
+                .isInstanceOf(OrderModificationNotAllowedException.class)
+                .hasMessageContaining("cannot be canceled");
+
+        verify(orderRepository, never()).findWithItemsByOrderCode(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -224,7 +516,7 @@ class CustomerOrderServiceImplTest {
                 Optional.empty(),
                 Optional.empty());
 
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.empty());
+        when(orderRepository.findForUpdateByOrderCode(orderCode)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> customerOrderService.updateOrder(orderCode, updateRequest))
@@ -237,7 +529,10 @@ class CustomerOrderServiceImplTest {
     void shouldThrowExceptionWhenOrderNotFoundForCancel() {
         // Given
         String orderCode = "ORD-NOTEXIST";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.empty());
+        when(statusValidator.cancelableByCustomerStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatus(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING)))
+                .thenReturn(0);
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> customerOrderService.cancelOrder(orderCode))
@@ -0,0 +1,115 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderCodeProperties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderCodeAllocator Unit Tests")
+class OrderCodeAllocatorTest {
+
+    @Test
+    @DisplayName("Should hand out distinct, well-formed codes that do not follow one another")
+    void shouldHandOutDistinctWellFormedCodes() {
+        // Given
+        OrderCodeAllocator allocator = new OrderCodeAllocator(new AtomicLong()::incrementAndGet, new OrderCodeProperties(1000, "order-codes-test-key-0123456789abcdef"));
+
+        // When
+        List<String> codes = allocator.nextCodes(200_000);
+
+        // Then
+        assertThat(codes).doesNotHaveDuplicates()
+            .allMatch(code -> code.matches("ORD-[0-9ABCDEFGHJKMNPQRSTVWXYZ]{10}"));
+        assertThat(codes.subList(0, 100)).isNotEqualTo(codes.subList(0, 100).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should reserve a new block from the database only when the current one is exhausted")
+    void shouldReserveBlocksOnlyWhenExhausted() {
+        // Given
+        AtomicLong sequence = new AtomicLong();
+        OrderCodeAllocator allocator = new OrderCodeAllocator(sequence::incrementAndGet, new OrderCodeProperties(10, "order-codes-test-key-0123456789abcdef"));
+
+        // When
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            numbers.add(allocator.nextNumber());
+        }
+
+        // Then
+        assertThat(sequence.get()).isEqualTo(3);
+        assertThat(numbers.getFirst()).isEqualTo(10);
+        assertThat(numbers.getLast()).isEqualTo(34);
+    }
+
+    @Test
+    @DisplayName("Should hand out distinct codes to concurrent threads")
+    void shouldHandOutDistinctCodesConcurrently() throws InterruptedException {
+        // Given
+        OrderCodeAllocator allocator = new OrderCodeAllocator(new AtomicLong()::incrementAndGet, new OrderCodeProperties(100, "order-codes-test-key-0123456789abcdef"));
+        ConcurrentLinkedQueue<String> codes = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> codes.addAll(allocator.nextCodes(10_000))));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(codes).hasSize(80_000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should shuffle the codes differently with a different key")
+    void shouldShuffleCodesDependingOnKey() {
+        // Given
+        OrderCodeAllocator first = new OrderCodeAllocator(() -> 1, new OrderCodeProperties(1000, "first-order-codes-key-0123456789abcdef"));
+        OrderCodeAllocator second = new OrderCodeAllocator(() -> 1, new OrderCodeProperties(1000, "second-order-codes-key-0123456789abcdef"));
+
+        // When & Then
+        Set<Long> permuted = new HashSet<>();
+        for (long number = 0; number < 1000; number++) {
+            assertThat(first.permute(number)).isLessThan(OrderCodeAllocator.CAPACITY);
+            permuted.add(first.permute(number));
+        }
+        assertThat(permuted).hasSize(1000);
+        assertThat(first.nextCode()).isNotEqualTo(second.nextCode());
+    }
+
+    @Test
+    @DisplayName("Should fail when every code has been allocated")
+    void shouldFailWhenCodesAreExhausted() {
+        // Given
+        OrderCodeAllocator allocator = new OrderCodeAllocator(
+            () -> OrderCodeAllocator.CAPACITY / 1000, new OrderCodeProperties(1000, "order-codes-test-key-0123456789abcdef"));
+
+        // When & Then
+        assertThatThrownBy(allocator::nextCode)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Every order code");
+    }
+
+    @Test
+    @DisplayName("Should refuse a missing or short key")
+    void shouldRefuseMissingOrShortKey() {
+        // When & Then
+        assertThatThrownBy(() -> new OrderCodeProperties(1000, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("APP_ORDER_CODES_KEY");
+        assertThatThrownBy(() -> new OrderCodeProperties(1000, "awesomepizza-order-codes"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("at least 32 bytes");
+    }
+}
@@ -0,0 +1,188 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.config.OrderCodeProperties;
+import com.awesomepizza.order.config.OrderImportProperties;
+import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.dto.OrderImportResult;
+import com.awesomepizza.order.dto.OrderImportResult.Outcome;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.mapper.OrderMapper;
+import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrderImportService Unit Tests")
+class OrderImportServiceImplTest {
+
+    private static final String VALID = """
+        {"customerName":"Mario Rossi","phone":"+393331234567","deliveryAddress":"Via Roma 1, Milano","orderItems":[{"pizzaName":"Margherita","quantity":2,"price":8.50}]}""";
+
+    private ValidatorFactory validatorFactory;
+    private OrderRepository orderRepository;
+    private OrderStatusHistoryRepository statusHistoryRepository;
+    private PlatformTransactionManager transactionManager;
+    private ApplicationEventPublisher eventPublisher;
+    private OrderImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        orderRepository = mock(OrderRepository.class);
+        statusHistoryRepository = mock(OrderStatusHistoryRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        importService = new OrderImportServiceImpl(
+            orderRepository,
+            statusHistoryRepository,
+            new OrderMapper(),
+            new OrderCodeAllocator(new AtomicLong()::incrementAndGet, new OrderCodeProperties(1000, "test-order-codes-key-0123456789abcdef")),
+            validatorFactory.getValidator(),
+            JsonMapper.builder().build(),
+            transactionManager,
+            eventPublisher,
+            new OrderImportProperties(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should save valid lines in chunks and report every line in order")
+    void shouldSaveValidLinesInChunksAndReportEveryLine() throws IOException {
+        // Given
+        String input = String.join("\n",
+            VALID,
+            "{not json",
+            "",
+            VALID,
+            """
+            {"customerName":"M","phone":"abc","deliveryAddress":"Via Roma 1","orderItems":[]}""",
+            VALID);
+        List<List<OrderImportResult>> chunks = new ArrayList<>();
+
+        // When
+        importService.importOrders(new BufferedReader(new StringReader(input)), chunks::add);
+
+        // Then: blank lines are skipped, and every chunk holds two lines
+        assertThat(chunks).hasSize(3);
+        List<OrderImportResult> results = chunks.stream().flatMap(List::stream).toList();
+        assertThat(results).extracting(OrderImportResult::line).containsExactly(1L, 2L, 4L, 5L, 6L);
+        assertThat(results).extracting(OrderImportResult::outcome)
+            .containsExactly(Outcome.CREATED, Outcome.INVALID, Outcome.CREATED, Outcome.INVALID, Outcome.CREATED);
+        assertThat(results.get(0).orderCode()).startsWith("ORD-");
+        assertThat(results.get(1).errors()).singleElement().asString().startsWith("Malformed order");
+        assertThat(results.get(3).errors())
+            .anyMatch(error -> error.startsWith("phone:"))
+            .anyMatch(error -> error.startsWith("orderItems:"))
+            .anyMatch(error -> error.startsWith("customerName:"));
+
+        // One transaction and one batched save per chunk with valid orders
+        verify(orderRepository, times(3)).saveAll(anyList());
+        verify(statusHistoryRepository, times(3)).saveAll(anyList());
+        verify(orderRepository, times(3)).flush();
+        verify(transactionManager, times(3)).commit(any());
+        verify(eventPublisher, times(3)).publishEvent(any(OrdersChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject prices and quantities beyond what the price column and the totals can hold")
+    void shouldRejectPricesAndQuantitiesBeyondColumnBounds() throws IOException {
+        // Given
+        String input = String.join("\n",
+            VALID.replace("\"price\":8.50", "\"price\":99999999.99"),
+            VALID.replace("\"price\":8.50", "\"price\":92233720368547758.07"),
+            VALID.replace("\"quantity\":2", "\"quantity\":2147483647"));
+        List<OrderImportResult> results = new ArrayList<>();
+
+        // When
+        importService.importOrders(new BufferedReader(new StringReader(input)), results::addAll);
+
+        // Then
+        assertThat(results).extracting(OrderImportResult::outcome)
+            .containsExactly(Outcome.CREATED, Outcome.INVALID, Outcome.INVALID);
+        assertThat(results.get(1).errors()).singleElement().asString().startsWith("orderItems[0].price:");
+        assertThat(results.get(2).errors()).singleElement().asString().startsWith("orderItems[0].quantity:");
+    }
+
+    @Test
+    @DisplayName("Should save the orders of a chunk together, as PENDING and with distinct codes")
+    @SuppressWarnings("unchecked")
+    void shouldSaveOrdersOfChunkTogether() throws IOException {
+        // Given
+        ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+
+        // When
+        importService.importOrders(new BufferedReader(new StringReader(VALID + "\n" + VALID)), results -> { });
+
+        // Then
+        verify(orderRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(2)
+            .allSatisfy(order -> {
+                assertThat(order.getStatus()).hasToString("PENDING");
+                assertThat(order.getOrderItems()).hasSize(1);
+            })
+            .extracting(Order::getOrderCode).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should report the orders of a chunk that cannot be saved and carry on with the next chunk")
+    void shouldReportFailedChunkAndCarryOn() throws IOException {
+        // Given
+        when(orderRepository.saveAll(anyList()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        List<OrderImportResult> results = new ArrayList<>();
+
+        // When
+        importService.importOrders(new BufferedReader(new StringReader(String.join("\n", VALID, VALID, VALID))), results::addAll);
+
+        // Then
+        assertThat(results).extracting(OrderImportResult::outcome)
+            .containsExactly(Outcome.FAILED, Outcome.FAILED, Outcome.CREATED);
+        assertThat(results.get(0).orderCode()).isNull();
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should report a chunk as failed whatever the error, so the response goes on with the next chunk")
+    void shouldReportChunkFailedOnAnyRuntimeException() throws IOException {
+        // Given
+        when(orderRepository.saveAll(anyList()))
+            .thenThrow(new ArithmeticException("long overflow"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        List<OrderImportResult> results = new ArrayList<>();
+
+        // When
+        importService.importOrders(new BufferedReader(new StringReader(String.join("\n", VALID, VALID, VALID))), results::addAll);
+
+        // Then
+        assertThat(results).extracting(OrderImportResult::outcome)
+            .containsExactly(Outcome.FAILED, Outcome.FAILED, Outcome.CREATED);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
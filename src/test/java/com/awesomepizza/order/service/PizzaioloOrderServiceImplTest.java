@@ -1,33 +1,53 @@
 package com.awesomepizza.order.service;
 
+import com.awesomepizza.order.cache.OrderResponseCache;
+import com.awesomepizza.order.dto.OrderPageResponse;
 import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.dto.OrderSummaryPageResponse;
+import com.awesomepizza.order.dto.OrderSummaryResponse;
+import com.awesomepizza.order.dto.StatusUpdateRequest;
+import com.awesomepizza.order.dto.StatusUpdateResult;
+import com.awesomepizza.order.dto.StatusUpdateResult.Outcome;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.exception.InvalidCursorException;
 import com.awesomepizza.order.exception.InvalidOrderStatusException;
 import com.awesomepizza.order.exception.OrderModificationNotAllowedException;
 import com.awesomepizza.order.exception.OrderNotFoundException;
+import com.awesomepizza.order.kitchen.KitchenBoard;
+import com.awesomepizza.order.kitchen.KitchenStation;
+import com.awesomepizza.order.kitchen.KitchenStationRegistry;
 import com.awesomepizza.order.mapper.OrderMapper;
 import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
 import com.awesomepizza.order.service.PizzaioloOrderServiceImpl;
 import com.awesomepizza.order.domain.OrderStatusValidator;
 import com.awesomepizza.order.domain.entity.Order;
+import com.awesomepizza.order.domain.entity.OrderStatusHistory;
 import com.awesomepizza.order.domain.enums.OrderStatus;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,12 +57,30 @@ class PizzaioloOrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderStatusHistoryRepository statusHistoryRepository;
+
     @Mock
     private OrderMapper orderMapper;
 
     @Mock
     private OrderStatusValidator statusValidator;
 
+    @Mock
+    private KitchenStationRegistry kitchenStations;
+
+    @Mock
+    private KitchenStation mainStation;
+
+    @Mock
+    private KitchenBoard kitchenBoard;
+
+    @Mock
+    private OrderResponseCache orderCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PizzaioloOrderServiceImpl pizzaioloOrderService;
 
@@ -69,10 +107,14 @@ class PizzaioloOrderServiceImplTest {
             testOrder.getId(),
             testOrder.getOrderCode(),
             testOrder.getStatus(),
+            testOrder.getStation(),
             testOrder.getCustomerName(),
             testOrder.getPhone(),
             testOrder.getDeliveryAddress(),
             testOrder.getCreatedAt(),
+            testOrder.getTotalAmount(),
+            testOrder.getItemCount(),
+            testOrder.getVersion(),
             new ArrayList<>()
         );
 
@@ -104,17 +146,21 @@ class PizzaioloOrderServiceImplTest {
             pendingOrderOldest.getId(),
             pendingOrderOldest.getOrderCode(),
             pendingOrderOldest.getStatus(),
+            pendingOrderOldest.getStation(),
             pendingOrderOldest.getCustomerName(),
             pendingOrderOldest.getPhone(),
             pendingOrderOldest.getDeliveryAddress(),
             pendingOrderOldest.getCreatedAt(),
+            pendingOrderOldest.getTotalAmount(),
+            pendingOrderOldest.getItemCount(),
+            pendingOrderOldest.getVersion(),
             new ArrayList<>()
         );
     }
 
     @Test
-    @DisplayName("Should get all orders sorted by creation date successfully")
-    void shouldGetAllOrdersSuccessfullySortedByCreatedAt() {
+    @DisplayName("Should get first page of orders sorted by creation date successfully")
+    void shouldGetFirstPageOfOrdersSortedByCreatedAt() {
         Order olderOrder = new Order();
         olderOrder.setId(UUID.randomUUID());
         olderOrder.setOrderCode("ORD-OLD");
@@ -129,60 +175,154 @@ class PizzaioloOrderServiceImplTest {
         newerOrder.setCreatedAt(Instant.now().minus(1, ChronoUnit.HOURS));
         newerOrder.setOrderItems(new ArrayList<>());
 
-
-        List<Order> ordersInDb = List.of(newerOrder, olderOrder);
-        List<Order> expectedSortedOrders = List.of(olderOrder, newerOrder);
-
-        when(orderRepository.findAll()).thenReturn(ordersInDb);
+        when(orderRepository.findFirstPageIds(Limit.of(11))).thenReturn(List.of(olderOrder.getId(), newerOrder.getId()));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(olderOrder.getId(), newerOrder.getId())))
+            .thenReturn(List.of(olderOrder, newerOrder));
         when(orderMapper.toResponse(olderOrder)).thenReturn(new OrderResponse(
-            olderOrder.getId(), olderOrder.getOrderCode(), olderOrder.getStatus(), null, null, null, olderOrder.getCreatedAt(), new ArrayList<>()));
+            olderOrder.getId(), olderOrder.getOrderCode(), olderOrder.getStatus(), null, null, null, null, olderOrder.getCreatedAt(), 0L, 0, 0L, new ArrayList<>()));
         when(orderMapper.toResponse(newerOrder)).thenReturn(new OrderResponse(
-            newerOrder.getId(), newerOrder.getOrderCode(), newerOrder.getStatus(), null, null, null, newerOrder.getCreatedAt(), new ArrayList<>()));
+            newerOrder.getId(), newerOrder.getOrderCode(), newerOrder.getStatus(), null, null, null, null, newerOrder.getCreatedAt(), 0L, 0, 0L, new ArrayList<>()));
+
+        OrderPageResponse result = pizzaioloOrderService.getAllOrders(null, 10);
+
+        assertThat(result.orders()).hasSize(2);
+        assertThat(result.orders().get(0).orderCode()).isEqualTo("ORD-OLD");
+        assertThat(result.orders().get(1).orderCode()).isEqualTo("ORD-NEW");
+        assertThat(result.nextCursor()).isNull();
+        verify(orderRepository, times(1)).findFirstPageIds(Limit.of(11));
+        verify(orderRepository, times(1)).findAllWithItemsByIdIn(any());
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return next cursor when more orders are available and resume from it")
+    void shouldReturnNextCursorAndResumeFromIt() {
+        when(orderRepository.findFirstPageIds(Limit.of(2))).thenReturn(List.of(pendingOrderOldest.getId(), testOrder.getId()));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(pendingOrderOldest.getId()))).thenReturn(List.of(pendingOrderOldest));
+        when(orderMapper.toResponse(pendingOrderOldest)).thenReturn(pendingOrderOldestResponse);
+
+        OrderPageResponse firstPage = pizzaioloOrderService.getAllOrders(null, 1);
+
+        assertThat(firstPage.orders()).hasSize(1);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        verify(orderMapper, never()).toResponse(testOrder);
+
+        when(orderRepository.findPageIdsAfter(pendingOrderOldest.getCreatedAt(), pendingOrderOldest.getId(), Limit.of(2)))
+            .thenReturn(List.of(testOrder.getId()));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(testOrder.getId()))).thenReturn(List.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        OrderPageResponse secondPage = pizzaioloOrderService.getAllOrders(firstPage.nextCursor(), 1);
+
+        assertThat(secondPage.orders()).extracting(OrderResponse::orderCode).containsExactly("ORD-TEST123");
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return empty page without loading orders when there are no more ids")
+    void shouldReturnEmptyPageWithoutLoadingOrders() {
+        when(orderRepository.findFirstPageIds(Limit.of(11))).thenReturn(List.of());
+
+        OrderPageResponse result = pizzaioloOrderService.getAllOrders(null, 10);
+
+        assertThat(result.orders()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        verify(orderRepository, never()).findAllWithItemsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should page order summaries without loading order entities or items")
+    void shouldPageOrderSummariesWithoutLoadingItems() {
+        OrderSummaryResponse older = new OrderSummaryResponse(pendingOrderOldest.getId(), "ORD-NEXT001",
+            OrderStatus.PENDING, null, "Next Customer 1", pendingOrderOldest.getCreatedAt(), 1700L, 2, 0L);
+        OrderSummaryResponse newer = new OrderSummaryResponse(testOrder.getId(), "ORD-TEST123",
+            OrderStatus.PENDING, null, "Mario Rossi", testOrder.getCreatedAt(), 900L, 1, 0L);
+        when(orderRepository.findFirstSummaryPage(Limit.of(2))).thenReturn(List.of(older, newer));
+
+        OrderSummaryPageResponse firstPage = pizzaioloOrderService.getOrderSummaries(null, 1);
+
+        assertThat(firstPage.orders()).containsExactly(older);
+        assertThat(firstPage.nextCursor()).isNotNull();
+
+        when(orderRepository.findSummaryPageAfter(pendingOrderOldest.getCreatedAt(), pendingOrderOldest.getId(), Limit.of(2)))
+            .thenReturn(List.of(newer));
+
+        OrderSummaryPageResponse secondPage = pizzaioloOrderService.getOrderSummaries(firstPage.nextCursor(), 1);
+
+        assertThat(secondPage.orders()).containsExactly(newer);
+        assertThat(secondPage.nextCursor()).isNull();
+        verify(orderRepository, never()).findAllWithItemsByIdIn(any());
+        verifyNoInteractions(orderMapper);
+    }
 
+    @Test
+    @DisplayName("Should serve pending orders from the kitchen board without querying the database")
+    void shouldServePendingOrdersFromKitchenBoard() {
+        when(kitchenBoard.pendingOrders()).thenReturn(List.of(pendingOrderOldestResponse));
+
+        List<OrderResponse> result = pizzaioloOrderService.getAllPendingOrders();
+
+        assertThat(result).containsExactly(pendingOrderOldestResponse);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should clamp page size to the allowed maximum")
+    void shouldClampPageSizeToMaximum() {
+        when(orderRepository.findFirstPageIds(any(Limit.class))).thenReturn(List.of());
+
+        pizzaioloOrderService.getAllOrders(null, 100_000);
 
-        List<OrderResponse> result = pizzaioloOrderService.getAllOrders();
+        verify(orderRepository).findFirstPageIds(Limit.of(PizzaioloOrderServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when cursor is malformed")
+    void shouldThrowExceptionWhenCursorIsMalformed() {
+        assertThatThrownBy(() -> pizzaioloOrderService.getAllOrders("not-a-cursor", 10))
+            .isInstanceOf(InvalidCursorException.class);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).orderCode()).isEqualTo("ORD-OLD");
-        assertThat(result.get(1).orderCode()).isEqualTo("ORD-NEW");
-        verify(orderRepository, times(1)).findAll();
-        verify(orderMapper, times(1)).toResponse(olderOrder);
-        verify(orderMapper, times(1)).toResponse(newerOrder);
+        verify(orderRepository, never()).findPageIdsAfter(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should take order successfully when status is PENDING and no other order is in preparation")
-    void shouldTakeOrderSuccessfullyWhenStatusIsPendingAndNoOtherOrderInPreparation() {
+    @DisplayName("Should take order successfully when status is PENDING and the station has a free slot")
+    void shouldTakeOrderSuccessfullyWhenStatusIsPendingAndStationHasFreeSlot() {
         String orderCode = "ORD-TEST123";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(false);
-        when(statusValidator.canBeTakenByPizzaiolo(OrderStatus.PENDING)).thenReturn(true);
-        doNothing().when(statusValidator).validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
-        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+        when(kitchenStations.acquire("oven-1")).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("oven-1");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatusAtStation(orderCode, OrderStatus.IN_PREPARATION, "oven-1", EnumSet.of(OrderStatus.PENDING)))
+            .thenReturn(1);
+        testOrder.setStatus(OrderStatus.IN_PREPARATION);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
-        OrderResponse result = pizzaioloOrderService.takeOrder(orderCode);
+        OrderResponse result = pizzaioloOrderService.takeOrder(orderCode, "oven-1");
 
         assertThat(result).isNotNull();
-        assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(statusValidator, times(1)).validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).save(testOrder);
+        verify(kitchenStations, times(1)).acquire("oven-1");
+        verify(orderCache, times(1)).evict(orderCode);
+        verify(orderRepository, times(1)).transitionStatusAtStation(orderCode, OrderStatus.IN_PREPARATION, "oven-1", EnumSet.of(OrderStatus.PENDING));
+        verify(orderRepository, never()).findStatusByOrderCode(any());
+        verify(orderRepository, never()).save(any());
+        verify(statusHistoryRepository, times(1)).save(argThat(entry ->
+            entry.getOrderId().equals(testOrder.getId()) && entry.getStatus() == OrderStatus.IN_PREPARATION));
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.PENDING));
     }
 
     @Test
-    @DisplayName("Should throw exception when taking order if another order is already IN_PREPARATION")
-    void shouldThrowExceptionWhenTakingOrderIfAnotherOrderIsInPreparation() {
+    @DisplayName("Should throw exception when taking order if the station has no free slot")
+    void shouldThrowExceptionWhenTakingOrderIfStationHasNoFreeSlot() {
         String orderCode = "ORD-TEST123";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(true);
+        when(kitchenStations.acquire(null)).thenThrow(new OrderModificationNotAllowedException(
+            "Cannot take a new order because every kitchen station is busy."));
 
-        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode))
+        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode, null))
             .isInstanceOf(OrderModificationNotAllowedException.class)
-            .hasMessageContaining("Cannot take a new order because another order is currently IN_PREPARATION.");
+            .hasMessageContaining("every kitchen station is busy");
 
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(statusValidator, never()).canBeTakenByPizzaiolo(any());
+        verify(orderRepository, never()).transitionStatusAtStation(any(), any(), any(), any());
         verify(orderRepository, never()).save(any());
     }
 
@@ -190,65 +330,231 @@ class PizzaioloOrderServiceImplTest {
     @DisplayName("Should throw exception when taking non-PENDING order")
     void shouldThrowExceptionWhenTakingNonPendingOrder() {
         String orderCode = "ORD-TEST123";
-        testOrder.setStatus(OrderStatus.COMPLETED);
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(false);
-        when(statusValidator.canBeTakenByPizzaiolo(OrderStatus.COMPLETED)).thenReturn(false);
-
-        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode))
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatusAtStation(orderCode, OrderStatus.IN_PREPARATION, "main", EnumSet.of(OrderStatus.PENDING)))
+            .thenReturn(0);
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.COMPLETED));
+
+        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode, null))
             .isInstanceOf(OrderModificationNotAllowedException.class)
             .hasMessageContaining("can only be taken if status is PENDING");
 
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(statusValidator, times(1)).canBeTakenByPizzaiolo(OrderStatus.COMPLETED);
+        verify(orderCache, never()).evict(any());
+        verify(orderRepository, never()).findWithItemsByOrderCode(any());
         verify(orderRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     @DisplayName("Should update order status successfully with valid transition")
     void shouldUpdateOrderStatusSuccessfullyWithValidTransition() {
         String orderCode = "ORD-TEST123";
-        testOrder.setStatus(OrderStatus.IN_PREPARATION);
         OrderStatus newStatus = OrderStatus.READY;
 
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
-        doNothing().when(statusValidator).validateTransition(OrderStatus.IN_PREPARATION, OrderStatus.READY);
-        when(orderRepository.save(testOrder)).thenReturn(testOrder);
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+        testOrder.setStatus(OrderStatus.READY);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
         when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
 
         OrderResponse result = pizzaioloOrderService.updateOrderStatus(orderCode, newStatus);
 
         assertThat(result).isNotNull();
-        assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.READY);
-        verify(statusValidator, times(1)).validateTransition(OrderStatus.IN_PREPARATION, OrderStatus.READY);
-        verify(orderRepository, times(1)).save(testOrder);
+        verify(orderRepository, times(1)).transitionStatusReturningPrevious(orderCode, OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION));
+        verify(kitchenStations, times(1)).releaseAfterCommit(null);
+        verify(orderCache, times(1)).evict(orderCode);
+        verify(statusValidator, never()).validateTransition(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should release the kitchen slot when an order leaves IN_PREPARATION")
+    void shouldReleaseKitchenSlotWhenOrderLeavesPreparation() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.READY);
+        testOrder.setStation("oven-1");
+
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.READY);
+
+        verify(kitchenStations, times(1)).releaseAfterCommit("oven-1");
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.IN_PREPARATION));
+    }
+
+    @Test
+    @DisplayName("Should announce a cancellation from IN_PREPARATION and release the slot of a taken order")
+    void shouldAnnounceCancellationOfTakenOrder() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.CANCELED);
+        testOrder.setStation("oven-1");
+
+        when(statusValidator.allowedPredecessors(OrderStatus.CANCELED))
+            .thenReturn(EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.CANCELED);
+
+        verify(kitchenStations, times(1)).releaseAfterCommit("oven-1");
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.IN_PREPARATION));
+    }
+
+    @Test
+    @DisplayName("Should announce a cancellation from IN_PREPARATION and release the slot of an order taken before stations existed")
+    void shouldAnnounceCancellationOfTakenOrderWithoutStation() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.CANCELED);
+
+        when(statusValidator.allowedPredecessors(OrderStatus.CANCELED))
+            .thenReturn(EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.CANCELED);
+
+        verify(orderRepository, times(1)).transitionStatusReturningPrevious(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        verify(kitchenStations, times(1)).releaseAfterCommit(null);
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.IN_PREPARATION));
+    }
+
+    @Test
+    @DisplayName("Should announce a cancellation from PENDING without releasing any slot")
+    void shouldAnnounceCancellationOfPendingOrder() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.CANCELED);
+
+        when(statusValidator.allowedPredecessors(OrderStatus.CANCELED))
+            .thenReturn(EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.CANCELED, EnumSet.of(OrderStatus.PENDING, OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.of(OrderStatus.PENDING));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.CANCELED);
+
+        verify(kitchenStations, never()).releaseAfterCommit(any());
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(testOrderResponse, OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should not release any kitchen slot when a prepared order is completed")
+    void shouldNotReleaseKitchenSlotWhenPreparedOrderIsCompleted() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.COMPLETED);
+        testOrder.setStation("oven-1");
+
+        when(statusValidator.allowedPredecessors(OrderStatus.COMPLETED)).thenReturn(EnumSet.of(OrderStatus.READY));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.COMPLETED, EnumSet.of(OrderStatus.READY)))
+            .thenReturn(Optional.of(OrderStatus.READY));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.COMPLETED);
+
+        verify(kitchenStations, never()).releaseAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("Should take a kitchen slot when an order is moved to IN_PREPARATION through a status update")
+    void shouldTakeKitchenSlotWhenStatusIsUpdatedToInPreparation() {
+        String orderCode = "ORD-TEST123";
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatusAtStation(orderCode, OrderStatus.IN_PREPARATION, "main", EnumSet.of(OrderStatus.PENDING)))
+            .thenReturn(1);
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.IN_PREPARATION);
+
+        verify(orderRepository, never()).transitionStatusReturningPrevious(any(), any(), any());
     }
 
     @Test
     @DisplayName("Should throw exception with invalid status transition")
     void shouldThrowExceptionWithInvalidStatusTransition() {
         String orderCode = "ORD-TEST123";
-        testOrder.setStatus(OrderStatus.COMPLETED);
-        OrderStatus newStatus = OrderStatus.PENDING;
+        OrderStatus newStatus = OrderStatus.READY;
 
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.empty());
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.COMPLETED));
         doThrow(new InvalidOrderStatusException("Invalid transition"))
-            .when(statusValidator).validateTransition(OrderStatus.COMPLETED, OrderStatus.PENDING);
+            .when(statusValidator).validateTransition(OrderStatus.COMPLETED, OrderStatus.READY);
 
         assertThatThrownBy(() -> pizzaioloOrderService.updateOrderStatus(orderCode, newStatus))
             .isInstanceOf(InvalidOrderStatusException.class)
             .hasMessageContaining("Invalid transition");
 
+        verify(orderRepository, never()).findWithItemsByOrderCode(any());
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should reject unreachable status without issuing an update")
+    void shouldRejectUnreachableStatusWithoutIssuingUpdate() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.COMPLETED);
+
+        when(statusValidator.allowedPredecessors(OrderStatus.PENDING)).thenReturn(EnumSet.noneOf(OrderStatus.class));
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.COMPLETED));
+        doThrow(new InvalidOrderStatusException("Invalid transition"))
+            .when(statusValidator).validateTransition(OrderStatus.COMPLETED, OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.PENDING))
+            .isInstanceOf(InvalidOrderStatusException.class);
+
+        verify(orderRepository, never()).transitionStatusReturningPrevious(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return order unchanged when it is already in the requested status")
+    void shouldReturnOrderUnchangedWhenAlreadyInRequestedStatus() {
+        String orderCode = "ORD-TEST123";
+        testOrder.setStatus(OrderStatus.READY);
+
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusReturningPrevious(orderCode, OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION)))
+            .thenReturn(Optional.empty());
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.of(OrderStatus.READY));
+        when(orderRepository.findWithItemsByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
+        when(orderMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
+
+        OrderResponse result = pizzaioloOrderService.updateOrderStatus(orderCode, OrderStatus.READY);
+
+        assertThat(result).isNotNull();
+        verify(statusValidator, times(1)).validateTransition(OrderStatus.READY, OrderStatus.READY);
+        verify(orderCache, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when order not found for operations")
     void shouldThrowExceptionWhenOrderNotFoundForOperations() {
         String orderCode = "ORD-NOTEXIST";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode))
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatusAtStation(eq(orderCode), any(), any(), any())).thenReturn(0);
+        when(orderRepository.transitionStatusReturningPrevious(eq(orderCode), any(), any())).thenReturn(Optional.empty());
+        when(orderRepository.findStatusByOrderCode(orderCode)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> pizzaioloOrderService.takeOrder(orderCode, null))
             .isInstanceOf(OrderNotFoundException.class)
             .hasMessageContaining("not found");
 
@@ -261,64 +567,189 @@ class PizzaioloOrderServiceImplTest {
     @DisplayName("Should throw exception when new status is null")
     void shouldThrowExceptionWhenNewStatusIsNull() {
         String orderCode = "ORD-TEST123";
-        when(orderRepository.findByOrderCode(orderCode)).thenReturn(Optional.of(testOrder));
 
         assertThatThrownBy(() -> pizzaioloOrderService.updateOrderStatus(orderCode, null))
             .isInstanceOf(InvalidOrderStatusException.class)
             .hasMessageContaining("cannot be null");
+
+        verify(orderRepository, never()).transitionStatusReturningPrevious(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should take the next pending order successfully when no other order is in preparation")
-    void shouldTakeNextOrderSuccessfullyWhenNoOtherOrderInPreparation() {
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(false);
-        when(orderRepository.findFirstByStatusOrderByCreatedAtAsc(OrderStatus.PENDING))
-            .thenReturn(Optional.of(pendingOrderOldest));
-        doNothing().when(statusValidator).validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION); // Corrected here
-        when(orderRepository.save(pendingOrderOldest)).thenReturn(pendingOrderOldest);
+    @DisplayName("Should take the next pending order successfully when a station has a free slot")
+    void shouldTakeNextOrderSuccessfullyWhenStationHasFreeSlot() {
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        pendingOrderOldest.setStatus(OrderStatus.IN_PREPARATION);
+        pendingOrderOldest.setStation("main");
+        when(orderRepository.claimNextPending("main")).thenReturn(Optional.of(pendingOrderOldest));
+        doNothing().when(statusValidator).validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
         when(orderMapper.toResponse(pendingOrderOldest)).thenReturn(pendingOrderOldestResponse);
 
-        OrderResponse result = pizzaioloOrderService.takeNextOrder();
+        OrderResponse result = pizzaioloOrderService.takeNextOrder(null);
 
         assertThat(result).isNotNull();
         assertThat(result.orderCode()).isEqualTo(pendingOrderOldest.getOrderCode());
-        assertThat(pendingOrderOldest.getStatus()).isEqualTo(OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).findFirstByStatusOrderByCreatedAtAsc(OrderStatus.PENDING);
+        verify(kitchenStations, times(1)).acquire(null);
+        verify(orderRepository, times(1)).claimNextPending("main");
+        verify(orderCache, times(1)).evict(pendingOrderOldest.getOrderCode());
         verify(statusValidator, times(1)).validateTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).save(pendingOrderOldest);
+        verify(orderRepository, never()).save(any());
         verify(orderMapper, times(1)).toResponse(pendingOrderOldest);
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(pendingOrderOldestResponse, OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should take the next order from the kitchen board candidates, skipping the ones no longer pending or locked")
+    void shouldTakeNextOrderFromKitchenBoard() {
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(kitchenBoard.reserveNextPending())
+            .thenReturn(Optional.of("ORD-STALE"), Optional.of(pendingOrderOldest.getOrderCode()));
+        when(orderRepository.claimPending("ORD-STALE", "main", EnumSet.of(OrderStatus.PENDING)))
+            .thenReturn(Optional.empty());
+        when(orderRepository.claimPending(pendingOrderOldest.getOrderCode(), "main", EnumSet.of(OrderStatus.PENDING)))
+            .thenReturn(Optional.of(pendingOrderOldest));
+        when(orderRepository.findWithItemsByOrderCode(pendingOrderOldest.getOrderCode())).thenReturn(Optional.of(pendingOrderOldest));
+        when(orderMapper.toResponse(pendingOrderOldest)).thenReturn(pendingOrderOldestResponse);
+
+        OrderResponse result = pizzaioloOrderService.takeNextOrder(null);
+
+        assertThat(result).isEqualTo(pendingOrderOldestResponse);
+        verify(kitchenBoard, times(1)).discardPending("ORD-STALE");
+        verify(orderRepository, never()).claimNextPending(any());
+        verify(eventPublisher, times(1)).publishEvent(new OrderChangedEvent(pendingOrderOldestResponse, OrderStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when no kitchen board candidate can be claimed")
+    void shouldFallBackToDatabaseWhenNoBoardCandidateCanBeClaimed() {
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.takeableStatuses()).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(kitchenBoard.reserveNextPending()).thenReturn(Optional.of("ORD-STALE"));
+        when(orderRepository.claimPending(eq("ORD-STALE"), any(), any())).thenReturn(Optional.empty());
+        when(orderRepository.claimNextPending("main")).thenReturn(Optional.of(pendingOrderOldest));
+        when(orderMapper.toResponse(pendingOrderOldest)).thenReturn(pendingOrderOldestResponse);
+
+        OrderResponse result = pizzaioloOrderService.takeNextOrder(null);
+
+        assertThat(result).isEqualTo(pendingOrderOldestResponse);
+        verify(orderRepository, times(PizzaioloOrderServiceImpl.MAX_BOARD_CANDIDATES))
+            .claimPending(eq("ORD-STALE"), any(), any());
+        verify(orderRepository, times(1)).claimNextPending("main");
     }
 
     @Test
-    @DisplayName("Should throw exception when taking next order if another order is already IN_PREPARATION")
-    void shouldThrowExceptionWhenTakingNextOrderIfAnotherOrderIsInPreparation() {
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(true);
+    @DisplayName("Should throw exception when taking next order if the requested station has no free slot")
+    void shouldThrowExceptionWhenTakingNextOrderIfStationHasNoFreeSlot() {
+        when(kitchenStations.acquire("oven-1")).thenThrow(new OrderModificationNotAllowedException(
+            "Cannot take a new order because kitchen station oven-1 has no free preparation slot."));
 
-        assertThatThrownBy(() -> pizzaioloOrderService.takeNextOrder())
+        assertThatThrownBy(() -> pizzaioloOrderService.takeNextOrder("oven-1"))
             .isInstanceOf(OrderModificationNotAllowedException.class)
-            .hasMessageContaining("Cannot take a new order because another order is currently IN_PREPARATION.");
+            .hasMessageContaining("oven-1 has no free preparation slot");
 
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(orderRepository, never()).findFirstByStatusOrderByCreatedAtAsc(any());
-        verify(statusValidator, never()).validateTransition(any(), any());
+        verify(orderRepository, never()).claimNextPending(any());
         verify(orderRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when taking next order if no pending orders are available")
     void shouldThrowExceptionWhenNoPendingOrdersAvailableForTakeNextOrder() {
-        when(orderRepository.existsByStatus(OrderStatus.IN_PREPARATION)).thenReturn(false);
-        when(orderRepository.findFirstByStatusOrderByCreatedAtAsc(OrderStatus.PENDING))
-            .thenReturn(Optional.empty());
+        when(kitchenStations.acquire(null)).thenReturn(mainStation);
+        when(mainStation.getName()).thenReturn("main");
+        when(orderRepository.claimNextPending("main")).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> pizzaioloOrderService.takeNextOrder())
+        assertThatThrownBy(() -> pizzaioloOrderService.takeNextOrder(null))
             .isInstanceOf(OrderNotFoundException.class)
             .hasMessageContaining("No pending orders found to be taken.");
 
-        verify(orderRepository, times(1)).existsByStatus(OrderStatus.IN_PREPARATION);
-        verify(orderRepository, times(1)).findFirstByStatusOrderByCreatedAtAsc(OrderStatus.PENDING);
-        verify(statusValidator, never()).validateTransition(any(), any());
+        verify(orderRepository, times(1)).claimNextPending("main");
+        verify(orderMapper, never()).toResponse(any());
         verify(orderRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should apply the valid changes of a bulk update and report the others without aborting")
+    void shouldApplyValidChangesOfBulkUpdateAndReportTheOthers() {
+        // Given
+        inPreparationOrder.setStation("main");
+        when(orderRepository.findAllForUpdateByOrderCodeIn(any()))
+            .thenReturn(List.of(inPreparationOrder, testOrder, pendingOrderOldest));
+        lenient().doThrow(new InvalidOrderStatusException("Invalid status transition from PENDING to READY"))
+            .when(statusValidator).validateTransition(OrderStatus.PENDING, OrderStatus.READY);
+        when(statusValidator.allowedPredecessors(OrderStatus.READY)).thenReturn(EnumSet.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.transitionStatuses(List.of("ORD-INPREP"), OrderStatus.READY, EnumSet.of(OrderStatus.IN_PREPARATION)))
+            .thenReturn(1);
+        when(orderRepository.findWithItemsByOrderCodeIn(any()))
+            .thenReturn(List.of(inPreparationOrder, testOrder, pendingOrderOldest));
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        // When
+        List<StatusUpdateResult> results = pizzaioloOrderService.updateOrderStatuses(List.of(
+            new StatusUpdateRequest("ORD-INPREP", OrderStatus.READY),
+            new StatusUpdateRequest("ORD-TEST123", OrderStatus.READY),
+            new StatusUpdateRequest("ORD-MISSING", OrderStatus.COMPLETED),
+            new StatusUpdateRequest("ORD-NEXT001", OrderStatus.PENDING),
+            new StatusUpdateRequest("ORD-INPREP", OrderStatus.CANCELED)));
+
+        // Then
+        assertThat(results).extracting(StatusUpdateResult::outcome)
+            .containsExactly(Outcome.UPDATED, Outcome.REJECTED, Outcome.NOT_FOUND, Outcome.UNCHANGED, Outcome.REJECTED);
+        assertThat(results.get(1).error()).contains("Invalid status transition");
+        assertThat(results.get(4).error()).contains("more than once");
+
+        verify(orderRepository, times(1)).transitionStatuses(any(), any(), any());
+        verify(orderCache, times(1)).evict("ORD-INPREP");
+        verify(kitchenStations, times(1)).releaseAfterCommit("main");
+        ArgumentCaptor<List<OrderStatusHistory>> history = ArgumentCaptor.captor();
+        verify(statusHistoryRepository, times(1)).saveAll(history.capture());
+        assertThat(history.getValue()).singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.getOrderId()).isEqualTo(inPreparationOrder.getId());
+                assertThat(entry.getStatus()).isEqualTo(OrderStatus.READY);
+            });
+        ArgumentCaptor<OrdersChangedEvent> event = ArgumentCaptor.forClass(OrdersChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).singleElement()
+            .satisfies(change -> {
+                assertThat(change.order().orderCode()).isEqualTo("ORD-INPREP");
+                assertThat(change.previousStatus()).isEqualTo(OrderStatus.IN_PREPARATION);
+            });
+    }
+
+    @Test
+    @DisplayName("Should take orders into preparation in bulk only while kitchen slots are free")
+    void shouldTakeOrdersInBulkOnlyWhileSlotsAreFree() {
+        // Given
+        when(orderRepository.findAllForUpdateByOrderCodeIn(any())).thenReturn(List.of(pendingOrderOldest, pendingOrderNewer));
+        when(kitchenStations.acquire(null))
+            .thenReturn(mainStation)
+            .thenThrow(new OrderModificationNotAllowedException("No kitchen station has a free preparation slot."));
+        when(mainStation.getName()).thenReturn("main");
+        when(statusValidator.allowedPredecessors(OrderStatus.IN_PREPARATION)).thenReturn(EnumSet.of(OrderStatus.PENDING));
+        when(orderRepository.transitionStatusesAtStation(
+            List.of("ORD-NEXT001"), OrderStatus.IN_PREPARATION, "main", EnumSet.of(OrderStatus.PENDING))).thenReturn(1);
+        when(orderRepository.findWithItemsByOrderCodeIn(any())).thenReturn(List.of(pendingOrderOldest, pendingOrderNewer));
+        when(orderMapper.toResponse(any(Order.class))).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        // When
+        List<StatusUpdateResult> results = pizzaioloOrderService.updateOrderStatuses(List.of(
+            new StatusUpdateRequest("ORD-NEXT001", OrderStatus.IN_PREPARATION),
+            new StatusUpdateRequest("ORD-NEXT002", OrderStatus.IN_PREPARATION)));
+
+        // Then
+        assertThat(results).extracting(StatusUpdateResult::outcome).containsExactly(Outcome.UPDATED, Outcome.REJECTED);
+        assertThat(results.get(1).error()).contains("free preparation slot");
+        verify(orderRepository, never()).transitionStatuses(any(), any(), any());
+        verify(kitchenStations, never()).releaseAfterCommit(any());
+    }
+
+    private static OrderResponse response(Order order) {
+        return new OrderResponse(order.getId(), order.getOrderCode(), order.getStatus(), order.getStation(),
+            order.getCustomerName(), order.getPhone(), order.getDeliveryAddress(), order.getCreatedAt(),
+            order.getTotalAmount(), order.getItemCount(), order.getVersion(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,170 @@
+package com.awesomepizza.order.service;
+
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.entity.DailySales;
+import com.awesomepizza.order.domain.entity.HourlySales;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.PizzaSalesResponse;
+import com.awesomepizza.order.dto.SalesGranularity;
+import com.awesomepizza.order.dto.SalesStatsResponse;
+import com.awesomepizza.order.dto.StatusDurationResponse;
+import com.awesomepizza.order.dto.StatusDurationStatsResponse;
+import com.awesomepizza.order.exception.InvalidStatsRangeException;
+import com.awesomepizza.order.repository.DailySalesRepository;
+import com.awesomepizza.order.repository.HourlySalesRepository;
+import com.awesomepizza.order.repository.OrderStatusHistoryRepository;
+import com.awesomepizza.order.repository.StatusDurationTally;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesStatsServiceImpl Unit Tests")
+class SalesStatsServiceImplTest {
+
+    private static final Instant SEVEN_PM = Instant.parse("2026-03-14T19:00:00Z");
+    private static final Instant EIGHT_PM = Instant.parse("2026-03-14T20:00:00Z");
+
+    @Mock
+    private HourlySalesRepository hourlySalesRepository;
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @Mock
+    private OrderStatusHistoryRepository statusHistoryRepository;
+
+    @Spy
+    private OrderStatusValidator statusValidator = new OrderStatusValidator();
+
+    @InjectMocks
+    private SalesStatsServiceImpl salesStatsService;
+
+    private static HourlySales hourly(Instant hour, OrderStatus status, String pizzaName, long orders, long pizzas, long revenue) {
+        return new HourlySales(new SalesRollupId(hour, status, pizzaName), orders, pizzas, revenue);
+    }
+
+    private static StatusDurationTally tally(OrderStatus status, long orders, double p50, double p90, double p99, double maximum) {
+        return new StatusDurationTally() {
+            public String getStatus() { return status.name(); }
+            public Long getOrders() { return orders; }
+            public Double getP50() { return p50; }
+            public Double getP90() { return p90; }
+            public Double getP99() { return p99; }
+            public Number getMaximum() { return maximum; }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hourlySalesRepository.findBetween(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should group the rows of each hour and status into totals and pizza mix")
+    void shouldGroupRowsIntoBuckets() {
+        // Given
+        when(hourlySalesRepository.findBetween(SEVEN_PM, Instant.parse("2026-03-14T21:00:00Z"))).thenReturn(List.of(
+            hourly(SEVEN_PM, OrderStatus.CANCELED, SalesRollupId.ALL_PIZZAS, 1, 1, 900),
+            hourly(SEVEN_PM, OrderStatus.CANCELED, "Diavola", 1, 1, 900),
+            hourly(SEVEN_PM, OrderStatus.COMPLETED, SalesRollupId.ALL_PIZZAS, 2, 5, 4300),
+            hourly(SEVEN_PM, OrderStatus.COMPLETED, "Margherita", 2, 5, 4300),
+            hourly(EIGHT_PM, OrderStatus.PENDING, SalesRollupId.ALL_PIZZAS, 1, 2, 1700),
+            hourly(EIGHT_PM, OrderStatus.PENDING, "Margherita", 1, 2, 1700)));
+
+        // When: the range is widened to whole hours
+        SalesStatsResponse stats = salesStatsService.getSales(SalesGranularity.HOUR,
+            Instant.parse("2026-03-14T19:12:00Z"), Instant.parse("2026-03-14T20:30:00Z"));
+
+        // Then
+        assertThat(stats.from()).isEqualTo(SEVEN_PM);
+        assertThat(stats.to()).isEqualTo(Instant.parse("2026-03-14T21:00:00Z"));
+        assertThat(stats.buckets())
+            .extracting(b -> b.bucketStart(), b -> b.status(), b -> b.orders(), b -> b.pizzas(), b -> b.revenue())
+            .containsExactly(
+                tuple(SEVEN_PM, OrderStatus.CANCELED, 1L, 1L, 900L),
+                tuple(SEVEN_PM, OrderStatus.COMPLETED, 2L, 5L, 4300L),
+                tuple(EIGHT_PM, OrderStatus.PENDING, 1L, 2L, 1700L));
+        assertThat(stats.buckets().get(1).pizzaMix()).containsExactly(new PizzaSalesResponse("Margherita", 2, 5, 4300));
+        verifyNoInteractions(dailySalesRepository);
+    }
+
+    @Test
+    @DisplayName("Should read the daily rollups and default to the last 30 days")
+    void shouldReadDailyRollupsWithDefaultRange() {
+        // Given
+        when(dailySalesRepository.findBetween(any(), any())).thenReturn(List.of(
+            new DailySales(new SalesRollupId(Instant.parse("2026-03-14T00:00:00Z"), OrderStatus.COMPLETED,
+                SalesRollupId.ALL_PIZZAS), 40, 95, 81250)));
+
+        // When
+        SalesStatsResponse stats = salesStatsService.getSales(SalesGranularity.DAY, null, null);
+
+        // Then
+        assertThat(stats.to()).isAfter(Instant.now());
+        assertThat(stats.from()).isEqualTo(stats.to().minusSeconds(30 * 86400));
+        assertThat(stats.buckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.revenue()).isEqualTo(81250);
+            assertThat(bucket.pizzaMix()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject ranges ending before they start or spanning too many buckets")
+    void shouldRejectInvalidRanges() {
+        // When & Then
+        assertThatThrownBy(() -> salesStatsService.getSales(SalesGranularity.HOUR, EIGHT_PM, SEVEN_PM))
+            .isInstanceOf(InvalidStatsRangeException.class);
+        assertThatThrownBy(() -> salesStatsService.getSales(SalesGranularity.HOUR,
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-03-01T00:00:00Z")))
+            .isInstanceOf(InvalidStatsRangeException.class);
+        verifyNoInteractions(hourlySalesRepository, dailySalesRepository);
+    }
+
+    @Test
+    @DisplayName("Should measure the non-final statuses over the last day and list them in lifecycle order")
+    void shouldMeasureStatusDurationsOverDefaultRange() {
+        // Given
+        when(statusHistoryRepository.durationsBetween(any(), any(), any())).thenReturn(List.of(
+            tally(OrderStatus.READY, 30, 240_000.4, 600_000, 900_000, 1_200_000),
+            tally(OrderStatus.IN_PREPARATION, 35, 480_000.6, 720_000, 1_080_000, 1_500_000)));
+
+        // When
+        StatusDurationStatsResponse stats = salesStatsService.getStatusDurations(null, null);
+
+        // Then
+        assertThat(Duration.between(stats.from(), stats.to())).isEqualTo(Duration.ofDays(1));
+        verify(statusHistoryRepository).durationsBetween(
+            List.of("PENDING", "IN_PREPARATION", "READY"), stats.from(), stats.to());
+        assertThat(stats.durations()).containsExactly(
+            new StatusDurationResponse(OrderStatus.IN_PREPARATION, 35, 480_001, 720_000, 1_080_000, 1_500_000),
+            new StatusDurationResponse(OrderStatus.READY, 30, 240_000, 600_000, 900_000, 1_200_000));
+    }
+
+    @Test
+    @DisplayName("Should reject status duration ranges ending before they start or longer than a month")
+    void shouldRejectInvalidStatusDurationRanges() {
+        // When & Then
+        assertThatThrownBy(() -> salesStatsService.getStatusDurations(EIGHT_PM, SEVEN_PM))
+            .isInstanceOf(InvalidStatsRangeException.class);
+        assertThatThrownBy(() -> salesStatsService.getStatusDurations(
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-03-01T00:00:00Z")))
+            .isInstanceOf(InvalidStatsRangeException.class);
+        verifyNoInteractions(statusHistoryRepository);
+    }
+}
@@ -0,0 +1,154 @@
+package com.awesomepizza.order.stats;
+
+import com.awesomepizza.order.config.SalesStatsProperties;
+import com.awesomepizza.order.domain.entity.DailySales;
+import com.awesomepizza.order.domain.entity.HourlySales;
+import com.awesomepizza.order.domain.entity.SalesRollupId;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+import com.awesomepizza.order.repository.ArchivedOrderRepository;
+import com.awesomepizza.order.repository.DailySalesRepository;
+import com.awesomepizza.order.repository.HourlySalesRepository;
+import com.awesomepizza.order.repository.OrderRepository;
+import com.awesomepizza.order.repository.SalesTally;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SalesRollupUpdater Unit Tests")
+class SalesRollupUpdaterTest {
+
+    private static final Instant HOUR = Instant.parse("2026-03-14T19:00:00Z");
+    private static final Instant DAY = Instant.parse("2026-03-14T00:00:00Z");
+
+    private OrderRepository orderRepository;
+    private ArchivedOrderRepository archivedOrderRepository;
+    private HourlySalesRepository hourlySalesRepository;
+    private DailySalesRepository dailySalesRepository;
+    private SalesRollupUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        archivedOrderRepository = mock(ArchivedOrderRepository.class);
+        hourlySalesRepository = mock(HourlySalesRepository.class);
+        dailySalesRepository = mock(DailySalesRepository.class);
+        updater = new SalesRollupUpdater(orderRepository, archivedOrderRepository, hourlySalesRepository,
+            dailySalesRepository, mock(PlatformTransactionManager.class),
+            new SalesStatsProperties(true, Duration.ofSeconds(5), Duration.ofHours(1), Duration.ofHours(3)));
+    }
+
+    private static SalesTally tally(OrderStatus status, String pizzaName, long orders, long pizzas, Number revenue) {
+        return new SalesTally() {
+            public OrderStatus getStatus() { return status; }
+            public String getPizzaName() { return pizzaName; }
+            public Long getOrders() { return orders; }
+            public Long getPizzas() { return pizzas; }
+            public Number getRevenue() { return revenue; }
+        };
+    }
+
+    private static OrderChangedEvent change(Instant createdAt) {
+        return new OrderChangedEvent(new OrderResponse(UUID.randomUUID(), "ORD-TEST123", OrderStatus.COMPLETED, "main",
+            "Mario Rossi", "+393331234567", "Via Roma 1, Milano", createdAt, 2600L, 3, 2L, List.of()), OrderStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Should only mark the hour of a committed change, without touching the database")
+    void shouldMarkHourOfCommittedChange() {
+        // When
+        updater.onOrderChanged(change(HOUR.plusSeconds(1234)));
+        updater.onOrdersChanged(new OrdersChangedEvent(List.of(change(HOUR.plusSeconds(60)), change(HOUR.minusSeconds(1)))));
+
+        // Then
+        assertThat(updater.dirtyHours()).containsExactly(HOUR.minus(Duration.ofHours(1)), HOUR);
+        verifyNoInteractions(orderRepository, hourlySalesRepository, dailySalesRepository);
+    }
+
+    @Test
+    @DisplayName("Should rewrite a dirty hour from live and archived orders, then its day from the hourly rows")
+    void shouldRewriteDirtyHourAndItsDay() {
+        // Given
+        Instant end = HOUR.plus(Duration.ofHours(1));
+        when(orderRepository.tallyOrdersCreatedBetween(HOUR, end))
+            .thenReturn(List.of(tally(OrderStatus.COMPLETED, SalesRollupId.ALL_PIZZAS, 2, 5, 4300L)));
+        when(orderRepository.tallyPizzasCreatedBetween(HOUR, end))
+            .thenReturn(List.of(tally(OrderStatus.COMPLETED, "Margherita", 2, 5, new BigDecimal("4300.0000"))));
+        when(archivedOrderRepository.tallyOrdersCreatedBetween(HOUR, end))
+            .thenReturn(List.of(tally(OrderStatus.COMPLETED, SalesRollupId.ALL_PIZZAS, 1, 1, 900L)));
+        when(archivedOrderRepository.tallyPizzasCreatedBetween(HOUR, end))
+            .thenReturn(List.of(tally(OrderStatus.COMPLETED, "Diavola", 1, 1, new BigDecimal("900.00"))));
+        when(hourlySalesRepository.tallyBetween(DAY, DAY.plus(Duration.ofDays(1))))
+            .thenReturn(List.of(tally(OrderStatus.COMPLETED, SalesRollupId.ALL_PIZZAS, 7, 12, 10000L)));
+        updater.onOrderChanged(change(HOUR.plusSeconds(42)));
+
+        // When
+        int rewritten = updater.flush();
+
+        // Then: the live and archived tallies of the same status and pizza are added up
+        assertThat(rewritten).isEqualTo(1);
+        assertThat(updater.dirtyHours()).isEmpty();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HourlySales>> hourly = ArgumentCaptor.forClass(List.class);
+        var inOrder = inOrder(hourlySalesRepository, dailySalesRepository);
+        inOrder.verify(hourlySalesRepository).deleteBucket(HOUR);
+        inOrder.verify(hourlySalesRepository).saveAll(hourly.capture());
+        inOrder.verify(dailySalesRepository).deleteBucket(DAY);
+        assertThat(hourly.getValue())
+            .extracting(row -> row.getId().getPizzaName(), HourlySales::getOrders, HourlySales::getPizzas, HourlySales::getRevenue)
+            .containsExactly(
+                tuple(SalesRollupId.ALL_PIZZAS, 3L, 6L, 5200L),
+                tuple("Margherita", 2L, 5L, 4300L),
+                tuple("Diavola", 1L, 1L, 900L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DailySales>> daily = ArgumentCaptor.forClass(List.class);
+        verify(dailySalesRepository).saveAll(daily.capture());
+        assertThat(daily.getValue()).singleElement()
+            .satisfies(row -> assertThat(row.getId().getBucketStart()).isEqualTo(DAY))
+            .satisfies(row -> assertThat(row.getRevenue()).isEqualTo(10000L));
+    }
+
+    @Test
+    @DisplayName("Should keep an hour dirty and leave its day alone when the rewrite fails")
+    void shouldKeepHourDirtyWhenRewriteFails() {
+        // Given
+        when(hourlySalesRepository.deleteBucket(HOUR)).thenThrow(new CannotAcquireLockException("locked"));
+        updater.onOrderChanged(change(HOUR));
+
+        // When
+        int rewritten = updater.flush();
+
+        // Then
+        assertThat(rewritten).isZero();
+        assertThat(updater.dirtyHours()).containsExactly(HOUR);
+        verifyNoInteractions(dailySalesRepository);
+    }
+
+    @Test
+    @DisplayName("Should rewrite every hour of the reconcile window")
+    void shouldRewriteEveryHourOfReconcileWindow() {
+        // When
+        int rewritten = updater.reconcile();
+
+        // Then: three hours back plus the current one, whether they changed or not
+        assertThat(rewritten).isEqualTo(4);
+        verify(hourlySalesRepository, times(4)).deleteBucket(any());
+        verify(hourlySalesRepository, times(4)).saveAll(List.of());
+    }
+}
@@ -0,0 +1,221 @@
+package com.awesomepizza.order.stream;
+
+import com.awesomepizza.order.config.StreamProperties;
+import com.awesomepizza.order.domain.OrderStatusValidator;
+import com.awesomepizza.order.domain.enums.OrderStatus;
+import com.awesomepizza.order.dto.OrderResponse;
+import com.awesomepizza.order.event.OrderChangedEvent;
+import com.awesomepizza.order.event.OrdersChangedEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OrderEventStreams Unit Tests")
+class OrderEventStreamsTest {
+
+    private ManualExecutor executor;
+    private OrderEventStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutor();
+        streams = new OrderEventStreams(
+            new StreamProperties(2, Duration.ofSeconds(15), Duration.ofMinutes(1)), new OrderStatusValidator(), executor);
+    }
+
+    @Test
+    @DisplayName("Should keep an order stream open until the order reaches a final status")
+    void shouldCloseOrderStreamOnFinalStatus() {
+        // Given
+        subscribe(order("ORD-1", OrderStatus.PENDING, 0L));
+        streams.subscribeToKitchen();
+        executor.runAll();
+
+        // When
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.IN_PREPARATION, 1L), OrderStatus.PENDING));
+        executor.runAll();
+
+        // Then
+        assertThat(streams.getConnectionCount()).isEqualTo(2);
+
+        // When
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.CANCELED, 2L), OrderStatus.IN_PREPARATION));
+        executor.runAll();
+
+        // Then: the kitchen stream outlives the order
+        assertThat(streams.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should end right away the stream of an order that is already final")
+    void shouldEndStreamOfFinalOrderAfterSnapshot() {
+        // When
+        subscribe(order("ORD-1", OrderStatus.COMPLETED, 3L));
+        executor.runAll();
+
+        // Then
+        assertThat(streams.getConnectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop only the slow client when its queue overflows")
+    void shouldDropOnlySlowClient() {
+        // Given
+        subscribe(order("ORD-1", OrderStatus.PENDING, 0L));
+        subscribe(order("ORD-2", OrderStatus.PENDING, 0L));
+
+        // When: ORD-1 already has its snapshot queued and its drain task never runs
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 1L), OrderStatus.PENDING));
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 2L), OrderStatus.PENDING));
+
+        // Then
+        assertThat(streams.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send a batch of changes to the kitchen as a single event")
+    void shouldSendBatchToKitchenAsSingleEvent() {
+        // Given
+        streams.subscribeToKitchen();
+
+        // When: the batch is larger than the queue of the client, whose drain task never runs
+        streams.onOrdersChanged(new OrdersChangedEvent(List.of(
+            new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 0L), null),
+            new OrderChangedEvent(order("ORD-2", OrderStatus.PENDING, 0L), null),
+            new OrderChangedEvent(order("ORD-3", OrderStatus.PENDING, 0L), null))));
+
+        // Then
+        assertThat(streams.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should close every stream on shutdown")
+    void shouldCloseEveryStreamOnShutdown() {
+        // Given
+        subscribe(order("ORD-1", OrderStatus.PENDING, 0L));
+        streams.subscribeToKitchen();
+
+        // When
+        streams.destroy();
+
+        // Then
+        assertThat(streams.getConnectionCount()).isZero();
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should send the changes committed while the current state was read, once it has been sent")
+    void shouldKeepChangesCommittedDuringSubscription() {
+        // When: the order is completed between the registration and the read, which still sees it IN_PREPARATION
+        Optional<SseEmitter> emitter = streams.subscribeToOrder("ORD-1", () -> {
+            streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.READY, 2L), OrderStatus.IN_PREPARATION));
+            streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.COMPLETED, 3L), OrderStatus.READY));
+            return Optional.of(order("ORD-1", OrderStatus.IN_PREPARATION, 1L));
+        });
+        executor.runAll();
+
+        // Then: the completion reached the stream and ended it
+        assertThat(emitter).isPresent();
+        assertThat(streams.getConnectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the changes already included in the current state")
+    void shouldDropChangesOlderThanCurrentState() {
+        // Given: the queue holds two events and the drain task never runs
+        Optional<SseEmitter> emitter = streams.subscribeToOrder("ORD-1", () -> {
+            streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 4L), OrderStatus.PENDING));
+            streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 5L), OrderStatus.PENDING));
+            return Optional.of(order("ORD-1", OrderStatus.PENDING, 5L));
+        });
+
+        // When: late deliveries of revisions the client already has
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 5L), OrderStatus.PENDING));
+        streams.onOrderChanged(new OrderChangedEvent(order("ORD-1", OrderStatus.PENDING, 3L), OrderStatus.PENDING));
+
+        // Then: only the current state was queued, so the client was not dropped as too slow
+        assertThat(emitter).isPresent();
+        assertThat(streams.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not open a stream on an unknown order")
+    void shouldNotOpenStreamOnUnknownOrder() {
+        // When
+        Optional<SseEmitter> emitter = streams.subscribeToOrder("ORD-404", Optional::empty);
+
+        // Then
+        assertThat(emitter).isEmpty();
+        assertThat(streams.getConnectionCount()).isZero();
+    }
+
+    private void subscribe(OrderResponse current) {
+        streams.subscribeToOrder(current.orderCode(), () -> Optional.of(current));
+    }
+
+    private static OrderResponse order(String code, OrderStatus status, Long version) {
+        return new OrderResponse(UUID.randomUUID(), code, status, null, "Mario Rossi", "+393331234567",
+            "Via Roma 1, Milano", Instant.now(), 0L, 0, version, List.of());
+    }
+
+    /**
+     * Runs the drain tasks only when asked, so that the tests control when clients read.
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean shutdown;
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.copyOf(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
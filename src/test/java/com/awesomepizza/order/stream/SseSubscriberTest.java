@@ -0,0 +1,137 @@
+package com.awesomepizza.order.stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SseSubscriber Unit Tests")
+class SseSubscriberTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private RecordingEmitter emitter;
+    private SseSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        subscriber = new SseSubscriber(emitter, 2, tasks::add);
+    }
+
+    @Test
+    @DisplayName("Should send queued events in order from a single drain task")
+    void shouldSendQueuedEventsInOrder() {
+        // Given
+        SseEventBuilder first = SseEmitter.event().name("first");
+        SseEventBuilder second = SseEmitter.event().name("second");
+
+        // When
+        subscriber.offer(first);
+        subscriber.offer(second);
+
+        // Then
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        assertThat(emitter.sent).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a client whose queue is full instead of blocking the publisher")
+    void shouldDisconnectSlowClient() {
+        // Given
+        AtomicInteger closes = new AtomicInteger();
+        subscriber.onClose(closes::incrementAndGet);
+        subscriber.offer(SseEmitter.event().name("1"));
+        subscriber.offer(SseEmitter.event().name("2"));
+
+        // When
+        boolean accepted = subscriber.offer(SseEmitter.event().name("3"));
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(closes).hasValue(1);
+        runTasks();
+        assertThat(emitter.sent).isEmpty();
+        assertThat(subscriber.offer(SseEmitter.event().name("4"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should send heartbeats only on idle connections")
+    void shouldSendHeartbeatsOnlyWhenIdle() {
+        // Given
+        SseEventBuilder event = SseEmitter.event().name("order");
+        subscriber.offer(event);
+
+        // When
+        subscriber.offerIfIdle(SseEmitter.event().comment("heartbeat"));
+        runTasks();
+        SseEventBuilder heartbeat = SseEmitter.event().comment("heartbeat");
+        subscriber.offerIfIdle(heartbeat);
+        runTasks();
+
+        // Then
+        assertThat(emitter.sent).containsExactly(event, heartbeat);
+    }
+
+    @Test
+    @DisplayName("Should complete the stream once pending events are sent")
+    void shouldCompleteAfterPendingEvents() {
+        // Given
+        SseEventBuilder event = SseEmitter.event().name("order");
+        subscriber.offer(event);
+
+        // When
+        subscriber.completeAfterPending();
+        runTasks();
+
+        // Then
+        assertThat(emitter.sent).containsExactly(event);
+        assertThat(subscriber.isClosed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should close the subscriber when the client has gone away")
+    void shouldCloseWhenClientIsGone() {
+        // Given
+        emitter.failing = true;
+
+        // When
+        subscriber.offer(SseEmitter.event().name("order"));
+        runTasks();
+
+        // Then
+        assertThat(subscriber.isClosed()).isTrue();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> sent = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder);
+        }
+    }
+}